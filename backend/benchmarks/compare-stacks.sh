@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Compares the servlet and reactive (WebFlux + R2DBC) read paths under the
+# same load, both on the local H2 database so no MySQL is needed. The servlet
+# application keeps running during the reactive run to create and seed the
+# load-test user. Build both modules first:
+#   (cd backend && ./mvnw -DskipTests install) && (cd backend/benchmarks && mvn package)
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+APP_JAR="$SCRIPT_DIR/../target/finance-tracker-backend-0.0.1-SNAPSHOT-exec.jar"
+BENCH_JAR="$SCRIPT_DIR/target/benchmarks.jar"
+CLIENTS=${CLIENTS:-2000}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+POOL_SIZE=${POOL_SIZE:-40}
+
+# H2 file paths in the profiles are relative to the backend directory
+cd "$SCRIPT_DIR/.."
+
+wait_for() {
+    until curl -s -o /dev/null "$1"; do
+        sleep 1
+    done
+}
+
+java -jar "$APP_JAR" --spring.profiles.active=h2 --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+    --spring.jpa.show-sql=false --logging.level.com.financetracker=INFO \
+    --logging.level.org.springframework.security=INFO > /tmp/finance-tracker-servlet.log 2>&1 &
+SERVLET_PID=$!
+trap "kill $SERVLET_PID 2>/dev/null" EXIT
+wait_for http://localhost:8080/api/auth/test
+
+echo "=== servlet ==="
+java -cp "$BENCH_JAR" com.financetracker.loadtest.ConcurrencyLoadTest \
+    http://localhost:8080 "$CLIENTS" "$DURATION" "$WARMUP"
+
+java -cp "$APP_JAR" -Dloader.main=com.financetracker.reactive.ReactiveFinanceTrackerApplication \
+    org.springframework.boot.loader.launch.PropertiesLauncher --spring.profiles.active=h2 \
+    --spring.r2dbc.pool.max-size="$POOL_SIZE" > /tmp/finance-tracker-reactive.log 2>&1 &
+REACTIVE_PID=$!
+trap "kill $SERVLET_PID $REACTIVE_PID 2>/dev/null" EXIT
+wait_for http://localhost:8081/api/dashboard
+
+echo "=== reactive ==="
+java -cp "$BENCH_JAR" com.financetracker.loadtest.ConcurrencyLoadTest \
+    http://localhost:8080 "$CLIENTS" "$DURATION" "$WARMUP" http://localhost:8081
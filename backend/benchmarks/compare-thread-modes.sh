@@ -0,0 +1,42 @@
+#!/bin/bash
+
+# Compares platform-thread and virtual-thread serving under the same load.
+# Needs MySQL running as configured in application.properties and both
+# modules built:
+#   (cd backend && ./mvnw -DskipTests install) && (cd backend/benchmarks && mvn package)
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+APP_JAR="$SCRIPT_DIR/../target/finance-tracker-backend-0.0.1-SNAPSHOT-exec.jar"
+BENCH_JAR="$SCRIPT_DIR/target/benchmarks.jar"
+CLIENTS=${CLIENTS:-2000}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+# Same pool size in both modes so only the threading model differs
+POOL_SIZE=${POOL_SIZE:-40}
+
+run_mode() {
+    local label=$1
+    shift
+    echo "=== $label ==="
+    java -jar "$APP_JAR" --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+        --spring.jpa.show-sql=false --logging.level.com.financetracker=INFO \
+        --logging.level.org.springframework.security=INFO "$@" > "/tmp/finance-tracker-$label.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -s http://localhost:8080/api/auth/test > /dev/null; do
+        sleep 1
+    done
+
+    java -cp "$BENCH_JAR" com.financetracker.loadtest.ConcurrencyLoadTest \
+        http://localhost:8080 "$CLIENTS" "$DURATION" "$WARMUP"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform-threads
+run_mode virtual-threads --spring.profiles.active=virtual-threads
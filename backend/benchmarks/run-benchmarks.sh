@@ -0,0 +1,28 @@
+#!/bin/bash
+
+# Runs the JMH benchmarks with the GC profiler and stores the JSON results
+# under results/<commit>.json, so runs from different commits can be
+# compared. Extra arguments go to JMH, e.g. a benchmark regex:
+#   ./run-benchmarks.sh Jwt
+# Compare against an earlier run by passing its result file:
+#   BASELINE=results/abc1234.json ./run-benchmarks.sh
+# Build first:
+#   (cd backend && ./mvnw -DskipTests install) && (cd backend/benchmarks && mvn package)
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+BENCH_JAR="$SCRIPT_DIR/target/benchmarks.jar"
+COMMIT=$(git -C "$SCRIPT_DIR" rev-parse --short HEAD)
+if [ -n "$(git -C "$SCRIPT_DIR/.." status --porcelain -- src)" ]; then
+    COMMIT="$COMMIT-dirty"
+fi
+RESULT="$SCRIPT_DIR/results/$COMMIT.json"
+
+mkdir -p "$SCRIPT_DIR/results"
+java -jar "$BENCH_JAR" -prof gc -rf json -rff "$RESULT" "$@"
+echo "Results written to $RESULT"
+
+if [ -n "$BASELINE" ]; then
+    java -cp "$BENCH_JAR" com.financetracker.benchmark.BenchmarkComparison "$BASELINE" "$RESULT"
+fi
@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Seeds the local H2 file database with synthetic users and transactions,
+# starts the backend on it and replays the mixed workload at a target rate.
+# Everything runs on this machine; nothing but the JDK is needed. Build first:
+#   (cd backend && ./mvnw -DskipTests install) && (cd backend/benchmarks && mvn package)
+#
+# SEED=0 reuses the data of an earlier run; FRESH=1 deletes the database first.
+#   USERS=10000 TRANSACTIONS=2000 RPS=500 ./run-mixed-load.sh
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+APP_JAR="$SCRIPT_DIR/../target/finance-tracker-backend-0.0.1-SNAPSHOT-exec.jar"
+BENCH_JAR="$SCRIPT_DIR/target/benchmarks.jar"
+USERS=${USERS:-1000}
+TRANSACTIONS=${TRANSACTIONS:-500}
+MONTHS=${MONTHS:-12}
+RPS=${RPS:-200}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+SESSIONS=${SESSIONS:-100}
+SEED=${SEED:-1}
+
+# H2 file paths in the profiles are relative to the backend directory
+cd "$SCRIPT_DIR/.."
+
+if [ "$FRESH" = "1" ]; then
+    rm -rf target/h2
+fi
+
+if [ "$SEED" = "1" ]; then
+    java -cp "$BENCH_JAR" com.financetracker.loadtest.DataSeeder "$USERS" "$TRANSACTIONS" "$MONTHS" \
+        --spring.profiles.active=h2
+fi
+
+java -jar "$APP_JAR" --spring.profiles.active=h2 --spring.jpa.show-sql=false \
+    --logging.level.com.financetracker=INFO --logging.level.org.springframework.security=INFO \
+    "$@" > /tmp/finance-tracker-mixed-load.log 2>&1 &
+APP_PID=$!
+trap "kill $APP_PID 2>/dev/null" EXIT
+
+until curl -s -o /dev/null http://localhost:8080/api/auth/test; do
+    sleep 1
+done
+
+java -cp "$BENCH_JAR" com.financetracker.loadtest.MixedWorkloadLoadTest \
+    http://localhost:8080 "$RPS" "$DURATION" "$WARMUP" "$SESSIONS"
@@ -0,0 +1,76 @@
+package com.financetracker.benchmark;
+
+import com.financetracker.config.AuthTokenFilter;
+import com.financetracker.config.JwtUtils;
+import com.financetracker.config.TokenRevocationStore;
+import com.financetracker.service.UserDetailsServiceImpl;
+import com.financetracker.service.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through AuthTokenFilter: header parsing, JWT
+ * validation and parsing, the revocation check against a store holding 10k
+ * revoked tokens, the user lookup (answered from memory instead of the
+ * database) and populating the security context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthTokenFilterBenchmark {
+
+    private AuthTokenFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = BackendFixtures.jwtUtils();
+        UserPrincipal principal = new UserPrincipal(1L, "Benchmark User", "benchmark@example.com", "{noop}unused");
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", new UserDetailsServiceImpl() {
+            @Override
+            public UserDetails loadUserByUsername(String email) {
+                return principal;
+            }
+        });
+        TokenRevocationStore revocations = new TokenRevocationStore(
+            new DriverManagerDataSource("jdbc:h2:mem:revocations;DB_CLOSE_DELAY=-1", "sa", ""),
+            Duration.ofDays(1), Duration.ofSeconds(1), 512, null, new SimpleMeterRegistry());
+        for (int i = 0; i < 10_000; i++) {
+            revocations.revokeAll("revoked-" + i + "@example.com", Instant.now());
+        }
+        ReflectionTestUtils.setField(filter, "tokenRevocationStore", revocations);
+        ReflectionTestUtils.invokeMethod(filter, "setMeterRegistry", new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtils.generateTokenFromUsername(principal.getUsername());
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.financetracker.benchmark;
+
+import com.financetracker.config.JwtUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Backend components wired by hand from the backend's own
+ * application.properties, so benchmarks run with the production settings
+ * without starting a Spring context.
+ */
+final class BackendFixtures {
+
+    private BackendFixtures() {}
+
+    static JwtUtils jwtUtils() {
+        Properties properties = applicationProperties();
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", properties.getProperty("jwt.secret"));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", Integer.parseInt(properties.getProperty("jwt.expiration")));
+        return jwtUtils;
+    }
+
+    private static Properties applicationProperties() {
+        try {
+            return PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.financetracker.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (e.g. from two commits) benchmark by
+ * benchmark: score and normalized allocation from the GC profiler.
+ *
+ * Usage: BenchmarkComparison baseline.json candidate.json
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n",
+            "Benchmark", "Baseline", "Candidate", "Change", "B/op before", "B/op after");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode after = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s %12s %12s  %s%n",
+                    entry.getKey(), "-", afterScore, "new", "-", allocation(after), unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double change = beforeScore == 0 ? 0 : (afterScore - beforeScore) / beforeScore * 100;
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %12s %12s  %s%n",
+                entry.getKey(), beforeScore, afterScore, change, allocation(before), allocation(after), unit);
+        }
+    }
+
+    // Benchmark name plus its parameters, so each parameter combination is compared separately
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace("com.financetracker.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        JsonNode allocation = result.path("secondaryMetrics").path("gc.alloc.rate.norm");
+        return allocation.isMissingNode() ? "-" : String.format("%.0f", allocation.path("score").asDouble());
+    }
+}
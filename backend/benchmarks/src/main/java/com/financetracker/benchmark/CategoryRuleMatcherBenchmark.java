@@ -0,0 +1,147 @@
+package com.financetracker.benchmark;
+
+import com.financetracker.model.CategoryRule;
+import com.financetracker.service.CategoryRuleMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Categorizes a corpus of bank-statement style descriptions, comparing the
+ * compiled keyword automaton against evaluating one regular expression per rule.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoryRuleMatcherBenchmark {
+
+    private static final String[][] MERCHANTS = {
+        {"Groceries", "whole foods", "trader joe", "safeway", "kroger", "aldi", "costco", "wegmans", "publix"},
+        {"Restaurants", "starbucks", "mcdonald", "chipotle", "doordash", "uber eats", "grubhub", "panera", "subway"},
+        {"Transport", "uber trip", "lyft", "shell oil", "chevron", "exxonmobil", "metro transit", "parking", "amtrak"},
+        {"Subscriptions", "netflix", "spotify", "hulu", "disney plus", "apple.com/bill", "youtube premium", "audible"},
+        {"Utilities", "pg&e", "comcast", "verizon", "at&t", "t-mobile", "water dept", "con edison"},
+        {"Shopping", "amazon", "amzn mktp", "target", "walmart", "best buy", "ikea", "home depot", "etsy"},
+        {"Health", "cvs pharmacy", "walgreens", "kaiser", "planet fitness", "dental"},
+        {"Travel", "delta air", "united airlines", "marriott", "hilton", "airbnb", "expedia"},
+    };
+
+    private static final String[] PREFIXES = {"POS PURCHASE ", "DEBIT CARD ", "ACH DEBIT ", "CHECKCARD ", "RECURRING ", ""};
+    private static final String[] CITIES = {"SEATTLE WA", "NEW YORK NY", "AUSTIN TX", "SAN JOSE CA", "CHICAGO IL", ""};
+
+    @Param({"64", "512"})
+    public int ruleCount;
+
+    private CategoryRuleMatcher matcher;
+    private Pattern[] naivePatterns;
+    private String[] naiveCategories;
+
+    private String[] descriptions;
+    private BigDecimal[] amounts;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<CategoryRule> rules = new ArrayList<>();
+
+        // Real merchants first, then synthetic ones to reach the rule count
+        for (String[] group : MERCHANTS) {
+            for (int i = 1; i < group.length; i++) {
+                rules.add(rule(CategoryRule.MatchType.KEYWORD, group[i], group[0]));
+            }
+        }
+        rules.add(rule(CategoryRule.MatchType.PREFIX, "atm withdrawal", "Cash"));
+        rules.add(rule(CategoryRule.MatchType.PREFIX, "payroll", "Salary"));
+        rules.add(rule(CategoryRule.MatchType.REGEX, "transfer (to|from) \\d{4,}", "Transfers"));
+        rules.add(rule(CategoryRule.MatchType.REGEX, "check #?\\d+", "Checks"));
+        while (rules.size() < ruleCount - 1) {
+            rules.add(rule(CategoryRule.MatchType.KEYWORD, "merchant " + Integer.toString(rules.size(), 36) + " llc",
+                "Other " + (rules.size() % 20)));
+        }
+        CategoryRule large = rule(CategoryRule.MatchType.AMOUNT_RANGE, null, "Large purchases");
+        large.setMinAmount(new BigDecimal("2500.00"));
+        rules.add(large);
+
+        for (int i = 0; i < rules.size(); i++) {
+            rules.get(i).setPriority(i);
+        }
+        matcher = CategoryRuleMatcher.compile(rules);
+
+        List<Pattern> patterns = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        for (CategoryRule rule : rules) {
+            if (rule.getPattern() == null) {
+                continue;
+            }
+            String regex = switch (rule.getMatchType()) {
+                case KEYWORD -> Pattern.quote(rule.getPattern());
+                case PREFIX -> "^" + Pattern.quote(rule.getPattern());
+                default -> rule.getPattern();
+            };
+            patterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+            categories.add(rule.getCategory());
+        }
+        naivePatterns = patterns.toArray(new Pattern[0]);
+        naiveCategories = categories.toArray(new String[0]);
+
+        // Roughly 70% known merchants, the rest transfers, cash and unknown payees
+        descriptions = new String[8192];
+        amounts = new BigDecimal[descriptions.length];
+        for (int i = 0; i < descriptions.length; i++) {
+            int kind = random.nextInt(10);
+            String description;
+            if (kind < 7) {
+                String[] group = MERCHANTS[random.nextInt(MERCHANTS.length)];
+                String merchant = group[1 + random.nextInt(group.length - 1)].toUpperCase(Locale.ROOT);
+                description = PREFIXES[random.nextInt(PREFIXES.length)] + merchant + " #" + random.nextInt(99999)
+                    + " " + CITIES[random.nextInt(CITIES.length)];
+            } else if (kind == 7) {
+                description = "ONLINE TRANSFER TO " + (1000 + random.nextInt(9000)) + " REF " + random.nextInt(1_000_000);
+            } else if (kind == 8) {
+                description = "ATM WITHDRAWAL " + random.nextInt(9999) + " " + CITIES[random.nextInt(CITIES.length)];
+            } else {
+                description = "POS PURCHASE SQ *LOCAL VENDOR " + random.nextInt(999) + " " + CITIES[random.nextInt(CITIES.length)];
+            }
+            descriptions[i] = description;
+            amounts[i] = BigDecimal.valueOf(random.nextInt(400_000), 2);
+        }
+    }
+
+    @Benchmark
+    public String compiledMatcher() {
+        int i = nextIndex();
+        return matcher.match(descriptions[i], amounts[i]);
+    }
+
+    @Benchmark
+    public String regexPerRule() {
+        int i = nextIndex();
+        String description = descriptions[i];
+        for (int r = 0; r < naivePatterns.length; r++) {
+            if (naivePatterns[r].matcher(description).find()) {
+                return naiveCategories[r];
+            }
+        }
+        return null;
+    }
+
+    private int nextIndex() {
+        int i = cursor;
+        cursor = (i + 1) & (descriptions.length - 1);
+        return i;
+    }
+
+    private static CategoryRule rule(CategoryRule.MatchType type, String pattern, String category) {
+        return new CategoryRule(type, pattern, null, null, category, 0, null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.financetracker.benchmark;
+
+import com.financetracker.dto.DashboardResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dashboard's totals and savings-rate computation: summing the per-category
+ * totals as DashboardController does, then DashboardResponse.fromTotals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardMathBenchmark {
+
+    @Param({"8", "64"})
+    public int categories;
+
+    private Map<String, BigDecimal> incomeTotals;
+    private Map<String, BigDecimal> expenseTotals;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        incomeTotals = new LinkedHashMap<>();
+        expenseTotals = new LinkedHashMap<>();
+        for (int i = 0; i < categories; i++) {
+            incomeTotals.put("Income " + i, BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+            expenseTotals.put("Expense " + i, BigDecimal.valueOf(-random.nextInt(200_000), 2));
+        }
+    }
+
+    @Benchmark
+    public DashboardResponse fromTotals() {
+        return DashboardResponse.fromTotals(sum(incomeTotals), sum(expenseTotals));
+    }
+
+    // Same loop as DashboardController.sum
+    private static BigDecimal sum(Map<String, BigDecimal> totals) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : totals.values()) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+}
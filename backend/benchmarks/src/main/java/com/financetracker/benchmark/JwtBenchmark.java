@@ -0,0 +1,43 @@
+package com.financetracker.benchmark;
+
+import com.financetracker.config.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and the two parses AuthTokenFilter performs on every
+ * authenticated request, with the secret and expiry from application.properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BackendFixtures.jwtUtils();
+        token = jwtUtils.generateTokenFromUsername("benchmark@example.com");
+    }
+
+    @Benchmark
+    public String generateTokenFromUsername() {
+        return jwtUtils.generateTokenFromUsername("benchmark@example.com");
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromJwtToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+}
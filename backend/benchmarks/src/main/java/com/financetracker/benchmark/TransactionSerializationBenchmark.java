@@ -0,0 +1,72 @@
+package com.financetracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a transaction listing the way the controllers return it, with an
+ * ObjectMapper configured like Spring Boot's, into a reused buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionSerializationBenchmark {
+
+    private static final String[] CATEGORIES = {"Groceries", "Restaurants", "Transport", "Utilities", "Shopping", "Salary"};
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactions;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 9, 30);
+        transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean income = random.nextInt(10) == 0;
+            Transaction transaction = new Transaction(
+                "POS PURCHASE MERCHANT " + random.nextInt(5000) + " SEATTLE WA",
+                BigDecimal.valueOf(random.nextInt(income ? 500_000 : 40_000), 2),
+                income ? "Salary" : CATEGORIES[random.nextInt(CATEGORIES.length - 1)],
+                start.plusDays(random.nextInt(365)),
+                income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                random.nextInt(4) == 0 ? "note " + i : null,
+                null
+            );
+            transaction.setId((long) i + 1);
+            transaction.setCreatedAt(createdAt.plusMinutes(i));
+            transaction.setUpdatedAt(createdAt.plusMinutes(i));
+            transactions.add(transaction);
+        }
+        buffer = new ByteArrayOutputStream(rows * 400);
+    }
+
+    @Benchmark
+    public int writeTransactions() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, transactions);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,160 @@
+package com.financetracker.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test against a running backend: N concurrent clients each
+ * alternate between GET /api/dashboard and GET /api/transactions as fast as
+ * the server answers, then throughput and latency percentiles are printed.
+ *
+ * Run it once against the default (platform thread) mode and once against
+ * --spring.profiles.active=virtual-threads to compare; see
+ * compare-thread-modes.sh. The optional readUrl points the measured reads at
+ * another server sharing the database, such as the reactive application,
+ * while the user is still created and seeded through baseUrl; see
+ * compare-stacks.sh.
+ *
+ * Usage: ConcurrencyLoadTest [baseUrl] [clients] [durationSeconds] [warmupSeconds] [readUrl]
+ */
+public class ConcurrencyLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        String readUrl = args.length > 4 ? args[4] : baseUrl;
+
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        String token = signUpAndLogin(http, baseUrl);
+        seedTransactions(http, baseUrl, token, 200);
+
+        System.out.printf("Warming up %d clients for %ds...%n", clients, warmupSeconds);
+        run(http, readUrl, token, clients, warmupSeconds);
+
+        System.out.printf("Measuring %d clients for %ds...%n", clients, durationSeconds);
+        Result result = run(http, readUrl, token, clients, durationSeconds);
+        result.print(durationSeconds);
+    }
+
+    private static Result run(HttpClient http, String baseUrl, String token, int clients, int seconds)
+            throws InterruptedException {
+        HttpRequest dashboard = authorized(baseUrl + "/api/dashboard", token).GET().build();
+        HttpRequest listing = authorized(baseUrl + "/api/transactions", token).GET().build();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        LongAdder errors = new LongAdder();
+        List<LatencyRecorder> recorders = new ArrayList<>(clients);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                int offset = c;
+                executor.submit(() -> {
+                    for (long i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = (i & 1) == 0 ? dashboard : listing;
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        recorder.record(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+
+        return new Result(recorders, errors.sum());
+    }
+
+    private static String signUpAndLogin(HttpClient http, String baseUrl) throws Exception {
+        String email = "loadtest-" + System.currentTimeMillis() + "@example.com";
+        String password = "loadtest-password";
+        post(http, baseUrl + "/api/auth/signup", null,
+            "{\"name\":\"Load Test\",\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+        String body = post(http, baseUrl + "/api/auth/signin", null,
+            "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static void seedTransactions(HttpClient http, String baseUrl, String token, int count) throws Exception {
+        StringBuilder batch = new StringBuilder("[");
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                batch.append(',');
+            }
+            boolean income = i % 10 == 0;
+            batch.append("{\"description\":\"Seed ").append(i)
+                .append("\",\"amount\":").append(income ? "2500.00" : (5 + i % 90) + ".25")
+                .append(",\"category\":\"").append(income ? "Salary" : "Groceries")
+                .append("\",\"transactionDate\":\"").append(today.minusDays(i % 90))
+                .append("\",\"type\":\"").append(income ? "INCOME" : "EXPENSE").append("\"}");
+        }
+        batch.append(']');
+        post(http, baseUrl + "/api/transactions/import", token, batch.toString());
+    }
+
+    private static String post(HttpClient http, String url, String token, String json) throws Exception {
+        HttpRequest request = authorized(url, token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + url + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static HttpRequest.Builder authorized(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    record Result(List<LatencyRecorder> recorders, long errors) {
+        void print(int seconds) {
+            long[] all = LatencyRecorder.merge(recorders);
+            int total = all.length;
+
+            System.out.printf("requests:   %d%n", total);
+            System.out.printf("throughput: %.1f req/s%n", total / (double) seconds);
+            System.out.printf("errors:     %d (%.2f%%)%n", errors, total == 0 ? 0.0 : 100.0 * errors / total);
+            System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                LatencyRecorder.percentile(all, 0.50), LatencyRecorder.percentile(all, 0.90),
+                LatencyRecorder.percentile(all, 0.99), LatencyRecorder.percentile(all, 0.999),
+                total == 0 ? 0.0 : all[total - 1] / 1e6);
+        }
+    }
+}
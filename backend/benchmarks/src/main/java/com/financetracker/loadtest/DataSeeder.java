@@ -0,0 +1,341 @@
+package com.financetracker.loadtest;
+
+import com.financetracker.FinanceTrackerApplication;
+import com.financetracker.model.TransactionFingerprint;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the backend database with synthetic users, transactions and budgets
+ * for load tests, writing through JDBC batches instead of the API so tens of
+ * millions of rows take minutes rather than hours.
+ *
+ * The backend is started without its web server to create or update the
+ * schema and to provide the configured DataSource, so any Spring argument
+ * selects the target database, e.g. --spring.profiles.active=h2 for the local
+ * file database or the default MySQL settings. For MySQL, add
+ * rewriteBatchedStatements=true to the JDBC URL.
+ *
+ * Users are named seed-N@loadtest.local with password "loadtest-password"
+ * and continue from the highest N already present, so runs accumulate.
+ * Transaction counts per user are log-normally distributed around the given
+ * average; each user gets a monthly salary and rent plus card spending spread
+ * over the period with per-category amount distributions, and budgets for the
+ * current month sized against that month's spending.
+ *
+ * Usage: DataSeeder users avgTransactionsPerUser [months] [threads] [--spring.option=value ...]
+ */
+public class DataSeeder {
+
+    static final String EMAIL_FORMAT = "seed-%d@loadtest.local";
+    static final String PASSWORD = "loadtest-password";
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Category, relative frequency, median amount, merchants
+    private static final Object[][] SPENDING = {
+        {"Groceries", 25, 55.0, new String[] {"WHOLE FOODS", "TRADER JOE'S", "SAFEWAY", "KROGER", "ALDI", "COSTCO WHSE"}},
+        {"Restaurants", 20, 24.0, new String[] {"STARBUCKS", "CHIPOTLE", "DOORDASH", "UBER EATS", "PANERA BREAD", "SUBWAY"}},
+        {"Transport", 15, 18.0, new String[] {"UBER TRIP", "LYFT RIDE", "SHELL OIL", "CHEVRON", "METRO TRANSIT", "PARKING"}},
+        {"Shopping", 12, 45.0, new String[] {"AMAZON MKTP", "TARGET", "WALMART", "BEST BUY", "IKEA", "ETSY"}},
+        {"Subscriptions", 7, 12.0, new String[] {"NETFLIX.COM", "SPOTIFY", "HULU", "APPLE.COM/BILL", "AUDIBLE"}},
+        {"Utilities", 5, 85.0, new String[] {"PG&E", "COMCAST", "VERIZON WIRELESS", "WATER DEPT"}},
+        {"Health", 5, 40.0, new String[] {"CVS PHARMACY", "WALGREENS", "PLANET FITNESS", "KAISER"}},
+        {"Entertainment", 8, 30.0, new String[] {"AMC THEATRES", "STEAM GAMES", "TICKETMASTER", "BOWLERO"}},
+        {"Travel", 3, 320.0, new String[] {"DELTA AIR", "UNITED AIRLINES", "MARRIOTT", "AIRBNB", "EXPEDIA"}},
+    };
+
+    private static final String[] PREFIXES = {"POS PURCHASE ", "DEBIT CARD ", "CHECKCARD ", ""};
+    private static final String[] CITIES = {"SEATTLE WA", "NEW YORK NY", "AUSTIN TX", "SAN JOSE CA", "CHICAGO IL", "DENVER CO"};
+
+    private static final String INSERT_USER =
+        "insert into users (created_at, email, name, password, updated_at) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION =
+        "insert into transactions (amount, category, created_at, description, fingerprint, notes, transaction_date, type, updated_at, user_id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BUDGET =
+        "insert into budgets (budget_limit, category, created_at, month, spent_amount, updated_at, user_id, year) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final int months;
+    private final LocalDate today = LocalDate.now();
+    private final AtomicLong seededUsers = new AtomicLong();
+    private final AtomicLong seededTransactions = new AtomicLong();
+    private final int totalWeight = Arrays.stream(SPENDING).mapToInt(c -> (Integer) c[1]).sum();
+
+    DataSeeder(DataSource dataSource, int months) {
+        this.dataSource = dataSource;
+        this.months = months;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = new ArrayList<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            (arg.startsWith("--") ? springArgs : positional).add(arg);
+        }
+        if (positional.size() < 2) {
+            System.err.println("Usage: DataSeeder users avgTransactionsPerUser [months] [threads] [--spring.option=value ...]");
+            System.exit(2);
+        }
+        int users = Integer.parseInt(positional.get(0));
+        int averageTransactions = Integer.parseInt(positional.get(1));
+        int months = positional.size() > 2 ? Integer.parseInt(positional.get(2)) : 12;
+        int threads = positional.size() > 3 ? Integer.parseInt(positional.get(3)) : Runtime.getRuntime().availableProcessors();
+
+        defaultArg(springArgs, "app.recurring.enabled", "false");
+        defaultArg(springArgs, "spring.jpa.show-sql", "false");
+        defaultArg(springArgs, "spring.main.banner-mode", "off");
+        defaultArg(springArgs, "logging.level.com.financetracker", "WARN");
+        // Every worker holds its own connection for the whole run
+        defaultArg(springArgs, "spring.datasource.hikari.maximum-pool-size", String.valueOf(threads + 1));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FinanceTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(springArgs.toArray(new String[0]))) {
+            if (context.getEnvironment().getProperty("app.sharding.enabled", Boolean.class, false)) {
+                throw new IllegalStateException("Seeding a sharded deployment is not supported; seed each database unsharded");
+            }
+            // One hash for all users: BCrypt per user would dominate the run
+            String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+            new DataSeeder(context.getBean(DataSource.class), months).seed(users, averageTransactions, threads, passwordHash);
+        }
+    }
+
+    // Command-line properties given twice are joined with a comma, so only add defaults that are missing
+    private static void defaultArg(List<String> springArgs, String name, String value) {
+        if (springArgs.stream().noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+            springArgs.add("--" + name + "=" + value);
+        }
+    }
+
+    void seed(int users, int averageTransactions, int threads, String passwordHash) throws Exception {
+        long started = System.nanoTime();
+        int firstIndex = nextUserIndex();
+        long[] userIds = insertUsers(firstIndex, users, passwordHash);
+        System.out.printf("Created users seed-%d..seed-%d, seeding ~%d transactions each over %d months with %d threads%n",
+            firstIndex, firstIndex + users - 1, averageTransactions, months, threads);
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> report(users, started), 5, 5, TimeUnit.SECONDS);
+        try (ExecutorService workers = Executors.newFixedThreadPool(threads)) {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                tasks.add(() -> {
+                    seedTransactions(userIds, firstIndex, worker, threads, averageTransactions);
+                    return null;
+                });
+            }
+            for (Future<Void> result : workers.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+        report(users, started);
+    }
+
+    private void report(int users, long started) {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("users %d/%d, transactions %d (%.0f rows/s)%n",
+            seededUsers.get(), users, seededTransactions.get(), seededTransactions.get() / seconds);
+    }
+
+    private int nextUserIndex() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select email from users where email like ?")) {
+            statement.setString(1, "seed-%@loadtest.local");
+            int next = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    String email = rows.getString(1);
+                    next = Math.max(next, Integer.parseInt(email.substring(5, email.indexOf('@'))) + 1);
+                }
+            }
+            return next;
+        }
+    }
+
+    private long[] insertUsers(int firstIndex, int users, String passwordHash) throws SQLException {
+        long[] ids = new long[users];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_USER, new String[] {"id"})) {
+            connection.setAutoCommit(false);
+            int filled = 0;
+            for (int i = 0; i < users; i++) {
+                statement.setTimestamp(1, now);
+                statement.setString(2, String.format(EMAIL_FORMAT, firstIndex + i));
+                statement.setString(3, "Seed User " + (firstIndex + i));
+                statement.setString(4, passwordHash);
+                statement.setTimestamp(5, now);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == users - 1) {
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids[filled++] = keys.getLong(1);
+                        }
+                    }
+                    connection.commit();
+                }
+            }
+            if (filled != users) {
+                throw new IllegalStateException("Expected " + users + " generated user ids, got " + filled);
+            }
+        }
+        return ids;
+    }
+
+    // Worker w seeds users w, w + threads, w + 2 * threads, ... on its own connection
+    private void seedTransactions(long[] userIds, int firstIndex, int worker, int threads, int averageTransactions)
+            throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement transactions = connection.prepareStatement(INSERT_TRANSACTION);
+             PreparedStatement budgets = connection.prepareStatement(INSERT_BUDGET)) {
+            connection.setAutoCommit(false);
+            int pending = 0;
+            for (int u = worker; u < userIds.length; u += threads) {
+                Random random = new Random(firstIndex + u);
+                Map<String, BigDecimal> spentThisMonth = new HashMap<>();
+                int count = addUserTransactions(transactions, userIds[u], random, averageTransactions, spentThisMonth);
+                pending += count;
+                addBudgets(budgets, userIds[u], random, spentThisMonth);
+                if (pending >= BATCH_SIZE) {
+                    transactions.executeBatch();
+                    budgets.executeBatch();
+                    connection.commit();
+                    seededTransactions.addAndGet(pending);
+                    pending = 0;
+                }
+                seededUsers.incrementAndGet();
+            }
+            transactions.executeBatch();
+            budgets.executeBatch();
+            connection.commit();
+            seededTransactions.addAndGet(pending);
+        }
+    }
+
+    private int addUserTransactions(PreparedStatement statement, long userId, Random random, int average,
+                                    Map<String, BigDecimal> spentThisMonth) throws SQLException {
+        // Log-normal with sigma 0.8, scaled so the mean over all users is the requested average
+        int count = Math.max(2 * months + 2, (int) (average * Math.exp(0.8 * random.nextGaussian() - 0.32)));
+        LocalDate first = today.minusMonths(months).plusDays(1);
+        int days = (int) (today.toEpochDay() - first.toEpochDay()) + 1;
+
+        BigDecimal salary = money(4500 * Math.exp(0.4 * random.nextGaussian()));
+        BigDecimal rent = money(salary.doubleValue() * (0.25 + random.nextDouble() * 0.1));
+        String employer = "PAYROLL " + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26)) + " CORP";
+        int added = 0;
+        for (LocalDate month = first.withDayOfMonth(1); !month.isAfter(today); month = month.plusMonths(1)) {
+            if (!month.isBefore(first)) {
+                addTransaction(statement, userId, random, employer, salary, "Salary", month, "INCOME");
+                added++;
+            }
+            LocalDate rentDay = month.withDayOfMonth(3);
+            if (!rentDay.isBefore(first) && !rentDay.isAfter(today)) {
+                addTransaction(statement, userId, random, "RENT PAYMENT PROPERTY MGMT", rent, "Housing", rentDay, "EXPENSE");
+                added++;
+            }
+        }
+
+        while (added < count) {
+            Object[] category = pickCategory(random);
+            String[] merchants = (String[]) category[3];
+            String description = PREFIXES[random.nextInt(PREFIXES.length)] + merchants[random.nextInt(merchants.length)]
+                + " #" + random.nextInt(10_000) + " " + CITIES[random.nextInt(CITIES.length)];
+            BigDecimal amount = money(Math.max(1.0, (Double) category[2] * Math.exp(0.6 * random.nextGaussian())));
+            LocalDate date = first.plusDays(random.nextInt(days));
+            addTransaction(statement, userId, random, description, amount, (String) category[0], date, "EXPENSE");
+            added++;
+            if (date.getMonth() == today.getMonth() && date.getYear() == today.getYear()) {
+                spentThisMonth.merge((String) category[0], amount, BigDecimal::add);
+            }
+        }
+        return added;
+    }
+
+    private void addTransaction(PreparedStatement statement, long userId, Random random, String description,
+                                BigDecimal amount, String category, LocalDate date, String type) throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(date.atTime(8, 0).plusMinutes(random.nextInt(14 * 60)));
+        statement.setBigDecimal(1, amount);
+        statement.setString(2, category);
+        statement.setTimestamp(3, createdAt);
+        statement.setString(4, description);
+        statement.setLong(5, TransactionFingerprint.of(date, amount, description));
+        statement.setString(6, random.nextInt(20) == 0 ? "seeded note" : null);
+        statement.setDate(7, Date.valueOf(date));
+        statement.setString(8, type);
+        statement.setTimestamp(9, createdAt);
+        statement.setLong(10, userId);
+        statement.addBatch();
+    }
+
+    // A budget for most spending categories, some already exceeded this month
+    private void addBudgets(PreparedStatement statement, long userId, Random random,
+                            Map<String, BigDecimal> spentThisMonth) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Object[] category : SPENDING) {
+            if (random.nextInt(3) == 0) {
+                continue;
+            }
+            String name = (String) category[0];
+            BigDecimal limit = BigDecimal.valueOf(Math.max(1, Math.round((Double) category[2] * (4 + random.nextInt(12)) / 50.0)) * 50L)
+                .setScale(2, RoundingMode.UNNECESSARY);
+            statement.setBigDecimal(1, limit);
+            statement.setString(2, name);
+            statement.setTimestamp(3, now);
+            statement.setInt(4, today.getMonthValue());
+            statement.setBigDecimal(5, spentThisMonth.getOrDefault(name, BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP));
+            statement.setTimestamp(6, now);
+            statement.setLong(7, userId);
+            statement.setInt(8, today.getYear());
+            statement.addBatch();
+        }
+    }
+
+    private Object[] pickCategory(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (Object[] category : SPENDING) {
+            pick -= (Integer) category[1];
+            if (pick < 0) {
+                return category;
+            }
+        }
+        return SPENDING[SPENDING.length - 1];
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,44 @@
+package com.financetracker.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-writer latency buffer; callers either keep one per client or
+ * synchronize on it. Recorders are merged after the run for percentiles.
+ */
+final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int size;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static long[] merge(List<LatencyRecorder> recorders) {
+        int total = recorders.stream().mapToInt(r -> r.size).sum();
+        long[] all = new long[total];
+        int pos = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, pos, recorder.size);
+            pos += recorder.size;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,287 @@
+package com.financetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop load test replaying a mixed workload against a running backend
+ * seeded by DataSeeder: logins, dashboards, listings, transaction creates,
+ * updates and deletes, and budget reads and updates, started at a fixed
+ * target rate regardless of how fast the server answers.
+ *
+ * Latency is measured from each request's scheduled start, so time spent
+ * queued behind a slow server counts (no coordinated omission). Requests
+ * that would exceed the in-flight limit are dropped and reported. Updates and
+ * deletes only touch transactions the run itself created, so seeded data
+ * keeps its shape across runs.
+ *
+ * Usage: MixedWorkloadLoadTest [baseUrl] [targetRps] [durationSeconds] [warmupSeconds] [users] [maxInFlight]
+ */
+public class MixedWorkloadLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    enum Operation {
+        LOGIN(2), DASHBOARD(20), LISTING(15), DATE_RANGE(10), CREATE(15), UPDATE(8), DELETE(6), BUDGETS(20), BUDGET_UPDATE(4);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A logged-in seeded user, with the transactions this run created for it.
+     */
+    record Session(String email, String token, ConcurrentLinkedDeque<Long> createdIds, List<JsonNode> budgets) {}
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final List<Session> sessions = new ArrayList<>();
+    private final Operation[] schedule = new Operation[100];
+
+    MixedWorkloadLoadTest(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        int slot = 0;
+        for (Operation operation : Operation.values()) {
+            for (int i = 0; i < operation.weight; i++) {
+                schedule[slot++] = operation;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int targetRps = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        int users = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        int maxInFlight = args.length > 5 ? Integer.parseInt(args[5]) : 2000;
+
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        MixedWorkloadLoadTest test = new MixedWorkloadLoadTest(http, baseUrl);
+        System.out.printf("Logging in %d seeded users...%n", users);
+        test.logIn(users);
+
+        System.out.printf("Warming up at %d req/s for %ds...%n", targetRps, warmupSeconds);
+        test.run(targetRps, warmupSeconds, maxInFlight);
+
+        System.out.printf("Measuring at %d req/s for %ds...%n", targetRps, durationSeconds);
+        test.run(targetRps, durationSeconds, maxInFlight).print(targetRps, durationSeconds, maxInFlight);
+    }
+
+    private void logIn(int users) throws Exception {
+        List<Session> loggedIn = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Session>> results = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                String email = String.format(DataSeeder.EMAIL_FORMAT, i);
+                results.add(executor.submit(() -> {
+                    String token = signIn(email);
+                    HttpResponse<String> budgets = http.send(
+                        authorized("/api/budgets", token).GET().build(), HttpResponse.BodyHandlers.ofString());
+                    List<JsonNode> budgetList = new ArrayList<>();
+                    new ObjectMapper().readTree(budgets.body()).forEach(budgetList::add);
+                    return new Session(email, token, new ConcurrentLinkedDeque<>(), budgetList);
+                }));
+            }
+            for (Future<Session> result : results) {
+                loggedIn.add(result.get());
+            }
+        }
+        sessions.addAll(loggedIn);
+    }
+
+    private String signIn(String email) throws Exception {
+        HttpResponse<String> response = http.send(signInRequest(email), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login of " + email + " failed (" + response.statusCode()
+                + "); seed users with DataSeeder first: " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private Result run(int targetRps, int seconds, int maxInFlight) throws InterruptedException {
+        Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyRecorder());
+            errors.put(operation, new LongAdder());
+        }
+        LongAdder dropped = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Random random = new Random(42);
+        long total = (long) targetRps * seconds;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long scheduled = start + i * 1_000_000_000L / targetRps;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+                Operation operation = schedule[random.nextInt(schedule.length)];
+                Session session = sessions.get(random.nextInt(sessions.size()));
+                executor.submit(() -> {
+                    try {
+                        Operation executed = operation;
+                        boolean ok;
+                        try {
+                            Call call = call(operation, session);
+                            executed = call.operation();
+                            HttpResponse<String> response = http.send(call.request(), HttpResponse.BodyHandlers.ofString());
+                            ok = response.statusCode() == 200;
+                            if (ok && executed == Operation.CREATE) {
+                                Matcher id = ID.matcher(response.body());
+                                if (id.find()) {
+                                    session.createdIds().add(Long.parseLong(id.group(1)));
+                                }
+                            }
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long latency = System.nanoTime() - scheduled;
+                        LatencyRecorder recorder = latencies.get(executed);
+                        synchronized (recorder) {
+                            recorder.record(latency);
+                        }
+                        if (!ok) {
+                            errors.get(executed).increment();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Result(latencies, errors, dropped.sum(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private record Call(Operation operation, HttpRequest request) {}
+
+    // Updates and deletes fall back to a create while the session has no transactions of its own
+    private Call call(Operation operation, Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate today = LocalDate.now();
+        return switch (operation) {
+            case LOGIN -> new Call(operation, signInRequest(session.email()));
+            case DASHBOARD -> new Call(operation, authorized("/api/dashboard", session.token()).GET().build());
+            case LISTING -> new Call(operation, authorized("/api/transactions", session.token()).GET().build());
+            case DATE_RANGE -> new Call(operation, authorized("/api/transactions/date-range?startDate="
+                + today.minusDays(30) + "&endDate=" + today, session.token()).GET().build());
+            case BUDGETS -> new Call(operation, authorized("/api/budgets/month/" + today.getMonthValue()
+                + "/year/" + today.getYear(), session.token()).GET().build());
+            case BUDGET_UPDATE -> {
+                if (session.budgets().isEmpty()) {
+                    yield call(Operation.BUDGETS, session);
+                }
+                JsonNode budget = session.budgets().get(random.nextInt(session.budgets().size()));
+                yield new Call(operation, json(authorized("/api/budgets/" + budget.get("id").asLong(), session.token()), "PUT",
+                    "{\"category\":\"" + budget.get("category").asText() + "\",\"budgetLimit\":" + (100 + random.nextInt(900))
+                        + ",\"month\":" + budget.get("month").asInt() + ",\"year\":" + budget.get("year").asInt() + "}"));
+            }
+            case CREATE -> new Call(operation, json(authorized("/api/transactions", session.token()), "POST",
+                transactionJson(random, today)));
+            case UPDATE -> {
+                Long id = session.createdIds().peekLast();
+                yield id == null ? call(Operation.CREATE, session)
+                    : new Call(operation, json(authorized("/api/transactions/" + id, session.token()), "PUT",
+                        transactionJson(random, today)));
+            }
+            case DELETE -> {
+                Long id = session.createdIds().pollFirst();
+                yield id == null ? call(Operation.CREATE, session)
+                    : new Call(operation, authorized("/api/transactions/" + id, session.token()).DELETE().build());
+            }
+        };
+    }
+
+    private static String transactionJson(ThreadLocalRandom random, LocalDate today) {
+        return "{\"description\":\"LOAD TEST PURCHASE #" + random.nextInt(100_000)
+            + "\",\"amount\":" + (1 + random.nextInt(200)) + "." + (10 + random.nextInt(90))
+            + ",\"category\":\"Shopping\",\"transactionDate\":\"" + today.minusDays(random.nextInt(30))
+            + "\",\"type\":\"EXPENSE\"}";
+    }
+
+    private HttpRequest signInRequest(String email) {
+        return json(authorized("/api/auth/signin", null), "POST",
+            "{\"email\":\"" + email + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}");
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    record Result(Map<Operation, LatencyRecorder> latencies, Map<Operation, LongAdder> errors, long dropped,
+                  double elapsedSeconds) {
+        void print(int targetRps, int seconds, int maxInFlight) {
+            long[] all = LatencyRecorder.merge(List.copyOf(latencies.values()));
+            long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+
+            System.out.printf("target:     %d req/s for %ds%n", targetRps, seconds);
+            System.out.printf("achieved:   %.1f req/s (%d requests, %d dropped at %d in flight)%n",
+                all.length / elapsedSeconds, all.length, dropped, maxInFlight);
+            System.out.printf("errors:     %d (%.2f%%)%n", totalErrors, all.length == 0 ? 0.0 : 100.0 * totalErrors / all.length);
+            System.out.printf("%-14s %9s %7s %9s %9s %9s %9s %9s  (latency ms)%n",
+                "operation", "requests", "errors", "p50", "p90", "p99", "p99.9", "max");
+            for (Operation operation : Operation.values()) {
+                long[] sorted = LatencyRecorder.merge(List.of(latencies.get(operation)));
+                printRow(operation.name().toLowerCase(), sorted, errors.get(operation).sum());
+            }
+            printRow("all", all, totalErrors);
+        }
+
+        private static void printRow(String name, long[] sorted, long errors) {
+            System.out.printf("%-14s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, sorted.length, errors,
+                LatencyRecorder.percentile(sorted, 0.50), LatencyRecorder.percentile(sorted, 0.90),
+                LatencyRecorder.percentile(sorted, 0.99), LatencyRecorder.percentile(sorted, 0.999),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.financetracker;
 
+import com.financetracker.config.ShardingProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableConfigurationProperties(ShardingProperties.class)
 public class FinanceTrackerApplication {
     public static void main(String[] args) {
         SpringApplication.run(FinanceTrackerApplication.class, args);
@@ -1,6 +1,10 @@
 package com.financetracker.config;
 
 import com.financetracker.service.UserDetailsServiceImpl;
+import com.financetracker.service.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,13 +14,12 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
-@Component
 public class AuthTokenFilter extends OncePerRequestFilter {
     
     @Autowired
@@ -25,21 +28,56 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
     
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+    
+    private Timer jwtTimer;
+    
+    @Autowired
+    void setMeterRegistry(MeterRegistry meterRegistry) {
+        jwtTimer = Timer.builder("app.jwt.verification")
+            .description("Bearer token validation and parsing in AuthTokenFilter")
+            .register(meterRegistry);
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                
+            String username = null;
+            JfrEvents.JwtVerificationEvent jwtEvent = new JfrEvents.JwtVerificationEvent();
+            if (jwt != null) {
+                jwtEvent.begin();
+                long start = System.nanoTime();
+                if (jwtUtils.validateJwtToken(jwt)) {
+                    Claims claims = jwtUtils.getClaimsFromJwtToken(jwt);
+                    // In-memory lookup; a revoked token is treated like an invalid one
+                    if (!tokenRevocationStore.isRevoked(claims)) {
+                        username = claims.getSubject();
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                jwtEvent.end();
+                jwtTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                RequestMetrics.recordJwt(elapsed);
+            }
+            if (username != null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                Long userId = ((UserPrincipal) userDetails).getId();
+                RequestMetrics.recordUser(userId);
+                jwtEvent.userId = userId;
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+            // Committed after the user load so the event carries the user id; its duration ends at end()
+            if (jwt != null) {
+                jwtEvent.valid = username != null;
+                jwtEvent.commit();
+            }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
         }
@@ -0,0 +1,19 @@
+package com.financetracker.config;
+
+import com.financetracker.service.BudgetAlertNotifier;
+import com.financetracker.service.LiveUpdateBudgetAlertNotifier;
+import com.financetracker.service.LiveUpdateService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BudgetAlertConfig {
+
+    // Replaced by any other BudgetAlertNotifier bean
+    @Bean
+    @ConditionalOnMissingBean(BudgetAlertNotifier.class)
+    public LiveUpdateBudgetAlertNotifier liveUpdateBudgetAlertNotifier(LiveUpdateService liveUpdateService) {
+        return new LiveUpdateBudgetAlertNotifier(liveUpdateService);
+    }
+}
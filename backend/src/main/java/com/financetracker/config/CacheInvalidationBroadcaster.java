@@ -0,0 +1,29 @@
+package com.financetracker.config;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries second-level cache invalidations between application nodes.
+ *
+ * Hibernate keeps each node's own cache consistent with its writes; other
+ * nodes only learn about them through this broadcaster. Without a
+ * broadcaster bean the application assumes it runs on a single node.
+ */
+public interface CacheInvalidationBroadcaster {
+
+    /**
+     * Announces a committed change of a cached entity to the other nodes.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Registers the handler for changes announced by other nodes.
+     */
+    void subscribe(Consumer<CacheInvalidation> handler);
+
+    /**
+     * A changed entity. The shard is null unless sharding is enabled, since
+     * entity ids are only unique within a shard.
+     */
+    record CacheInvalidation(String entityName, Long id, String shard) {}
+}
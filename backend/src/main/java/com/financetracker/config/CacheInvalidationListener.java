@@ -0,0 +1,87 @@
+package com.financetracker.config;
+
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Publishes committed changes of cached entities and applies the changes
+ * other nodes publish to the local second-level cache.
+ */
+final class CacheInvalidationListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    private CacheInvalidationListener(SessionFactoryImplementor sessionFactory, CacheInvalidationBroadcaster broadcaster) {
+        this.sessionFactory = sessionFactory;
+        this.broadcaster = broadcaster;
+    }
+
+    static void register(SessionFactoryImplementor sessionFactory, CacheInvalidationBroadcaster broadcaster) {
+        CacheInvalidationListener listener = new CacheInvalidationListener(sessionFactory, broadcaster);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        broadcaster.subscribe(listener::evict);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            broadcaster.publish(new CacheInvalidationBroadcaster.CacheInvalidation(
+                persister.getEntityName(), (Long) id, ShardContext.getCurrentShard()));
+        }
+    }
+
+    private void evict(CacheInvalidationBroadcaster.CacheInvalidation invalidation) {
+        ShardContext.callOn(invalidation.shard(), () -> {
+            Cache cache = sessionFactory.getCache();
+            cache.evictEntityData(invalidation.entityName(), invalidation.id());
+            // Cached query results may include the changed row or be missing an inserted one
+            cache.evictQueryRegions();
+            return null;
+        });
+    }
+}
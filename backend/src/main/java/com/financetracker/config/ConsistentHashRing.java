@@ -0,0 +1,63 @@
+package com.financetracker.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consistent hash ring over shard names with virtual nodes, so adding a
+ * shard only moves about 1/N of the key space onto it.
+ *
+ * Points are kept in a sorted primitive array and looked up by binary search.
+ * Instances are immutable and thread-safe.
+ */
+public class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+
+        List<long[]> entries = new ArrayList<>(shards.size() * virtualNodes);
+        List<String> names = new ArrayList<>(shards);
+        for (int s = 0; s < names.size(); s++) {
+            long seed = names.get(s).hashCode();
+            for (int v = 0; v < virtualNodes; v++) {
+                entries.add(new long[] { mix(seed * 0x9E3779B97F4A7C15L + v), s });
+            }
+        }
+        entries.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        points = new long[entries.size()];
+        owners = new String[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            points[i] = entries.get(i)[0];
+            owners[i] = names.get((int) entries.get(i)[1]);
+        }
+    }
+
+    /**
+     * Returns the shard owning the first ring point at or after the key's hash.
+     */
+    public String shardFor(long key) {
+        int index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // MurmurHash3 finalizer, spreads sequential ids over the whole ring
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE53A2D36L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,50 @@
+package com.financetracker.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs encode and matches of the wrapped encoder on the PasswordHashingExecutor.
+ * The request thread only waits, and the hashing time is still charged to
+ * its RequestMetrics.
+ */
+public class ExecutorPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public ExecutorPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return timed(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return timed(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T timed(Supplier<T> hash) {
+        long[] hashNanos = new long[1];
+        T result = executor.run(() -> {
+            long start = System.nanoTime();
+            try {
+                return hash.get();
+            } finally {
+                hashNanos[0] = System.nanoTime() - start;
+            }
+        });
+        RequestMetrics.recordPasswordHash(hashNanos[0]);
+        return result;
+    }
+}
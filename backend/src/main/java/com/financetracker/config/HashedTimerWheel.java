@@ -0,0 +1,62 @@
+package com.financetracker.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: items are hashed by deadline tick into a fixed ring of
+ * slots, so scheduling is constant time and each tick only looks at the items
+ * of one slot. Items due in a later rotation stay in their slot until their
+ * deadline has passed.
+ *
+ * schedule may be called from any thread; advance from one thread at a time.
+ */
+final class HashedTimerWheel<T> {
+
+    private final long tickMillis;
+    private final List<Queue<Timeout<T>>> slots;
+    private final Consumer<T> onExpiry;
+    private volatile long currentTick;
+
+    HashedTimerWheel(Duration tick, int slotCount, long nowMillis, Consumer<T> onExpiry) {
+        this.tickMillis = tick.toMillis();
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ConcurrentLinkedQueue<>());
+        }
+        this.onExpiry = onExpiry;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    void schedule(T item, long deadlineMillis) {
+        // A deadline in an already processed tick goes to the next one
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        slots.get((int) (tick % slots.size())).add(new Timeout<>(item, deadlineMillis));
+    }
+
+    /**
+     * Expires everything due up to now, visiting each slot at most once.
+     */
+    void advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        long firstTick = Math.max(currentTick + 1, targetTick - slots.size() + 1);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Iterator<Timeout<T>> timeouts = slots.get((int) (tick % slots.size())).iterator();
+            while (timeouts.hasNext()) {
+                Timeout<T> timeout = timeouts.next();
+                if (timeout.deadlineMillis() <= nowMillis) {
+                    timeouts.remove();
+                    onExpiry.accept(timeout.item());
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    private record Timeout<T>(T item, long deadlineMillis) {}
+}
@@ -0,0 +1,38 @@
+package com.financetracker.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Applies the entity schema to a database other than the one the
+ * application's EntityManagerFactory was built on, with the same naming and
+ * dialect settings.
+ */
+final class HibernateSchemaUpdater {
+
+    private HibernateSchemaUpdater() {
+    }
+
+    static void update(DataSource dataSource, JpaProperties jpaProperties, HibernateProperties hibernateProperties) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.financetracker.model");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        Map<String, Object> properties = hibernateProperties.determineHibernateProperties(
+            jpaProperties.getProperties(), new HibernateSettings().ddlAuto(() -> "update"));
+        // Short-lived factory; it must not start its own second-level cache
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        properties.put(AvailableSettings.GENERATE_STATISTICS, false);
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        factory.destroy();
+    }
+}
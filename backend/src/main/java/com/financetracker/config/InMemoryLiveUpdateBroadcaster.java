@@ -0,0 +1,23 @@
+package com.financetracker.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Single-node LiveUpdateBroadcaster: hands updates straight to the local handlers.
+ */
+public class InMemoryLiveUpdateBroadcaster implements LiveUpdateBroadcaster {
+
+    private final List<Consumer<LiveUpdate>> handlers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(LiveUpdate update) {
+        handlers.forEach(handler -> handler.accept(update));
+    }
+
+    @Override
+    public void subscribe(Consumer<LiveUpdate> handler) {
+        handlers.add(handler);
+    }
+}
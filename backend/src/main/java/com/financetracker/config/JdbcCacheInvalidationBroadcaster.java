@@ -0,0 +1,101 @@
+package com.financetracker.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Shares cache invalidations through a cache_invalidations table in the
+ * database all nodes already use (the directory database when sharded).
+ *
+ * Invalidations are written in batches and read back on a fixed poll
+ * interval, so another node may serve a stale entry for up to about two
+ * intervals. Rows committed out of id order are picked up by a later poll
+ * (see PollCursor).
+ */
+public class JdbcCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS cache_invalidations (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+        + "node VARCHAR(36) NOT NULL, entity_name VARCHAR(255) NOT NULL, entity_id BIGINT NOT NULL, "
+        + "shard VARCHAR(64), created_at TIMESTAMP NOT NULL)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO cache_invalidations (node, entity_name, entity_id, shard, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String POLL_SQL =
+        "SELECT id, node, entity_name, entity_id, shard FROM cache_invalidations WHERE id > ? ORDER BY id";
+
+    // Rows only need to outlive the slowest node's poll
+    private static final Duration RETENTION = Duration.ofMinutes(5);
+
+    private final String node = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final Queue<CacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<CacheInvalidation>> handlers = new CopyOnWriteArrayList<>();
+
+    // Only touched by exchange(), which the scheduler never runs concurrently with itself
+    private final PollCursor cursor;
+    private long lastCleanupNanos = System.nanoTime();
+
+    public JdbcCacheInvalidationBroadcaster(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        this.cursor = PollCursor.after(
+            jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class));
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        pending.add(invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> handler) {
+        handlers.add(handler);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.broadcast-poll-interval-ms:1000}")
+    public void exchange() {
+        flush();
+        poll();
+        if (System.nanoTime() - lastCleanupNanos > RETENTION.toNanos()) {
+            jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(RETENTION)));
+            lastCleanupNanos = System.nanoTime();
+        }
+    }
+
+    private void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        CacheInvalidation invalidation;
+        while ((invalidation = pending.poll()) != null) {
+            rows.add(new Object[] { node, invalidation.entityName(), invalidation.id(), invalidation.shard(), now });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    private void poll() {
+        jdbcTemplate.query(POLL_SQL, rs -> {
+            if (cursor.accept(rs.getLong("id")) && !node.equals(rs.getString("node"))) {
+                CacheInvalidation invalidation = new CacheInvalidation(
+                    rs.getString("entity_name"), rs.getLong("entity_id"), rs.getString("shard"));
+                handlers.forEach(handler -> handler.accept(invalidation));
+            }
+        }, cursor.pollFrom());
+    }
+}
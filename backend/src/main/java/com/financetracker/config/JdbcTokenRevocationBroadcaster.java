@@ -0,0 +1,56 @@
+package com.financetracker.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Shares token revocations through the revoked_tokens table that
+ * TokenRevocationStore already writes every revocation to, so publishing is
+ * a no-op and each node polls for rows added since its last poll, including
+ * rows committed out of id order (see PollCursor). A node may accept a
+ * revoked token for up to one poll interval. Applying a revocation
+ * twice is harmless, so a node also reads back its own rows.
+ */
+public class JdbcTokenRevocationBroadcaster implements TokenRevocationBroadcaster {
+
+    private static final String POLL_SQL =
+        "SELECT id, token_id, subject, issued_before, expires_at FROM revoked_tokens WHERE id > ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Consumer<TokenRevocation>> handlers = new CopyOnWriteArrayList<>();
+
+    // Only touched by poll(), which the scheduler never runs concurrently with itself
+    private final PollCursor cursor = PollCursor.fromStart();
+
+    public JdbcTokenRevocationBroadcaster(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void publish(TokenRevocation revocation) {
+    }
+
+    @Override
+    public void subscribe(Consumer<TokenRevocation> handler) {
+        handlers.add(handler);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.broadcast-poll-interval-ms:1000}")
+    public void poll() {
+        jdbcTemplate.query(POLL_SQL, rs -> {
+            if (!cursor.accept(rs.getLong("id"))) {
+                return;
+            }
+            Timestamp issuedBefore = rs.getTimestamp("issued_before");
+            TokenRevocation revocation = new TokenRevocation(rs.getString("token_id"), rs.getString("subject"),
+                issuedBefore != null ? issuedBefore.toInstant() : null, rs.getTimestamp("expires_at").toInstant());
+            handlers.forEach(handler -> handler.accept(revocation));
+        }, cursor.pollFrom());
+    }
+}
@@ -0,0 +1,78 @@
+package com.financetracker.config;
+
+import com.financetracker.service.TransactionService;
+import jdk.jfr.Recording;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flight Recorder support: TransactionService operation events, the
+ * /actuator/jfr dump endpoint and, with app.jfr.recording.enabled=true, an
+ * always-on rolling recording using the JDK default settings plus
+ * jfr/finance-tracker.jfc, so a dump covers the last app.jfr.recording.max-age.
+ */
+@Configuration
+public class JfrConfig {
+
+    static final String SETTINGS = "jfr/finance-tracker.jfc";
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint() {
+        return new JfrRecordingEndpoint();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.jfr.recording.enabled", havingValue = "true")
+    public Recording rollingRecording(@Value("${app.jfr.recording.max-age:15m}") Duration maxAge,
+                                      @Value("${app.jfr.recording.max-size:250MB}") DataSize maxSize)
+            throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(jdk.jfr.Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(jdk.jfr.Configuration.create(reader).getSettings());
+        }
+        Recording recording = new Recording(settings);
+        recording.setName("finance-tracker-rolling");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        return recording;
+    }
+
+    // Unordered, so it runs after the transaction proxy is created and wraps it from the outside
+    @Bean
+    public static BeanPostProcessor transactionOperationEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof TransactionService)) {
+                    return bean;
+                }
+                if (bean instanceof Advised advised && !advised.isFrozen()) {
+                    advised.addAdvice(0, new TransactionOperationInterceptor());
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(new TransactionOperationInterceptor());
+                return proxyFactory.getProxy();
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.financetracker.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom Flight Recorder events for the request phases that matter when
+ * latency spikes, shown under "Finance Tracker" in JDK Mission Control. They
+ * nest on the thread timeline: a Request contains the JWT verification and
+ * user load of AuthTokenFilter and the transaction operations, which contain
+ * their budget updates.
+ *
+ * User id 0 means unknown. SQL statement counts are Hibernate statements
+ * issued on the request thread while the event was open (see
+ * SqlStatementCounter); they are 0 outside HTTP requests. The events are
+ * enabled by jfr/finance-tracker.jfc.
+ */
+public final class JfrEvents {
+
+    private static final String CATEGORY = "Finance Tracker";
+
+    private JfrEvents() {}
+
+    @Name("financetracker.Request")
+    @Label("HTTP Request")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class RequestEvent extends Event {
+        @Label("Method")
+        public String method;
+
+        @Label("URI")
+        public String uri;
+
+        @Label("Handler")
+        public String handler;
+
+        @Label("Status")
+        public int status;
+
+        @Label("User Id")
+        public long userId;
+
+        @Label("SQL Statements")
+        public int sqlStatements;
+    }
+
+    @Name("financetracker.JwtVerification")
+    @Label("JWT Verification")
+    @Description("Bearer token validation and subject parsing in AuthTokenFilter")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class JwtVerificationEvent extends Event {
+        @Label("User Id")
+        public long userId;
+
+        @Label("Valid")
+        public boolean valid;
+    }
+
+    @Name("financetracker.UserLoad")
+    @Label("User Load")
+    @Description("UserDetailsServiceImpl lookup by email; no SQL when served from the second-level cache")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class UserLoadEvent extends Event {
+        @Label("User Id")
+        public long userId;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("SQL Statements")
+        public int sqlStatements;
+    }
+
+    @Name("financetracker.TransactionOperation")
+    @Label("Transaction Operation")
+    @Description("A TransactionService call; rows are the transactions or category totals returned or written")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class TransactionOperationEvent extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("User Id")
+        public long userId;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("SQL Statements")
+        public int sqlStatements;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+
+    @Name("financetracker.BudgetSpentUpdate")
+    @Label("Budget Spent Update")
+    @Description("BudgetService.updateSpentAmount; rows are the budgets adjusted, including parent categories")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class BudgetSpentUpdateEvent extends Event {
+        @Label("User Id")
+        public long userId;
+
+        @Label("Category")
+        public String category;
+
+        @Label("Month")
+        public int month;
+
+        @Label("Year")
+        public int year;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("SQL Statements")
+        public int sqlStatements;
+    }
+
+    @Name("financetracker.DashboardAggregation")
+    @Label("Dashboard Aggregation")
+    @Description("Category totals, savings rate and category rollup for the dashboard; rows are the category totals")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class DashboardAggregationEvent extends Event {
+        @Label("User Id")
+        public long userId;
+
+        @Label("Date Range")
+        public boolean dateRange;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("SQL Statements")
+        public int sqlStatements;
+    }
+}
@@ -10,10 +10,13 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
     
+    private static final String ISSUED_AT_MILLIS = "iat_ms";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
@@ -26,21 +29,43 @@ public class JwtUtils {
     }
     
     public String generateTokenFromUsername(String username) {
+        Date now = new Date();
         return Jwts.builder()
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                // Token id, so that logout can revoke this token alone
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .claim(ISSUED_AT_MILLIS, now.getTime())
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                 .compact();
     }
     
+    /**
+     * When the token was issued, in epoch milliseconds; null if unknown.
+     * The standard iat claim only has seconds, so a revoke-all cutoff
+     * compared against it would also reject tokens issued just after it.
+     * Tokens from before the millisecond claim fall back to the start of
+     * their iat second.
+     */
+    public static Long getIssuedAtMillis(Claims claims) {
+        Number issuedAtMillis = claims.get(ISSUED_AT_MILLIS, Number.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis.longValue();
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : null;
+    }
+    
     public String getUserNameFromJwtToken(String token) {
+        return getClaimsFromJwtToken(token).getSubject();
+    }
+    
+    public Claims getClaimsFromJwtToken(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+                .getBody();
     }
     
     public boolean validateJwtToken(String authToken) {
@@ -0,0 +1,32 @@
+package com.financetracker.config;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Carries live updates for GET /api/stream to every node, including the one
+ * that published them, since a user's connections may be open anywhere.
+ *
+ * The default InMemoryLiveUpdateBroadcaster only reaches the local node;
+ * define another LiveUpdateBroadcaster bean (a message broker, Redis pub/sub)
+ * to run several nodes.
+ */
+public interface LiveUpdateBroadcaster {
+
+    /**
+     * Announces a committed change of a user's data.
+     */
+    void publish(LiveUpdate update);
+
+    /**
+     * Registers the handler for changes announced by any node.
+     */
+    void subscribe(Consumer<LiveUpdate> handler);
+
+    /**
+     * A change to push as the SSE event of the given name. The shard is null
+     * unless sharding is enabled; data is null when the receiving node
+     * computes the payload itself.
+     */
+    record LiveUpdate(Long userId, String shard, String event, Map<String, Object> data) {}
+}
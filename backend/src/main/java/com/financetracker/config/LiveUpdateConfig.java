@@ -0,0 +1,16 @@
+package com.financetracker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LiveUpdateConfig {
+
+    // Replaced by any other LiveUpdateBroadcaster bean
+    @Bean
+    @ConditionalOnMissingBean(LiveUpdateBroadcaster.class)
+    public InMemoryLiveUpdateBroadcaster inMemoryLiveUpdateBroadcaster() {
+        return new InMemoryLiveUpdateBroadcaster();
+    }
+}
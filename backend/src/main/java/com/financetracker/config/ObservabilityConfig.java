@@ -0,0 +1,69 @@
+package com.financetracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+/**
+ * Request-level instrumentation: per-handler latency histograms, SQL
+ * statement counts, connection pool wait and the per-request log line
+ * written by RequestMetricsFilter.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    // Tags http.server.requests with the controller method, next to the URI template
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                    .and(KeyValue.of("handler", RequestMetricsFilter.handlerName(context.getCarrier())));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // Outside the security filters, so JWT verification and authentication queries are included
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(
+            MeterRegistry meterRegistry, @Value("${app.metrics.slow-request-ms:500}") long slowRequestMillis) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+            new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry, slowRequestMillis));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    // Runs before Spring Boot's own Hikari instrumentation, which then leaves the pool alone
+    @Bean
+    public static BeanPostProcessor hikariRequestMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null
+                        && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(new RequestMetricsTrackerFactory(meterRegistry.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.financetracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a fixed pool sized to the cores with a bounded
+ * queue, so a login storm cannot put every request thread on BCrypt and
+ * starve cheap requests of CPU. When the queue is full the caller gets a
+ * PasswordHashingRejectedException immediately instead of waiting.
+ *
+ * Publishes app.password.hashing.queue (waiting tasks), .active (hashing
+ * now), .rejected and .wait (time queued before a thread picked the task up).
+ */
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(int threads, int queueCapacity, Duration retryAfter, MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.retryAfter = retryAfter;
+        this.waitTimer = Timer.builder("app.password.hashing.wait")
+            .description("Time a password hash waited for a hashing thread")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("app.password.hashing.rejected")
+            .description("Password hashes rejected because the hashing queue was full")
+            .register(meterRegistry);
+        Gauge.builder("app.password.hashing.queue", executor, e -> e.getQueue().size())
+            .description("Password hashes waiting for a hashing thread")
+            .register(meterRegistry);
+        Gauge.builder("app.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashes currently running")
+            .register(meterRegistry);
+    }
+
+    public <T> T run(Supplier<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return task.get();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException(retryAfter);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,18 @@
+package com.financetracker.config;
+
+import java.time.Duration;
+
+/**
+ * The password hashing queue is full; answered with 503 and a Retry-After header.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingRejectedException(Duration retryAfter) {
+        super("Password hashing is saturated");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() { return retryAfter; }
+}
@@ -0,0 +1,88 @@
+package com.financetracker.config;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Position of a node polling a table by auto-increment id.
+ *
+ * Ids are allocated when a row is inserted but become visible when it
+ * commits, so a poll can read id 12 while id 11 is still uncommitted. The
+ * ids a poll skips are kept as gaps, and later polls start again from the
+ * oldest gap and drop the rows they have already seen. A gap is given up
+ * after GAP_TIMEOUT, since the ids of rolled-back inserts never appear.
+ *
+ * Not thread-safe; each poller runs one poll at a time.
+ */
+public final class PollCursor {
+
+    private static final Duration GAP_TIMEOUT = Duration.ofMinutes(1);
+    // A burst of rollbacks must not turn every poll into a scan of the retained rows
+    private static final int MAX_GAPS = 1000;
+
+    private long lastSeenId;
+    // Missing id -> System.nanoTime() when it was first skipped, oldest first
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private boolean catchingUp;
+    private boolean polled;
+
+    private PollCursor(long lastSeenId, boolean catchingUp) {
+        this.lastSeenId = lastSeenId;
+        this.catchingUp = catchingUp;
+    }
+
+    public static PollCursor after(long lastSeenId) {
+        return new PollCursor(lastSeenId, false);
+    }
+
+    /**
+     * Starts with a poll of the whole table, where missing ids are rows
+     * deleted long ago rather than gaps.
+     */
+    public static PollCursor fromStart() {
+        return new PollCursor(0, true);
+    }
+
+    /**
+     * The id the next poll reads after.
+     */
+    public long pollFrom() {
+        if (polled) {
+            catchingUp = false;
+        }
+        polled = true;
+        expireGaps();
+        long from = lastSeenId;
+        for (long gap : gaps.keySet()) {
+            from = Math.min(from, gap - 1);
+        }
+        return from;
+    }
+
+    /**
+     * Records a polled row; false when it was already seen by an earlier poll.
+     */
+    public boolean accept(long id) {
+        if (id > lastSeenId) {
+            long now = System.nanoTime();
+            for (long missing = Math.max(lastSeenId + 1, id - MAX_GAPS); missing < id && !catchingUp; missing++) {
+                gaps.put(missing, now);
+            }
+            lastSeenId = id;
+            while (gaps.size() > MAX_GAPS) {
+                Iterator<Long> oldest = gaps.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            return true;
+        }
+        return gaps.remove(id) != null;
+    }
+
+    private void expireGaps() {
+        long now = System.nanoTime();
+        gaps.values().removeIf(skippedAt -> now - skippedAt > GAP_TIMEOUT.toNanos());
+    }
+}
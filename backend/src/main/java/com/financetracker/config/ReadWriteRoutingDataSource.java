@@ -0,0 +1,46 @@
+package com.financetracker.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions declared by the application's services to the
+ * replica and everything else to the primary.
+ *
+ * Spring Data repositories run standalone calls in read-only transactions of
+ * their own; those stay on the primary so request plumbing such as user
+ * lookups never observes replication lag. Must sit behind a
+ * LazyConnectionDataSourceProxy, otherwise the connection is fetched before
+ * the transaction's read-only flag is visible here.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final String SERVICE_PACKAGE = "com.financetracker.service.";
+
+    private static final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+    /**
+     * Routes every transaction of the current thread to the primary until reset.
+     */
+    public static void requirePrimary() {
+        primaryRequired.set(Boolean.TRUE);
+    }
+
+    public static void reset() {
+        primaryRequired.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (primaryRequired.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Named after the method that started the outermost transaction
+            String name = TransactionSynchronizationManager.getCurrentTransactionName();
+            if (name != null && name.startsWith(SERVICE_PACKAGE)) {
+                return Target.REPLICA;
+            }
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,91 @@
+package com.financetracker.config;
+
+import com.financetracker.service.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes protection for the replica routing: a request that may
+ * write runs entirely on the primary, and its user stays pinned to the
+ * primary for a window covering the expected replication lag.
+ *
+ * Pins are kept per application instance, so with several instances this
+ * relies on requests of a user reaching the same one.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long pinNanos;
+
+    // User id -> System.nanoTime() until which the user reads from the primary
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(long pinMillis) {
+        this.pinNanos = pinMillis * 1_000_000L;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long userId = currentUserId();
+        boolean write = !isSafeMethod(request.getMethod());
+
+        if (write || isPinned(userId)) {
+            ReadWriteRoutingDataSource.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.reset();
+            // Measured from the end of the write, once it is committed
+            if (write && userId != null) {
+                pin(userId);
+            }
+        }
+    }
+
+    private boolean isPinned(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        pinnedUntil.remove(userId, until);
+        return false;
+    }
+
+    private void pin(Long userId) {
+        long now = System.nanoTime();
+        pinnedUntil.put(userId, now + pinNanos);
+        if (pinnedUntil.size() > CLEANUP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> now - until >= 0);
+        }
+    }
+
+    private static boolean isSafeMethod(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.financetracker.config;
+
+/**
+ * Cost counters of the request running on the current thread, filled in by
+ * the instrumented hot paths and reported by RequestMetricsFilter. Outside a
+ * request (scheduled jobs, startup) there is no current instance and the
+ * recording methods do nothing.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> current = new ThreadLocal<>();
+
+    private int sqlStatements;
+    private long connectionWaitNanos;
+    private long jwtNanos;
+    private long passwordHashNanos;
+    private Long userId;
+
+    private RequestMetrics() {
+    }
+
+    static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        current.set(metrics);
+        return metrics;
+    }
+
+    static void end() {
+        current.remove();
+    }
+
+    /**
+     * SQL statements so far in the current request, 0 outside a request;
+     * callers take the difference around a block of work.
+     */
+    public static int currentSqlStatements() {
+        RequestMetrics metrics = current.get();
+        return metrics != null ? metrics.sqlStatements : 0;
+    }
+
+    public static Long currentUserId() {
+        RequestMetrics metrics = current.get();
+        return metrics != null ? metrics.userId : null;
+    }
+
+    public static void recordSqlStatement() {
+        RequestMetrics metrics = current.get();
+        if (metrics != null) {
+            metrics.sqlStatements++;
+        }
+    }
+
+    public static void recordConnectionWait(long nanos) {
+        RequestMetrics metrics = current.get();
+        if (metrics != null) {
+            metrics.connectionWaitNanos += nanos;
+        }
+    }
+
+    public static void recordJwt(long nanos) {
+        RequestMetrics metrics = current.get();
+        if (metrics != null) {
+            metrics.jwtNanos += nanos;
+        }
+    }
+
+    public static void recordPasswordHash(long nanos) {
+        RequestMetrics metrics = current.get();
+        if (metrics != null) {
+            metrics.passwordHashNanos += nanos;
+        }
+    }
+
+    public static void recordUser(Long userId) {
+        RequestMetrics metrics = current.get();
+        if (metrics != null) {
+            metrics.userId = userId;
+        }
+    }
+
+    public int getSqlStatements() { return sqlStatements; }
+
+    public long getConnectionWaitNanos() { return connectionWaitNanos; }
+
+    public long getJwtNanos() { return jwtNanos; }
+
+    public long getPasswordHashNanos() { return passwordHashNanos; }
+
+    public Long getUserId() { return userId; }
+}
@@ -0,0 +1,102 @@
+package com.financetracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Collects RequestMetrics around the whole request, including the security
+ * filters, and writes one key=value line per request: at INFO when it took
+ * longer than the slow threshold, at DEBUG otherwise. The SQL statement count
+ * is also published per handler as app.request.sql.statements, and each
+ * request is recorded as a JFR RequestEvent.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.financetracker.request");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestNanos;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, long slowRequestMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestNanos = slowRequestMillis * 1_000_000;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestMetrics metrics = RequestMetrics.start();
+        JfrEvents.RequestEvent event = new JfrEvents.RequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            RequestMetrics.end();
+            event.end();
+            report(request, response, metrics, elapsed);
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.uri = request.getRequestURI();
+                event.handler = handlerName(request);
+                event.status = response.getStatus();
+                event.userId = metrics.getUserId() != null ? metrics.getUserId() : 0;
+                event.sqlStatements = metrics.getSqlStatements();
+                event.commit();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, RequestMetrics metrics, long elapsed) {
+        String handler = handlerName(request);
+        DistributionSummary.builder("app.request.sql.statements")
+            .description("SQL statements prepared by Hibernate per request")
+            .tag("handler", handler)
+            .register(meterRegistry)
+            .record(metrics.getSqlStatements());
+
+        boolean slow = elapsed > slowRequestNanos;
+        if (slow ? logger.isInfoEnabled() : logger.isDebugEnabled()) {
+            String line = String.format(Locale.ROOT,
+                "method=%s uri=%s handler=%s status=%d durationMs=%.1f sqlStatements=%d connectionWaitMs=%.1f "
+                    + "jwtMs=%.2f passwordHashMs=%.1f userId=%s",
+                request.getMethod(), request.getRequestURI(), handler, response.getStatus(), millis(elapsed),
+                metrics.getSqlStatements(), millis(metrics.getConnectionWaitNanos()), millis(metrics.getJwtNanos()),
+                millis(metrics.getPasswordHashNanos()), metrics.getUserId() != null ? metrics.getUserId() : "-");
+            if (slow) {
+                logger.info(line);
+            } else {
+                logger.debug(line);
+            }
+        }
+    }
+
+    /**
+     * Controller class and method that handled the request, or "none" when no
+     * handler matched (404s, requests rejected by the security filters).
+     */
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
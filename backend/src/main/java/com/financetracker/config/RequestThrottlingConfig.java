@@ -0,0 +1,32 @@
+package com.financetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-user rate limits and request coalescing, on unless
+ * app.throttling.enabled=false. See RequestThrottlingFilter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.throttling.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestThrottlingProperties.class)
+public class RequestThrottlingConfig {
+
+    @Bean
+    public RequestThrottlingFilter requestThrottlingFilter(RequestThrottlingProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new RequestThrottlingFilter(properties, meterRegistry);
+    }
+
+    // Runs inside the security filter chain (after authentication), not as a servlet filter
+    @Bean
+    public FilterRegistrationBean<RequestThrottlingFilter> requestThrottlingFilterRegistration(RequestThrottlingFilter filter) {
+        FilterRegistrationBean<RequestThrottlingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,284 @@
+package com.financetracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.service.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Per-user rate limiting and request coalescing for expensive endpoints.
+ *
+ * The first limit in app.throttling.limits whose pattern matches the path
+ * applies; each user gets a TokenBucket per limit and is answered 429 with a
+ * Retry-After header when it is empty. Buckets that have refilled are
+ * dropped, since they behave like new ones.
+ *
+ * A GET matching app.throttling.coalesce that arrives while an identical one
+ * of the same user is running waits for it and is sent a copy of its
+ * response instead of running the handler again. Coalesced requests still
+ * take a token. A request only waits for one that started after the user's
+ * last write through this node finished, so that it never gets a response
+ * that predates that write.
+ *
+ * Runs after AuthTokenFilter; unauthenticated requests pass untouched.
+ */
+public class RequestThrottlingFilter extends OncePerRequestFilter {
+
+    private static final ObjectMapper json = new ObjectMapper();
+
+    private final List<Limit> limits = new ArrayList<>();
+    private final List<String> coalescePatterns;
+    private final int maxBuckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter coalescedCounter;
+
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    // User id -> System.nanoTime() when their latest write request finished
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long previousEviction = System.nanoTime();
+
+    public RequestThrottlingFilter(RequestThrottlingProperties properties, MeterRegistry meterRegistry) {
+        properties.getLimits().forEach((name, limit) -> limits.add(new Limit(name, limit.getPattern(),
+            Math.round(1_000_000_000L / limit.getRefillPerSecond()), limit.getCapacity(),
+            Counter.builder("app.throttling.rejected")
+                .description("Requests rejected by the per-user rate limit")
+                .tag("limit", name)
+                .register(meterRegistry))));
+        this.coalescePatterns = List.copyOf(properties.getCoalesce());
+        this.maxBuckets = properties.getMaxBuckets();
+        this.coalescedCounter = Counter.builder("app.throttling.coalesced")
+            .description("GET requests answered with the response of an identical in-flight request")
+            .register(meterRegistry);
+        Gauge.builder("app.throttling.buckets", buckets, Map::size)
+            .description("Per-user token buckets currently tracked")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long userId = currentUserId();
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        Limit limit = limitFor(path);
+        if (limit != null) {
+            long waitNanos = acquire(userId, limit);
+            if (waitNanos > 0) {
+                limit.rejected().increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        if ("GET".equals(request.getMethod()) && matchesAny(coalescePatterns, path)) {
+            coalesce(userId, coalescingKey(userId, path, request), request, response, filterChain);
+        } else if (isWrite(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                lastWrites.merge(userId, System.nanoTime(), RequestThrottlingFilter::later);
+            }
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.throttling.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+        // A write before every running request's start can no longer keep anyone from joining one.
+        // Requests only start counting at the next eviction, as they may not be in inFlight yet.
+        long cutoff = previousEviction;
+        previousEviction = now;
+        for (Flight flight : inFlight.values()) {
+            if (flight.startedAt() - cutoff < 0) {
+                cutoff = flight.startedAt();
+            }
+        }
+        long oldestStart = cutoff;
+        lastWrites.values().removeIf(writtenAt -> oldestStart - writtenAt > 0);
+    }
+
+    private long acquire(Long userId, Limit limit) {
+        long now = System.nanoTime();
+        BucketKey key = new BucketKey(userId, limit.name());
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictIdleBuckets();
+                // Every tracked user is mid-burst; rather than grow without bound, let the newcomer through
+                if (buckets.size() >= maxBuckets) {
+                    return 0;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+        return bucket.tryAcquire(now, limit.intervalNanos(), limit.capacity());
+    }
+
+    private void coalesce(Long userId, String key, HttpServletRequest request, HttpServletResponse response,
+                          FilterChain filterChain) throws ServletException, IOException {
+        Flight flight = new Flight(System.nanoTime(), new CompletableFuture<>());
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null && !startedAfterLastWrite(userId, leader)) {
+            // The leader may not see the user's latest write; later requests join this one instead
+            leader = inFlight.replace(key, leader, flight) ? null : inFlight.putIfAbsent(key, flight);
+            if (leader != null && !startedAfterLastWrite(userId, leader)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+        if (leader != null) {
+            CapturedResponse captured;
+            try {
+                captured = leader.response().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for a coalesced request", e);
+            } catch (ExecutionException e) {
+                // The leading request failed; run this one on its own
+                filterChain.doFilter(request, response);
+                return;
+            }
+            coalescedCounter.increment();
+            captured.writeTo(response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            // Removed first, so that requests arriving from now on start a fresh computation
+            inFlight.remove(key, flight);
+            flight.response().complete(CapturedResponse.of(wrapper));
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean startedAfterLastWrite(Long userId, Flight leader) {
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt == null || leader.startedAt() - writtenAt > 0;
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method) && !"TRACE".equals(method);
+    }
+
+    // nanoTime values are compared by their difference, which survives overflow
+    private static long later(long a, long b) {
+        return b - a > 0 ? b : a;
+    }
+
+    private static String coalescingKey(Long userId, String path, HttpServletRequest request) {
+        // Accept and Origin change the representation and the CORS headers of the response
+        return userId + " " + path + "?" + request.getQueryString()
+            + " " + request.getHeader(HttpHeaders.ACCEPT) + " " + request.getHeader(HttpHeaders.ORIGIN);
+    }
+
+    private Limit limitFor(String path) {
+        for (Limit limit : limits) {
+            if (pathMatcher.match(limit.pattern(), path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("message", "Error: Too many requests, retry in " + retryAfterSeconds + "s");
+        json.writeValue(response.getOutputStream(), body);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private record Limit(String name, String pattern, long intervalNanos, long capacity, Counter rejected) {}
+
+    private record BucketKey(Long userId, String limit) {}
+
+    private record Flight(long startedAt, CompletableFuture<CapturedResponse> response) {}
+
+    private record CapturedResponse(int status, String contentType, Map<String, Collection<String>> headers, byte[] body) {
+
+        static CapturedResponse of(ContentCachingResponseWrapper wrapper) {
+            Map<String, Collection<String>> headers = new LinkedHashMap<>();
+            for (String name : wrapper.getHeaderNames()) {
+                if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, List.copyOf(wrapper.getHeaders(name)));
+                }
+            }
+            return new CapturedResponse(wrapper.getStatus(), wrapper.getContentType(), headers,
+                wrapper.getContentAsByteArray());
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            // Headers written by the filters in front (CORS, security headers) are already on this response
+            headers.forEach((name, values) -> {
+                if (!response.containsHeader(name)) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.financetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * app.throttling.* settings for RequestThrottlingFilter: per-user token
+ * buckets by path pattern and the GET paths whose concurrent identical
+ * requests are coalesced.
+ */
+@ConfigurationProperties("app.throttling")
+public class RequestThrottlingProperties {
+
+    private Map<String, Limit> limits = new LinkedHashMap<>();
+
+    private List<String> coalesce = new ArrayList<>();
+
+    // Upper bound on tracked (user, limit) buckets; full buckets are dropped first
+    private int maxBuckets = 100_000;
+
+    public Map<String, Limit> getLimits() { return limits; }
+    public void setLimits(Map<String, Limit> limits) { this.limits = limits; }
+
+    public List<String> getCoalesce() { return coalesce; }
+    public void setCoalesce(List<String> coalesce) { this.coalesce = coalesce; }
+
+    public int getMaxBuckets() { return maxBuckets; }
+    public void setMaxBuckets(int maxBuckets) { this.maxBuckets = maxBuckets; }
+
+    public static class Limit {
+
+        // Ant-style path pattern, e.g. /api/dashboard/**
+        private String pattern;
+
+        // Burst size: requests a user may make at once after being idle
+        private long capacity = 20;
+
+        private double refillPerSecond = 10;
+
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+
+        public long getCapacity() { return capacity; }
+        public void setCapacity(long capacity) { this.capacity = capacity; }
+
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+    }
+}
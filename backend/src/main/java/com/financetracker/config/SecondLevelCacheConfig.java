@@ -0,0 +1,72 @@
+package com.financetracker.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.sql.DataSource;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache on Caffeine, through JCache.
+ *
+ * Regions are created here from app.cache.regions with their own size limit
+ * and TTL; Hibernate is configured to fail on any region without an entry.
+ * Hit and miss counts are published by Hibernate's statistics as the
+ * hibernate.second.level.cache.* and hibernate.query.cache.* metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = regionConfiguration();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            cacheManager.createCache(name, configuration);
+        });
+        // Never bounded: a query result is only known to be stale while its tables' update timestamps are present
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, regionConfiguration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.broadcast", havingValue = "jdbc")
+    public JdbcCacheInvalidationBroadcaster jdbcCacheInvalidationBroadcaster(DataSource dataSource) {
+        return new JdbcCacheInvalidationBroadcaster(dataSource);
+    }
+
+    @Bean
+    public SmartInitializingSingleton cacheInvalidationRegistrar(EntityManagerFactory entityManagerFactory,
+                                                                 ObjectProvider<CacheInvalidationBroadcaster> broadcaster) {
+        return () -> broadcaster.ifAvailable(available -> CacheInvalidationListener.register(
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class), available));
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable disassembled state, so copying entries would only cost time
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
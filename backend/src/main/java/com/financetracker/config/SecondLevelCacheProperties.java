@@ -0,0 +1,39 @@
+package com.financetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * app.cache.* settings for the Hibernate second-level cache. Every region
+ * used by an entity or cached query needs an entry here.
+ */
+@ConfigurationProperties("app.cache")
+public class SecondLevelCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    // "local" for a single node, "jdbc" to share invalidations through the database
+    private String broadcast = "local";
+
+    public Map<String, Region> getRegions() { return regions; }
+    public void setRegions(Map<String, Region> regions) { this.regions = regions; }
+
+    public String getBroadcast() { return broadcast; }
+    public void setBroadcast(String broadcast) { this.broadcast = broadcast; }
+
+    public static class Region {
+
+        private long maxSize = 10_000;
+
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public long getMaxSize() { return maxSize; }
+        public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+    }
+}
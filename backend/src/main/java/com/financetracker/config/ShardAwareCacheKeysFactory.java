@@ -0,0 +1,61 @@
+package com.financetracker.config;
+
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.io.Serializable;
+
+/**
+ * Second-level cache keys that include the current shard, since entity ids
+ * are only unique within a shard. Outside a shard the default keys are used.
+ */
+public class ShardAwareCacheKeysFactory implements CacheKeysFactory {
+
+    @Override
+    public Object createCollectionKey(Object id, CollectionPersister persister, SessionFactoryImplementor factory,
+                                      String tenantIdentifier) {
+        return withShard(DefaultCacheKeysFactory.staticCreateCollectionKey(id, persister, factory, tenantIdentifier));
+    }
+
+    @Override
+    public Object createEntityKey(Object id, EntityPersister persister, SessionFactoryImplementor factory,
+                                  String tenantIdentifier) {
+        return withShard(DefaultCacheKeysFactory.staticCreateEntityKey(id, persister, factory, tenantIdentifier));
+    }
+
+    @Override
+    public Object createNaturalIdKey(Object naturalIdValues, EntityPersister persister,
+                                     SharedSessionContractImplementor session) {
+        return withShard(DefaultCacheKeysFactory.staticCreateNaturalIdKey(naturalIdValues, persister, session));
+    }
+
+    @Override
+    public Object getEntityId(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetEntityId(withoutShard(cacheKey));
+    }
+
+    @Override
+    public Object getCollectionId(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetCollectionId(withoutShard(cacheKey));
+    }
+
+    @Override
+    public Object getNaturalIdValues(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetNaturalIdValues(withoutShard(cacheKey));
+    }
+
+    private static Object withShard(Object key) {
+        String shard = ShardContext.getCurrentShard();
+        return shard == null ? key : new ShardKey(shard, key);
+    }
+
+    private static Object withoutShard(Object key) {
+        return key instanceof ShardKey shardKey ? shardKey.key() : key;
+    }
+
+    private record ShardKey(String shard, Object key) implements Serializable {}
+}
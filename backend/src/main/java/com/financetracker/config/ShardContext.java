@@ -0,0 +1,40 @@
+package com.financetracker.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard used by the current thread's database work. No shard means the
+ * directory database, which is also the only database when sharding is off.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> currentShard = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String getCurrentShard() {
+        return currentShard.get();
+    }
+
+    public static void setCurrentShard(String shard) {
+        if (shard == null) {
+            currentShard.remove();
+        } else {
+            currentShard.set(shard);
+        }
+    }
+
+    /**
+     * Runs the work against the given shard, restoring the previous one afterwards.
+     */
+    public static <T> T callOn(String shard, Supplier<T> work) {
+        String previous = currentShard.get();
+        setCurrentShard(shard);
+        try {
+            return work.get();
+        } finally {
+            setCurrentShard(previous);
+        }
+    }
+}
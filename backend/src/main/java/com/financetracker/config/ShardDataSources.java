@@ -0,0 +1,32 @@
+package com.financetracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Connection pools of a sharded deployment: the directory database (users
+ * and their shard assignments) and one pool per shard, by shard name.
+ */
+public class ShardDataSources implements DisposableBean {
+
+    private final DataSource directory;
+    private final Map<String, HikariDataSource> shards;
+
+    public ShardDataSources(DataSource directory, Map<String, HikariDataSource> shards) {
+        this.directory = directory;
+        this.shards = Collections.unmodifiableMap(shards);
+    }
+
+    public DataSource getDirectory() { return directory; }
+
+    public Map<String, HikariDataSource> getShards() { return shards; }
+
+    @Override
+    public void destroy() {
+        shards.values().forEach(HikariDataSource::close);
+    }
+}
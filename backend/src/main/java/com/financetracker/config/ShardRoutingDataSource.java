@@ -0,0 +1,15 @@
+package com.financetracker.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Sends connections to the shard of the current ShardContext, or to the
+ * directory database when none is set.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.getCurrentShard();
+    }
+}
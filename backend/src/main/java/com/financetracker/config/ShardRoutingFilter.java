@@ -0,0 +1,40 @@
+package com.financetracker.config;
+
+import com.financetracker.service.ShardDirectory;
+import com.financetracker.service.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Points all database work of an authenticated request at the user's shard.
+ * The authentication lookup itself runs earlier, against the directory.
+ */
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private final ShardDirectory shardDirectory;
+
+    public ShardRoutingFilter(ShardDirectory shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            ShardContext.setCurrentShard(shardDirectory.getShard(principal.getId()));
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.setCurrentShard(null);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.financetracker.config;
+
+import com.financetracker.service.ShardDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sharded persistence, active with app.sharding.enabled=true.
+ *
+ * spring.datasource becomes the directory database holding users and their
+ * shard assignments; per-user data lives on the shards listed under
+ * app.sharding.shards. The application-wide DataSource routes to the shard
+ * of the current ShardContext.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Value("${app.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties directoryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource directoryDataSource(
+            @Qualifier("directoryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("directory");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(@Qualifier("directoryDataSource") DataSource directory,
+                                             ShardingProperties properties, Environment environment,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled is set but no app.sharding.shards are configured");
+        }
+        if (!replicaUrl.isEmpty()) {
+            throw new IllegalStateException("app.sharding and app.datasource.replica cannot be combined");
+        }
+
+        Binder binder = Binder.get(environment);
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        properties.getShards().forEach((name, shard) -> {
+            HikariDataSource dataSource = shard.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            dataSource.setPoolName("shard-" + name);
+            // Pool settings shared by all shards
+            binder.bind("app.sharding.hikari", Bindable.ofInstance(dataSource));
+            // Shard pools are not beans, so Spring Boot does not instrument them
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new RequestMetricsTrackerFactory(registry)));
+            shards.put(name, dataSource);
+        });
+        return new ShardDataSources(directory, shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(new HashMap<>(shardDataSources.getShards()));
+        routing.setDefaultTargetDataSource(shardDataSources.getDirectory());
+        // A shard name without a pool is a configuration error, not a reason to use the directory
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // A request touches the directory before its shard, so connections must not be held across transactions.
+    // Entity ids are only unique per shard, so second-level cache keys carry the shard.
+    @Bean
+    public HibernatePropertiesCustomizer shardHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, new JCacheRegionFactory(new ShardAwareCacheKeysFactory()));
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton shardSchemaInitializer(ShardDataSources shardDataSources,
+                                                             JpaProperties jpaProperties,
+                                                             HibernateProperties hibernateProperties) {
+        return () -> {
+            // Hibernate itself only maintains the directory's schema
+            String ddlAuto = hibernateProperties.getDdlAuto();
+            if ("update".equals(ddlAuto) || "create".equals(ddlAuto)) {
+                shardDataSources.getShards().values().forEach(
+                    shard -> HibernateSchemaUpdater.update(shard, jpaProperties, hibernateProperties));
+            }
+        };
+    }
+
+    @Bean
+    public ShardRoutingFilter shardRoutingFilter(ShardDirectory shardDirectory) {
+        return new ShardRoutingFilter(shardDirectory);
+    }
+
+    // Runs inside the security filter chain (after authentication), not as a servlet filter
+    @Bean
+    public FilterRegistrationBean<ShardRoutingFilter> shardRoutingFilterRegistration(ShardRoutingFilter filter) {
+        FilterRegistrationBean<ShardRoutingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.financetracker.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * app.sharding.* settings. Shards are keyed by a stable name, which is what
+ * the shard directory records for each user, so a shard's connection
+ * settings can change but its name must not.
+ */
+@ConfigurationProperties("app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    // Points per shard on the hash ring; more points give a more even spread
+    private int virtualNodes = 128;
+
+    private Map<String, DataSourceProperties> shards = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getVirtualNodes() { return virtualNodes; }
+    public void setVirtualNodes(int virtualNodes) { this.virtualNodes = virtualNodes; }
+
+    public Map<String, DataSourceProperties> getShards() { return shards; }
+    public void setShards(Map<String, DataSourceProperties> shards) { this.shards = shards; }
+}
@@ -0,0 +1,16 @@
+package com.financetracker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares for the current request.
+ * Statements issued through JdbcTemplate bypass Hibernate and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.recordSqlStatement();
+        return sql;
+    }
+}
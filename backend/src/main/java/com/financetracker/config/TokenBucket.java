@@ -0,0 +1,41 @@
+package com.financetracker.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is the time at
+ * which the bucket will be full again, updated with one compare-and-set. Each
+ * request moves that time forward by one refill interval and is rejected if
+ * it would then lie more than a full bucket's worth of intervals ahead.
+ */
+final class TokenBucket {
+
+    // System.nanoTime() at which the bucket is full again
+    private final AtomicLong fullAt;
+
+    TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token, returning 0, or returns the nanoseconds until one is available.
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, long capacity) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - capacity * intervalNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A full bucket behaves exactly like a new one, so dropping it loses nothing
+    boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.financetracker.config;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Carries token revocations between application nodes.
+ *
+ * Each node checks tokens against its own in-memory TokenRevocationStore;
+ * revocations made on other nodes only reach it through this broadcaster.
+ * Without a broadcaster bean the application assumes it runs on a single node.
+ */
+public interface TokenRevocationBroadcaster {
+
+    /**
+     * Announces a revocation to the other nodes.
+     */
+    void publish(TokenRevocation revocation);
+
+    /**
+     * Registers the handler for revocations made on other nodes.
+     */
+    void subscribe(Consumer<TokenRevocation> handler);
+
+    /**
+     * A revoked token id (jti), or with a null token id every token of the
+     * subject issued at or before issuedBefore. Kept until expiresAt, when
+     * the revoked tokens would have expired anyway.
+     */
+    record TokenRevocation(String tokenId, String subject, Instant issuedBefore, Instant expiresAt) {}
+}
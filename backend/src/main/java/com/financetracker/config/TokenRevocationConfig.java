@@ -0,0 +1,46 @@
+package com.financetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Token revocation for logout. The revoked_tokens table lives in the database
+ * all nodes already use. When sharded that is the directory database, which
+ * the store and the broadcaster use directly: the application-wide
+ * DataSource would send a logout's insert to the user's shard.
+ */
+@Configuration
+public class TokenRevocationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.auth.revocation.broadcast", havingValue = "jdbc")
+    public JdbcTokenRevocationBroadcaster jdbcTokenRevocationBroadcaster(DataSource dataSource,
+                                                                         ObjectProvider<ShardDataSources> shardDataSources) {
+        return new JdbcTokenRevocationBroadcaster(sharedDataSource(dataSource, shardDataSources));
+    }
+
+    @Bean
+    public TokenRevocationStore tokenRevocationStore(DataSource dataSource,
+                                                     ObjectProvider<ShardDataSources> shardDataSources,
+                                                     @Value("${jwt.expiration}") long jwtExpirationMs,
+                                                     @Value("${app.auth.revocation.tick-ms:1000}") long tickMs,
+                                                     @Value("${app.auth.revocation.wheel-slots:512}") int wheelSlots,
+                                                     ObjectProvider<TokenRevocationBroadcaster> broadcaster,
+                                                     MeterRegistry meterRegistry) {
+        return new TokenRevocationStore(sharedDataSource(dataSource, shardDataSources),
+            Duration.ofMillis(jwtExpirationMs), Duration.ofMillis(tickMs), wheelSlots,
+            broadcaster.getIfAvailable(), meterRegistry);
+    }
+
+    private static DataSource sharedDataSource(DataSource dataSource, ObjectProvider<ShardDataSources> shardDataSources) {
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        return shards != null ? shards.getDirectory() : dataSource;
+    }
+}
@@ -0,0 +1,177 @@
+package com.financetracker.config;
+
+import com.financetracker.config.TokenRevocationBroadcaster.TokenRevocation;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWTs, checked by AuthTokenFilter on every request without touching
+ * the database.
+ *
+ * Logout revokes one token by its id (jti); revoke-all stores a per-subject
+ * cutoff that rejects every token issued at or before it, compared in
+ * milliseconds (see JwtUtils.getIssuedAtMillis) so that a login right after
+ * a revoke-all is accepted. The cutoff comes from the revoking node's clock,
+ * so clock skew between nodes shifts it by that much. Entries are dropped by a hashed timer wheel once the tokens
+ * they cover would have expired anyway, which keeps both maps as small as
+ * the number of live revoked sessions.
+ *
+ * Every revocation is also written to the revoked_tokens table, reloaded on
+ * startup, and handed to the TokenRevocationBroadcaster if there is one.
+ */
+public class TokenRevocationStore {
+
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS revoked_tokens (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+        + "token_id VARCHAR(64), subject VARCHAR(255) NOT NULL, issued_before TIMESTAMP(3) NULL, "
+        + "expires_at TIMESTAMP NOT NULL)";
+
+    private static final String ISSUED_BEFORE_PRECISION_SQL =
+        "SELECT datetime_precision FROM information_schema.columns "
+        + "WHERE table_schema = ? AND table_name = 'revoked_tokens' AND column_name = 'issued_before'";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO revoked_tokens (token_id, subject, issued_before, expires_at) VALUES (?, ?, ?, ?)";
+
+    private static final String LOAD_SQL =
+        "SELECT token_id, subject, issued_before, expires_at FROM revoked_tokens WHERE expires_at > ?";
+
+    private static final Duration CLEANUP_INTERVAL = Duration.ofMinutes(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration tokenLifetime;
+    private final TokenRevocationBroadcaster broadcaster;
+    private final HashedTimerWheel<TokenRevocation> expiry;
+
+    // Token id -> expiry in epoch milliseconds
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // Subject -> epoch millisecond at or before which its tokens are revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    // Only touched by expireRevocations(), which the scheduler never runs concurrently with itself
+    private long lastCleanupNanos = System.nanoTime();
+
+    public TokenRevocationStore(DataSource dataSource, Duration tokenLifetime, Duration tick, int wheelSlots,
+                                TokenRevocationBroadcaster broadcaster, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tokenLifetime = tokenLifetime;
+        this.broadcaster = broadcaster;
+        this.expiry = new HashedTimerWheel<>(tick, wheelSlots, System.currentTimeMillis(), this::expire);
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        widenIssuedBefore();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            Timestamp issuedBefore = rs.getTimestamp("issued_before");
+            apply(new TokenRevocation(rs.getString("token_id"), rs.getString("subject"),
+                issuedBefore != null ? issuedBefore.toInstant() : null, rs.getTimestamp("expires_at").toInstant()));
+        }, Timestamp.from(Instant.now()));
+        if (broadcaster != null) {
+            broadcaster.subscribe(this::apply);
+        }
+        Gauge.builder("app.auth.revoked.tokens", revokedTokens, Map::size)
+            .description("Revoked token ids held in memory until the tokens expire")
+            .register(meterRegistry);
+        Gauge.builder("app.auth.revoked.subjects", revokedBefore, Map::size)
+            .description("Users with a revoke-all cutoff held in memory")
+            .register(meterRegistry);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokens.containsKey(claims.getId())) {
+            return true;
+        }
+        Long cutoff = revokedBefore.get(claims.getSubject());
+        Long issuedAt = JwtUtils.getIssuedAtMillis(claims);
+        return cutoff != null && (issuedAt == null || issuedAt <= cutoff);
+    }
+
+    /**
+     * Revokes one token. Tokens issued before token ids were added cannot be
+     * told apart, so for those every token of the subject issued up to this
+     * one is revoked.
+     */
+    public void revoke(Claims claims) {
+        if (claims.getId() == null) {
+            Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : Instant.now();
+            revokeAll(claims.getSubject(), issuedAt);
+            return;
+        }
+        record(new TokenRevocation(claims.getId(), claims.getSubject(), null, claims.getExpiration().toInstant()));
+    }
+
+    public void revokeAll(String subject, Instant issuedBefore) {
+        // What revoked_tokens stores, so that every node holds the same cutoff
+        issuedBefore = issuedBefore.truncatedTo(ChronoUnit.MILLIS);
+        record(new TokenRevocation(null, subject, issuedBefore, issuedBefore.plus(tokenLifetime)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.tick-ms:1000}")
+    public void expireRevocations() {
+        expiry.advance(System.currentTimeMillis());
+        if (System.nanoTime() - lastCleanupNanos > CLEANUP_INTERVAL.toNanos()) {
+            jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < ?", Timestamp.from(Instant.now()));
+            lastCleanupNanos = System.nanoTime();
+        }
+    }
+
+    private void record(TokenRevocation revocation) {
+        jdbcTemplate.update(INSERT_SQL, revocation.tokenId(), revocation.subject(),
+            revocation.issuedBefore() != null ? Timestamp.from(revocation.issuedBefore()) : null,
+            Timestamp.from(revocation.expiresAt()));
+        apply(revocation);
+        if (broadcaster != null) {
+            broadcaster.publish(revocation);
+        }
+    }
+
+    private void apply(TokenRevocation revocation) {
+        long expiresAt = revocation.expiresAt().toEpochMilli();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (revocation.tokenId() != null) {
+            revokedTokens.put(revocation.tokenId(), expiresAt);
+        } else {
+            revokedBefore.merge(revocation.subject(), revocation.issuedBefore().toEpochMilli(), Math::max);
+        }
+        expiry.schedule(revocation, expiresAt);
+    }
+
+    private void expire(TokenRevocation revocation) {
+        if (revocation.tokenId() != null) {
+            revokedTokens.remove(revocation.tokenId());
+        } else {
+            // A later revoke-all replaced this cutoff and expires on its own
+            revokedBefore.remove(revocation.subject(), revocation.issuedBefore().toEpochMilli());
+        }
+    }
+
+    // Tables created before millisecond cutoffs have a seconds-only column on MySQL
+    private void widenIssuedBefore() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            if (!product.contains("mysql") && !product.contains("mariadb")) {
+                return null;
+            }
+            String schema = connection.getSchema() != null ? connection.getSchema() : connection.getCatalog();
+            List<Integer> precision = jdbcTemplate.queryForList(ISSUED_BEFORE_PRECISION_SQL, Integer.class, schema);
+            if (!precision.isEmpty() && precision.get(0) != null && precision.get(0) < 3) {
+                jdbcTemplate.execute("ALTER TABLE revoked_tokens MODIFY issued_before TIMESTAMP(3) NULL");
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.financetracker.config;
+
+import com.financetracker.dto.ImportResponse;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Records every TransactionService call as a TransactionOperationEvent named
+ * after the method, outside its transaction so commit time is included.
+ */
+class TransactionOperationInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        JfrEvents.TransactionOperationEvent event = new JfrEvents.TransactionOperationEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        int statementsBefore = RequestMetrics.currentSqlStatements();
+        Object result = null;
+        boolean succeeded = false;
+        try {
+            result = invocation.proceed();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = invocation.getMethod().getName();
+                event.userId = userId(invocation.getArguments());
+                event.rows = succeeded ? rows(result, invocation.getMethod().getReturnType()) : 0;
+                event.sqlStatements = RequestMetrics.currentSqlStatements() - statementsBefore;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    // Update and delete only get an id, so fall back to the authenticated user
+    private static long userId(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof User user && user.getId() != null) {
+                return user.getId();
+            }
+            if (argument instanceof Transaction transaction && transaction.getUser() != null) {
+                return transaction.getUser().getId();
+            }
+        }
+        Long userId = RequestMetrics.currentUserId();
+        return userId != null ? userId : 0;
+    }
+
+    private static int rows(Object result, Class<?> returnType) {
+        if (returnType == void.class) {
+            return 1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof ImportResponse importResponse) {
+            return importResponse.getTransactions().size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            // Category totals per transaction type
+            return map.values().stream().mapToInt(value -> value instanceof Map<?, ?> nested ? nested.size() : 1).sum();
+        }
+        return result != null ? 1 : 0;
+    }
+}
@@ -1,8 +1,11 @@
 package com.financetracker.config;
 
 import com.financetracker.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,14 +15,15 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,19 +38,59 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
     
+    // Present only when a read replica is configured
+    @Autowired(required = false)
+    private ReadYourWritesFilter readYourWritesFilter;
+    
+    // Present only when sharding is enabled
+    @Autowired(required = false)
+    private ShardRoutingFilter shardRoutingFilter;
+    
+    // Absent with app.throttling.enabled=false
+    @Autowired(required = false)
+    private RequestThrottlingFilter requestThrottlingFilter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
     
+    @Value("${app.metrics.scrape-allowed-addresses:127.0.0.1,::1}")
+    private String scrapeAllowedAddresses;
+    
+    @Value("${app.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${app.password.hashing.threads:0}")
+    private int hashingThreads;
+    
+    @Value("${app.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+    
+    @Value("${app.password.hashing.retry-after:2s}")
+    private Duration hashingRetryAfter;
+    
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
     
+    // Runs inside the security filter chain only; as a servlet filter too it would verify every token twice
+    @Bean
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilterRegistration(AuthTokenFilter filter) {
+        FilterRegistrationBean<AuthTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes the stored password after a login whose hash used another BCrypt strength
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -55,9 +99,18 @@ public class WebSecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
+    @Bean
+    public PasswordHashingExecutor passwordHashingExecutor() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new PasswordHashingExecutor(threads, hashingQueueCapacity, hashingRetryAfter, meterRegistry);
+    }
+    
+    // Hashes on the bounded hashing pool; login and signup get 503 when it is saturated
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new ExecutorPasswordEncoder(
+            new TimedPasswordEncoder(new RehashingBCryptPasswordEncoder(bcryptStrength), meterRegistry),
+            passwordHashingExecutor());
     }
     
     @Bean
@@ -67,17 +120,46 @@ public class WebSecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> 
-                auth.requestMatchers("/api/auth/**").permitAll()
+                // Completion of an async request (GET /api/stream); the request itself was already authorized
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                    .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/test/**").permitAll()
+                    .requestMatchers("/actuator/health").permitAll()
+                    // Scraped without a token, so only from the addresses allowed to scrape
+                    .requestMatchers("/actuator/prometheus").access(
+                        new WebExpressionAuthorizationManager(hasAnyIpAddress(scrapeAllowedAddresses)))
+                    // Recordings hold every user's activity; dump them from the host only
+                    .requestMatchers("/actuator/jfr").access(
+                        new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')"))
                     .anyRequest().authenticated()
             );
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Added first so that it runs first: rejected requests never reach the routing filters
+        if (requestThrottlingFilter != null) {
+            http.addFilterAfter(requestThrottlingFilter, AuthTokenFilter.class);
+        }
+        if (readYourWritesFilter != null) {
+            http.addFilterAfter(readYourWritesFilter, AuthTokenFilter.class);
+        }
+        if (shardRoutingFilter != null) {
+            http.addFilterAfter(shardRoutingFilter, AuthTokenFilter.class);
+        }
         
         return http.build();
     }
     
+    // Addresses or CIDR ranges, comma separated; none denies every request
+    private static String hasAnyIpAddress(String addresses) {
+        return Arrays.stream(addresses.split(","))
+            .map(String::trim)
+            .filter(address -> !address.isEmpty())
+            .map(address -> "hasIpAddress('" + address + "')")
+            .reduce((a, b) -> a + " or " + b)
+            .orElse("denyAll");
+    }
+    
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,104 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.AccountBalanceCheck;
+import com.financetracker.dto.AccountRequest;
+import com.financetracker.dto.AccountSummaryResponse;
+import com.financetracker.dto.TransferRequest;
+import com.financetracker.model.Account;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.AccountService;
+import com.financetracker.service.TransactionService;
+import com.financetracker.service.UserPrincipal;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/accounts")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AccountController {
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @GetMapping
+    public ResponseEntity<List<Account>> getAllAccounts(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        List<Account> accounts = accountService.getAccountsByUser(user);
+        return ResponseEntity.ok(accounts);
+    }
+    
+    @PostMapping
+    public ResponseEntity<Account> createAccount(@Valid @RequestBody AccountRequest accountRequest,
+                                                 Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        Account account = accountService.createAccount(
+            user, accountRequest.getName(), accountRequest.getType(), accountRequest.getOpeningBalance());
+        return ResponseEntity.ok(account);
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<Account> updateAccount(@PathVariable Long id,
+                                                 @Valid @RequestBody AccountRequest accountRequest,
+                                                 Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        Account account = accountService.updateAccount(
+            user, id, accountRequest.getName(), accountRequest.getType(), accountRequest.getOpeningBalance());
+        return ResponseEntity.ok(account);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteAccount(@PathVariable Long id, Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        accountService.deleteAccount(user, id);
+        return ResponseEntity.ok().build();
+    }
+    
+    // Balances, assets, liabilities and net worth, read from the stored balances
+    @GetMapping("/summary")
+    public ResponseEntity<AccountSummaryResponse> getSummary(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        return ResponseEntity.ok(accountService.getSummary(user));
+    }
+    
+    // Stored balances next to the ones recomputed from the transactions
+    @GetMapping("/reconciliation")
+    public ResponseEntity<List<AccountBalanceCheck>> checkBalances(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        return ResponseEntity.ok(accountService.checkBalances(user));
+    }
+    
+    @PostMapping("/transfers")
+    public ResponseEntity<List<Transaction>> createTransfer(@Valid @RequestBody TransferRequest transferRequest,
+                                                            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        List<Transaction> legs = transactionService.createTransfer(
+            user,
+            transferRequest.getFromAccountId(),
+            transferRequest.getToAccountId(),
+            transferRequest.getAmount(),
+            transferRequest.getTransactionDate(),
+            transferRequest.getDescription(),
+            transferRequest.getNotes()
+        );
+        return ResponseEntity.ok(legs);
+    }
+    
+    private User getCurrentUser(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userRepository.findById(userPrincipal.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -1,14 +1,20 @@
 package com.financetracker.controller;
 
 import com.financetracker.config.JwtUtils;
+import com.financetracker.config.PasswordHashingRejectedException;
+import com.financetracker.config.TokenRevocationStore;
 import com.financetracker.dto.AuthResponse;
 import com.financetracker.dto.LoginRequest;
 import com.financetracker.dto.SignupRequest;
 import com.financetracker.model.User;
 import com.financetracker.repository.UserRepository;
+import com.financetracker.service.ShardDirectory;
 import com.financetracker.service.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,6 +23,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -38,6 +45,12 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
     
+    @Autowired
+    ShardDirectory shardDirectory;
+    
+    @Autowired
+    TokenRevocationStore tokenRevocationStore;
+    
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -87,12 +100,42 @@ public class AuthController {
         user.setUpdatedAt(LocalDateTime.now());
         
         userRepository.save(user);
+        shardDirectory.assign(user);
         
         Map<String, String> response = new HashMap<>();
         response.put("message", "User registered successfully!");
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<?> logoutUser(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        Claims claims = parseBearerToken(authorization);
+        if (claims == null) {
+            return invalidToken();
+        }
+        
+        tokenRevocationStore.revoke(claims);
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully!");
+        return ResponseEntity.ok(response);
+    }
+    
+    // Revokes every token issued to the user so far, e.g. after a token leaked
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAllSessions(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        Claims claims = parseBearerToken(authorization);
+        if (claims == null) {
+            return invalidToken();
+        }
+        
+        tokenRevocationStore.revokeAll(claims.getSubject(), Instant.now());
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "All sessions logged out successfully!");
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/test")
     public ResponseEntity<?> testEndpoint() {
         Map<String, String> response = new HashMap<>();
@@ -111,4 +154,29 @@ public class AuthController {
         
         return ResponseEntity.ok(response);
     }
+    
+    // Login and signup wait for a BCrypt thread; when the hashing queue is full, tell clients to back off
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<?> hashingSaturated(PasswordHashingRejectedException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Error: Too many sign-ins right now, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(response);
+    }
+    
+    // Revoked tokens are accepted so that logging out twice still succeeds
+    private Claims parseBearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        String jwt = authorization.substring(7);
+        return jwtUtils.validateJwtToken(jwt) ? jwtUtils.getClaimsFromJwtToken(jwt) : null;
+    }
+    
+    private ResponseEntity<?> invalidToken() {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Error: A valid bearer token is required");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
 }
@@ -2,8 +2,10 @@ package com.financetracker.controller;
 
 import com.financetracker.dto.BudgetRequest;
 import com.financetracker.model.Budget;
+import com.financetracker.model.BudgetAlert;
 import com.financetracker.model.User;
 import com.financetracker.repository.UserRepository;
+import com.financetracker.service.BudgetAlertService;
 import com.financetracker.service.BudgetService;
 import com.financetracker.service.UserPrincipal;
 import jakarta.validation.Valid;
@@ -22,6 +24,9 @@ public class BudgetController {
     @Autowired
     private BudgetService budgetService;
     
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -42,6 +47,13 @@ public class BudgetController {
         return ResponseEntity.ok(budgets);
     }
     
+    // Threshold crossings, newest first
+    @GetMapping("/alerts")
+    public ResponseEntity<List<BudgetAlert>> getBudgetAlerts(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        return ResponseEntity.ok(budgetAlertService.getAlertsByUser(user));
+    }
+    
     @PostMapping
     public ResponseEntity<Budget> createOrUpdateBudget(@Valid @RequestBody BudgetRequest budgetRequest,
                                                       Authentication authentication) {
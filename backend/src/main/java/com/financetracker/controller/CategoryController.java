@@ -0,0 +1,56 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.CategoryRequest;
+import com.financetracker.model.Category;
+import com.financetracker.model.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.CategoryService;
+import com.financetracker.service.UserPrincipal;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/categories")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CategoryController {
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @GetMapping
+    public ResponseEntity<List<Category>> getAllCategories(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        List<Category> categories = categoryService.getCategoriesByUser(user);
+        return ResponseEntity.ok(categories);
+    }
+    
+    @PostMapping
+    public ResponseEntity<Category> createOrUpdateCategory(@Valid @RequestBody CategoryRequest categoryRequest,
+                                                          Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        Category savedCategory = categoryService.createOrUpdateCategory(
+            user, categoryRequest.getName(), categoryRequest.getParentName());
+        return ResponseEntity.ok(savedCategory);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteCategory(@PathVariable Long id, Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        categoryService.deleteCategory(user, id);
+        return ResponseEntity.ok().build();
+    }
+    
+    private User getCurrentUser(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userRepository.findById(userPrincipal.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
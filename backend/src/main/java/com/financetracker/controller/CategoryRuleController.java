@@ -0,0 +1,66 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.CategoryRuleRequest;
+import com.financetracker.model.CategoryRule;
+import com.financetracker.model.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.CategorizationService;
+import com.financetracker.service.UserPrincipal;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/category-rules")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CategoryRuleController {
+    
+    @Autowired
+    private CategorizationService categorizationService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @GetMapping
+    public ResponseEntity<List<CategoryRule>> getAllRules(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        List<CategoryRule> rules = categorizationService.getRulesByUser(user);
+        return ResponseEntity.ok(rules);
+    }
+    
+    @PostMapping
+    public ResponseEntity<CategoryRule> createRule(@Valid @RequestBody CategoryRuleRequest ruleRequest,
+                                                  Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        
+        CategoryRule rule = new CategoryRule(
+            ruleRequest.getMatchType(),
+            ruleRequest.getPattern(),
+            ruleRequest.getMinAmount(),
+            ruleRequest.getMaxAmount(),
+            ruleRequest.getCategory(),
+            ruleRequest.getPriority(),
+            user
+        );
+        
+        CategoryRule savedRule = categorizationService.createRule(rule);
+        return ResponseEntity.ok(savedRule);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRule(@PathVariable Long id, Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        categorizationService.deleteRule(user, id);
+        return ResponseEntity.ok().build();
+    }
+    
+    private User getCurrentUser(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userRepository.findById(userPrincipal.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
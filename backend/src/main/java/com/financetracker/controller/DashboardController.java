@@ -1,8 +1,13 @@
 package com.financetracker.controller;
 
+import com.financetracker.config.JfrEvents;
+import com.financetracker.config.RequestMetrics;
 import com.financetracker.dto.DashboardResponse;
+import com.financetracker.model.Transaction;
 import com.financetracker.model.User;
 import com.financetracker.repository.UserRepository;
+import com.financetracker.service.CategoryService;
+import com.financetracker.service.CategoryTree;
 import com.financetracker.service.TransactionService;
 import com.financetracker.service.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +17,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -23,6 +28,9 @@ public class DashboardController {
     @Autowired
     private TransactionService transactionService;
     
+    @Autowired
+    private CategoryService categoryService;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -30,18 +38,14 @@ public class DashboardController {
     public ResponseEntity<DashboardResponse> getDashboardData(Authentication authentication) {
         User user = getCurrentUser(authentication);
         
-        BigDecimal totalIncome = transactionService.getTotalIncomeByUser(user);
-        BigDecimal totalExpenses = transactionService.getTotalExpensesByUser(user);
-        BigDecimal balance = totalIncome.add(totalExpenses); // expenses are negative
-        
-        Double savingsRate = 0.0;
-        if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
-            savingsRate = balance.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                               .multiply(BigDecimal.valueOf(100))
-                               .doubleValue();
-        }
+        JfrEvents.DashboardAggregationEvent event = new JfrEvents.DashboardAggregationEvent();
+        event.begin();
+        int statementsBefore = RequestMetrics.currentSqlStatements();
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> categoryTotals =
+            transactionService.getCategoryTotalsByUser(user);
         
-        DashboardResponse response = new DashboardResponse(totalIncome, totalExpenses, balance, savingsRate);
+        DashboardResponse response = buildDashboardResponse(user, categoryTotals);
+        commit(event, user, false, categoryTotals, statementsBefore);
         return ResponseEntity.ok(response);
     }
     
@@ -52,21 +56,50 @@ public class DashboardController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         User user = getCurrentUser(authentication);
         
-        BigDecimal totalIncome = transactionService.getTotalIncomeByUserAndDateRange(user, startDate, endDate);
-        BigDecimal totalExpenses = transactionService.getTotalExpensesByUserAndDateRange(user, startDate, endDate);
-        BigDecimal balance = totalIncome.add(totalExpenses); // expenses are negative
+        JfrEvents.DashboardAggregationEvent event = new JfrEvents.DashboardAggregationEvent();
+        event.begin();
+        int statementsBefore = RequestMetrics.currentSqlStatements();
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> categoryTotals =
+            transactionService.getCategoryTotalsByUserAndDateRange(user, startDate, endDate);
         
-        Double savingsRate = 0.0;
-        if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
-            savingsRate = balance.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                               .multiply(BigDecimal.valueOf(100))
-                               .doubleValue();
-        }
-        
-        DashboardResponse response = new DashboardResponse(totalIncome, totalExpenses, balance, savingsRate);
+        DashboardResponse response = buildDashboardResponse(user, categoryTotals);
+        commit(event, user, true, categoryTotals, statementsBefore);
         return ResponseEntity.ok(response);
     }
     
+    private DashboardResponse buildDashboardResponse(User user,
+                                                     Map<Transaction.TransactionType, Map<String, BigDecimal>> categoryTotals) {
+        Map<String, BigDecimal> incomeTotals = categoryTotals.get(Transaction.TransactionType.INCOME);
+        Map<String, BigDecimal> expenseTotals = categoryTotals.get(Transaction.TransactionType.EXPENSE);
+        
+        DashboardResponse response = DashboardResponse.fromTotals(sum(incomeTotals), sum(expenseTotals));
+        
+        CategoryTree categoryTree = categoryService.getCategoryTree(user);
+        response.setIncomeByCategory(categoryTree.rollup(incomeTotals));
+        response.setExpensesByCategory(categoryTree.rollup(expenseTotals));
+        return response;
+    }
+    
+    private void commit(JfrEvents.DashboardAggregationEvent event, User user, boolean dateRange,
+                        Map<Transaction.TransactionType, Map<String, BigDecimal>> categoryTotals, int statementsBefore) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.userId = user.getId();
+            event.dateRange = dateRange;
+            event.rows = categoryTotals.values().stream().mapToInt(Map::size).sum();
+            event.sqlStatements = RequestMetrics.currentSqlStatements() - statementsBefore;
+            event.commit();
+        }
+    }
+    
+    private BigDecimal sum(Map<String, BigDecimal> totals) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : totals.values()) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+    
     private User getCurrentUser(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         return userRepository.findById(userPrincipal.getId())
@@ -0,0 +1,79 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.RecurringTransactionRequest;
+import com.financetracker.model.RecurringTransaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.RecurringTransactionService;
+import com.financetracker.service.UserPrincipal;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class RecurringTransactionController {
+    
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @GetMapping
+    public ResponseEntity<List<RecurringTransaction>> getAllRecurringTransactions(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        List<RecurringTransaction> recurringTransactions = recurringTransactionService.getRecurringTransactionsByUser(user);
+        return ResponseEntity.ok(recurringTransactions);
+    }
+    
+    @PostMapping
+    public ResponseEntity<RecurringTransaction> createRecurringTransaction(
+            @Valid @RequestBody RecurringTransactionRequest request,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        
+        RecurringTransaction recurringTransaction = new RecurringTransaction(
+            request.getDescription(),
+            request.getAmount(),
+            request.getCategory(),
+            request.getType(),
+            request.getNotes(),
+            request.getFrequency(),
+            request.getIntervalCount(),
+            request.getStartDate(),
+            request.getEndDate(),
+            user
+        );
+        
+        RecurringTransaction saved = recurringTransactionService.createRecurringTransaction(recurringTransaction);
+        return ResponseEntity.ok(saved);
+    }
+    
+    @PutMapping("/{id}/active")
+    public ResponseEntity<RecurringTransaction> setActive(@PathVariable Long id,
+                                                          @RequestParam boolean active,
+                                                          Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        RecurringTransaction saved = recurringTransactionService.setActive(user, id, active);
+        return ResponseEntity.ok(saved);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRecurringTransaction(@PathVariable Long id, Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        recurringTransactionService.deleteRecurringTransaction(user, id);
+        return ResponseEntity.ok().build();
+    }
+    
+    private User getCurrentUser(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userRepository.findById(userPrincipal.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.ReportRequest;
+import com.financetracker.model.User;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.service.ReportJob;
+import com.financetracker.service.ReportService;
+import com.financetracker.service.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Statements and tax summaries: POST a report, poll GET /{id} until its
+ * status is DONE, then fetch the file from GET /{id}/download.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReportController {
+    
+    // Set by Tomcat when the connector can send files itself (not over TLS)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    @Autowired
+    private ReportService reportService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    // 200 when the report for the current data is stored already, 202 while it is being built
+    @PostMapping
+    public ResponseEntity<ReportJob> submitReport(@Valid @RequestBody ReportRequest reportRequest,
+                                                  Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        ReportJob job = reportService.submit(user, reportRequest.getType(),
+            new ReportJob.Period(reportRequest.getYear(), reportRequest.getMonth()), reportRequest.getFormat());
+        return ResponseEntity.status(job.getStatus() == ReportJob.Status.DONE ? HttpStatus.OK : HttpStatus.ACCEPTED)
+            .body(job);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJob> getReport(@PathVariable String id, Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(reportService.getJob(userPrincipal.getId(), id));
+    }
+    
+    @GetMapping("/{id}/download")
+    public ResponseEntity<?> downloadReport(@PathVariable String id, Authentication authentication,
+                                            HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        ReportJob job = reportService.getJob(userPrincipal.getId(), id);
+        if (job.getStatus() != ReportJob.Status.DONE) {
+            Map<String, String> body = new HashMap<>();
+            body.put("message", job.getStatus() == ReportJob.Status.FAILED
+                ? "Error: " + job.getError()
+                : "Error: Report is not ready yet");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+        }
+        
+        Path artifact = reportService.getArtifact(userPrincipal.getId(), id);
+        try (FileChannel channel = FileChannel.open(artifact, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(job.getFormat().getContentType());
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(job.getFileName()).build().toString());
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                // Tomcat sends the file with FileChannel.transferTo once the handler returns
+                request.setAttribute(SENDFILE_FILENAME, artifact.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+            } else {
+                WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+                for (long position = 0; position < size; ) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        }
+        return null;
+    }
+    
+    // The report queue or the user's unfinished reports are at their limit
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> reportsSaturated(RejectedExecutionException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Error: Too many reports are being generated, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+    
+    private User getCurrentUser(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return userRepository.findById(userPrincipal.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
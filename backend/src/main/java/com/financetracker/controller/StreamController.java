@@ -0,0 +1,29 @@
+package com.financetracker.controller;
+
+import com.financetracker.service.LiveUpdateService;
+import com.financetracker.service.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events with the user's live dashboard totals ("dashboard"
+ * events, sent once on connect and after every change) and budget spent
+ * amount changes ("budget" events, with the delta), replacing polling.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class StreamController {
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return liveUpdateService.connect(userPrincipal.getId());
+    }
+}
@@ -1,12 +1,17 @@
 package com.financetracker.controller;
 
+import com.financetracker.dto.ImportResponse;
+import com.financetracker.dto.LedgerResponse;
 import com.financetracker.dto.TransactionRequest;
 import com.financetracker.model.Transaction;
 import com.financetracker.model.User;
 import com.financetracker.repository.UserRepository;
+import com.financetracker.service.DuplicatePolicy;
+import com.financetracker.service.LedgerService;
 import com.financetracker.service.TransactionService;
 import com.financetracker.service.UserPrincipal;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -14,16 +19,25 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transactions")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class TransactionController {
     
+    // Rows of one import are checked for duplicates and categorized in a single request
+    private static final int MAX_IMPORT_SIZE = 10_000;
+    
     @Autowired
     private TransactionService transactionService;
     
+    @Autowired
+    private LedgerService ledgerService;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -44,6 +58,45 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(
+            Authentication authentication,
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (q.isBlank() || limit < 1 || limit > 500) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Error: q must not be blank and limit must be between 1 and 500");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        User user = getCurrentUser(authentication);
+        List<Transaction> transactions = transactionService.searchTransactions(
+            user, q, startDate, endDate, type, category, limit);
+        return ResponseEntity.ok(transactions);
+    }
+    
+    // Newest first with the running balance; pass nextBeforeDate and nextBeforeId of a page to get the next one
+    @GetMapping("/ledger")
+    public ResponseEntity<?> getLedger(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit) {
+        if ((beforeDate == null) != (beforeId == null) || limit < 1 || limit > 500) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Error: beforeDate and beforeId go together and limit must be between 1 and 500");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        User user = getCurrentUser(authentication);
+        LedgerResponse ledger = ledgerService.getLedger(user, beforeDate, beforeId, limit);
+        return ResponseEntity.ok(ledger);
+    }
+    
     @PostMapping
     public ResponseEntity<Transaction> createTransaction(@Valid @RequestBody TransactionRequest transactionRequest,
                                                        Authentication authentication) {
@@ -58,11 +111,38 @@ public class TransactionController {
             transactionRequest.getNotes(),
             user
         );
+        transaction.setAccountId(transactionRequest.getAccountId());
         
         Transaction savedTransaction = transactionService.createTransaction(transaction);
         return ResponseEntity.ok(savedTransaction);
     }
     
+    @PostMapping("/import")
+    public ResponseEntity<ImportResponse> importTransactions(
+            @RequestBody @Size(max = MAX_IMPORT_SIZE) List<@Valid TransactionRequest> transactionRequests,
+            @RequestParam(defaultValue = "SKIP") DuplicatePolicy duplicatePolicy,
+            Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        
+        List<Transaction> transactions = new ArrayList<>(transactionRequests.size());
+        for (TransactionRequest transactionRequest : transactionRequests) {
+            Transaction transaction = new Transaction(
+                transactionRequest.getDescription(),
+                transactionRequest.getAmount(),
+                transactionRequest.getCategory(),
+                transactionRequest.getTransactionDate(),
+                transactionRequest.getType(),
+                transactionRequest.getNotes(),
+                user
+            );
+            transaction.setAccountId(transactionRequest.getAccountId());
+            transactions.add(transaction);
+        }
+        
+        ImportResponse importResponse = transactionService.importTransactions(user, transactions, duplicatePolicy);
+        return ResponseEntity.ok(importResponse);
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<Transaction> updateTransaction(@PathVariable Long id,
                                                        @Valid @RequestBody TransactionRequest transactionRequest,
@@ -78,6 +158,7 @@ public class TransactionController {
             transactionRequest.getNotes(),
             user
         );
+        updatedTransaction.setAccountId(transactionRequest.getAccountId());
         
         Transaction savedTransaction = transactionService.updateTransaction(id, updatedTransaction);
         return ResponseEntity.ok(savedTransaction);
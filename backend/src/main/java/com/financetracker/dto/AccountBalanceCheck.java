@@ -0,0 +1,36 @@
+package com.financetracker.dto;
+
+import java.math.BigDecimal;
+
+public class AccountBalanceCheck {
+    private Long accountId;
+    private String name;
+    private BigDecimal storedBalance;
+    private BigDecimal computedBalance;
+    private boolean consistent;
+    
+    public AccountBalanceCheck() {}
+    
+    public AccountBalanceCheck(Long accountId, String name, BigDecimal storedBalance, BigDecimal computedBalance) {
+        this.accountId = accountId;
+        this.name = name;
+        this.storedBalance = storedBalance;
+        this.computedBalance = computedBalance;
+        this.consistent = storedBalance.compareTo(computedBalance) == 0;
+    }
+    
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public BigDecimal getStoredBalance() { return storedBalance; }
+    public void setStoredBalance(BigDecimal storedBalance) { this.storedBalance = storedBalance; }
+    
+    public BigDecimal getComputedBalance() { return computedBalance; }
+    public void setComputedBalance(BigDecimal computedBalance) { this.computedBalance = computedBalance; }
+    
+    public boolean isConsistent() { return consistent; }
+    public void setConsistent(boolean consistent) { this.consistent = consistent; }
+}
@@ -0,0 +1,29 @@
+package com.financetracker.dto;
+
+import com.financetracker.model.Account;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+public class AccountRequest {
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+    
+    @NotNull
+    private Account.AccountType type;
+    
+    private BigDecimal openingBalance;
+    
+    public AccountRequest() {}
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Account.AccountType getType() { return type; }
+    public void setType(Account.AccountType type) { this.type = type; }
+    
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+}
@@ -0,0 +1,33 @@
+package com.financetracker.dto;
+
+import com.financetracker.model.Account;
+import java.math.BigDecimal;
+import java.util.List;
+
+public class AccountSummaryResponse {
+    private List<Account> accounts;
+    private BigDecimal totalAssets;
+    private BigDecimal totalLiabilities;
+    private BigDecimal netWorth;
+    
+    public AccountSummaryResponse() {}
+    
+    public AccountSummaryResponse(List<Account> accounts, BigDecimal totalAssets, BigDecimal totalLiabilities) {
+        this.accounts = accounts;
+        this.totalAssets = totalAssets;
+        this.totalLiabilities = totalLiabilities;
+        this.netWorth = totalAssets.subtract(totalLiabilities);
+    }
+    
+    public List<Account> getAccounts() { return accounts; }
+    public void setAccounts(List<Account> accounts) { this.accounts = accounts; }
+    
+    public BigDecimal getTotalAssets() { return totalAssets; }
+    public void setTotalAssets(BigDecimal totalAssets) { this.totalAssets = totalAssets; }
+    
+    public BigDecimal getTotalLiabilities() { return totalLiabilities; }
+    public void setTotalLiabilities(BigDecimal totalLiabilities) { this.totalLiabilities = totalLiabilities; }
+    
+    public BigDecimal getNetWorth() { return netWorth; }
+    public void setNetWorth(BigDecimal netWorth) { this.netWorth = netWorth; }
+}
@@ -0,0 +1,26 @@
+package com.financetracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class CategoryRequest {
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+    
+    @Size(max = 100)
+    private String parentName;
+    
+    public CategoryRequest() {}
+    
+    public CategoryRequest(String name, String parentName) {
+        this.name = name;
+        this.parentName = parentName;
+    }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getParentName() { return parentName; }
+    public void setParentName(String parentName) { this.parentName = parentName; }
+}
@@ -0,0 +1,44 @@
+package com.financetracker.dto;
+
+import com.financetracker.model.CategoryRule;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+public class CategoryRuleRequest {
+    @NotNull
+    private CategoryRule.MatchType matchType;
+    
+    @Size(max = 255)
+    private String pattern;
+    
+    private BigDecimal minAmount;
+    
+    private BigDecimal maxAmount;
+    
+    @NotBlank
+    private String category;
+    
+    private Integer priority;
+    
+    public CategoryRuleRequest() {}
+    
+    public CategoryRule.MatchType getMatchType() { return matchType; }
+    public void setMatchType(CategoryRule.MatchType matchType) { this.matchType = matchType; }
+    
+    public String getPattern() { return pattern; }
+    public void setPattern(String pattern) { this.pattern = pattern; }
+    
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+    
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+}
@@ -1,12 +1,16 @@
 package com.financetracker.dto;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
 
 public class DashboardResponse {
     private BigDecimal totalIncome;
     private BigDecimal totalExpenses;
     private BigDecimal balance;
     private Double savingsRate;
+    private Map<String, BigDecimal> incomeByCategory;
+    private Map<String, BigDecimal> expensesByCategory;
     
     public DashboardResponse() {}
     
@@ -17,6 +21,19 @@ public class DashboardResponse {
         this.savingsRate = savingsRate;
     }
     
+    public static DashboardResponse fromTotals(BigDecimal totalIncome, BigDecimal totalExpenses) {
+        BigDecimal balance = totalIncome.add(totalExpenses); // expenses are negative
+        
+        Double savingsRate = 0.0;
+        if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
+            savingsRate = balance.divide(totalIncome, 4, RoundingMode.HALF_UP)
+                               .multiply(BigDecimal.valueOf(100))
+                               .doubleValue();
+        }
+        
+        return new DashboardResponse(totalIncome, totalExpenses, balance, savingsRate);
+    }
+    
     public BigDecimal getTotalIncome() { return totalIncome; }
     public void setTotalIncome(BigDecimal totalIncome) { this.totalIncome = totalIncome; }
     
@@ -28,4 +45,10 @@ public class DashboardResponse {
     
     public Double getSavingsRate() { return savingsRate; }
     public void setSavingsRate(Double savingsRate) { this.savingsRate = savingsRate; }
+    
+    public Map<String, BigDecimal> getIncomeByCategory() { return incomeByCategory; }
+    public void setIncomeByCategory(Map<String, BigDecimal> incomeByCategory) { this.incomeByCategory = incomeByCategory; }
+    
+    public Map<String, BigDecimal> getExpensesByCategory() { return expensesByCategory; }
+    public void setExpensesByCategory(Map<String, BigDecimal> expensesByCategory) { this.expensesByCategory = expensesByCategory; }
 }
@@ -0,0 +1,38 @@
+package com.financetracker.dto;
+
+import com.financetracker.model.Transaction;
+
+import java.util.List;
+
+public class ImportResponse {
+    private int imported;
+    private int skipped;
+    private int flagged;
+    private int merged;
+    private List<Transaction> transactions;
+    
+    public ImportResponse() {}
+    
+    public ImportResponse(int imported, int skipped, int flagged, int merged, List<Transaction> transactions) {
+        this.imported = imported;
+        this.skipped = skipped;
+        this.flagged = flagged;
+        this.merged = merged;
+        this.transactions = transactions;
+    }
+    
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+    
+    public int getFlagged() { return flagged; }
+    public void setFlagged(int flagged) { this.flagged = flagged; }
+    
+    public int getMerged() { return merged; }
+    public void setMerged(int merged) { this.merged = merged; }
+    
+    public List<Transaction> getTransactions() { return transactions; }
+    public void setTransactions(List<Transaction> transactions) { this.transactions = transactions; }
+}
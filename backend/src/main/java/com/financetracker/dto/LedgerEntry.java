@@ -0,0 +1,55 @@
+package com.financetracker.dto;
+
+import com.financetracker.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class LedgerEntry {
+    private Long id;
+    private LocalDate transactionDate;
+    private String description;
+    private String category;
+    private Transaction.TransactionType type;
+    private BigDecimal amount;
+    private String notes;
+    private BigDecimal balance;
+    
+    public LedgerEntry() {}
+    
+    public LedgerEntry(Long id, LocalDate transactionDate, String description, String category,
+                       Transaction.TransactionType type, BigDecimal amount, String notes, BigDecimal balance) {
+        this.id = id;
+        this.transactionDate = transactionDate;
+        this.description = description;
+        this.category = category;
+        this.type = type;
+        this.amount = amount;
+        this.notes = notes;
+        this.balance = balance;
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public LocalDate getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDate transactionDate) { this.transactionDate = transactionDate; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+}
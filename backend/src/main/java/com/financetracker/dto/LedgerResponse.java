@@ -0,0 +1,28 @@
+package com.financetracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class LedgerResponse {
+    private List<LedgerEntry> entries;
+    // Cursor of the next (older) page; null on the last page
+    private LocalDate nextBeforeDate;
+    private Long nextBeforeId;
+    
+    public LedgerResponse() {}
+    
+    public LedgerResponse(List<LedgerEntry> entries, LocalDate nextBeforeDate, Long nextBeforeId) {
+        this.entries = entries;
+        this.nextBeforeDate = nextBeforeDate;
+        this.nextBeforeId = nextBeforeId;
+    }
+    
+    public List<LedgerEntry> getEntries() { return entries; }
+    public void setEntries(List<LedgerEntry> entries) { this.entries = entries; }
+    
+    public LocalDate getNextBeforeDate() { return nextBeforeDate; }
+    public void setNextBeforeDate(LocalDate nextBeforeDate) { this.nextBeforeDate = nextBeforeDate; }
+    
+    public Long getNextBeforeId() { return nextBeforeId; }
+    public void setNextBeforeId(Long nextBeforeId) { this.nextBeforeId = nextBeforeId; }
+}
@@ -0,0 +1,67 @@
+package com.financetracker.dto;
+
+import com.financetracker.model.RecurringTransaction;
+import com.financetracker.model.Transaction;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RecurringTransactionRequest {
+    @NotBlank
+    private String description;
+    
+    @NotNull
+    @DecimalMin(value = "0.0", inclusive = false)
+    private BigDecimal amount;
+    
+    @NotBlank
+    private String category;
+    
+    @NotNull
+    private Transaction.TransactionType type;
+    
+    private String notes;
+    
+    @NotNull
+    private RecurringTransaction.Frequency frequency;
+    
+    @Min(1)
+    private Integer intervalCount;
+    
+    @NotNull
+    private LocalDate startDate;
+    
+    private LocalDate endDate;
+    
+    public RecurringTransactionRequest() {}
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+    
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    
+    public RecurringTransaction.Frequency getFrequency() { return frequency; }
+    public void setFrequency(RecurringTransaction.Frequency frequency) { this.frequency = frequency; }
+    
+    public Integer getIntervalCount() { return intervalCount; }
+    public void setIntervalCount(Integer intervalCount) { this.intervalCount = intervalCount; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+}
@@ -0,0 +1,37 @@
+package com.financetracker.dto;
+
+import com.financetracker.service.ReportJob;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ReportRequest {
+    @NotNull
+    private ReportJob.ReportType type;
+    
+    @NotNull
+    @Min(1)
+    @Max(9999)
+    private Integer year;
+    
+    // Whole year when absent
+    @Min(1)
+    @Max(12)
+    private Integer month;
+    
+    private ReportJob.ReportFormat format = ReportJob.ReportFormat.CSV;
+    
+    public ReportRequest() {}
+    
+    public ReportJob.ReportType getType() { return type; }
+    public void setType(ReportJob.ReportType type) { this.type = type; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public ReportJob.ReportFormat getFormat() { return format; }
+    public void setFormat(ReportJob.ReportFormat format) { this.format = format; }
+}
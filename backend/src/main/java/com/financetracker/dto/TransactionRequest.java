@@ -15,7 +15,7 @@ public class TransactionRequest {
     @DecimalMin(value = "0.0", inclusive = false)
     private BigDecimal amount;
     
-    @NotBlank
+    // Optional; assigned by the user's category rules when blank
     private String category;
     
     @NotNull
@@ -26,6 +26,9 @@ public class TransactionRequest {
     
     private String notes;
     
+    // Optional; the account whose balance the transaction moves
+    private Long accountId;
+    
     public TransactionRequest() {}
     
     public TransactionRequest(String description, BigDecimal amount, String category, 
@@ -55,4 +58,7 @@ public class TransactionRequest {
     
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+    
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
 }
@@ -0,0 +1,95 @@
+package com.financetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "accounts", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "name"})
+})
+public class Account {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "name")
+    private String name;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type")
+    private AccountType type;
+    
+    // Balance before the first transaction recorded on the account
+    @Column(name = "opening_balance", precision = 15, scale = 2)
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+    
+    // Opening balance plus the account's transactions. Never written from the entity, so saving
+    // a stale copy cannot undo a concurrent change; see AccountRepository.adjustBalance
+    @Column(name = "balance", precision = 15, scale = 2, updatable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+    
+    public enum AccountType {
+        CHECKING, SAVINGS, CREDIT_CARD, CASH
+    }
+    
+    public Account() {}
+    
+    public Account(String name, AccountType type, BigDecimal openingBalance, User user) {
+        this.name = name;
+        this.type = type;
+        this.openingBalance = openingBalance;
+        this.balance = openingBalance;
+        this.user = user;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public AccountType getType() { return type; }
+    public void setType(AccountType type) { this.type = type; }
+    
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+    
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+}
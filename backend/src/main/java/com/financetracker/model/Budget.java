@@ -4,12 +4,20 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.DecimalMin;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "category"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budgets")
+@Table(name = "budgets", indexes = {
+    @Index(name = "idx_budgets_period", columnList = "year, month, user_id")
+}, uniqueConstraints = {
+    // One budget per category and month; BudgetRolloverJob drops the older (user_id, category) key
+    @UniqueConstraint(name = "uk_budgets_user_category_period",
+                      columnNames = {"user_id", "category", "month", "year"})
 })
 public class Budget {
     @Id
@@ -28,6 +36,10 @@ public class Budget {
     @Column(name = "spent_amount", precision = 10, scale = 2)
     private BigDecimal spentAmount = BigDecimal.ZERO;
     
+    // Unspent amount of the previous month included in budgetLimit by a carry-over rollover
+    @Column(name = "carried_over", precision = 10, scale = 2)
+    private BigDecimal carriedOver = BigDecimal.ZERO;
+    
     @Column(name = "month")
     private Integer month;
     
@@ -75,6 +87,9 @@ public class Budget {
     public BigDecimal getSpentAmount() { return spentAmount; }
     public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
     
+    public BigDecimal getCarriedOver() { return carriedOver; }
+    public void setCarriedOver(BigDecimal carriedOver) { this.carriedOver = carriedOver; }
+    
     public Integer getMonth() { return month; }
     public void setMonth(Integer month) { this.month = month; }
     
@@ -0,0 +1,98 @@
+package com.financetracker.model;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A budget's spent amount crossing one of the configured thresholds (a
+ * percentage of its limit). Recorded once per budget and threshold, so a
+ * redelivered crossing is not stored or notified twice. The budget id is not
+ * a foreign key, so alerts outlive deleted budgets.
+ */
+@Entity
+@Table(name = "budget_alerts", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"budget_id", "threshold_percent"})
+})
+public class BudgetAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+    
+    @Column(name = "category")
+    private String category;
+    
+    @Column(name = "month")
+    private Integer month;
+    
+    @Column(name = "year")
+    private Integer year;
+    
+    @Column(name = "threshold_percent", nullable = false)
+    private Integer thresholdPercent;
+    
+    @Column(name = "budget_limit", precision = 10, scale = 2)
+    private BigDecimal budgetLimit;
+    
+    // Spent amount right after the crossing
+    @Column(name = "spent_amount", precision = 10, scale = 2)
+    private BigDecimal spentAmount;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+    
+    public BudgetAlert() {}
+    
+    public BudgetAlert(Long budgetId, String category, Integer month, Integer year, Integer thresholdPercent,
+                       BigDecimal budgetLimit, BigDecimal spentAmount, User user) {
+        this.budgetId = budgetId;
+        this.category = category;
+        this.month = month;
+        this.year = year;
+        this.thresholdPercent = thresholdPercent;
+        this.budgetLimit = budgetLimit;
+        this.spentAmount = spentAmount;
+        this.user = user;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getBudgetId() { return budgetId; }
+    public void setBudgetId(Long budgetId) { this.budgetId = budgetId; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getThresholdPercent() { return thresholdPercent; }
+    public void setThresholdPercent(Integer thresholdPercent) { this.thresholdPercent = thresholdPercent; }
+    
+    public BigDecimal getBudgetLimit() { return budgetLimit; }
+    public void setBudgetLimit(BigDecimal budgetLimit) { this.budgetLimit = budgetLimit; }
+    
+    public BigDecimal getSpentAmount() { return spentAmount; }
+    public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+}
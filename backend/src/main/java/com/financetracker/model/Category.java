@@ -0,0 +1,60 @@
+package com.financetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "categories", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "name"})
+})
+public class Category {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "name")
+    private String name;
+    
+    // Name of the parent category, null for a top-level category
+    @Size(max = 100)
+    @Column(name = "parent_name")
+    private String parentName;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+    
+    public Category() {}
+    
+    public Category(String name, String parentName, User user) {
+        this.name = name;
+        this.parentName = parentName;
+        this.user = user;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getParentName() { return parentName; }
+    public void setParentName(String parentName) { this.parentName = parentName; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+}
@@ -0,0 +1,95 @@
+package com.financetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "category_rules")
+public class CategoryRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_type")
+    private MatchType matchType;
+    
+    // Keyword, prefix or regular expression; unused for amount ranges
+    @Size(max = 255)
+    @Column(name = "pattern")
+    private String pattern;
+    
+    @Column(name = "min_amount", precision = 10, scale = 2)
+    private BigDecimal minAmount;
+    
+    @Column(name = "max_amount", precision = 10, scale = 2)
+    private BigDecimal maxAmount;
+    
+    @NotBlank
+    @Column(name = "category")
+    private String category;
+    
+    // Lower values win when several rules match
+    @Column(name = "priority")
+    private Integer priority = 0;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+    
+    public enum MatchType {
+        KEYWORD, PREFIX, REGEX, AMOUNT_RANGE
+    }
+    
+    public CategoryRule() {}
+    
+    public CategoryRule(MatchType matchType, String pattern, BigDecimal minAmount, BigDecimal maxAmount,
+                        String category, Integer priority, User user) {
+        this.matchType = matchType;
+        this.pattern = pattern;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.category = category;
+        this.priority = priority != null ? priority : 0;
+        this.user = user;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public MatchType getMatchType() { return matchType; }
+    public void setMatchType(MatchType matchType) { this.matchType = matchType; }
+    
+    public String getPattern() { return pattern; }
+    public void setPattern(String pattern) { this.pattern = pattern; }
+    
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+    
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+}
@@ -0,0 +1,174 @@
+package com.financetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+    @Index(name = "idx_recurring_due", columnList = "active, next_occurrence")
+})
+public class RecurringTransaction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank
+    @Column(name = "description")
+    private String description;
+    
+    @NotNull
+    @DecimalMin(value = "0.0", inclusive = false)
+    @Column(name = "amount", precision = 10, scale = 2)
+    private BigDecimal amount;
+    
+    @NotBlank
+    @Column(name = "category")
+    private String category;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type")
+    private Transaction.TransactionType type;
+    
+    @Column(name = "notes", length = 500)
+    private String notes;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency")
+    private Frequency frequency;
+    
+    // Every N days/weeks/months/years
+    @Min(1)
+    @Column(name = "interval_count")
+    private Integer intervalCount = 1;
+    
+    @NotNull
+    @Column(name = "start_date")
+    private LocalDate startDate;
+    
+    @Column(name = "end_date")
+    private LocalDate endDate;
+    
+    // Index of the next occurrence to materialize, counted from startDate
+    @Column(name = "occurrence_index")
+    private Integer occurrenceIndex = 0;
+    
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+    
+    @Column(name = "active")
+    private Boolean active = true;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+    
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, YEARLY
+    }
+    
+    public RecurringTransaction() {}
+    
+    public RecurringTransaction(String description, BigDecimal amount, String category,
+                                Transaction.TransactionType type, String notes, Frequency frequency,
+                                Integer intervalCount, LocalDate startDate, LocalDate endDate, User user) {
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.type = type;
+        this.notes = notes;
+        this.frequency = frequency;
+        this.intervalCount = intervalCount != null ? intervalCount : 1;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.user = user;
+        this.occurrenceIndex = 0;
+        this.nextOccurrence = startDate;
+        this.active = true;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Date of the n-th occurrence. Always derived from the start date so
+     * that e.g. a rule starting on the 31st does not drift to the 28th.
+     */
+    public static LocalDate occurrenceDate(LocalDate startDate, Frequency frequency, int intervalCount, int index) {
+        long steps = (long) index * intervalCount;
+        return switch (frequency) {
+            case DAILY -> startDate.plusDays(steps);
+            case WEEKLY -> startDate.plusWeeks(steps);
+            case MONTHLY -> startDate.plusMonths(steps);
+            case YEARLY -> startDate.plusYears(steps);
+        };
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+    
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    
+    public Frequency getFrequency() { return frequency; }
+    public void setFrequency(Frequency frequency) { this.frequency = frequency; }
+    
+    public Integer getIntervalCount() { return intervalCount; }
+    public void setIntervalCount(Integer intervalCount) { this.intervalCount = intervalCount; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public Integer getOccurrenceIndex() { return occurrenceIndex; }
+    public void setOccurrenceIndex(Integer occurrenceIndex) { this.occurrenceIndex = occurrenceIndex; }
+    
+    public LocalDate getNextOccurrence() { return nextOccurrence; }
+    public void setNextOccurrence(LocalDate nextOccurrence) { this.nextOccurrence = nextOccurrence; }
+    
+    public Boolean getActive() { return active; }
+    public void setActive(Boolean active) { this.active = active; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+}
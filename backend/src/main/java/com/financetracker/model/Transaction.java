@@ -4,12 +4,22 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.DecimalMin;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_user_fingerprint", columnList = "user_id, fingerprint"),
+    // Keyset pagination of the ledger
+    @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date, id"),
+    @Index(name = "idx_transactions_account", columnList = "account_id")
+}, uniqueConstraints = {
+    // At most one materialized row per recurring template and occurrence date
+    @UniqueConstraint(name = "uk_transactions_recurring_occurrence",
+                      columnNames = {"recurring_transaction_id", "transaction_date"})
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +49,26 @@ public class Transaction {
     @Column(name = "notes", length = 500)
     private String notes;
     
+    // See TransactionFingerprint; maintained on every insert and update
+    @JsonIgnore
+    @Column(name = "fingerprint")
+    private Long fingerprint;
+    
+    // Set when the row was kept despite matching an existing transaction
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+    
+    @Column(name = "recurring_transaction_id")
+    private Long recurringTransactionId;
+    
+    // Null for transactions recorded before accounts existed or kept outside any account
+    @Column(name = "account_id")
+    private Long accountId;
+    
+    // The other leg of a transfer
+    @Column(name = "transfer_peer_id")
+    private Long transferPeerId;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -50,7 +80,16 @@ public class Transaction {
     private User user;
     
     public enum TransactionType {
-        INCOME, EXPENSE
+        INCOME, EXPENSE, TRANSFER_IN, TRANSFER_OUT;
+        
+        public boolean isTransfer() {
+            return this == TRANSFER_IN || this == TRANSFER_OUT;
+        }
+        
+        // Money entering the account (or the user's funds when no account is set)
+        public boolean isInflow() {
+            return this == INCOME || this == TRANSFER_IN;
+        }
     }
     
     public Transaction() {}
@@ -68,9 +107,15 @@ public class Transaction {
         this.updatedAt = LocalDateTime.now();
     }
     
+    @PrePersist
+    protected void onCreate() {
+        this.fingerprint = TransactionFingerprint.of(this);
+    }
+    
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.fingerprint = TransactionFingerprint.of(this);
     }
     
     // Getters and Setters
@@ -95,6 +140,21 @@ public class Transaction {
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
     
+    public Long getFingerprint() { return fingerprint; }
+    public void setFingerprint(Long fingerprint) { this.fingerprint = fingerprint; }
+    
+    public Long getDuplicateOfId() { return duplicateOfId; }
+    public void setDuplicateOfId(Long duplicateOfId) { this.duplicateOfId = duplicateOfId; }
+    
+    public Long getRecurringTransactionId() { return recurringTransactionId; }
+    public void setRecurringTransactionId(Long recurringTransactionId) { this.recurringTransactionId = recurringTransactionId; }
+    
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public Long getTransferPeerId() { return transferPeerId; }
+    public void setTransferPeerId(Long transferPeerId) { this.transferPeerId = transferPeerId; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
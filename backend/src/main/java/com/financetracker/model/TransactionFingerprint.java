@@ -0,0 +1,64 @@
+package com.financetracker.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+
+/**
+ * 64-bit hash of a transaction's (date, amount, normalized description), used
+ * to recognise the same bank row when overlapping statements are re-imported.
+ * The owning user is not hashed in; lookups are always scoped by user_id.
+ * Neither is the type: the rare income and expense that share a fingerprint
+ * are told apart by DuplicateDetectionService's confirming lookup.
+ */
+public final class TransactionFingerprint {
+    
+    private TransactionFingerprint() {}
+    
+    public static long of(Transaction transaction) {
+        return of(transaction.getTransactionDate(), transaction.getAmount(), transaction.getDescription());
+    }
+    
+    public static long of(LocalDate date, BigDecimal amount, String description) {
+        String key = date + "|" + normalizeAmount(amount) + "|" + normalizeDescription(description);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Case-folds and collapses punctuation and whitespace runs, so exports
+     * that differ only in formatting produce the same fingerprint.
+     */
+    public static String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(description.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < description.length(); i++) {
+            char c = description.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+    
+    private static String normalizeAmount(BigDecimal amount) {
+        return amount == null ? "" : amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+}
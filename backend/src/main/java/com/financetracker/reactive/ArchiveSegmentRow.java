@@ -0,0 +1,7 @@
+package com.financetracker.reactive;
+
+/**
+ * A row of transaction_archive_segments: an archived year of a user and the
+ * generation of its committed segment file.
+ */
+public record ArchiveSegmentRow(int periodYear, int generation) {}
@@ -0,0 +1,7 @@
+package com.financetracker.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("categories")
+public record CategoryRow(@Id Long id, String name, String parentName) {}
@@ -0,0 +1,7 @@
+package com.financetracker.reactive;
+
+import com.financetracker.model.Transaction;
+
+import java.math.BigDecimal;
+
+public record CategoryTotalRow(Transaction.TransactionType type, String category, BigDecimal total) {}
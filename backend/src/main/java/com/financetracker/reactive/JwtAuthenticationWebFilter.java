@@ -0,0 +1,68 @@
+package com.financetracker.reactive;
+
+import com.financetracker.config.JwtUtils;
+import com.financetracker.service.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of AuthTokenFilter: validates the bearer token,
+ * rejects revoked ones and loads the user without blocking, then exposes it
+ * through the reactive security context.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+    
+    private final JwtUtils jwtUtils;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveTokenRevocations tokenRevocations;
+    
+    public JwtAuthenticationWebFilter(JwtUtils jwtUtils, ReactiveUserRepository userRepository,
+                                      ReactiveTokenRevocations tokenRevocations) {
+        this.jwtUtils = jwtUtils;
+        this.userRepository = userRepository;
+        this.tokenRevocations = tokenRevocations;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = parseJwt(exchange);
+        if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
+            return chain.filter(exchange);
+        }
+        
+        Claims claims = jwtUtils.getClaimsFromJwtToken(jwt);
+        // In-memory lookup; a revoked token is treated like an invalid one
+        if (tokenRevocations.isRevoked(claims)) {
+            return chain.filter(exchange);
+        }
+        
+        String username = claims.getSubject();
+        return userRepository.findByEmail(username)
+            .map(user -> {
+                UserPrincipal principal = new UserPrincipal(user.id(), user.name(), user.email(), null);
+                return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            })
+            .map(authentication -> chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+            // The chain itself completes empty, so pick it before subscribing to it
+            .defaultIfEmpty(Mono.defer(() -> chain.filter(exchange)))
+            .flatMap(filtered -> filtered);
+    }
+    
+    private String parseJwt(ServerWebExchange exchange) {
+        String headerAuth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+        
+        return null;
+    }
+}
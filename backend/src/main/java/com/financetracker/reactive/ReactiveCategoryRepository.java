@@ -0,0 +1,12 @@
+package com.financetracker.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveCategoryRepository extends ReactiveCrudRepository<CategoryRow, Long> {
+    @Query("SELECT id, name, parent_name FROM categories WHERE user_id = :userId AND parent_name IS NOT NULL")
+    Flux<CategoryRow> findChildCategoriesByUserId(Long userId);
+}
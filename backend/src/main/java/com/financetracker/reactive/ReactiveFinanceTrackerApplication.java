@@ -0,0 +1,51 @@
+package com.financetracker.reactive;
+
+import com.financetracker.config.JwtUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-blocking deployment of the high fan-in read endpoints
+ * (/api/dashboard, /api/dashboard/date-range, /api/transactions and
+ * /api/transactions/date-range) on WebFlux and R2DBC.
+ *
+ * It runs as its own process next to the servlet application, which keeps
+ * serving writes and every other endpoint. Configuration comes from
+ * reactive.properties rather than application.properties; the h2 profile
+ * reads the servlet application's local H2 database for benchmarking.
+ */
+@Profile("reactive")
+@SpringBootApplication(exclude = {
+    DataSourceAutoConfiguration.class,
+    DataSourceTransactionManagerAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class,
+    JpaRepositoriesAutoConfiguration.class,
+    ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@Import(JwtUtils.class)
+public class ReactiveFinanceTrackerApplication {
+    
+    // Tomcat is on the classpath for the servlet application and would otherwise win
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveFinanceTrackerApplication.class)
+            .web(WebApplicationType.REACTIVE)
+            .profiles("reactive")
+            .properties("spring.config.name=reactive")
+            .run(args);
+    }
+}
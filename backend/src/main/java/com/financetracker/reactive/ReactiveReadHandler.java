@@ -0,0 +1,144 @@
+package com.financetracker.reactive;
+
+import com.financetracker.dto.DashboardResponse;
+import com.financetracker.model.Transaction;
+import com.financetracker.service.CategoryTree;
+import com.financetracker.service.UserPrincipal;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+@Profile("reactive")
+@Component
+public class ReactiveReadHandler {
+    
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveCategoryRepository categoryRepository;
+    private final ReactiveTransactionArchive transactionArchive;
+    
+    public ReactiveReadHandler(ReactiveTransactionRepository transactionRepository,
+                               ReactiveCategoryRepository categoryRepository,
+                               ReactiveTransactionArchive transactionArchive) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionArchive = transactionArchive;
+    }
+    
+    /**
+     * Streams the listing as rows arrive from the driver; demand from the
+     * client connection propagates back to the database cursor. Archived
+     * rows are merged in by date, as the servlet endpoint does.
+     */
+    public Mono<ServerResponse> getAllTransactions(ServerRequest request) {
+        return currentUserId(request).flatMap(userId -> streamTransactions(request,
+            withArchived(transactionRepository.findByUserId(userId),
+                transactionArchive.findTransactions(userId, null, null))));
+    }
+    
+    public Mono<ServerResponse> getTransactionsByDateRange(ServerRequest request) {
+        return withDateRange(request, (startDate, endDate) -> currentUserId(request).flatMap(userId ->
+            streamTransactions(request, withArchived(
+                transactionRepository.findByUserIdAndDateBetween(userId, startDate, endDate),
+                transactionArchive.findTransactions(userId, startDate, endDate)))));
+    }
+    
+    public Mono<ServerResponse> getDashboardData(ServerRequest request) {
+        return currentUserId(request).flatMap(userId -> dashboard(userId, Flux.concat(
+            transactionRepository.sumAmountByUserIdGroupByTypeAndCategory(userId),
+            transactionArchive.sumAmountByTypeAndCategory(userId, null, null))));
+    }
+    
+    public Mono<ServerResponse> getDashboardDataByDateRange(ServerRequest request) {
+        return withDateRange(request, (startDate, endDate) -> currentUserId(request).flatMap(userId -> dashboard(userId,
+            Flux.concat(
+                transactionRepository.sumAmountByUserIdAndDateBetweenGroupByTypeAndCategory(userId, startDate, endDate),
+                transactionArchive.sumAmountByTypeAndCategory(userId, startDate, endDate)))));
+    }
+    
+    // Both sources are newest first; backdated writes can put live rows among archived ones
+    private static Flux<TransactionRow> withArchived(Flux<TransactionRow> live, Flux<TransactionRow> archived) {
+        return Flux.mergeComparing(ReactiveTransactionArchive.NEWEST_FIRST, live, archived);
+    }
+    
+    // A missing or malformed date is answered 400, as the servlet controllers do
+    private Mono<ServerResponse> withDateRange(ServerRequest request,
+                                               BiFunction<LocalDate, LocalDate, Mono<ServerResponse>> handler) {
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            startDate = dateParam(request, "startDate");
+            endDate = dateParam(request, "endDate");
+        } catch (IllegalArgumentException e) {
+            Map<String, String> body = new HashMap<>();
+            body.put("message", "Error: " + e.getMessage());
+            return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+        }
+        return handler.apply(startDate, endDate);
+    }
+    
+    private static LocalDate dateParam(ServerRequest request, String name) {
+        String value = request.queryParam(name)
+            .orElseThrow(() -> new IllegalArgumentException("Query parameter " + name + " is required"));
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Query parameter " + name + " must be a date like 2024-01-31");
+        }
+    }
+    
+    private Mono<ServerResponse> streamTransactions(ServerRequest request, Flux<TransactionRow> transactions) {
+        // Newline-delimited JSON when asked for, otherwise a JSON array like the servlet API
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+            ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(mediaType).body(transactions, TransactionRow.class);
+    }
+    
+    private Mono<ServerResponse> dashboard(Long userId, Flux<CategoryTotalRow> totals) {
+        Mono<Map<String, String>> parents = categoryRepository.findChildCategoriesByUserId(userId)
+            .collectMap(CategoryRow::name, CategoryRow::parentName);
+        
+        Mono<DashboardResponse> response = totals
+            .collectList()
+            .zipWith(parents, (rows, parentByName) -> {
+                Map<String, BigDecimal> incomeTotals = new HashMap<>();
+                Map<String, BigDecimal> expenseTotals = new HashMap<>();
+                BigDecimal totalIncome = BigDecimal.ZERO;
+                BigDecimal totalExpenses = BigDecimal.ZERO;
+                for (CategoryTotalRow row : rows) {
+                    if (row.type() == Transaction.TransactionType.INCOME) {
+                        incomeTotals.merge(row.category(), row.total(), BigDecimal::add);
+                        totalIncome = totalIncome.add(row.total());
+                    } else if (row.type() == Transaction.TransactionType.EXPENSE) {
+                        expenseTotals.merge(row.category(), row.total(), BigDecimal::add);
+                        totalExpenses = totalExpenses.add(row.total());
+                    }
+                }
+                
+                DashboardResponse dashboard = DashboardResponse.fromTotals(totalIncome, totalExpenses);
+                CategoryTree categoryTree = CategoryTree.ofParents(parentByName);
+                dashboard.setIncomeByCategory(categoryTree.rollup(incomeTotals));
+                dashboard.setExpensesByCategory(categoryTree.rollup(expenseTotals));
+                return dashboard;
+            });
+        
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(response, DashboardResponse.class);
+    }
+    
+    private Mono<Long> currentUserId(ServerRequest request) {
+        return request.principal()
+            .cast(Authentication.class)
+            .map(authentication -> ((UserPrincipal) authentication.getPrincipal()).getId());
+    }
+}
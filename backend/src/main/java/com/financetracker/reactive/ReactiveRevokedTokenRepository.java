@@ -0,0 +1,10 @@
+package com.financetracker.reactive;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveRevokedTokenRepository extends ReactiveCrudRepository<RevokedTokenRow, Long> {
+    Flux<RevokedTokenRow> findByIdGreaterThanOrderById(Long id);
+}
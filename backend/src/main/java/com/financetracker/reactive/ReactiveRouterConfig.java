@@ -0,0 +1,23 @@
+package com.financetracker.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Profile("reactive")
+@Configuration
+public class ReactiveRouterConfig {
+    
+    @Bean
+    public RouterFunction<ServerResponse> readRoutes(ReactiveReadHandler handler) {
+        return route(GET("/api/dashboard"), handler::getDashboardData)
+            .andRoute(GET("/api/dashboard/date-range"), handler::getDashboardDataByDateRange)
+            .andRoute(GET("/api/transactions"), handler::getAllTransactions)
+            .andRoute(GET("/api/transactions/date-range"), handler::getTransactionsByDateRange);
+    }
+}
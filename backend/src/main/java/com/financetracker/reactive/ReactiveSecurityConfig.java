@@ -0,0 +1,69 @@
+package com.financetracker.reactive;
+
+import com.financetracker.config.JwtUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+@Profile("reactive")
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+    
+    @Value("${app.cors.allowed-origins}")
+    private String allowedOrigins;
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtils jwtUtils,
+                                                         ReactiveUserRepository userRepository,
+                                                         ReactiveTokenRevocations tokenRevocations) {
+        return http
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exception -> exception.authenticationEntryPoint((exchange, ex) -> {
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                String body = "{\"status\":401,\"error\":\"Unauthorized\",\"message\":\"" + ex.getMessage()
+                    + "\",\"path\":\"" + exchange.getRequest().getPath().value() + "\"}";
+                DataBuffer buffer = exchange.getResponse().bufferFactory()
+                    .wrap(body.getBytes(StandardCharsets.UTF_8));
+                return exchange.getResponse().writeWith(Mono.just(buffer));
+            }))
+            .authorizeExchange(auth -> auth.anyExchange().authenticated())
+            .addFilterAt(new JwtAuthenticationWebFilter(jwtUtils, userRepository, tokenRevocations),
+                SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+    
+    @Bean
+    CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOriginPatterns(List.of(allowedOrigins.split(",")));
+        configuration.setAllowedMethods(Arrays.asList("GET", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,112 @@
+package com.financetracker.reactive;
+
+import com.financetracker.config.JwtUtils;
+import com.financetracker.config.PollCursor;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWTs for JwtAuthenticationWebFilter, read from the revoked_tokens
+ * table that the servlet application's TokenRevocationStore writes.
+ *
+ * The whole table is read on startup and then polled for new rows every
+ * app.auth.revocation.broadcast-poll-interval-ms, as
+ * JdbcTokenRevocationBroadcaster does between servlet nodes, so a revoked
+ * token is accepted here for up to one poll interval. Entries are dropped
+ * once the tokens they cover would have expired anyway.
+ */
+@Profile("reactive")
+@Component
+public class ReactiveTokenRevocations {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTokenRevocations.class);
+
+    // Both in epoch milliseconds
+    private record Cutoff(long issuedBefore, long expiresAt) {}
+
+    private final ReactiveRevokedTokenRepository revokedTokenRepository;
+    private final Duration pollInterval;
+
+    // Token id -> expiry in epoch milliseconds
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Cutoff> revokedBefore = new ConcurrentHashMap<>();
+    // Polls run one after another, never concurrently
+    private final PollCursor cursor = PollCursor.fromStart();
+    private Disposable polling;
+
+    public ReactiveTokenRevocations(ReactiveRevokedTokenRepository revokedTokenRepository,
+                                    @Value("${app.auth.revocation.broadcast-poll-interval-ms:1000}") long pollIntervalMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    }
+
+    @PostConstruct
+    void start() {
+        // Revocations made before startup apply from the first request on
+        poll().block();
+        polling = Flux.interval(pollInterval, pollInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> poll())
+            .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        polling.dispose();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokens.containsKey(claims.getId())) {
+            return true;
+        }
+        Cutoff cutoff = revokedBefore.get(claims.getSubject());
+        Long issuedAt = JwtUtils.getIssuedAtMillis(claims);
+        return cutoff != null && (issuedAt == null || issuedAt <= cutoff.issuedBefore());
+    }
+
+    private Mono<Void> poll() {
+        return Flux.defer(() -> {
+                long now = System.currentTimeMillis();
+                revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+                revokedBefore.values().removeIf(cutoff -> cutoff.expiresAt() <= now);
+                return revokedTokenRepository.findByIdGreaterThanOrderById(cursor.pollFrom());
+            })
+            .filter(row -> cursor.accept(row.id()))
+            .doOnNext(this::apply)
+            .then()
+            .onErrorResume(e -> {
+                logger.warn("Could not poll revoked_tokens", e);
+                return Mono.empty();
+            });
+    }
+
+    // Timestamps were written through JDBC, which stores them in the JVM's time zone
+    private void apply(RevokedTokenRow row) {
+        long expiresAt = row.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (row.tokenId() != null) {
+            revokedTokens.put(row.tokenId(), expiresAt);
+        } else {
+            long issuedBefore = row.issuedBefore().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            revokedBefore.merge(row.subject(), new Cutoff(issuedBefore, expiresAt), (current, added) ->
+                new Cutoff(Math.max(current.issuedBefore(), added.issuedBefore()),
+                    Math.max(current.expiresAt(), added.expiresAt())));
+        }
+    }
+}
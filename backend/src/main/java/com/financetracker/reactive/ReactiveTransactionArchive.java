@@ -0,0 +1,146 @@
+package com.financetracker.reactive;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.service.TransactionArchiveService;
+import com.financetracker.service.TransactionSegment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archived transactions (see TransactionArchiveService) for the reactive read
+ * path, so that it answers like the servlet endpoints after an archive run.
+ *
+ * Whole archived years are summed from transaction_archive_rollups over
+ * R2DBC; listings and partial years read the segment files under
+ * app.archive.dir, which must be the servlet application's. File reads run on
+ * the bounded elastic scheduler, never on the event loop. Users without an
+ * archive directory cost no query at all.
+ */
+@Profile("reactive")
+@Component
+public class ReactiveTransactionArchive {
+
+    static final Comparator<TransactionRow> NEWEST_FIRST =
+        Comparator.comparing(TransactionRow::transactionDate).reversed();
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final Path archiveDir;
+
+    public ReactiveTransactionArchive(ReactiveTransactionRepository transactionRepository,
+                                      @Value("${app.archive.dir:data/transaction-archive}") Path archiveDir) {
+        this.transactionRepository = transactionRepository;
+        this.archiveDir = archiveDir;
+    }
+
+    /**
+     * The user's archived transactions dated between start and end
+     * inclusive, newest first; a null bound is open.
+     */
+    public Flux<TransactionRow> findTransactions(Long userId, LocalDate start, LocalDate end) {
+        return archivedYears(userId, start, end)
+            .collectList()
+            .filter(years -> !years.isEmpty())
+            .flatMapMany(years -> Mono.fromCallable(() -> read(userId, years, start, end))
+                .subscribeOn(Schedulers.boundedElastic()))
+            .flatMapIterable(rows -> rows);
+    }
+
+    /**
+     * The user's archived per type and category totals dated between start
+     * and end inclusive; a null bound is open. A pair may appear more than
+     * once, as whole and partial years are summed separately.
+     */
+    public Flux<CategoryTotalRow> sumAmountByTypeAndCategory(Long userId, LocalDate start, LocalDate end) {
+        return archivedYears(userId, start, end)
+            .collectList()
+            .flatMapMany(years -> {
+                int firstWhole = Integer.MAX_VALUE;
+                int lastWhole = Integer.MIN_VALUE;
+                List<ArchiveSegmentRow> partial = new ArrayList<>();
+                for (ArchiveSegmentRow year : years) {
+                    if (coversWholeYear(year.periodYear(), start, end)) {
+                        firstWhole = Math.min(firstWhole, year.periodYear());
+                        lastWhole = Math.max(lastWhole, year.periodYear());
+                    } else {
+                        partial.add(year);
+                    }
+                }
+                Flux<CategoryTotalRow> whole = firstWhole <= lastWhole
+                    ? transactionRepository.sumArchivedByUserIdAndYearBetweenGroupByTypeAndCategory(
+                        userId, firstWhole, lastWhole)
+                    : Flux.empty();
+                Flux<CategoryTotalRow> summed = partial.isEmpty() ? Flux.empty()
+                    : Mono.fromCallable(() -> sum(userId, partial, start, end))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMapIterable(rows -> rows);
+                return Flux.concat(whole, summed);
+            });
+    }
+
+    private Flux<ArchiveSegmentRow> archivedYears(Long userId, LocalDate start, LocalDate end) {
+        return Mono.fromCallable(() -> Files.isDirectory(TransactionArchiveService.userDir(archiveDir, userId)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .filter(archived -> archived)
+            .flatMapMany(archived -> transactionRepository.findArchiveSegmentsByUserId(userId))
+            .filter(year -> overlaps(year.periodYear(), start, end));
+    }
+
+    private List<TransactionRow> read(Long userId, List<ArchiveSegmentRow> years, LocalDate start, LocalDate end)
+            throws IOException {
+        List<TransactionRow> rows = new ArrayList<>();
+        for (ArchiveSegmentRow year : years) {
+            for (Transaction transaction : open(userId, year).read(null, start, end)) {
+                rows.add(new TransactionRow(transaction.getId(), transaction.getDescription(),
+                    transaction.getAmount(), transaction.getCategory(), transaction.getTransactionDate(),
+                    transaction.getType(), transaction.getNotes(), transaction.getDuplicateOfId(),
+                    transaction.getRecurringTransactionId(), transaction.getCreatedAt(), transaction.getUpdatedAt()));
+            }
+        }
+        rows.sort(NEWEST_FIRST);
+        return rows;
+    }
+
+    private List<CategoryTotalRow> sum(Long userId, List<ArchiveSegmentRow> years, LocalDate start, LocalDate end)
+            throws IOException {
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> totals =
+            new EnumMap<>(Transaction.TransactionType.class);
+        for (ArchiveSegmentRow year : years) {
+            LocalDate from = LocalDate.of(year.periodYear(), 1, 1);
+            LocalDate to = LocalDate.of(year.periodYear(), 12, 31);
+            open(userId, year).addCategoryTotals(start != null && start.isAfter(from) ? start : from,
+                end != null && end.isBefore(to) ? end : to, totals);
+        }
+        List<CategoryTotalRow> rows = new ArrayList<>();
+        totals.forEach((type, byCategory) -> byCategory.forEach((category, total) ->
+            rows.add(new CategoryTotalRow(type, category, total))));
+        return rows;
+    }
+
+    private TransactionSegment open(Long userId, ArchiveSegmentRow year) throws IOException {
+        return TransactionArchiveService.openSegment(archiveDir, userId, year.periodYear(), year.generation());
+    }
+
+    private static boolean overlaps(int year, LocalDate start, LocalDate end) {
+        return (start == null || start.getYear() <= year) && (end == null || end.getYear() >= year);
+    }
+
+    private static boolean coversWholeYear(int year, LocalDate start, LocalDate end) {
+        return (start == null || !start.isAfter(LocalDate.of(year, 1, 1)))
+            && (end == null || !end.isBefore(LocalDate.of(year, 12, 31)));
+    }
+}
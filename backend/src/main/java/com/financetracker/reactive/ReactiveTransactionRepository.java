@@ -0,0 +1,36 @@
+package com.financetracker.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReactiveTransactionRepository extends ReactiveCrudRepository<TransactionRow, Long> {
+    @Query("SELECT * FROM transactions WHERE user_id = :userId ORDER BY transaction_date DESC")
+    Flux<TransactionRow> findByUserId(Long userId);
+    
+    @Query("SELECT * FROM transactions WHERE user_id = :userId AND transaction_date BETWEEN :startDate AND :endDate "
+         + "ORDER BY transaction_date DESC")
+    Flux<TransactionRow> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    @Query("SELECT type, category, SUM(amount) AS total FROM transactions WHERE user_id = :userId "
+         + "GROUP BY type, category")
+    Flux<CategoryTotalRow> sumAmountByUserIdGroupByTypeAndCategory(Long userId);
+    
+    @Query("SELECT type, category, SUM(amount) AS total FROM transactions WHERE user_id = :userId "
+         + "AND transaction_date BETWEEN :startDate AND :endDate GROUP BY type, category")
+    Flux<CategoryTotalRow> sumAmountByUserIdAndDateBetweenGroupByTypeAndCategory(
+        Long userId, LocalDate startDate, LocalDate endDate);
+    
+    @Query("SELECT period_year, generation FROM transaction_archive_segments WHERE user_id = :userId "
+         + "ORDER BY period_year")
+    Flux<ArchiveSegmentRow> findArchiveSegmentsByUserId(Long userId);
+    
+    @Query("SELECT type, category, SUM(total) AS total FROM transaction_archive_rollups WHERE user_id = :userId "
+         + "AND period_year BETWEEN :firstYear AND :lastYear GROUP BY type, category")
+    Flux<CategoryTotalRow> sumArchivedByUserIdAndYearBetweenGroupByTypeAndCategory(
+        Long userId, int firstYear, int lastYear);
+}
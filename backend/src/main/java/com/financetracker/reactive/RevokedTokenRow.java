@@ -0,0 +1,10 @@
+package com.financetracker.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("revoked_tokens")
+public record RevokedTokenRow(@Id Long id, String tokenId, String subject, LocalDateTime issuedBefore,
+                              LocalDateTime expiresAt) {}
@@ -0,0 +1,28 @@
+package com.financetracker.reactive;
+
+import com.financetracker.model.Transaction;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC view of the transactions table, serialized like the
+ * servlet API's Transaction minus the owning user.
+ */
+@Table("transactions")
+public record TransactionRow(
+    @Id Long id,
+    String description,
+    BigDecimal amount,
+    String category,
+    LocalDate transactionDate,
+    Transaction.TransactionType type,
+    String notes,
+    Long duplicateOfId,
+    Long recurringTransactionId,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {}
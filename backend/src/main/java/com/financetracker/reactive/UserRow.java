@@ -0,0 +1,7 @@
+package com.financetracker.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("users")
+public record UserRow(@Id Long id, String name, String email) {}
@@ -0,0 +1,41 @@
+package com.financetracker.repository;
+
+import com.financetracker.model.Account;
+import com.financetracker.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountRepository extends JpaRepository<Account, Long> {
+    List<Account> findByUserOrderByName(User user);
+    
+    Optional<Account> findByIdAndUser(Long id, User user);
+    
+    // Reconciliation holds these locks while it sums the transactions, so no balance update slips in between
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.user.id = :userId ORDER BY a.id")
+    List<Account> findByUserIdForUpdate(@Param("userId") Long userId);
+    
+    @Query("SELECT DISTINCT a.user.id FROM Account a")
+    List<Long> findUserIds();
+    
+    // Relative, so concurrent writes to the same account never overwrite each other; 0 when not the user's account
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, a.updatedAt = :now WHERE a.id = :id AND a.user = :user")
+    int adjustBalance(@Param("id") Long id, @Param("user") User user, @Param("delta") BigDecimal delta,
+                      @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = :balance, a.updatedAt = :now WHERE a.id = :id")
+    int setBalance(@Param("id") Long id, @Param("balance") BigDecimal balance, @Param("now") LocalDateTime now);
+}
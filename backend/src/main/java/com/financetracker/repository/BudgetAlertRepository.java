@@ -0,0 +1,13 @@
+package com.financetracker.repository;
+
+import com.financetracker.model.BudgetAlert;
+import com.financetracker.model.User;
+import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+    List<BudgetAlert> findByUserOrderByCreatedAtDesc(User user);
+}
@@ -2,9 +2,18 @@ package com.financetracker.repository;
 
 import com.financetracker.model.Budget;
 import com.financetracker.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +21,28 @@ import java.util.Optional;
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUserOrderByCategory(User user);
     
+    // Any write to budgets invalidates these results, so they pay off between expense writes
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "budgets-by-user-month")
+    })
     List<Budget> findByUserAndMonthAndYear(User user, Integer month, Integer year);
     
     Optional<Budget> findByUserAndCategoryAndMonthAndYear(User user, String category, Integer month, Integer year);
+    
+    // Locked in id order, like reconciliation below, so spent amount updates never interleave with it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Budget> findByUserAndMonthAndYearAndCategoryInOrderById(User user, Integer month, Integer year,
+                                                                  Collection<String> categories);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Budget> findByUserAndCategoryInOrderById(User user, Collection<String> categories);
+    
+    // Reconciliation holds these locks while it sums the transactions, so no spent amount update slips in between
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId ORDER BY b.id")
+    List<Budget> findByUserIdForUpdate(@Param("userId") Long userId);
+    
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.user.id > :afterUserId ORDER BY b.user.id")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package com.financetracker.repository;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+    List<Category> findByUserOrderByName(User user);
+    
+    Optional<Category> findByUserAndName(User user, String name);
+    
+    List<Category> findByUserAndParentName(User user, String parentName);
+}
@@ -0,0 +1,13 @@
+package com.financetracker.repository;
+
+import com.financetracker.model.CategoryRule;
+import com.financetracker.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+    List<CategoryRule> findByUserOrderByPriorityAscIdAsc(User user);
+}
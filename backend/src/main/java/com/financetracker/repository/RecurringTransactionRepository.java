@@ -0,0 +1,23 @@
+package com.financetracker.repository;
+
+import com.financetracker.model.RecurringTransaction;
+import com.financetracker.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+    List<RecurringTransaction> findByUserOrderByNextOccurrence(User user);
+    
+    // Waits for RecurringTransactionScheduler, which holds the row while it advances the template
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.id = :id")
+    Optional<RecurringTransaction> findByIdForUpdate(@Param("id") Long id);
+}
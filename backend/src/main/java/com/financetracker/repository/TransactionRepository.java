@@ -34,4 +34,36 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         @Param("category") String category,
         @Param("month") Integer month,
         @Param("year") Integer year);
+    
+    @Query("SELECT t.type, t.category, SUM(t.amount) FROM Transaction t WHERE t.user = :user GROUP BY t.type, t.category")
+    List<Object[]> sumAmountByUserGroupByTypeAndCategory(@Param("user") User user);
+    
+    @Query("SELECT t.type, t.category, SUM(t.amount) FROM Transaction t WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate GROUP BY t.type, t.category")
+    List<Object[]> sumAmountByUserAndDateBetweenGroupByTypeAndCategory(
+        @Param("user") User user,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT t.category, SUM(t.amount) FROM Transaction t WHERE t.user = :user AND t.type = 'EXPENSE' AND t.transactionDate BETWEEN :startDate AND :endDate GROUP BY t.category")
+    List<Object[]> sumExpenseAmountByUserAndDateBetweenGroupByCategory(
+        @Param("user") User user,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
+    List<Transaction> findByUserAndFingerprint(User user, Long fingerprint);
+    
+    List<Transaction> findByUserAndFingerprintIsNull(User user);
+    
+    @Query("SELECT t.fingerprint FROM Transaction t WHERE t.user = :user AND t.fingerprint IS NOT NULL")
+    List<Long> findFingerprintsByUser(@Param("user") User user);
+    
+    @Query("SELECT t.id, t.description, t.notes, t.transactionDate, t.type, t.category FROM Transaction t WHERE t.user = :user ORDER BY t.id")
+    List<Object[]> findSearchFieldsByUser(@Param("user") User user);
+    
+    boolean existsByAccountId(Long accountId);
+    
+    // What each account's transactions add to its opening balance; see AccountService
+    @Query("SELECT t.accountId, SUM(CASE WHEN t.type IN ('INCOME', 'TRANSFER_IN') THEN t.amount ELSE -t.amount END) "
+        + "FROM Transaction t WHERE t.user.id = :userId AND t.accountId IS NOT NULL GROUP BY t.accountId")
+    List<Object[]> sumSignedAmountByUserGroupByAccount(@Param("userId") Long userId);
 }
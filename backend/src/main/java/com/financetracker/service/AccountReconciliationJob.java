@@ -0,0 +1,36 @@
+package com.financetracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically corrects account balances that drifted from the transactions
+ * they track, on every shard in parallel. Runs on the budget reconciliation
+ * schedule, app.reconciliation.cron, and is disabled with it.
+ */
+@Component
+public class AccountReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountReconciliationJob.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Scheduled(cron = "${app.reconciliation.cron:-}")
+    public void reconcileAccounts() {
+        List<BudgetService.ReconciliationResult> results =
+            shardDirectory.fanOut(shard -> accountService.reconcileBalances());
+
+        int checked = results.stream().mapToInt(BudgetService.ReconciliationResult::checked).sum();
+        int corrected = results.stream().mapToInt(BudgetService.ReconciliationResult::corrected).sum();
+        logger.info("Reconciled {} accounts across {} databases, corrected {}", checked, results.size(), corrected);
+    }
+}
@@ -0,0 +1,279 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.AccountBalanceCheck;
+import com.financetracker.dto.AccountSummaryResponse;
+import com.financetracker.model.Account;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.AccountRepository;
+import com.financetracker.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Accounts and their balances.
+ *
+ * A balance is the opening balance plus the signed amounts of the account's
+ * transactions. It is kept current by TransactionService, which applies each
+ * write's delta with a relative UPDATE in the same database transaction, so
+ * reading balances and net worth costs one row per account. Reconciliation
+ * recomputes them from the transactions with one grouped query per user.
+ */
+@Service
+public class AccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountService.class);
+
+    private static final String TYPE_VALUES = "'INCOME', 'EXPENSE', 'TRANSFER_IN', 'TRANSFER_OUT'";
+
+    private static final String CHECK_CONSTRAINTS_SQL =
+        "SELECT tc.constraint_name, cc.check_clause FROM information_schema.table_constraints tc "
+        + "JOIN information_schema.check_constraints cc ON cc.constraint_schema = tc.constraint_schema "
+        + "AND cc.constraint_name = tc.constraint_name "
+        + "WHERE LOWER(tc.table_schema) = LOWER(?) AND LOWER(tc.table_name) = 'transactions' "
+        + "AND tc.constraint_type = 'CHECK'";
+
+    private static final String ENUM_COLUMN_SQL =
+        "SELECT column_type FROM information_schema.columns "
+        + "WHERE table_schema = ? AND table_name = 'transactions' AND column_name = 'type'";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AccountService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void prepareSchema() {
+        shardDirectory.fanOut(shard -> {
+            widenTransactionTypes();
+            return null;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<Account> getAccountsByUser(User user) {
+        return accountRepository.findByUserOrderByName(user);
+    }
+
+    @Transactional
+    public Account createAccount(User user, String name, Account.AccountType type, BigDecimal openingBalance) {
+        return accountRepository.save(new Account(name, type, orZero(openingBalance), user));
+    }
+
+    /**
+     * Renames or retypes the account; a new opening balance moves the
+     * balance by the difference, leaving the transactions' share untouched.
+     */
+    @Transactional
+    public Account updateAccount(User user, Long id, String name, Account.AccountType type, BigDecimal openingBalance) {
+        Account account = getOwned(user, id);
+        BigDecimal delta = orZero(openingBalance).subtract(account.getOpeningBalance());
+        account.setName(name);
+        account.setType(type);
+        account.setOpeningBalance(orZero(openingBalance));
+        adjustBalance(user, id, delta);
+        // Not written back (see Account.balance), only returned
+        account.setBalance(account.getBalance().add(delta));
+        return account;
+    }
+
+    @Transactional
+    public void deleteAccount(User user, Long id) {
+        Account account = getOwned(user, id);
+        if (transactionRepository.existsByAccountId(id) || archiveService.hasAccountTransactions(user.getId(), id)) {
+            throw new RuntimeException("Account still has transactions");
+        }
+        accountRepository.delete(account);
+    }
+
+    /**
+     * Adds delta to the balance of the user's account. Must run in the
+     * transaction that writes the change, so the two commit together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustBalance(User user, Long accountId, BigDecimal delta) {
+        if (accountId == null || delta.signum() == 0) {
+            return;
+        }
+        if (accountRepository.adjustBalance(accountId, user, delta, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Account not found");
+        }
+    }
+
+    /**
+     * Applies several balance changes in ascending account id order, so that
+     * two transactions touching the same accounts (such as opposite
+     * transfers) lock them in the same order instead of deadlocking.
+     * Changes without an account are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustBalances(User user, Map<Long, BigDecimal> deltas) {
+        Map<Long, BigDecimal> ordered = new TreeMap<>();
+        deltas.forEach((accountId, delta) -> {
+            if (accountId != null) {
+                ordered.merge(accountId, delta, BigDecimal::add);
+            }
+        });
+        ordered.forEach((accountId, delta) -> adjustBalance(user, accountId, delta));
+    }
+
+    /**
+     * What the transaction adds to its account's balance.
+     */
+    public static BigDecimal signedAmount(Transaction transaction) {
+        return transaction.getType().isInflow() ? transaction.getAmount() : transaction.getAmount().negate();
+    }
+
+    /**
+     * Balances with assets (positive balances) and liabilities (overdrawn
+     * accounts and credit card debt) summed from the stored balances.
+     */
+    @Transactional(readOnly = true)
+    public AccountSummaryResponse getSummary(User user) {
+        List<Account> accounts = accountRepository.findByUserOrderByName(user);
+        BigDecimal assets = BigDecimal.ZERO;
+        BigDecimal liabilities = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            if (account.getBalance().signum() >= 0) {
+                assets = assets.add(account.getBalance());
+            } else {
+                liabilities = liabilities.subtract(account.getBalance());
+            }
+        }
+        return new AccountSummaryResponse(accounts, assets, liabilities);
+    }
+
+    /**
+     * Compares each stored balance with the one computed from the
+     * transactions, without correcting anything.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountBalanceCheck> checkBalances(User user) {
+        Map<Long, BigDecimal> sums = transactionSumsByAccount(user.getId());
+        List<AccountBalanceCheck> checks = new ArrayList<>();
+        for (Account account : accountRepository.findByUserOrderByName(user)) {
+            checks.add(new AccountBalanceCheck(account.getId(), account.getName(), account.getBalance(),
+                computedBalance(account, sums)));
+        }
+        return checks;
+    }
+
+    /**
+     * Corrects the balances on the current shard that drifted from their
+     * transactions, one user per transaction. The user's accounts are locked
+     * first, so no balance update commits between the sum and the correction.
+     */
+    public BudgetService.ReconciliationResult reconcileBalances() {
+        int checked = 0;
+        int corrected = 0;
+        for (Long userId : accountRepository.findUserIds()) {
+            int[] result = transactionTemplate.execute(status -> {
+                List<Account> accounts = accountRepository.findByUserIdForUpdate(userId);
+                Map<Long, BigDecimal> sums = transactionSumsByAccount(userId);
+                int fixed = 0;
+                for (Account account : accounts) {
+                    BigDecimal actual = computedBalance(account, sums);
+                    if (actual.compareTo(account.getBalance()) != 0) {
+                        logger.warn("Account {} balance {} corrected to {}", account.getId(), account.getBalance(), actual);
+                        accountRepository.setBalance(account.getId(), actual, LocalDateTime.now());
+                        fixed++;
+                    }
+                }
+                return new int[] { accounts.size(), fixed };
+            });
+            checked += result[0];
+            corrected += result[1];
+        }
+        return new BudgetService.ReconciliationResult(checked, corrected);
+    }
+
+    private Map<Long, BigDecimal> transactionSumsByAccount(Long userId) {
+        Map<Long, BigDecimal> sums = archiveService.getAccountTotals(userId);
+        for (Object[] row : transactionRepository.sumSignedAmountByUserGroupByAccount(userId)) {
+            sums.merge((Long) row[0], (BigDecimal) row[1], BigDecimal::add);
+        }
+        return sums;
+    }
+
+    private static BigDecimal computedBalance(Account account, Map<Long, BigDecimal> sums) {
+        return account.getOpeningBalance().add(sums.getOrDefault(account.getId(), BigDecimal.ZERO));
+    }
+
+    private Account getOwned(User user, Long id) {
+        return accountRepository.findByIdAndUser(id, user)
+            .orElseThrow(() -> new RuntimeException("Account not found"));
+    }
+
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    /**
+     * Hibernate restricts transactions.type to the enum values known when
+     * the table was created (a native ENUM on MySQL, a CHECK constraint on
+     * H2) and never widens it on update, which would reject transfer legs.
+     */
+    private void widenTransactionTypes() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            String schema = connection.getSchema() != null ? connection.getSchema() : connection.getCatalog();
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            if (product.contains("mysql") || product.contains("mariadb")) {
+                List<String> columnTypes = jdbcTemplate.queryForList(ENUM_COLUMN_SQL, String.class, schema);
+                if (!columnTypes.isEmpty() && columnTypes.get(0).startsWith("enum")
+                        && !columnTypes.get(0).contains("TRANSFER_IN")) {
+                    jdbcTemplate.execute("ALTER TABLE transactions MODIFY type ENUM(" + TYPE_VALUES + ")");
+                    logger.info("Widened transactions.type to include transfers");
+                }
+                return null;
+            }
+            Map<String, String> clauses = new HashMap<>();
+            jdbcTemplate.query(CHECK_CONSTRAINTS_SQL, rs -> {
+                clauses.put(rs.getString(1), rs.getString(2));
+            }, schema);
+            clauses.forEach((name, clause) -> {
+                if (clause.contains("'EXPENSE'") && !clause.contains("'TRANSFER_IN'")) {
+                    // Quoted: generated names are upper case, unquoted ones are folded to lower case
+                    jdbcTemplate.execute("ALTER TABLE transactions DROP CONSTRAINT \"" + name + "\"");
+                    jdbcTemplate.execute("ALTER TABLE transactions ADD CONSTRAINT \"" + name
+                        + "\" CHECK (type IN (" + TYPE_VALUES + "))");
+                    logger.info("Widened check constraint {} on transactions.type to include transfers", name);
+                }
+            });
+            return null;
+        });
+    }
+}
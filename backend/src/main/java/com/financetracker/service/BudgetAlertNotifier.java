@@ -0,0 +1,14 @@
+package com.financetracker.service;
+
+import com.financetracker.model.BudgetAlert;
+
+/**
+ * Delivers a newly recorded budget alert to the user. Called once per alert
+ * on the BudgetAlertService worker thread, never on a request thread. The
+ * default pushes it to the user's GET /api/stream connections; define
+ * another BudgetAlertNotifier bean for e-mail or push notifications.
+ */
+public interface BudgetAlertNotifier {
+
+    void notify(BudgetAlert alert);
+}
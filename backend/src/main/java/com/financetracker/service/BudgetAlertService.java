@@ -0,0 +1,145 @@
+package com.financetracker.service;
+
+import com.financetracker.config.ShardContext;
+import com.financetracker.model.Budget;
+import com.financetracker.model.BudgetAlert;
+import com.financetracker.model.User;
+import com.financetracker.repository.BudgetAlertRepository;
+import com.financetracker.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget threshold alerts, evaluated incrementally: BudgetService hands over
+ * each budget it adjusts together with its previous spent amount, and an
+ * alert is raised for every configured threshold (percent of the limit) the
+ * change crossed upwards. The check is pure arithmetic on the budget already
+ * loaded for the update, so the write path runs no extra queries.
+ *
+ * Crossings are queued once the transaction commits and recorded by a single
+ * worker thread; the unique (budget, threshold) key makes recording
+ * idempotent, and only newly recorded alerts reach the BudgetAlertNotifier.
+ * When the queue is full crossings are dropped and counted.
+ */
+@Service
+public class BudgetAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetAlertService.class);
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetAlertNotifier notifier;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.budget-alerts.thresholds:80,100}")
+    private int[] thresholds;
+
+    @Value("${app.budget-alerts.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor worker;
+    private Counter recordedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void init() {
+        worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "budget-alerts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        recordedCounter = Counter.builder("app.budget.alerts")
+            .description("Budget threshold alerts recorded")
+            .register(meterRegistry);
+        droppedCounter = Counter.builder("app.budget.alerts.dropped")
+            .description("Budget threshold crossings dropped because the alert queue was full")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdown();
+    }
+
+    /**
+     * Checks the budget, whose spent amount has just changed from previousSpent, against the thresholds.
+     */
+    public void evaluate(User user, Budget budget, BigDecimal previousSpent) {
+        BigDecimal limit = budget.getBudgetLimit();
+        if (limit == null || limit.signum() <= 0) {
+            return;
+        }
+        for (int threshold : thresholds) {
+            BigDecimal level = limit.multiply(BigDecimal.valueOf(threshold)).movePointLeft(2);
+            if (previousSpent.compareTo(level) < 0 && budget.getSpentAmount().compareTo(level) >= 0) {
+                Crossing crossing = new Crossing(user.getId(), ShardContext.getCurrentShard(), budget.getId(),
+                    budget.getCategory(), budget.getMonth(), budget.getYear(), threshold, limit, budget.getSpentAmount());
+                AfterCommit.run(() -> enqueue(crossing));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetAlert> getAlertsByUser(User user) {
+        return budgetAlertRepository.findByUserOrderByCreatedAtDesc(user);
+    }
+
+    private void enqueue(Crossing crossing) {
+        try {
+            worker.execute(() -> {
+                try {
+                    ShardContext.callOn(crossing.shard(), () -> {
+                        BudgetAlert alert = record(crossing);
+                        if (alert != null) {
+                            recordedCounter.increment();
+                            notifier.notify(alert);
+                        }
+                        return alert;
+                    });
+                } catch (RuntimeException e) {
+                    logger.warn("Recording budget alert for budget {} failed", crossing.budgetId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+        }
+    }
+
+    // Null when the alert was already recorded
+    private BudgetAlert record(Crossing crossing) {
+        try {
+            return budgetAlertRepository.save(new BudgetAlert(crossing.budgetId(), crossing.category(),
+                crossing.month(), crossing.year(), crossing.threshold(), crossing.budgetLimit(),
+                crossing.spentAmount(), userRepository.getReferenceById(crossing.userId())));
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private record Crossing(Long userId, String shard, Long budgetId, String category, Integer month, Integer year,
+                            int threshold, BigDecimal budgetLimit, BigDecimal spentAmount) {}
+}
@@ -0,0 +1,36 @@
+package com.financetracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically corrects budget spent amounts that drifted from the
+ * transactions they track, on every shard in parallel. Disabled unless
+ * app.reconciliation.cron is set.
+ */
+@Component
+public class BudgetReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetReconciliationJob.class);
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Scheduled(cron = "${app.reconciliation.cron:-}")
+    public void reconcileBudgets() {
+        List<BudgetService.ReconciliationResult> results =
+            shardDirectory.fanOut(shard -> budgetService.reconcileSpentAmounts());
+
+        int checked = results.stream().mapToInt(BudgetService.ReconciliationResult::checked).sum();
+        int corrected = results.stream().mapToInt(BudgetService.ReconciliationResult::corrected).sum();
+        logger.info("Reconciled {} budgets across {} databases, corrected {}", checked, results.size(), corrected);
+    }
+}
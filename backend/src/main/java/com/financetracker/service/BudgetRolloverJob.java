@@ -0,0 +1,323 @@
+package com.financetracker.service;
+
+import com.financetracker.config.CacheInvalidationBroadcaster;
+import com.financetracker.config.ShardContext;
+import com.financetracker.model.Budget;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copies every user's budgets of the previous month into the current one, on
+ * all shards in parallel.
+ *
+ * Users are processed in batches in user id order. Each batch inserts the
+ * missing budgets with one INSERT ... SELECT, seeds their spent amounts from
+ * one grouped query over the month's expenses and advances the checkpoint in
+ * budget_rollovers, all in one database transaction. A run that stops midway
+ * resumes after the last committed batch, budgets that already exist for the
+ * month are left alone, and a completed month is skipped, so the job can run
+ * often and on several nodes: batches are serialized by locking the
+ * checkpoint row.
+ *
+ * With carry-over the unspent part of the previous limit is added to the new
+ * one and recorded as carriedOver, so it is not carried again a month later.
+ * The setting is fixed per month when its rollover starts.
+ */
+@Component
+public class BudgetRolloverJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetRolloverJob.class);
+
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS budget_rollovers (period_year INT NOT NULL, period_month INT NOT NULL, "
+        + "carry_over BOOLEAN NOT NULL, last_user_id BIGINT NOT NULL, budgets_created INT NOT NULL, "
+        + "started_at TIMESTAMP NOT NULL, completed_at TIMESTAMP NULL, PRIMARY KEY (period_year, period_month))";
+
+    private static final String UNIQUE_KEYS_SQL =
+        "SELECT tc.constraint_name, kcu.column_name FROM information_schema.table_constraints tc "
+        + "JOIN information_schema.key_column_usage kcu ON kcu.constraint_schema = tc.constraint_schema "
+        + "AND kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name "
+        + "WHERE LOWER(tc.table_schema) = LOWER(?) AND LOWER(tc.table_name) = 'budgets' "
+        + "AND tc.constraint_type = 'UNIQUE'";
+
+    private static final String STATUS_SQL =
+        "SELECT completed_at FROM budget_rollovers WHERE period_year = ? AND period_month = ?";
+
+    private static final String START_SQL =
+        "INSERT INTO budget_rollovers (period_year, period_month, carry_over, last_user_id, budgets_created, "
+        + "started_at) VALUES (?, ?, ?, 0, 0, ?)";
+
+    private static final String LOCK_SQL =
+        "SELECT carry_over, last_user_id, completed_at FROM budget_rollovers "
+        + "WHERE period_year = ? AND period_month = ? FOR UPDATE";
+
+    private static final String USERS_SQL =
+        "SELECT DISTINCT user_id FROM budgets WHERE year = ? AND month = ? AND user_id > ? ORDER BY user_id LIMIT ?";
+
+    // %s is the amount carried over from the previous month's budget b
+    private static final String COPY_SQL =
+        "INSERT INTO budgets (category, budget_limit, carried_over, spent_amount, month, year, created_at, "
+        + "updated_at, user_id) "
+        + "SELECT b.category, b.budget_limit - COALESCE(b.carried_over, 0) + %1$s, %1$s, 0, ?, ?, ?, ?, b.user_id "
+        + "FROM budgets b WHERE b.year = ? AND b.month = ? AND b.user_id BETWEEN ? AND ? "
+        + "AND NOT EXISTS (SELECT 1 FROM budgets n WHERE n.user_id = b.user_id AND n.category = b.category "
+        + "AND n.year = ? AND n.month = ?)";
+
+    private static final String CARRY_OVER_SQL = "GREATEST(b.budget_limit - COALESCE(b.spent_amount, 0), 0)";
+
+    private static final String EXPENSES_SQL =
+        "SELECT user_id, category, SUM(amount) FROM transactions WHERE type = 'EXPENSE' "
+        + "AND transaction_date BETWEEN ? AND ? AND user_id BETWEEN ? AND ? GROUP BY user_id, category";
+
+    private static final String PARENTS_SQL =
+        "SELECT user_id, name, parent_name FROM categories WHERE parent_name IS NOT NULL AND user_id BETWEEN ? AND ?";
+
+    private static final String EXISTING_KEYS_SQL =
+        "SELECT user_id, category FROM budgets WHERE year = ? AND month = ? AND user_id BETWEEN ? AND ?";
+
+    // Read after COPY_SQL; the rows it inserted are those whose key EXISTING_KEYS_SQL did not return before it
+    private static final String TARGET_BUDGETS_SQL =
+        "SELECT id, user_id, category, spent_amount FROM budgets WHERE year = ? AND month = ? "
+        + "AND user_id BETWEEN ? AND ?";
+
+    private static final String SEED_SQL = "UPDATE budgets SET spent_amount = ?, updated_at = ? WHERE id = ?";
+
+    private static final String CHECKPOINT_SQL =
+        "UPDATE budget_rollovers SET last_user_id = ?, budgets_created = budgets_created + ? "
+        + "WHERE period_year = ? AND period_month = ?";
+
+    private static final String COMPLETE_SQL =
+        "UPDATE budget_rollovers SET completed_at = ? WHERE period_year = ? AND period_month = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired(required = false)
+    private CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.budget-rollover.carry-over:false}")
+    private boolean carryOver;
+
+    @Value("${app.budget-rollover.batch-size:500}")
+    private int batchSize;
+
+    public BudgetRolloverJob(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void prepareSchema() {
+        shardDirectory.fanOut(shard -> {
+            jdbcTemplate.execute(CREATE_TABLE_SQL);
+            dropLegacyUniqueKey();
+            return null;
+        });
+    }
+
+    @Scheduled(cron = "${app.budget-rollover.cron:-}")
+    public void rolloverCurrentMonth() {
+        YearMonth period = YearMonth.now();
+        int created = shardDirectory.fanOut(shard -> rollover(period)).stream().mapToInt(Integer::intValue).sum();
+
+        if (created > 0) {
+            logger.info("Rolled {} budgets over into {}", created, period);
+        }
+    }
+
+    /**
+     * Rolls budgets over from the month before the period into the period in
+     * the current database and returns the number of budgets created.
+     */
+    public int rollover(YearMonth period) {
+        List<Timestamp> completed = jdbcTemplate.queryForList(STATUS_SQL, Timestamp.class,
+            period.getYear(), period.getMonthValue());
+        if (!completed.isEmpty() && completed.get(0) != null) {
+            return 0;
+        }
+        if (completed.isEmpty()) {
+            try {
+                jdbcTemplate.update(START_SQL, period.getYear(), period.getMonthValue(), carryOver,
+                    Timestamp.valueOf(LocalDateTime.now()));
+            } catch (DuplicateKeyException e) {
+                // Another node started this month first
+            }
+        }
+
+        int total = 0;
+        BatchResult result;
+        do {
+            result = transactionTemplate.execute(status -> processBatch(period));
+            total += result.created();
+        } while (!result.done());
+        return total;
+    }
+
+    private BatchResult processBatch(YearMonth period) {
+        YearMonth previous = period.minusMonths(1);
+        CheckpointRow checkpoint = jdbcTemplate.queryForObject(LOCK_SQL, (rs, rowNum) -> new CheckpointRow(
+            rs.getBoolean("carry_over"), rs.getLong("last_user_id"), rs.getTimestamp("completed_at") != null
+        ), period.getYear(), period.getMonthValue());
+        if (checkpoint.completed()) {
+            return new BatchResult(0, true);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> userIds = jdbcTemplate.queryForList(USERS_SQL, Long.class,
+            previous.getYear(), previous.getMonthValue(), checkpoint.lastUserId(), batchSize);
+        if (userIds.isEmpty()) {
+            jdbcTemplate.update(COMPLETE_SQL, now, period.getYear(), period.getMonthValue());
+            return new BatchResult(0, true);
+        }
+        Long firstUserId = userIds.get(0);
+        Long lastUserId = userIds.get(userIds.size() - 1);
+
+        Set<BudgetKey> existing = new HashSet<>();
+        jdbcTemplate.query(EXISTING_KEYS_SQL, rs -> {
+            existing.add(new BudgetKey(rs.getLong(1), rs.getString(2)));
+        }, period.getYear(), period.getMonthValue(), firstUserId, lastUserId);
+
+        int created = jdbcTemplate.update(String.format(COPY_SQL, checkpoint.carryOver() ? CARRY_OVER_SQL : "0"),
+            period.getMonthValue(), period.getYear(), now, now,
+            previous.getYear(), previous.getMonthValue(), firstUserId, lastUserId,
+            period.getYear(), period.getMonthValue());
+
+        List<Long> seededIds = created > 0
+            ? seedSpentAmounts(period, firstUserId, lastUserId, existing, now) : List.of();
+
+        jdbcTemplate.update(CHECKPOINT_SQL, lastUserId, created, period.getYear(), period.getMonthValue());
+
+        if (created > 0) {
+            String shard = ShardContext.getCurrentShard();
+            AfterCommit.run(() -> evictBudgets(shard, seededIds));
+        }
+        return new BatchResult(created, false);
+    }
+
+    /**
+     * Sets the spent amount of the budgets this batch inserted from their
+     * users' expenses, rolled up into parent categories, and returns the ids
+     * of the budgets to evict from the cache: the ones changed, or else the
+     * newest one, so that other nodes still drop their cached query results.
+     * Budgets that existed before are kept up to date by BudgetService and
+     * are not touched, since overwriting them could lose its concurrent
+     * updates.
+     */
+    private List<Long> seedSpentAmounts(YearMonth period, Long firstUserId, Long lastUserId,
+                                        Set<BudgetKey> existing, Timestamp now) {
+        Map<Long, Map<String, BigDecimal>> leafTotals = new HashMap<>();
+        jdbcTemplate.query(EXPENSES_SQL, rs -> {
+            leafTotals.computeIfAbsent(rs.getLong(1), id -> new HashMap<>()).put(rs.getString(2), rs.getBigDecimal(3));
+        }, Date.valueOf(period.atDay(1)), Date.valueOf(period.atEndOfMonth()), firstUserId, lastUserId);
+
+        Map<Long, Map<String, String>> parents = new HashMap<>();
+        if (!leafTotals.isEmpty()) {
+            jdbcTemplate.query(PARENTS_SQL, rs -> {
+                parents.computeIfAbsent(rs.getLong(1), id -> new HashMap<>()).put(rs.getString(2), rs.getString(3));
+            }, firstUserId, lastUserId);
+        }
+        Map<Long, Map<String, BigDecimal>> spentByUser = new HashMap<>();
+        leafTotals.forEach((userId, totals) -> spentByUser.put(userId,
+            CategoryTree.ofParents(parents.getOrDefault(userId, Map.of())).rollup(totals)));
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        long newestId = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(TARGET_BUDGETS_SQL,
+                period.getYear(), period.getMonthValue(), firstUserId, lastUserId)) {
+            long userId = ((Number) row.get("user_id")).longValue();
+            String category = (String) row.get("category");
+            if (existing.contains(new BudgetKey(userId, category))) {
+                continue;
+            }
+            Long id = ((Number) row.get("id")).longValue();
+            BigDecimal spent = spentByUser.getOrDefault(userId, Map.of()).getOrDefault(category, BigDecimal.ZERO);
+            BigDecimal current = (BigDecimal) row.get("spent_amount");
+            if (current == null || current.compareTo(spent) != 0) {
+                updates.add(new Object[] { spent, now, id });
+                changedIds.add(id);
+            }
+            newestId = Math.max(newestId, id);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(SEED_SQL, updates);
+        }
+        return changedIds.isEmpty() ? List.of(newestId) : changedIds;
+    }
+
+    /**
+     * These writes bypass Hibernate, so the budgets changed and all cached
+     * query results are evicted here and on the other nodes.
+     */
+    private void evictBudgets(String shard, List<Long> ids) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long id : ids) {
+            cache.evictEntityData(Budget.class, id);
+            if (cacheInvalidationBroadcaster != null) {
+                cacheInvalidationBroadcaster.publish(
+                    new CacheInvalidationBroadcaster.CacheInvalidation(Budget.class.getName(), id, shard));
+            }
+        }
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Budgets used to be unique per (user_id, category), which leaves room
+     * for one month only. Hibernate adds the new key but never drops the old
+     * one.
+     */
+    private void dropLegacyUniqueKey() {
+        String schema = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getSchema() != null ? connection.getSchema() : connection.getCatalog());
+        Map<String, Set<String>> columnsByKey = new HashMap<>();
+        jdbcTemplate.query(UNIQUE_KEYS_SQL, rs -> {
+            columnsByKey.computeIfAbsent(rs.getString(1), name -> new HashSet<>())
+                .add(rs.getString(2).toLowerCase(Locale.ROOT));
+        }, schema);
+        columnsByKey.forEach((name, columns) -> {
+            if (columns.equals(Set.of("user_id", "category"))) {
+                jdbcTemplate.execute("ALTER TABLE budgets DROP CONSTRAINT " + name);
+                logger.info("Dropped legacy unique key {} on budgets (user_id, category)", name);
+            }
+        });
+    }
+
+    private record BudgetKey(long userId, String category) {}
+
+    private record CheckpointRow(boolean carryOver, long lastUserId, boolean completed) {}
+
+    private record BatchResult(int created, boolean done) {}
+}
@@ -1,33 +1,70 @@
 package com.financetracker.service;
 
+import com.financetracker.config.JfrEvents;
+import com.financetracker.config.RequestMetrics;
 import com.financetracker.model.Budget;
+import com.financetracker.model.Transaction;
 import com.financetracker.model.User;
 import com.financetracker.repository.BudgetRepository;
 import com.financetracker.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class BudgetService {
     
+    private static final int RECONCILE_PAGE_SIZE = 500;
+    
     @Autowired
     private BudgetRepository budgetRepository;
     
     @Autowired
     private TransactionRepository transactionRepository;
     
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+    
+    @Autowired
+    private TransactionArchiveService archiveService;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public BudgetService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Budget> getAllBudgetsByUser(User user) {
         return budgetRepository.findByUserOrderByCategory(user);
     }
     
+    @Transactional(readOnly = true)
     public List<Budget> getBudgetsByUserAndMonth(User user, Integer month, Integer year) {
         return budgetRepository.findByUserAndMonthAndYear(user, month, year);
     }
     
+    // Read-write, so the spent amount below is computed on the primary
+    @Transactional
     public Budget createOrUpdateBudget(Budget budget) {
         Optional<Budget> existingBudget = budgetRepository.findByUserAndCategoryAndMonthAndYear(
             budget.getUser(), budget.getCategory(), budget.getMonth(), budget.getYear());
@@ -35,11 +72,13 @@ public class BudgetService {
         if (existingBudget.isPresent()) {
             Budget existing = existingBudget.get();
             existing.setBudgetLimit(budget.getBudgetLimit());
+            // A limit set by hand replaces whatever a rollover carried over
+            existing.setCarriedOver(BigDecimal.ZERO);
             return budgetRepository.save(existing);
         } else {
-            // Calculate current spent amount for this category and month
-            BigDecimal spentAmount = transactionRepository.sumExpenseAmountByCategoryAndMonth(
-                budget.getUser(), budget.getCategory(), budget.getMonth(), budget.getYear());
+            // Calculate current spent amount for this category's subtree and month
+            BigDecimal spentAmount = getSpentAmountsForMonth(budget.getUser(), budget.getMonth(), budget.getYear())
+                .get(budget.getCategory());
             budget.setSpentAmount(spentAmount != null ? spentAmount : BigDecimal.ZERO);
             return budgetRepository.save(budget);
         }
@@ -50,17 +89,130 @@ public class BudgetService {
     }
     
     public void updateSpentAmount(User user, String category, BigDecimal amount, Integer month, Integer year) {
-        Optional<Budget> budgetOpt = budgetRepository.findByUserAndCategoryAndMonthAndYear(user, category, month, year);
+        JfrEvents.BudgetSpentUpdateEvent event = new JfrEvents.BudgetSpentUpdateEvent();
+        event.begin();
+        int statementsBefore = RequestMetrics.currentSqlStatements();
+        
+        // A budget on a parent category tracks its whole subtree
+        List<String> categories = categoryService.getCategoryTree(user).getSelfAndAncestors(category);
+        List<Budget> budgets = budgetRepository.findByUserAndMonthAndYearAndCategoryInOrderById(
+            user, month, year, categories);
+        
+        for (Budget budget : budgets) {
+            BigDecimal previousSpent = budget.getSpentAmount();
+            budget.setSpentAmount(previousSpent.add(amount));
+            budgetAlertService.evaluate(user, budget, previousSpent);
+        }
+        if (!budgets.isEmpty()) {
+            budgetRepository.saveAll(budgets);
+        }
+        for (Budget budget : budgets) {
+            liveUpdateService.publishBudgetSpentChanged(user, budget, amount);
+        }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.userId = user.getId();
+            event.category = category;
+            event.month = month;
+            event.year = year;
+            event.rows = budgets.size();
+            event.sqlStatements = RequestMetrics.currentSqlStatements() - statementsBefore;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Expense totals for the month per category, rolled up from leaf
+     * categories into their parents with a single grouped query.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getSpentAmountsForMonth(User user, Integer month, Integer year) {
+        return getSpentAmountsForMonth(user, month, year, categoryService.getCategoryTree(user));
+    }
+    
+    /**
+     * Recomputes the spent amounts of the user's budgets on the given
+     * categories from the given category tree. Called in the transaction
+     * that changes the tree, before the cached tree is replaced.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reseedSpentAmounts(User user, Collection<String> categories, CategoryTree tree) {
+        if (categories.isEmpty()) {
+            return;
+        }
+        Map<BudgetPeriod, Map<String, BigDecimal>> spentByPeriod = new HashMap<>();
+        for (Budget budget : budgetRepository.findByUserAndCategoryInOrderById(user, categories)) {
+            Map<String, BigDecimal> spent = spentByPeriod.computeIfAbsent(
+                new BudgetPeriod(budget.getMonth(), budget.getYear()),
+                period -> getSpentAmountsForMonth(user, period.month(), period.year(), tree));
+            budget.setSpentAmount(spent.getOrDefault(budget.getCategory(), BigDecimal.ZERO));
+        }
+    }
+    
+    private Map<String, BigDecimal> getSpentAmountsForMonth(User user, Integer month, Integer year, CategoryTree tree) {
+        YearMonth period = YearMonth.of(year, month);
+        List<Object[]> rows = transactionRepository.sumExpenseAmountByUserAndDateBetweenGroupByCategory(
+            user, period.atDay(1), period.atEndOfMonth());
         
-        if (budgetOpt.isPresent()) {
-            Budget budget = budgetOpt.get();
-            budget.setSpentAmount(budget.getSpentAmount().add(amount));
-            budgetRepository.save(budget);
+        Map<String, BigDecimal> leafTotals = new HashMap<>();
+        for (Object[] row : rows) {
+            leafTotals.put((String) row[0], (BigDecimal) row[1]);
         }
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> archived = new EnumMap<>(Transaction.TransactionType.class);
+        archiveService.addCategoryTotals(user, period.atDay(1), period.atEndOfMonth(), archived);
+        archived.getOrDefault(Transaction.TransactionType.EXPENSE, Map.of())
+            .forEach((category, amount) -> leafTotals.merge(category, amount, BigDecimal::add));
+        return tree.rollup(leafTotals);
+    }
+    
+    /**
+     * Corrects the spent amounts on the current shard that drifted from
+     * their transactions, one user per transaction. The user's budgets are
+     * locked first, so no spent amount update commits between the sum and
+     * the correction.
+     */
+    public ReconciliationResult reconcileSpentAmounts() {
+        int checked = 0;
+        int corrected = 0;
+        List<Long> userIds = budgetRepository.findUserIdsAfter(0L, PageRequest.of(0, RECONCILE_PAGE_SIZE));
+        while (!userIds.isEmpty()) {
+            for (Long userId : userIds) {
+                int[] result = transactionTemplate.execute(status -> reconcileUser(userId));
+                checked += result[0];
+                corrected += result[1];
+            }
+            userIds = budgetRepository.findUserIdsAfter(userIds.get(userIds.size() - 1),
+                PageRequest.of(0, RECONCILE_PAGE_SIZE));
+        }
+        return new ReconciliationResult(checked, corrected);
+    }
+    
+    private int[] reconcileUser(Long userId) {
+        List<Budget> budgets = budgetRepository.findByUserIdForUpdate(userId);
+        Map<BudgetPeriod, Map<String, BigDecimal>> spentByPeriod = new HashMap<>();
+        int corrected = 0;
+        
+        for (Budget budget : budgets) {
+            User user = budget.getUser();
+            Map<String, BigDecimal> spent = spentByPeriod.computeIfAbsent(
+                new BudgetPeriod(budget.getMonth(), budget.getYear()),
+                period -> getSpentAmountsForMonth(user, period.month(), period.year()));
+            BigDecimal actual = spent.getOrDefault(budget.getCategory(), BigDecimal.ZERO);
+            if (budget.getSpentAmount() == null || actual.compareTo(budget.getSpentAmount()) != 0) {
+                budget.setSpentAmount(actual);
+                corrected++;
+            }
+        }
+        return new int[] { budgets.size(), corrected };
     }
     
     public Budget getBudgetById(Long id) {
         return budgetRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Budget not found"));
     }
+    
+    public record ReconciliationResult(int checked, int corrected) {}
+    
+    private record BudgetPeriod(Integer month, Integer year) {}
 }
@@ -0,0 +1,105 @@
+package com.financetracker.service;
+
+import com.financetracker.model.CategoryRule;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.CategoryRuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+@Service
+public class CategorizationService {
+    
+    public static final String UNCATEGORIZED = "Uncategorized";
+    
+    @Autowired
+    private CategoryRuleRepository categoryRuleRepository;
+    
+    // Compiled matchers are reused until the user's rules change
+    private final UserCache<CategoryRuleMatcher> matcherCache = new UserCache<>();
+    
+    public List<CategoryRule> getRulesByUser(User user) {
+        return categoryRuleRepository.findByUserOrderByPriorityAscIdAsc(user);
+    }
+    
+    public CategoryRule createRule(CategoryRule rule) {
+        validateRule(rule);
+        CategoryRule saved = categoryRuleRepository.save(rule);
+        matcherCache.invalidate(rule.getUser().getId());
+        return saved;
+    }
+    
+    public void deleteRule(User user, Long id) {
+        CategoryRule rule = categoryRuleRepository.findById(id)
+            .filter(r -> r.getUser().getId().equals(user.getId()))
+            .orElseThrow(() -> new RuntimeException("Category rule not found"));
+        categoryRuleRepository.delete(rule);
+        matcherCache.invalidate(user.getId());
+    }
+    
+    public CategoryRuleMatcher getMatcher(User user) {
+        return matcherCache.get(user.getId(),
+            () -> CategoryRuleMatcher.compile(categoryRuleRepository.findByUserOrderByPriorityAscIdAsc(user)));
+    }
+    
+    /**
+     * Fills in the category of a transaction that arrived without one.
+     */
+    public void categorize(Transaction transaction) {
+        if (transaction.getCategory() != null && !transaction.getCategory().isBlank()) {
+            return;
+        }
+        categorize(getMatcher(transaction.getUser()), transaction);
+    }
+    
+    /**
+     * Bulk variant for imports, compiling or fetching the matcher only once.
+     */
+    public void categorizeAll(User user, List<Transaction> transactions) {
+        CategoryRuleMatcher matcher = getMatcher(user);
+        for (Transaction transaction : transactions) {
+            if (transaction.getCategory() == null || transaction.getCategory().isBlank()) {
+                categorize(matcher, transaction);
+            }
+        }
+    }
+    
+    private void categorize(CategoryRuleMatcher matcher, Transaction transaction) {
+        String category = matcher.match(transaction.getDescription(), transaction.getAmount());
+        transaction.setCategory(category != null ? category : UNCATEGORIZED);
+    }
+    
+    private void validateRule(CategoryRule rule) {
+        if (rule.getMatchType() == CategoryRule.MatchType.AMOUNT_RANGE) {
+            BigDecimal min = rule.getMinAmount();
+            BigDecimal max = rule.getMaxAmount();
+            if (min == null && max == null) {
+                throw new RuntimeException("Amount range rule needs a minimum or maximum amount");
+            }
+            if (min != null && max != null && min.compareTo(max) > 0) {
+                throw new RuntimeException("Minimum amount must not exceed maximum amount");
+            }
+            return;
+        }
+        
+        if (rule.getPattern() == null || rule.getPattern().isBlank()) {
+            throw new RuntimeException("Pattern is required for " + rule.getMatchType() + " rules");
+        }
+        if (rule.getMatchType() == CategoryRule.MatchType.REGEX) {
+            if (rule.getPattern().length() > CategoryRuleMatcher.MAX_REGEX_LENGTH) {
+                throw new RuntimeException("Regular expression must not be longer than "
+                    + CategoryRuleMatcher.MAX_REGEX_LENGTH + " characters");
+            }
+            try {
+                Pattern.compile(rule.getPattern());
+            } catch (PatternSyntaxException e) {
+                throw new RuntimeException("Invalid regular expression: " + e.getDescription());
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.financetracker.service;
+
+import com.financetracker.model.CategoryRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of one user's categorization rules.
+ *
+ * Keyword and prefix rules share a single Aho-Corasick automaton, flattened
+ * into a DFA table over the characters that actually occur in the patterns,
+ * so a description is classified in one case-insensitive pass. Amount ranges
+ * and regular expressions are only consulted when they could beat the best
+ * automaton match on priority. Instances are thread-safe.
+ *
+ * Regular expressions are user input, so each match runs against a
+ * description that gives up after REGEX_TIMEOUT. A regex that runs out of
+ * time once is skipped by this matcher from then on, so that a
+ * catastrophically backtracking pattern costs one timeout per rule change
+ * rather than one per imported row.
+ */
+public class CategoryRuleMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRuleMatcher.class);
+
+    public static final int MAX_REGEX_LENGTH = 200;
+
+    private static final long REGEX_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private static final CategoryRuleMatcher EMPTY = compile(List.of());
+
+    // Rule categories indexed by rank; a lower rank means a higher priority
+    private final String[] categories;
+
+    private final int[] asciiClass;
+    private final Map<Character, Integer> otherClass;
+    private final int alphabetSize;
+    private final int[] delta;
+    private final int[] depth;
+    private final int[] keywordRank;
+    private final int[] prefixRank;
+
+    private final int[] amountRanks;
+    private final BigDecimal[] minAmounts;
+    private final BigDecimal[] maxAmounts;
+
+    private final int[] regexRanks;
+    private final Pattern[] regexes;
+    // 1 for a regex that exceeded REGEX_TIMEOUT_NANOS
+    private final AtomicIntegerArray timedOut;
+
+    private CategoryRuleMatcher(String[] categories, int[] asciiClass, Map<Character, Integer> otherClass,
+                                int alphabetSize, int[] delta, int[] depth, int[] keywordRank, int[] prefixRank,
+                                int[] amountRanks, BigDecimal[] minAmounts, BigDecimal[] maxAmounts,
+                                int[] regexRanks, Pattern[] regexes) {
+        this.categories = categories;
+        this.asciiClass = asciiClass;
+        this.otherClass = otherClass;
+        this.alphabetSize = alphabetSize;
+        this.delta = delta;
+        this.depth = depth;
+        this.keywordRank = keywordRank;
+        this.prefixRank = prefixRank;
+        this.amountRanks = amountRanks;
+        this.minAmounts = minAmounts;
+        this.maxAmounts = maxAmounts;
+        this.regexRanks = regexRanks;
+        this.regexes = regexes;
+        this.timedOut = new AtomicIntegerArray(regexes.length);
+    }
+
+    public static CategoryRuleMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles rules that are already ordered by priority.
+     */
+    public static CategoryRuleMatcher compile(List<CategoryRule> rules) {
+        String[] categories = new String[rules.size()];
+
+        // Trie over lower-cased patterns, children keyed by character class
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        List<Integer> keywordRanks = new ArrayList<>();
+        List<Integer> prefixRanks = new ArrayList<>();
+        children.add(new HashMap<>());
+        depths.add(0);
+        keywordRanks.add(NONE);
+        prefixRanks.add(NONE);
+
+        int[] asciiClass = new int[128];
+        Map<Character, Integer> otherClass = new HashMap<>();
+        int alphabetSize = 1; // class 0 is every character absent from all patterns
+
+        List<Integer> amountRanks = new ArrayList<>();
+        List<BigDecimal> minAmounts = new ArrayList<>();
+        List<BigDecimal> maxAmounts = new ArrayList<>();
+        List<Integer> regexRanks = new ArrayList<>();
+        List<Pattern> regexes = new ArrayList<>();
+
+        for (int rank = 0; rank < rules.size(); rank++) {
+            CategoryRule rule = rules.get(rank);
+            categories[rank] = rule.getCategory();
+
+            switch (rule.getMatchType()) {
+                case KEYWORD, PREFIX -> {
+                    String pattern = rule.getPattern() == null ? "" : lowerCase(rule.getPattern());
+                    if (pattern.isEmpty()) {
+                        continue;
+                    }
+                    int state = 0;
+                    for (int i = 0; i < pattern.length(); i++) {
+                        char c = pattern.charAt(i);
+                        int cls = c < 128 ? asciiClass[c] : otherClass.getOrDefault(c, 0);
+                        if (cls == 0) {
+                            cls = alphabetSize++;
+                            if (c < 128) {
+                                asciiClass[c] = cls;
+                            } else {
+                                otherClass.put(c, cls);
+                            }
+                        }
+                        Integer next = children.get(state).get(cls);
+                        if (next == null) {
+                            next = children.size();
+                            children.add(new HashMap<>());
+                            depths.add(depths.get(state) + 1);
+                            keywordRanks.add(NONE);
+                            prefixRanks.add(NONE);
+                            children.get(state).put(cls, next);
+                        }
+                        state = next;
+                    }
+                    List<Integer> ranks = rule.getMatchType() == CategoryRule.MatchType.KEYWORD ? keywordRanks : prefixRanks;
+                    ranks.set(state, Math.min(ranks.get(state), rank));
+                }
+                case AMOUNT_RANGE -> {
+                    amountRanks.add(rank);
+                    minAmounts.add(rule.getMinAmount());
+                    maxAmounts.add(rule.getMaxAmount());
+                }
+                case REGEX -> {
+                    regexRanks.add(rank);
+                    regexes.add(Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE));
+                }
+            }
+        }
+
+        // Breadth-first pass computing failure links and the full transition table
+        int states = children.size();
+        int[] delta = new int[states * alphabetSize];
+        int[] fail = new int[states];
+        int[] keywordRank = new int[states];
+        int[] prefixRank = new int[states];
+        int[] depth = new int[states];
+        for (int s = 0; s < states; s++) {
+            keywordRank[s] = keywordRanks.get(s);
+            prefixRank[s] = prefixRanks.get(s);
+            depth[s] = depths.get(s);
+        }
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> edge : children.get(0).entrySet()) {
+            delta[edge.getKey()] = edge.getValue();
+            queue.add(edge.getValue());
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            // A state also reports the best keyword ending at any of its suffixes
+            keywordRank[state] = Math.min(keywordRank[state], keywordRank[fail[state]]);
+            Map<Integer, Integer> edges = children.get(state);
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                Integer next = edges.get(cls);
+                if (next == null) {
+                    delta[state * alphabetSize + cls] = delta[fail[state] * alphabetSize + cls];
+                } else {
+                    fail[next] = delta[fail[state] * alphabetSize + cls];
+                    delta[state * alphabetSize + cls] = next;
+                    queue.add(next);
+                }
+            }
+        }
+
+        return new CategoryRuleMatcher(categories, asciiClass, otherClass, alphabetSize, delta, depth,
+            keywordRank, prefixRank,
+            amountRanks.stream().mapToInt(Integer::intValue).toArray(),
+            minAmounts.toArray(new BigDecimal[0]), maxAmounts.toArray(new BigDecimal[0]),
+            regexRanks.stream().mapToInt(Integer::intValue).toArray(),
+            regexes.toArray(new Pattern[0]));
+    }
+
+    /**
+     * Returns the category of the highest-priority matching rule, or null.
+     */
+    public String match(CharSequence description, BigDecimal amount) {
+        int best = NONE;
+
+        if (description != null && delta.length > alphabetSize) {
+            int state = 0;
+            boolean onPrefixPath = true;
+            int length = description.length();
+            for (int i = 0; i < length && best != 0; i++) {
+                char c = Character.toLowerCase(description.charAt(i));
+                int cls = c < 128 ? asciiClass[c] : otherClass.getOrDefault(c, 0);
+                state = delta[state * alphabetSize + cls];
+                if (onPrefixPath) {
+                    // Still walking the trie from the first character
+                    if (depth[state] == i + 1) {
+                        best = Math.min(best, prefixRank[state]);
+                    } else {
+                        onPrefixPath = false;
+                    }
+                }
+                best = Math.min(best, keywordRank[state]);
+            }
+        }
+
+        if (amount != null) {
+            for (int i = 0; i < amountRanks.length && amountRanks[i] < best; i++) {
+                if ((minAmounts[i] == null || amount.compareTo(minAmounts[i]) >= 0)
+                        && (maxAmounts[i] == null || amount.compareTo(maxAmounts[i]) <= 0)) {
+                    best = amountRanks[i];
+                }
+            }
+        }
+
+        // Regular expressions are the slow path, tried only if they could still win
+        if (description != null) {
+            for (int i = 0; i < regexRanks.length && regexRanks[i] < best; i++) {
+                if (timedOut.get(i) == 0 && find(i, description)) {
+                    best = regexRanks[i];
+                }
+            }
+        }
+
+        return best == NONE ? null : categories[best];
+    }
+
+    // Char by char like match, which String.toLowerCase is not (final sigma, dotted capital I)
+    private static String lowerCase(String pattern) {
+        char[] chars = pattern.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private boolean find(int i, CharSequence description) {
+        try {
+            return regexes[i].matcher(new DeadlineCharSequence(description, System.nanoTime() + REGEX_TIMEOUT_NANOS))
+                .find();
+        } catch (RegexTimeoutException e) {
+            if (timedOut.compareAndSet(i, 0, 1)) {
+                logger.warn("Skipping category rule regex {} after it ran longer than {} ms",
+                    regexes[i], TimeUnit.NANOSECONDS.toMillis(REGEX_TIMEOUT_NANOS));
+            }
+            return false;
+        }
+    }
+
+    public int getStateCount() {
+        return depth.length;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryRuleMatcher{rules=" + categories.length + ", states=" + depth.length
+            + ", alphabet=" + alphabetSize + ", regexes=" + Arrays.toString(regexes) + "}";
+    }
+
+    private static final class RegexTimeoutException extends RuntimeException {
+        RegexTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * A description that throws RegexTimeoutException once its deadline has
+     * passed. The regex engine reads it one character at a time, also while
+     * backtracking, so the check runs every CHECK_INTERVAL reads.
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        private static final int CHECK_INTERVAL = 256;
+
+        private final CharSequence text;
+        private final long deadline;
+        private int reads;
+
+        DeadlineCharSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                throw new RegexTimeoutException();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
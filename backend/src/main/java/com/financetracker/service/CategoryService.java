@@ -0,0 +1,93 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.User;
+import com.financetracker.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class CategoryService {
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    // Lazy: BudgetService rolls its totals up through this service's trees
+    @Autowired
+    @Lazy
+    private BudgetService budgetService;
+    
+    // Category trees change rarely but are consulted on every expense write
+    private final UserCache<CategoryTree> treeCache = new UserCache<>();
+    
+    public List<Category> getCategoriesByUser(User user) {
+        return categoryRepository.findByUserOrderByName(user);
+    }
+    
+    public CategoryTree getCategoryTree(User user) {
+        return treeCache.get(user.getId(), () -> CategoryTree.of(categoryRepository.findByUserOrderByName(user)));
+    }
+    
+    /**
+     * Moving a category moves its spending between ancestor budgets, so
+     * those are recomputed in the same transaction.
+     */
+    @Transactional
+    public Category createOrUpdateCategory(User user, String name, String parentName) {
+        if (parentName != null && parentName.isBlank()) {
+            parentName = null;
+        }
+        if (parentName != null) {
+            if (categoryRepository.findByUserAndName(user, parentName).isEmpty()) {
+                categoryRepository.save(new Category(parentName, null, user));
+            }
+            if (getCategoryTree(user).getSelfAndAncestors(parentName).contains(name)) {
+                throw new RuntimeException("Category cannot be nested under itself");
+            }
+        }
+        
+        Set<String> affected = new HashSet<>(getCategoryTree(user).getSelfAndAncestors(name));
+        Category category = categoryRepository.findByUserAndName(user, name)
+            .orElseGet(() -> new Category(name, null, user));
+        category.setParentName(parentName);
+        Category saved = categoryRepository.save(category);
+        
+        CategoryTree tree = CategoryTree.of(categoryRepository.findByUserOrderByName(user));
+        affected.addAll(tree.getSelfAndAncestors(name));
+        budgetService.reseedSpentAmounts(user, affected, tree);
+        AfterCommit.run(() -> treeCache.invalidate(user.getId()));
+        return saved;
+    }
+    
+    /**
+     * The deleted category's spending no longer reaches its former
+     * ancestors, so their budgets are recomputed along with its own.
+     */
+    @Transactional
+    public void deleteCategory(User user, Long id) {
+        Category category = categoryRepository.findById(id)
+            .filter(c -> c.getUser().getId().equals(user.getId()))
+            .orElseThrow(() -> new RuntimeException("Category not found"));
+        
+        // Its transactions keep its name, which no longer rolls up into its former ancestors
+        Set<String> affected = new HashSet<>(getCategoryTree(user).getSelfAndAncestors(category.getName()));
+        
+        // Children move up to the deleted category's parent
+        for (Category child : categoryRepository.findByUserAndParentName(user, category.getName())) {
+            child.setParentName(category.getParentName());
+            categoryRepository.save(child);
+        }
+        categoryRepository.delete(category);
+        
+        // Its former children now roll up past it, straight into its parent
+        CategoryTree tree = CategoryTree.of(categoryRepository.findByUserOrderByName(user));
+        budgetService.reseedSpentAmounts(user, affected, tree);
+        AfterCommit.run(() -> treeCache.invalidate(user.getId()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Category;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable parent/child view over a user's categories.
+ *
+ * Categories that were never registered are treated as top-level, so flat
+ * category names used by existing transactions and budgets keep working.
+ */
+public class CategoryTree {
+    
+    private static final CategoryTree EMPTY = new CategoryTree(Collections.emptyMap());
+    
+    private final Map<String, String> parentByName;
+    
+    private CategoryTree(Map<String, String> parentByName) {
+        this.parentByName = parentByName;
+    }
+    
+    public static CategoryTree empty() {
+        return EMPTY;
+    }
+    
+    public static CategoryTree of(List<Category> categories) {
+        Map<String, String> parentByName = new HashMap<>();
+        for (Category category : categories) {
+            if (category.getParentName() != null) {
+                parentByName.put(category.getName(), category.getParentName());
+            }
+        }
+        return new CategoryTree(parentByName);
+    }
+    
+    /**
+     * Builds a tree from (child name, parent name) pairs.
+     */
+    public static CategoryTree ofParents(Map<String, String> parentByName) {
+        return new CategoryTree(new HashMap<>(parentByName));
+    }
+    
+    public String getParent(String category) {
+        return parentByName.get(category);
+    }
+    
+    /**
+     * Returns the category followed by each of its ancestors up to the root.
+     */
+    public List<String> getSelfAndAncestors(String category) {
+        List<String> path = new ArrayList<>(4);
+        Set<String> seen = new HashSet<>();
+        String current = category;
+        while (current != null && seen.add(current)) {
+            path.add(current);
+            current = parentByName.get(current);
+        }
+        return path;
+    }
+    
+    /**
+     * Merges per-leaf totals up the tree so that every category carries the
+     * sum of its own rows plus those of its whole subtree.
+     */
+    public Map<String, BigDecimal> rollup(Map<String, BigDecimal> leafTotals) {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (Map.Entry<String, BigDecimal> entry : leafTotals.entrySet()) {
+            for (String category : getSelfAndAncestors(entry.getKey())) {
+                totals.merge(category, entry.getValue(), BigDecimal::add);
+            }
+        }
+        return totals;
+    }
+}
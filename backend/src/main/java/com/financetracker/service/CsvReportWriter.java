@@ -0,0 +1,69 @@
+package com.financetracker.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 CSV with the tables one after another, each preceded by a blank
+ * line and a row holding its heading. Text cells starting with a formula
+ * character are prefixed with an apostrophe so spreadsheets do not evaluate
+ * descriptions typed by the user.
+ */
+class CsvReportWriter implements ReportWriter {
+
+    private final Writer out;
+    private boolean first = true;
+
+    CsvReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void title(String title) throws IOException {
+        row(title);
+    }
+
+    @Override
+    public void table(String heading, Column... columns) throws IOException {
+        if (!first) {
+            out.write("\r\n");
+        }
+        row(heading);
+        Object[] names = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].name();
+        }
+        row(names);
+    }
+
+    @Override
+    public void row(Object... cells) throws IOException {
+        first = false;
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (cells[i] instanceof String text) {
+                out.write(escape(text));
+            } else if (cells[i] != null) {
+                out.write(cells[i].toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static String escape(String text) {
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
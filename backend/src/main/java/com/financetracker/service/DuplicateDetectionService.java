@@ -0,0 +1,194 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionFingerprint;
+import com.financetracker.model.User;
+import com.financetracker.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds earlier transactions a new one duplicates, with a per-user Bloom
+ * filter of fingerprints in front of the indexed lookup.
+ *
+ * A filter only sees the writes made through this node, so it is tagged
+ * with the ledger version (see LedgerService) it is complete for. Each check
+ * reads the current version and rebuilds a filter that is behind, such as
+ * after a write on another node. Writes through this node advance the tag
+ * after they commit, as long as they were the only write since.
+ *
+ * Archived transactions (see TransactionArchiveService) are in neither the
+ * filter nor the table. Candidates dated in an archived year that match
+ * nothing live are compared with that year's archived rows instead.
+ */
+@Service
+public class DuplicateDetectionService {
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private TransactionArchiveService archiveService;
+    
+    private record VersionedFilter(FingerprintBloomFilter filter, AtomicLong version) {}
+    
+    private final UserCache<VersionedFilter> filters = new UserCache<>();
+    
+    /**
+     * Returns an existing transaction of the user with the same date, amount,
+     * normalized description and type, so a refund is not taken for the
+     * purchase it reverses. Only Bloom filter hits reach the database.
+     */
+    public Optional<Transaction> findDuplicate(User user, Transaction candidate) {
+        return findDuplicates(user, List.of(candidate)).get(0);
+    }
+    
+    /**
+     * findDuplicate for each candidate, reading the ledger version once.
+     */
+    public List<Optional<Transaction>> findDuplicates(User user, List<Transaction> candidates) {
+        FingerprintBloomFilter filter = getCurrentFilter(user);
+        List<Optional<Transaction>> duplicates = new ArrayList<>(candidates.size());
+        for (Transaction candidate : candidates) {
+            long fingerprint = TransactionFingerprint.of(candidate);
+            candidate.setFingerprint(fingerprint);
+            duplicates.add(filter.mightContain(fingerprint) ? lookup(user, candidate, fingerprint) : Optional.empty());
+        }
+        lookupArchived(user, candidates, duplicates);
+        return duplicates;
+    }
+    
+    /**
+     * Records fingerprints of rows that were just written. Call after
+     * LedgerService.invalidateFrom, in the same transaction.
+     */
+    public void register(User user, List<Transaction> transactions) {
+        VersionedFilter current = filters.getIfPresent(user.getId());
+        if (current == null) {
+            return; // built from the table on next use
+        }
+        for (Transaction transaction : transactions) {
+            current.filter().put(transaction.getFingerprint() != null
+                ? transaction.getFingerprint() : TransactionFingerprint.of(transaction));
+        }
+        if (current.filter().isSaturated()) {
+            filters.invalidate(user.getId());
+            return;
+        }
+        advanceAfterCommit(user.getId(), current);
+    }
+    
+    /**
+     * Keeps the filter current after rows were deleted; their fingerprints
+     * stay in it and only cost a lookup. Call after
+     * LedgerService.invalidateFrom, in the same transaction.
+     */
+    public void registerDelete(User user) {
+        VersionedFilter current = filters.getIfPresent(user.getId());
+        if (current != null) {
+            advanceAfterCommit(user.getId(), current);
+        }
+    }
+    
+    /**
+     * Drops a user's filter after rows were written outside TransactionService.
+     */
+    public void invalidate(Long userId) {
+        filters.invalidate(userId);
+    }
+    
+    private void advanceAfterCommit(Long userId, VersionedFilter current) {
+        // Only if the filter was complete just before this write
+        ledgerService.getWrittenVersion(userId).ifPresent(version ->
+            AfterCommit.run(() -> current.version().compareAndSet(version - 1, version)));
+    }
+    
+    private FingerprintBloomFilter getCurrentFilter(User user) {
+        long version = ledgerService.getVersion(user.getId());
+        VersionedFilter current = filters.get(user.getId(), () -> buildFilter(user, version));
+        if (current.version().get() < version) {
+            filters.invalidate(user.getId());
+            current = filters.get(user.getId(), () -> buildFilter(user, version));
+        }
+        return current.filter();
+    }
+    
+    private Optional<Transaction> lookup(User user, Transaction candidate, long fingerprint) {
+        return confirm(transactionRepository.findByUserAndFingerprint(user, fingerprint), candidate);
+    }
+    
+    // Reads the archived rows once, over the date span of the candidates that need them
+    private void lookupArchived(User user, List<Transaction> candidates, List<Optional<Transaction>> duplicates) {
+        Set<Integer> archivedYears = archiveService.getArchivedYears(user.getId());
+        if (archivedYears.isEmpty()) {
+            return;
+        }
+        LocalDate start = null;
+        LocalDate end = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            LocalDate date = candidates.get(i).getTransactionDate();
+            if (duplicates.get(i).isEmpty() && archivedYears.contains(date.getYear())) {
+                start = start == null || date.isBefore(start) ? date : start;
+                end = end == null || date.isAfter(end) ? date : end;
+            }
+        }
+        if (start == null) {
+            return;
+        }
+        Map<Long, List<Transaction>> archivedByFingerprint = new HashMap<>();
+        for (Transaction archived : archiveService.getTransactions(user, start, end)) {
+            archivedByFingerprint.computeIfAbsent(TransactionFingerprint.of(archived), f -> new ArrayList<>())
+                .add(archived);
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            Transaction candidate = candidates.get(i);
+            if (duplicates.get(i).isEmpty() && archivedYears.contains(candidate.getTransactionDate().getYear())) {
+                duplicates.set(i, confirm(
+                    archivedByFingerprint.getOrDefault(candidate.getFingerprint(), List.of()), candidate));
+            }
+        }
+    }
+    
+    // Rules out fingerprint collisions
+    private static Optional<Transaction> confirm(List<Transaction> sameFingerprint, Transaction candidate) {
+        String description = TransactionFingerprint.normalizeDescription(candidate.getDescription());
+        return sameFingerprint.stream()
+            .filter(existing -> !existing.getId().equals(candidate.getId()))
+            .filter(existing -> existing.getTransactionDate().equals(candidate.getTransactionDate())
+                && existing.getType() == candidate.getType()
+                && existing.getAmount().compareTo(candidate.getAmount()) == 0
+                && TransactionFingerprint.normalizeDescription(existing.getDescription()).equals(description))
+            .findFirst();
+    }
+    
+    // Tagged with a version read before the build, so it never claims rows it may have missed
+    private VersionedFilter buildFilter(User user, long version) {
+        // Rows written before fingerprints existed get theirs on first use
+        List<Transaction> legacy = transactionRepository.findByUserAndFingerprintIsNull(user);
+        if (!legacy.isEmpty()) {
+            for (Transaction transaction : legacy) {
+                transaction.setFingerprint(TransactionFingerprint.of(transaction));
+            }
+            transactionRepository.saveAll(legacy);
+        }
+        
+        List<Long> fingerprints = transactionRepository.findFingerprintsByUser(user);
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(Math.max(1024, fingerprints.size() * 2));
+        for (Long fingerprint : fingerprints) {
+            filter.put(fingerprint);
+        }
+        return new VersionedFilter(filter, new AtomicLong(version));
+    }
+}
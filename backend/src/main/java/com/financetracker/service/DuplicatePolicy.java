@@ -0,0 +1,13 @@
+package com.financetracker.service;
+
+/**
+ * What an import does with a row that matches an existing transaction.
+ */
+public enum DuplicatePolicy {
+    // Drop the imported row
+    SKIP,
+    // Insert the row anyway, pointing duplicateOfId at the existing transaction
+    FLAG,
+    // Keep the existing transaction, filling in notes it is missing
+    MERGE
+}
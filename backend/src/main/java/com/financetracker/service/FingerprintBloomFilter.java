@@ -0,0 +1,75 @@
+package com.financetracker.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over 64-bit transaction fingerprints.
+ *
+ * A negative answer is definite, so most non-duplicate rows are accepted
+ * without touching the database. The filter never forgets entries; deleted
+ * transactions only cause an occasional extra confirming lookup.
+ */
+public class FingerprintBloomFilter {
+    
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+    
+    public FingerprintBloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 64);
+        long optimalBits = (long) Math.ceil(-this.capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+    
+    public void put(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = mix(fingerprint);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        size.incrementAndGet();
+    }
+    
+    public boolean mightContain(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = mix(fingerprint);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * True once more entries were added than the filter was sized for, after
+     * which the false-positive rate degrades and it should be rebuilt.
+     */
+    public boolean isSaturated() {
+        return size.get() > capacity;
+    }
+    
+    private static long mix(long value) {
+        // SplitMix64 finalizer, gives a second independent hash for double hashing
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return (value ^ (value >>> 31)) | 1L;
+    }
+}
@@ -0,0 +1,308 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.LedgerEntry;
+import com.financetracker.dto.LedgerResponse;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Bank-statement view of a user's transactions, newest first, with the
+ * balance after each one.
+ *
+ * Pages are read with keyset pagination on (transaction_date, id). The
+ * balance is a running SUM window over the page's rows and the earlier rows
+ * of the oldest month on the page, seeded by that month's opening balance
+ * from ledger_opening_balances, so no page sums the history before its
+ * oldest month.
+ *
+ * Opening balances are filled for all missing months with one window query
+ * when a page needs one, continuing from the newest month still stored.
+ * Every transaction write drops the openings after its month; since the
+ * stored months are always a prefix of the history, a later page rebuilds
+ * just the dropped suffix.
+ *
+ * Archived transactions (see TransactionArchiveService) are not listed, but
+ * their monthly rollups count toward the opening balances.
+ *
+ * Each user also has a ledger version, bumped in the transaction of every
+ * write, which lets derived results such as report artifacts tell whether
+ * they are still current.
+ */
+@Service
+public class LedgerService {
+
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS ledger_opening_balances (user_id BIGINT NOT NULL, period_key INT NOT NULL, "
+        + "opening_balance DECIMAL(19, 2) NOT NULL, PRIMARY KEY (user_id, period_key))";
+
+    private static final String CREATE_VERSIONS_SQL =
+        "CREATE TABLE IF NOT EXISTS ledger_versions (user_id BIGINT NOT NULL, version BIGINT NOT NULL, "
+        + "PRIMARY KEY (user_id))";
+
+    private static final String SIGNED_AMOUNT = "CASE WHEN t.type IN ('INCOME', 'TRANSFER_IN') THEN t.amount ELSE -t.amount END";
+
+    // year * 12 + month - 1, so consecutive months have consecutive keys
+    private static final String PERIOD_KEY = "YEAR(t.transaction_date) * 12 + MONTH(t.transaction_date) - 1";
+
+    private static final String KEYSET = "(t.transaction_date < ? OR (t.transaction_date = ? AND t.id < ?))";
+
+    private static final String PAGE_START_SQL =
+        "SELECT MIN(p.transaction_date) FROM (SELECT t.transaction_date FROM transactions t "
+        + "WHERE t.user_id = ? AND " + KEYSET + " ORDER BY t.transaction_date DESC, t.id DESC LIMIT ?) p";
+
+    private static final String PAGE_SQL =
+        "SELECT * FROM (SELECT t.id, t.transaction_date, t.description, t.category, t.type, t.amount, t.notes, "
+        + "o.opening_balance + SUM(" + SIGNED_AMOUNT + ") OVER (ORDER BY t.transaction_date, t.id "
+        + "ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) AS balance "
+        + "FROM transactions t JOIN ledger_opening_balances o ON o.user_id = t.user_id AND o.period_key = ? "
+        + "WHERE t.user_id = ? AND t.transaction_date >= ? AND " + KEYSET + ") l "
+        + "ORDER BY l.transaction_date DESC, l.id DESC LIMIT ?";
+
+    private static final String LATEST_OPENING_SQL =
+        "SELECT period_key FROM ledger_opening_balances WHERE user_id = ? ORDER BY period_key DESC LIMIT 1";
+
+    private static final String ROLLUP_PERIOD_KEY = "r.period_year * 12 + r.period_month - 1";
+
+    // Net amount of every month from ? on, archived months included (see TransactionArchiveService),
+    // with the sum of the nets of the earlier of those months
+    private static final String MONTHLY_NETS =
+        "SELECT g.period_key, COALESCE(SUM(g.net) OVER (ORDER BY g.period_key "
+        + "ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0) AS preceding "
+        + "FROM (SELECT u.period_key, SUM(u.net) AS net FROM ("
+        + "SELECT " + PERIOD_KEY + " AS period_key, SUM(" + SIGNED_AMOUNT + ") AS net FROM transactions t "
+        + "WHERE t.user_id = ? AND t.transaction_date >= ? GROUP BY " + PERIOD_KEY + " "
+        + "UNION ALL SELECT " + ROLLUP_PERIOD_KEY + ", SUM(CASE WHEN r.type IN ('INCOME', 'TRANSFER_IN') "
+        + "THEN r.total ELSE -r.total END) FROM transaction_archive_rollups r "
+        + "WHERE r.user_id = ? AND " + ROLLUP_PERIOD_KEY + " >= ? GROUP BY " + ROLLUP_PERIOD_KEY + ") u "
+        + "GROUP BY u.period_key) g";
+
+    private static final String FIRST_FILL_SQL =
+        "INSERT INTO ledger_opening_balances (user_id, period_key, opening_balance) "
+        + "SELECT ?, m.period_key, m.preceding FROM (" + MONTHLY_NETS + ") m";
+
+    // Seeded from the stored month in the same statement: if a write drops it meanwhile, nothing is inserted
+    private static final String FILL_SQL =
+        "INSERT INTO ledger_opening_balances (user_id, period_key, opening_balance) "
+        + "SELECT ?, m.period_key, s.opening_balance + m.preceding FROM (" + MONTHLY_NETS + ") m "
+        + "JOIN ledger_opening_balances s ON s.user_id = ? AND s.period_key = ? WHERE m.period_key > ?";
+
+    private static final String INVALIDATE_SQL =
+        "DELETE FROM ledger_opening_balances WHERE user_id = ? AND period_key > ?";
+
+    private static final String VERSION_SQL = "SELECT version FROM ledger_versions WHERE user_id = ?";
+
+    private static final String BUMP_VERSION_SQL = "UPDATE ledger_versions SET version = version + 1 WHERE user_id = ?";
+
+    private static final String INSERT_VERSION_SQL = "INSERT INTO ledger_versions (user_id, version) VALUES (?, 1)";
+
+    // Bound to the current transaction: user id -> how its version was bumped in it
+    private static final Object BUMPS_KEY = new Object();
+
+    private static final class Bumps {
+        int count;
+        // Read on first use after a single bump
+        Long writtenVersion;
+    }
+
+    private static final LocalDate FIRST_PAGE_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final LocalDate HISTORY_START = LocalDate.of(1, 1, 1);
+
+    // A page can find its opening dropped by a concurrent write
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @PostConstruct
+    void createTable() {
+        shardDirectory.fanOut(shard -> {
+            jdbcTemplate.execute(CREATE_TABLE_SQL);
+            jdbcTemplate.execute(CREATE_VERSIONS_SQL);
+            return null;
+        });
+    }
+
+    /**
+     * Up to limit transactions older than (beforeDate, beforeId), or the
+     * newest ones when both are null. Runs outside a transaction, so that a
+     * retry sees openings filled by a concurrent request, and therefore on
+     * the primary, where openings are written.
+     */
+    public LedgerResponse getLedger(User user, LocalDate beforeDate, Long beforeId, int limit) {
+        Date before = Date.valueOf(beforeDate != null ? beforeDate : FIRST_PAGE_DATE);
+        long beforeIdValue = beforeId != null ? beforeId : Long.MAX_VALUE;
+
+        Date pageStart = jdbcTemplate.queryForObject(PAGE_START_SQL, Date.class,
+            user.getId(), before, before, beforeIdValue, limit);
+        if (pageStart == null) {
+            return new LedgerResponse(List.of(), null, null);
+        }
+        LocalDate monthStart = pageStart.toLocalDate().withDayOfMonth(1);
+
+        for (int attempt = 1; ; attempt++) {
+            List<LedgerEntry> entries = jdbcTemplate.query(PAGE_SQL, (rs, rowNum) -> new LedgerEntry(
+                rs.getLong("id"),
+                rs.getDate("transaction_date").toLocalDate(),
+                rs.getString("description"),
+                rs.getString("category"),
+                Transaction.TransactionType.valueOf(rs.getString("type")),
+                rs.getBigDecimal("amount"),
+                rs.getString("notes"),
+                rs.getBigDecimal("balance")
+            ), periodKey(monthStart), user.getId(), Date.valueOf(monthStart), before, before, beforeIdValue, limit);
+
+            if (!entries.isEmpty()) {
+                LedgerEntry last = entries.get(entries.size() - 1);
+                return entries.size() < limit
+                    ? new LedgerResponse(entries, null, null)
+                    : new LedgerResponse(entries, last.getTransactionDate(), last.getId());
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new RuntimeException("Ledger changed while it was being read");
+            }
+            fillOpeningBalances(user.getId());
+        }
+    }
+
+    /**
+     * Drops the opening balances a change of the user's transactions dated
+     * on or after the date makes wrong and bumps the user's ledger version.
+     * Call after the change is written, in its transaction.
+     */
+    public void invalidateFrom(Long userId, LocalDate date) {
+        jdbcTemplate.update(INVALIDATE_SQL, userId, periodKey(date));
+        if (jdbcTemplate.update(BUMP_VERSION_SQL, userId) == 0) {
+            insertVersion(userId);
+        }
+        recordBump(userId);
+    }
+
+    /**
+     * invalidateFrom for several users with one batch.
+     */
+    public void invalidateFrom(Map<Long, LocalDate> earliestDateByUser) {
+        List<Object[]> args = new ArrayList<>(earliestDateByUser.size());
+        List<Object[]> userIds = new ArrayList<>(earliestDateByUser.size());
+        earliestDateByUser.forEach((userId, date) -> {
+            args.add(new Object[] { userId, periodKey(date) });
+            userIds.add(new Object[] { userId });
+        });
+        if (args.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INVALIDATE_SQL, args);
+        int[] bumped = jdbcTemplate.batchUpdate(BUMP_VERSION_SQL, userIds);
+        for (int i = 0; i < bumped.length; i++) {
+            // Drivers that rewrite batches report SUCCESS_NO_INFO instead of a count
+            if (bumped[i] == 0) {
+                insertVersion((Long) userIds.get(i)[0]);
+            }
+        }
+        earliestDateByUser.keySet().forEach(this::recordBump);
+    }
+
+    /**
+     * The user's ledger version, which changes with every write of their
+     * transactions; 0 before the first one.
+     */
+    public long getVersion(Long userId) {
+        List<Long> versions = jdbcTemplate.queryForList(VERSION_SQL, Long.class, userId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * The version the current transaction gives the user's ledger, if it
+     * bumped it exactly once; empty otherwise. The bumped row stays locked
+     * until commit, so this is the version that commits, and the one before
+     * it is this minus one.
+     */
+    public OptionalLong getWrittenVersion(Long userId) {
+        Map<Long, Bumps> bumps = currentBumps();
+        Bumps userBumps = bumps != null ? bumps.get(userId) : null;
+        if (userBumps == null || userBumps.count != 1) {
+            return OptionalLong.empty();
+        }
+        if (userBumps.writtenVersion == null) {
+            userBumps.writtenVersion = getVersion(userId);
+        }
+        return OptionalLong.of(userBumps.writtenVersion);
+    }
+
+    private void recordBump(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Map<Long, Bumps> bumps = currentBumps();
+        if (bumps == null) {
+            bumps = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(BUMPS_KEY, bumps);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BUMPS_KEY);
+                }
+            });
+        }
+        Bumps userBumps = bumps.computeIfAbsent(userId, id -> new Bumps());
+        userBumps.count++;
+        userBumps.writtenVersion = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, Bumps> currentBumps() {
+        return (Map<Long, Bumps>) TransactionSynchronizationManager.getResource(BUMPS_KEY);
+    }
+
+    private void insertVersion(Long userId) {
+        try {
+            jdbcTemplate.update(INSERT_VERSION_SQL, userId);
+        } catch (DuplicateKeyException e) {
+            // Inserted by a concurrent first write
+            jdbcTemplate.update(BUMP_VERSION_SQL, userId);
+        }
+    }
+
+    private void fillOpeningBalances(Long userId) {
+        List<Integer> latest = jdbcTemplate.queryForList(LATEST_OPENING_SQL, Integer.class, userId);
+        try {
+            if (latest.isEmpty()) {
+                jdbcTemplate.update(FIRST_FILL_SQL, userId, userId, Date.valueOf(HISTORY_START),
+                    userId, periodKey(HISTORY_START));
+            } else {
+                int seedKey = latest.get(0);
+                jdbcTemplate.update(FILL_SQL, userId, userId, Date.valueOf(monthOf(seedKey)), userId, seedKey,
+                    userId, seedKey, seedKey);
+            }
+        } catch (DuplicateKeyException e) {
+            // Filled by a concurrent request
+        }
+    }
+
+    private static int periodKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static LocalDate monthOf(int periodKey) {
+        return LocalDate.of(periodKey / 12, periodKey % 12 + 1, 1);
+    }
+}
@@ -0,0 +1,27 @@
+package com.financetracker.service;
+
+import com.financetracker.model.BudgetAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default BudgetAlertNotifier: a "budget-alert" event on the user's
+ * GET /api/stream connections.
+ */
+public class LiveUpdateBudgetAlertNotifier implements BudgetAlertNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateBudgetAlertNotifier.class);
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveUpdateBudgetAlertNotifier(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    @Override
+    public void notify(BudgetAlert alert) {
+        logger.debug("Budget {} ({} {}/{}) reached {}% of its limit", alert.getBudgetId(), alert.getCategory(),
+            alert.getMonth(), alert.getYear(), alert.getThresholdPercent());
+        liveUpdateService.publishBudgetAlert(alert);
+    }
+}
@@ -0,0 +1,275 @@
+package com.financetracker.service;
+
+import com.financetracker.config.LiveUpdateBroadcaster;
+import com.financetracker.config.LiveUpdateBroadcaster.LiveUpdate;
+import com.financetracker.config.ShardContext;
+import com.financetracker.dto.DashboardResponse;
+import com.financetracker.model.Budget;
+import com.financetracker.model.BudgetAlert;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes dashboard totals, budget spent-amount changes and budget alerts to
+ * the open GET /api/stream connections of a user.
+ *
+ * Connections are async SseEmitters, so an idle one holds no thread; a
+ * heartbeat comment keeps proxies from closing them and finds dead ones.
+ * Each user keeps at most app.stream.max-connections-per-user, the oldest
+ * being closed first.
+ *
+ * Changes are published through the LiveUpdateBroadcaster after their
+ * transaction commits. Budget events carry their data; dashboard events are
+ * recomputed by the node holding the connections, at most once per user
+ * while a recomputation is pending. Sending happens on a small bounded pool;
+ * when its queue is full updates are dropped and counted, and the next one
+ * for that user carries the current state again.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    private static final String DASHBOARD_EVENT = "dashboard";
+    private static final String BUDGET_EVENT = "budget";
+    private static final String BUDGET_ALERT_EVENT = "budget-alert";
+
+    @Autowired
+    private LiveUpdateBroadcaster broadcaster;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.stream.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${app.stream.dispatch-queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+
+    private final Map<Long, List<SseEmitter>> connections = new ConcurrentHashMap<>();
+    private final Set<Long> pendingDashboards = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private ThreadPoolExecutor dispatcher;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(dispatchQueueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "live-update-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        droppedCounter = Counter.builder("app.stream.dropped")
+            .description("Live updates dropped because the dispatch queue was full")
+            .register(meterRegistry);
+        Gauge.builder("app.stream.connections", connectionCount, AtomicInteger::get)
+            .description("Open GET /api/stream connections")
+            .register(meterRegistry);
+        broadcaster.subscribe(this::deliver);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        connections.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        List<SseEmitter> emitters = connections.compute(userId, (id, existing) -> {
+            List<SseEmitter> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        connectionCount.incrementAndGet();
+        emitter.onCompletion(() -> disconnect(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> disconnect(userId, emitter));
+        while (emitters.size() > maxConnectionsPerUser) {
+            SseEmitter oldest = emitters.get(0);
+            disconnect(userId, oldest);
+            oldest.complete();
+        }
+        // Current totals first, so the client needs no separate dashboard request
+        scheduleDashboard(userId, ShardContext.getCurrentShard());
+        return emitter;
+    }
+
+    public void publishDashboardChanged(Long userId) {
+        LiveUpdate update = new LiveUpdate(userId, ShardContext.getCurrentShard(), DASHBOARD_EVENT, null);
+        AfterCommit.run(() -> broadcaster.publish(update));
+    }
+
+    public void publishBudgetSpentChanged(User user, Budget budget, BigDecimal delta) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", budget.getId());
+        data.put("category", budget.getCategory());
+        data.put("month", budget.getMonth());
+        data.put("year", budget.getYear());
+        data.put("budgetLimit", budget.getBudgetLimit());
+        data.put("spentAmount", budget.getSpentAmount());
+        data.put("delta", delta);
+        LiveUpdate update = new LiveUpdate(user.getId(), ShardContext.getCurrentShard(), BUDGET_EVENT, data);
+        AfterCommit.run(() -> broadcaster.publish(update));
+    }
+
+    public void publishBudgetAlert(BudgetAlert alert) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", alert.getId());
+        data.put("budgetId", alert.getBudgetId());
+        data.put("category", alert.getCategory());
+        data.put("month", alert.getMonth());
+        data.put("year", alert.getYear());
+        data.put("thresholdPercent", alert.getThresholdPercent());
+        data.put("budgetLimit", alert.getBudgetLimit());
+        data.put("spentAmount", alert.getSpentAmount());
+        LiveUpdate update = new LiveUpdate(alert.getUser().getId(), ShardContext.getCurrentShard(), BUDGET_ALERT_EVENT, data);
+        AfterCommit.run(() -> broadcaster.publish(update));
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        connections.forEach((userId, emitters) -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                disconnect(userId, emitter);
+            }
+        }));
+    }
+
+    private void deliver(LiveUpdate update) {
+        if (!connections.containsKey(update.userId())) {
+            return;
+        }
+        if (DASHBOARD_EVENT.equals(update.event())) {
+            scheduleDashboard(update.userId(), update.shard());
+        } else {
+            dispatch(() -> send(update.userId(), update.event(), update.data()));
+        }
+    }
+
+    private void scheduleDashboard(Long userId, String shard) {
+        if (pendingDashboards.add(userId)) {
+            // Cleared before computing, so a change committed meanwhile schedules another run
+            if (!dispatch(() -> {
+                pendingDashboards.remove(userId);
+                if (connections.containsKey(userId)) {
+                    send(userId, DASHBOARD_EVENT, ShardContext.callOn(shard, () -> dashboardTotals(userId)));
+                }
+            })) {
+                pendingDashboards.remove(userId);
+            }
+        }
+    }
+
+    private boolean dispatch(Runnable task) {
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Live update failed", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            return false;
+        }
+    }
+
+    private DashboardResponse dashboardTotals(Long userId) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> totals = new EnumMap<>(Transaction.TransactionType.class);
+        for (Object[] row : transactionRepository.sumAmountByUserGroupByTypeAndCategory(user)) {
+            totals.computeIfAbsent((Transaction.TransactionType) row[0], type -> new HashMap<>())
+                .merge((String) row[1], (BigDecimal) row[2], BigDecimal::add);
+        }
+        archiveService.addCategoryTotals(user, null, null, totals);
+        return DashboardResponse.fromTotals(sum(totals.get(Transaction.TransactionType.INCOME)),
+            sum(totals.get(Transaction.TransactionType.EXPENSE)));
+    }
+
+    private static BigDecimal sum(Map<String, BigDecimal> totals) {
+        BigDecimal total = BigDecimal.ZERO;
+        if (totals != null) {
+            for (BigDecimal amount : totals.values()) {
+                total = total.add(amount);
+            }
+        }
+        return total;
+    }
+
+    private void send(Long userId, String event, Object data) {
+        List<SseEmitter> emitters = connections.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                disconnect(userId, emitter);
+            }
+        }
+    }
+
+    private void disconnect(Long userId, SseEmitter emitter) {
+        connections.computeIfPresent(userId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connectionCount.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
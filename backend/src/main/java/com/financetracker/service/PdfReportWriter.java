@@ -0,0 +1,189 @@
+package com.financetracker.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal PDF 1.4: landscape Letter pages of monospaced text, with the
+ * tables laid out in fixed columns and their column headers repeated on
+ * each page. Only a page's text is buffered; finished pages are written out
+ * and the page tree and cross-reference table follow at the end.
+ *
+ * Uses the standard Courier font, so nothing is embedded; characters
+ * outside Latin-1 print as '?'.
+ */
+class PdfReportWriter implements ReportWriter {
+
+    private static final int PAGE_WIDTH = 792;
+    private static final int PAGE_HEIGHT = 612;
+    private static final int MARGIN = 36;
+    private static final int FONT_SIZE = 7;
+    private static final int LEADING = 9;
+    private static final int LINES_PER_PAGE = (PAGE_HEIGHT - 2 * MARGIN) / LEADING;
+    // Courier glyphs are 0.6 em wide
+    private static final int CHARS_PER_LINE = (PAGE_WIDTH - 2 * MARGIN) * 10 / (FONT_SIZE * 6);
+
+    // Objects 1 to 3; pages follow as (content, page) pairs
+    private static final int CATALOG = 1;
+    private static final int PAGE_TREE = 2;
+    private static final int FONT = 3;
+
+    private final OutputStream out;
+    private long position;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageIds = new ArrayList<>();
+
+    private final StringBuilder page = new StringBuilder();
+    private int pageLines;
+    private boolean lastLineBlank;
+    private Column[] columns;
+    private String columnHeader;
+
+    PdfReportWriter(OutputStream out) throws IOException {
+        this.out = out;
+        write("%PDF-1.4\n%âãÏÓ\n");
+        startObject(CATALOG);
+        write("<< /Type /Catalog /Pages " + PAGE_TREE + " 0 R >>\nendobj\n");
+        // Written last, once the pages are known
+        offsets.add(null);
+        startObject(FONT);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    @Override
+    public void title(String title) throws IOException {
+        line(title);
+        line("");
+    }
+
+    @Override
+    public void table(String heading, Column... columns) throws IOException {
+        this.columns = null;
+        if (pageLines > 0 && pageLines + 5 > LINES_PER_PAGE) {
+            finishPage();
+        }
+        if (pageLines > 0 && !lastLineBlank) {
+            line("");
+        }
+        line(heading);
+        Object[] names = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].name();
+        }
+        this.columns = columns;
+        columnHeader = format(names);
+        line(columnHeader);
+        line("-".repeat(columnHeader.length()));
+    }
+
+    @Override
+    public void row(Object... cells) throws IOException {
+        if (columns != null && pageLines == LINES_PER_PAGE) {
+            finishPage();
+            line(columnHeader);
+            line("-".repeat(columnHeader.length()));
+        }
+        line(columns != null ? format(cells) : String.valueOf(cells[0]));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (pageLines > 0 || pageIds.isEmpty()) {
+                finishPage();
+            }
+            offsets.set(PAGE_TREE - 1, position);
+            StringBuilder kids = new StringBuilder();
+            for (int pageId : pageIds) {
+                kids.append(pageId).append(" 0 R ");
+            }
+            write(PAGE_TREE + " 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pageIds.size()
+                + " >>\nendobj\n");
+
+            long xref = position;
+            StringBuilder table = new StringBuilder("xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+            for (long offset : offsets) {
+                table.append(String.format("%010d 00000 n \n", offset));
+            }
+            table.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root ").append(CATALOG)
+                .append(" 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+            write(table.toString());
+        } finally {
+            out.close();
+        }
+    }
+
+    private String format(Object[] cells) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < columns.length && i < cells.length; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            String cell = cells[i] != null ? cells[i].toString() : "";
+            int width = columns[i].width();
+            if (cell.length() > width) {
+                cell = cell.substring(0, width - 1) + "~";
+            }
+            String padding = " ".repeat(width - cell.length());
+            text.append(columns[i].numeric() ? padding + cell : cell + padding);
+        }
+        return text.toString().stripTrailing();
+    }
+
+    private void line(String text) throws IOException {
+        if (pageLines == LINES_PER_PAGE) {
+            finishPage();
+        }
+        if (text.length() > CHARS_PER_LINE) {
+            text = text.substring(0, CHARS_PER_LINE);
+        }
+        page.append('(');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                page.append('\\').append(c);
+            } else if (c < ' ') {
+                page.append(' ');
+            } else {
+                page.append(c > 0xff ? '?' : c);
+            }
+        }
+        page.append(") '\n");
+        pageLines++;
+        lastLineBlank = text.isEmpty();
+    }
+
+    private void finishPage() throws IOException {
+        byte[] content = ("BT\n/F1 " + FONT_SIZE + " Tf\n" + LEADING + " TL\n" + MARGIN + " " + (PAGE_HEIGHT - MARGIN)
+            + " Td\n" + page + "ET\n").getBytes(StandardCharsets.ISO_8859_1);
+        int contentId = offsets.size() + 1;
+        startObject(contentId);
+        write("<< /Length " + content.length + " >>\nstream\n");
+        out.write(content);
+        position += content.length;
+        write("\nendstream\nendobj\n");
+
+        int pageId = offsets.size() + 1;
+        startObject(pageId);
+        write("<< /Type /Page /Parent " + PAGE_TREE + " 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT
+            + "] /Resources << /Font << /F1 " + FONT + " 0 R >> >> /Contents " + contentId + " 0 R >>\nendobj\n");
+        pageIds.add(pageId);
+
+        page.setLength(0);
+        pageLines = 0;
+    }
+
+    private void startObject(int id) throws IOException {
+        offsets.add(position);
+        write(id + " 0 obj\n");
+    }
+
+    private void write(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        out.write(bytes);
+        position += bytes.length;
+    }
+}
@@ -0,0 +1,236 @@
+package com.financetracker.service;
+
+import com.financetracker.model.RecurringTransaction;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionFingerprint;
+import com.financetracker.model.User;
+import com.financetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Materializes due recurring transactions for all users.
+ *
+ * Each batch claims templates with SELECT ... FOR UPDATE SKIP LOCKED, so
+ * several application nodes can run the job concurrently without picking the
+ * same templates. Occurrences are inserted with one JDBC batch, templates are
+ * advanced in the same database transaction, and budget deltas are applied
+ * once per (user, category, month) of the batch. Because a template's next
+ * occurrence only moves forward together with the inserted rows, and rows are
+ * unique per (template, date), re-running the job never duplicates an occurrence.
+ * Should a template still point at an occurrence that already exists, that
+ * occurrence is skipped rather than failing the whole batch on the unique key.
+ */
+@Component
+@ConditionalOnProperty(name = "app.recurring.enabled", havingValue = "true", matchIfMissing = true)
+public class RecurringTransactionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionScheduler.class);
+
+    private static final String CLAIM_SQL =
+        "SELECT id, user_id, description, amount, category, type, notes, frequency, interval_count, "
+        + "start_date, end_date, occurrence_index FROM recurring_transactions "
+        + "WHERE active = TRUE AND next_occurrence <= ? ORDER BY next_occurrence LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO transactions (description, amount, category, transaction_date, type, notes, fingerprint, "
+        + "recurring_transaction_id, created_at, updated_at, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String EXISTING_SQL =
+        "SELECT recurring_transaction_id, transaction_date FROM transactions "
+        + "WHERE recurring_transaction_id IN (%s) AND transaction_date >= ?";
+
+    private static final String ADVANCE_SQL =
+        "UPDATE recurring_transactions SET occurrence_index = ?, next_occurrence = ?, active = ?, updated_at = ? "
+        + "WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.recurring.batch-size:500}")
+    private int batchSize;
+
+    // Upper bound of occurrences materialized per template and run, for long backfills
+    @Value("${app.recurring.max-occurrences-per-run:366}")
+    private int maxOccurrencesPerRun;
+
+    public RecurringTransactionScheduler(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Scheduled(fixedDelayString = "${app.recurring.poll-interval-ms:60000}")
+    public void materializeDueTransactions() {
+        LocalDate today = LocalDate.now();
+        // Every shard holds its own templates, so shards are processed in parallel
+        int total = shardDirectory.fanOut(shard -> materialize(today)).stream().mapToInt(Integer::intValue).sum();
+
+        if (total > 0) {
+            logger.info("Materialized {} recurring transactions", total);
+        }
+    }
+
+    private int materialize(LocalDate today) {
+        int total = 0;
+        BatchResult result;
+        do {
+            result = transactionTemplate.execute(status -> processBatch(today));
+            total += result.inserted();
+            // These rows bypassed TransactionService, so in-memory views rebuild lazily
+            for (Long userId : result.userIds()) {
+                transactionSearchService.invalidate(userId);
+                duplicateDetectionService.invalidate(userId);
+                liveUpdateService.publishDashboardChanged(userId);
+            }
+        } while (!result.userIds().isEmpty());
+        return total;
+    }
+
+    private BatchResult processBatch(LocalDate today) {
+        List<ClaimedTemplate> templates = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ClaimedTemplate(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getString("description"),
+            rs.getBigDecimal("amount"),
+            rs.getString("category"),
+            Transaction.TransactionType.valueOf(rs.getString("type")),
+            rs.getString("notes"),
+            RecurringTransaction.Frequency.valueOf(rs.getString("frequency")),
+            rs.getInt("interval_count"),
+            rs.getDate("start_date").toLocalDate(),
+            rs.getDate("end_date") != null ? rs.getDate("end_date").toLocalDate() : null,
+            rs.getInt("occurrence_index")
+        ), Date.valueOf(today), batchSize);
+
+        if (templates.isEmpty()) {
+            return new BatchResult(0, Set.of());
+        }
+
+        Set<Occurrence> existing = findExistingOccurrences(templates);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> advances = new ArrayList<>(templates.size());
+        Map<BudgetDeltaKey, BigDecimal> budgetDeltas = new HashMap<>();
+        Map<Long, LocalDate> earliestDates = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+
+        for (ClaimedTemplate template : templates) {
+            int index = template.occurrenceIndex();
+            LocalDate date = template.occurrenceDate(index);
+            int materialized = 0;
+            while (!date.isAfter(today) && (template.endDate() == null || !date.isAfter(template.endDate()))
+                    && materialized < maxOccurrencesPerRun) {
+                if (existing.contains(new Occurrence(template.id(), date))) {
+                    logger.warn("Skipping occurrence {} of recurring transaction {}, it was already materialized",
+                        date, template.id());
+                } else {
+                    inserts.add(new Object[] {
+                        template.description(), template.amount(), template.category(), Date.valueOf(date),
+                        template.type().name(), template.notes(),
+                        TransactionFingerprint.of(date, template.amount(), template.description()),
+                        template.id(), now, now, template.userId()
+                    });
+                    earliestDates.merge(template.userId(), date, (a, b) -> a.isBefore(b) ? a : b);
+                    if (template.type() == Transaction.TransactionType.EXPENSE) {
+                        budgetDeltas.merge(new BudgetDeltaKey(template.userId(), template.category(),
+                            date.getMonthValue(), date.getYear()), template.amount(), BigDecimal::add);
+                    }
+                }
+                materialized++;
+                index++;
+                date = template.occurrenceDate(index);
+            }
+
+            boolean active = template.endDate() == null || !date.isAfter(template.endDate());
+            advances.add(new Object[] { index, Date.valueOf(date), active, now, template.id() });
+            userIds.add(template.userId());
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        jdbcTemplate.batchUpdate(ADVANCE_SQL, advances);
+        ledgerService.invalidateFrom(earliestDates);
+
+        for (Map.Entry<BudgetDeltaKey, BigDecimal> delta : budgetDeltas.entrySet()) {
+            BudgetDeltaKey key = delta.getKey();
+            User user = userRepository.getReferenceById(key.userId());
+            budgetService.updateSpentAmount(user, key.category(), delta.getValue(), key.month(), key.year());
+        }
+
+        return new BatchResult(inserts.size(), userIds);
+    }
+
+    // Only rows from the claimed templates' next occurrence on can collide with this batch
+    private Set<Occurrence> findExistingOccurrences(List<ClaimedTemplate> templates) {
+        LocalDate from = templates.stream().map(t -> t.occurrenceDate(t.occurrenceIndex()))
+            .min(LocalDate::compareTo).orElseThrow();
+        List<Object> args = new ArrayList<>(templates.size() + 1);
+        templates.forEach(template -> args.add(template.id()));
+        args.add(Date.valueOf(from));
+        String placeholders = String.join(", ", Collections.nCopies(templates.size(), "?"));
+        Set<Occurrence> existing = new HashSet<>();
+        jdbcTemplate.query(EXISTING_SQL.formatted(placeholders), rs -> {
+            existing.add(new Occurrence(rs.getLong(1), rs.getDate(2).toLocalDate()));
+        }, args.toArray());
+        return existing;
+    }
+
+    private record ClaimedTemplate(Long id, Long userId, String description, BigDecimal amount, String category,
+                                   Transaction.TransactionType type, String notes,
+                                   RecurringTransaction.Frequency frequency, int intervalCount,
+                                   LocalDate startDate, LocalDate endDate, int occurrenceIndex) {
+        LocalDate occurrenceDate(int index) {
+            return RecurringTransaction.occurrenceDate(startDate, frequency, intervalCount, index);
+        }
+    }
+
+    private record Occurrence(Long templateId, LocalDate date) {}
+
+    private record BatchResult(int inserted, Set<Long> userIds) {}
+
+    private record BudgetDeltaKey(Long userId, String category, Integer month, Integer year) {}
+}
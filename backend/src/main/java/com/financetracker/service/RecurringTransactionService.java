@@ -0,0 +1,73 @@
+package com.financetracker.service;
+
+import com.financetracker.model.RecurringTransaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.RecurringTransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class RecurringTransactionService {
+    
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+    
+    public List<RecurringTransaction> getRecurringTransactionsByUser(User user) {
+        return recurringTransactionRepository.findByUserOrderByNextOccurrence(user);
+    }
+    
+    public RecurringTransaction createRecurringTransaction(RecurringTransaction recurringTransaction) {
+        if (recurringTransaction.getType() != null && recurringTransaction.getType().isTransfer()) {
+            throw new RuntimeException("Transfers cannot be recurring");
+        }
+        if (recurringTransaction.getEndDate() != null
+                && recurringTransaction.getEndDate().isBefore(recurringTransaction.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        return recurringTransactionRepository.save(recurringTransaction);
+    }
+    
+    @Transactional
+    public RecurringTransaction setActive(User user, Long id, boolean active) {
+        // Locked, so that the save cannot undo an advance the scheduler made since the read
+        RecurringTransaction recurringTransaction = recurringTransactionRepository.findByIdForUpdate(id)
+            .filter(r -> r.getUser().getId().equals(user.getId()))
+            .orElseThrow(() -> new RuntimeException("Recurring transaction not found"));
+        if (active && !Boolean.TRUE.equals(recurringTransaction.getActive())) {
+            skipMissedOccurrences(recurringTransaction, LocalDate.now());
+        }
+        recurringTransaction.setActive(active);
+        return recurringTransactionRepository.save(recurringTransaction);
+    }
+    
+    public void deleteRecurringTransaction(User user, Long id) {
+        // Already materialized transactions are kept
+        recurringTransactionRepository.delete(getOwned(user, id));
+    }
+    
+    // Occurrences that fell due while paused are not backfilled on resume
+    private void skipMissedOccurrences(RecurringTransaction recurringTransaction, LocalDate today) {
+        int index = recurringTransaction.getOccurrenceIndex();
+        LocalDate date = occurrenceDate(recurringTransaction, index);
+        while (date.isBefore(today)) {
+            date = occurrenceDate(recurringTransaction, ++index);
+        }
+        recurringTransaction.setOccurrenceIndex(index);
+        recurringTransaction.setNextOccurrence(date);
+    }
+    
+    private static LocalDate occurrenceDate(RecurringTransaction recurringTransaction, int index) {
+        return RecurringTransaction.occurrenceDate(recurringTransaction.getStartDate(),
+            recurringTransaction.getFrequency(), recurringTransaction.getIntervalCount(), index);
+    }
+    
+    private RecurringTransaction getOwned(User user, Long id) {
+        return recurringTransactionRepository.findById(id)
+            .filter(r -> r.getUser().getId().equals(user.getId()))
+            .orElseThrow(() -> new RuntimeException("Recurring transaction not found"));
+    }
+}
@@ -0,0 +1,314 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Account;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.AccountRepository;
+import com.financetracker.service.ReportWriter.Column;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Builds report files by streaming the user's transactions of the period in
+ * (transaction_date, id) order, merged with the archived ones, through a
+ * ReportWriter. Only monthly and per-category totals are kept in memory, so
+ * a report costs the same memory for a month as for a busy year.
+ *
+ * On MySQL the rows are streamed from the server one at a time; other
+ * databases fetch them in batches of app.reports.fetch-size.
+ */
+@Component
+public class ReportGenerator {
+
+    private static final String ROWS_SQL =
+        "SELECT id, transaction_date, description, category, type, amount, account_id FROM transactions "
+        + "WHERE user_id = ? AND transaction_date >= ? AND transaction_date <= ? ORDER BY transaction_date, id";
+
+    private static final String BALANCE_BEFORE_SQL =
+        "SELECT COALESCE(SUM(CASE WHEN type IN ('INCOME', 'TRANSFER_IN') THEN amount ELSE -amount END), 0) "
+        + "FROM transactions WHERE user_id = ? AND transaction_date < ?";
+
+    private static final Column[] STATEMENT_COLUMNS = {
+        Column.text("Date", 10), Column.text("Description", 36), Column.text("Category", 20),
+        Column.text("Account", 20), Column.text("Type", 12), Column.number("Amount", 13),
+        Column.number("Balance", 14)
+    };
+
+    private static final Column[] MONTHLY_COLUMNS = {
+        Column.text("Month", 9), Column.number("Income", 13), Column.number("Expenses", 13),
+        Column.number("Net", 13), Column.number("Closing balance", 15)
+    };
+
+    private static final Column[] TOTAL_COLUMNS = { Column.text("Item", 20), Column.number("Amount", 14) };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Value("${app.reports.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Writes the report to target, replacing it.
+     */
+    public void generate(User user, ReportJob.ReportType type, ReportJob.Period period, ReportJob.ReportFormat format,
+                         Path target) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(target));
+        try (ReportWriter writer = format == ReportJob.ReportFormat.PDF
+                ? new PdfReportWriter(out)
+                : new CsvReportWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            switch (type) {
+                case STATEMENT -> writeStatement(user, period, writer);
+                case TAX_SUMMARY -> writeTaxSummary(user, period, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Every transaction with the running balance, then monthly income,
+     * expenses and closing balances. Transfer legs are listed and move the
+     * balance, but count as neither income nor expenses.
+     */
+    private void writeStatement(User user, ReportJob.Period period, ReportWriter writer) throws IOException {
+        Map<Long, String> accountNames = new HashMap<>();
+        for (Account account : accountRepository.findByUserOrderByName(user)) {
+            accountNames.put(account.getId(), account.getName());
+        }
+        BigDecimal opening = balanceBefore(user, period.start());
+        Map<LocalDate, BigDecimal[]> months = emptyMonths(period);
+
+        writer.title("Statement " + period + " - " + user.getName());
+        writer.table("Transactions", STATEMENT_COLUMNS);
+        writer.row(period.start(), "Opening balance", null, null, null, null, money(opening));
+        BigDecimal[] balance = { opening };
+        stream(user, period, row -> {
+            BigDecimal signed = row.type().isInflow() ? row.amount() : row.amount().negate();
+            balance[0] = balance[0].add(signed);
+            BigDecimal[] month = months.get(row.date().withDayOfMonth(1));
+            if (row.type() == Transaction.TransactionType.INCOME) {
+                month[0] = month[0].add(row.amount());
+            } else if (row.type() == Transaction.TransactionType.EXPENSE) {
+                month[1] = month[1].add(row.amount());
+            }
+            month[2] = month[2].add(signed);
+            writer.row(row.date(), row.description(), row.category(),
+                row.accountId() != null ? accountNames.get(row.accountId()) : null,
+                row.type().name(), money(signed), money(balance[0]));
+        });
+
+        writer.table("Monthly summary", MONTHLY_COLUMNS);
+        BigDecimal closing = opening;
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expenses = BigDecimal.ZERO;
+        for (Map.Entry<LocalDate, BigDecimal[]> month : months.entrySet()) {
+            BigDecimal[] totals = month.getValue();
+            closing = closing.add(totals[2]);
+            income = income.add(totals[0]);
+            expenses = expenses.add(totals[1]);
+            writer.row(monthName(month.getKey()), money(totals[0]), money(totals[1]), money(totals[2]), money(closing));
+        }
+
+        writer.table("Totals", TOTAL_COLUMNS);
+        writer.row("Opening balance", money(opening));
+        writer.row("Income", money(income));
+        writer.row("Expenses", money(expenses));
+        writer.row("Closing balance", money(closing));
+    }
+
+    /**
+     * Income and expenses per category, by month for a yearly report.
+     * Transfers are left out.
+     */
+    private void writeTaxSummary(User user, ReportJob.Period period, ReportWriter writer) throws IOException {
+        boolean monthly = period.month() == null;
+        int columnCount = monthly ? 12 : 1;
+        Map<Transaction.TransactionType, Map<String, BigDecimal[]>> totals =
+            new EnumMap<>(Transaction.TransactionType.class);
+        stream(user, period, row -> {
+            if (!row.type().isTransfer()) {
+                BigDecimal[] byMonth = totals.computeIfAbsent(row.type(), type -> new TreeMap<>())
+                    .computeIfAbsent(Objects.requireNonNullElse(row.category(), ""), category -> zeros(columnCount));
+                int index = monthly ? row.date().getMonthValue() - 1 : 0;
+                byMonth[index] = byMonth[index].add(row.amount());
+            }
+        });
+
+        Column[] columns = new Column[(monthly ? 12 : 0) + 2];
+        columns[0] = Column.text("Category", 20);
+        for (int i = 0; monthly && i < 12; i++) {
+            columns[i + 1] = Column.number(Month.of(i + 1).getDisplayName(TextStyle.SHORT, Locale.ENGLISH), 10);
+        }
+        columns[columns.length - 1] = Column.number("Total", 13);
+
+        writer.title("Tax summary " + period + " - " + user.getName());
+        BigDecimal income = writeCategoryTable(writer, "Income by category", columns, monthly,
+            totals.getOrDefault(Transaction.TransactionType.INCOME, Map.of()));
+        BigDecimal expenses = writeCategoryTable(writer, "Expenses by category", columns, monthly,
+            totals.getOrDefault(Transaction.TransactionType.EXPENSE, Map.of()));
+
+        writer.table("Totals", TOTAL_COLUMNS);
+        writer.row("Income", money(income));
+        writer.row("Expenses", money(expenses));
+        writer.row("Net", money(income.subtract(expenses)));
+    }
+
+    private static BigDecimal writeCategoryTable(ReportWriter writer, String heading, Column[] columns,
+                                                 boolean monthly, Map<String, BigDecimal[]> categories)
+            throws IOException {
+        writer.table(heading, columns);
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal[]> category : categories.entrySet()) {
+            Object[] cells = new Object[columns.length];
+            cells[0] = category.getKey();
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal[] byMonth = category.getValue();
+            for (int i = 0; i < byMonth.length; i++) {
+                total = total.add(byMonth[i]);
+                if (monthly) {
+                    cells[i + 1] = money(byMonth[i]);
+                }
+            }
+            cells[cells.length - 1] = money(total);
+            writer.row(cells);
+            grandTotal = grandTotal.add(total);
+        }
+        return grandTotal;
+    }
+
+    /**
+     * Feeds the period's transactions, hot and archived, to the consumer in
+     * (transaction_date, id) order.
+     */
+    private void stream(User user, ReportJob.Period period, RowConsumer consumer) {
+        List<Transaction> archived = archiveService.getTransactions(user, period.start(), period.end());
+        archived.sort(TransactionSegment.ORDER);
+        // Backdated rows of an archived year stay hot until the next archive run, so both sides can have rows
+        Iterator<Transaction> pending = archived.iterator();
+        Transaction[] next = { pending.hasNext() ? pending.next() : null };
+
+        jdbcTemplate.query(connection -> rowsStatement(connection, user.getId(), period), (RowCallbackHandler) rs -> {
+            Row row = new Row(rs.getLong("id"), rs.getDate("transaction_date").toLocalDate(),
+                rs.getString("description"), rs.getString("category"),
+                Transaction.TransactionType.valueOf(rs.getString("type")), rs.getBigDecimal("amount"),
+                rs.getObject("account_id", Long.class));
+            while (next[0] != null && (next[0].getTransactionDate().isBefore(row.date())
+                    || (next[0].getTransactionDate().equals(row.date()) && next[0].getId() < row.id()))) {
+                accept(consumer, Row.of(next[0]));
+                next[0] = pending.hasNext() ? pending.next() : null;
+            }
+            accept(consumer, row);
+        });
+        while (next[0] != null) {
+            accept(consumer, Row.of(next[0]));
+            next[0] = pending.hasNext() ? pending.next() : null;
+        }
+    }
+
+    private PreparedStatement rowsStatement(Connection connection, Long userId, ReportJob.Period period)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(ROWS_SQL, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        // Connector/J only streams with this sentinel; any other fetch size buffers the whole result
+        statement.setFetchSize(product.contains("mysql") || product.contains("mariadb") ? Integer.MIN_VALUE : fetchSize);
+        statement.setLong(1, userId);
+        statement.setDate(2, Date.valueOf(period.start()));
+        statement.setDate(3, Date.valueOf(period.end()));
+        return statement;
+    }
+
+    private BigDecimal balanceBefore(User user, LocalDate date) {
+        BigDecimal balance = jdbcTemplate.queryForObject(BALANCE_BEFORE_SQL, BigDecimal.class,
+            user.getId(), Date.valueOf(date));
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> archived =
+            new EnumMap<>(Transaction.TransactionType.class);
+        archiveService.addCategoryTotals(user, null, date.minusDays(1), archived);
+        for (Map.Entry<Transaction.TransactionType, Map<String, BigDecimal>> type : archived.entrySet()) {
+            for (BigDecimal total : type.getValue().values()) {
+                balance = type.getKey().isInflow() ? balance.add(total) : balance.subtract(total);
+            }
+        }
+        return balance;
+    }
+
+    private static Map<LocalDate, BigDecimal[]> emptyMonths(ReportJob.Period period) {
+        Map<LocalDate, BigDecimal[]> months = new TreeMap<>();
+        for (LocalDate month = period.start(); !month.isAfter(period.end()); month = month.plusMonths(1)) {
+            months.put(month, zeros(3));
+        }
+        return months;
+    }
+
+    private static BigDecimal[] zeros(int length) {
+        BigDecimal[] values = new BigDecimal[length];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+
+    private static String monthName(LocalDate month) {
+        return month.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static void accept(RowConsumer consumer, Row row) {
+        try {
+            consumer.accept(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(Row row) throws IOException;
+    }
+
+    private record Row(long id, LocalDate date, String description, String category,
+                       Transaction.TransactionType type, BigDecimal amount, Long accountId) {
+
+        static Row of(Transaction transaction) {
+            return new Row(transaction.getId(), transaction.getTransactionDate(), transaction.getDescription(),
+                transaction.getCategory(), transaction.getType(), transaction.getAmount(), transaction.getAccountId());
+        }
+    }
+}
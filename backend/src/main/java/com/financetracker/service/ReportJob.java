@@ -0,0 +1,137 @@
+package com.financetracker.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * A report requested through ReportService, as returned to status polls.
+ * The artifact it produces is shared by every job for the same user,
+ * report type, period, format and ledger version.
+ */
+public class ReportJob {
+
+    public enum ReportType {
+        STATEMENT, TAX_SUMMARY
+    }
+
+    public enum ReportFormat {
+        CSV("csv", "text/csv; charset=UTF-8"),
+        PDF("pdf", "application/pdf");
+
+        private final String extension;
+        private final String contentType;
+
+        ReportFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() { return extension; }
+
+        public String getContentType() { return contentType; }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    /**
+     * A calendar year, or one of its months when month is set.
+     */
+    public record Period(int year, Integer month) {
+
+        public LocalDate start() {
+            return LocalDate.of(year, month != null ? month : 1, 1);
+        }
+
+        public LocalDate end() {
+            return month != null ? start().plusMonths(1).minusDays(1) : LocalDate.of(year, 12, 31);
+        }
+
+        @Override
+        public String toString() {
+            return month != null ? String.format("%d-%02d", year, month) : String.valueOf(year);
+        }
+    }
+
+    private final String id;
+    private final Long userId;
+    private final ReportType type;
+    private final Period period;
+    private final ReportFormat format;
+    private final long ledgerVersion;
+    private final Path artifact;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cached;
+    private volatile Long size;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    ReportJob(String id, Long userId, ReportType type, Period period, ReportFormat format, long ledgerVersion,
+              Path artifact) {
+        this.id = id;
+        this.userId = userId;
+        this.type = type;
+        this.period = period;
+        this.format = format;
+        this.ledgerVersion = ledgerVersion;
+        this.artifact = artifact;
+    }
+
+    public String getId() { return id; }
+
+    @JsonIgnore
+    public Long getUserId() { return userId; }
+
+    public ReportType getType() { return type; }
+
+    public String getPeriod() { return period.toString(); }
+
+    public ReportFormat getFormat() { return format; }
+
+    public long getLedgerVersion() { return ledgerVersion; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+
+    public Status getStatus() { return status; }
+
+    // True when the artifact was already stored and nothing was built
+    public boolean isCached() { return cached; }
+
+    public Long getSize() { return size; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public String getError() { return error; }
+
+    @JsonIgnore
+    public String getFileName() {
+        return type.name().toLowerCase(Locale.ROOT).replace('_', '-') + "-" + period + "." + format.getExtension();
+    }
+
+    Period getReportPeriod() { return period; }
+
+    Path getArtifact() { return artifact; }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void succeed(long size, boolean cached) {
+        this.size = size;
+        this.cached = cached;
+        finishedAt = LocalDateTime.now();
+        status = Status.DONE;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+}
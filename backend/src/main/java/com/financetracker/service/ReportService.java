@@ -0,0 +1,295 @@
+package com.financetracker.service;
+
+import com.financetracker.config.ShardContext;
+import com.financetracker.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Statements and tax summaries built in the background.
+ *
+ * A submitted report becomes a ReportJob run by a pool of
+ * app.reports.threads with a bounded queue; a full queue, or a user with
+ * app.reports.max-jobs-per-user unfinished jobs, is refused with a
+ * RejectedExecutionException. Finished reports are stored under
+ * app.reports.dir/{userId}/ as {type}_{period}_v{ledger version}.{format}.
+ * Since every transaction write bumps the ledger version (see
+ * LedgerService), a stored file is current exactly when its name matches
+ * the user's version, and submitting it again completes at once without
+ * touching the transactions. Identical submissions while a report is being
+ * built share its job. Building a newer version deletes the older files.
+ *
+ * Jobs and files are local to the node. Files unused for app.reports.ttl
+ * are deleted, along with the jobs that finished before then.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    @Autowired
+    private ReportGenerator reportGenerator;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.reports.dir:data/reports}")
+    private Path reportDir;
+
+    @Value("${app.reports.threads:2}")
+    private int threads;
+
+    @Value("${app.reports.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.reports.max-jobs-per-user:3}")
+    private int maxJobsPerUser;
+
+    @Value("${app.reports.ttl:24h}")
+    private Duration ttl;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // Queued or running job of each artifact
+    private final Map<Path, ReportJob> building = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private Counter cachedCounter;
+    private Counter rejectedCounter;
+    private Timer buildTimer;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "report-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        cachedCounter = Counter.builder("app.reports.cached")
+            .description("Reports served from a stored artifact without building them")
+            .register(meterRegistry);
+        rejectedCounter = Counter.builder("app.reports.rejected")
+            .description("Reports refused because the queue or the user's job limit was full")
+            .register(meterRegistry);
+        buildTimer = Timer.builder("app.reports.build")
+            .description("Time to build a report artifact")
+            .register(meterRegistry);
+        Gauge.builder("app.reports.queue", executor, e -> e.getQueue().size())
+            .description("Reports waiting for a report thread")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the report, or returns a finished job when the artifact for the
+     * user's current ledger version is stored already.
+     */
+    public ReportJob submit(User user, ReportJob.ReportType type, ReportJob.Period period, ReportJob.ReportFormat format) {
+        long version = ledgerService.getVersion(user.getId());
+        Path artifact = userDir(user.getId()).resolve(artifactPrefix(type, period) + version + "." + format.getExtension());
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), user.getId(), type, period, format, version, artifact);
+        if (completeFromStore(job)) {
+            return job;
+        }
+
+        ReportJob current = building.computeIfAbsent(artifact, key -> {
+            long unfinished = building.values().stream().filter(other -> other.getUserId().equals(user.getId())).count();
+            return unfinished < maxJobsPerUser ? job : null;
+        });
+        if (current == null) {
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("Too many unfinished reports");
+        }
+        if (current != job) {
+            return current;
+        }
+        // Built by a job that finished since the check above
+        if (completeFromStore(job)) {
+            building.remove(artifact, job);
+            return job;
+        }
+
+        jobs.put(job.getId(), job);
+        String shard = ShardContext.getCurrentShard();
+        try {
+            executor.execute(() -> ShardContext.callOn(shard, () -> {
+                build(job, user);
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            building.remove(artifact, job);
+            rejectedCounter.increment();
+            throw e;
+        }
+        return job;
+    }
+
+    public ReportJob getJob(Long userId, String id) {
+        ReportJob job = jobs.get(id);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new RuntimeException("Report job not found");
+        }
+        return job;
+    }
+
+    /**
+     * The finished job's file, kept for another app.reports.ttl.
+     */
+    public Path getArtifact(Long userId, String id) {
+        ReportJob job = getJob(userId, id);
+        if (job.getStatus() != ReportJob.Status.DONE) {
+            throw new IllegalStateException("Report is not ready");
+        }
+        try {
+            Files.setLastModifiedTime(job.getArtifact(), FileTime.from(Instant.now()));
+        } catch (NoSuchFileException e) {
+            jobs.remove(id);
+            throw new RuntimeException("Report job not found");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return job.getArtifact();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.expiry-interval-ms:600000}")
+    public void expireArtifacts() {
+        LocalDateTime jobCutoff = LocalDateTime.now().minus(ttl);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(jobCutoff));
+        if (!Files.isDirectory(reportDir)) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(ttl);
+        List<Path> expired;
+        try (Stream<Path> files = Files.find(reportDir, 2, (path, attributes) ->
+                attributes.isRegularFile() && attributes.lastModifiedTime().toInstant().isBefore(cutoff))) {
+            expired = files.toList();
+        } catch (IOException e) {
+            logger.warn("Could not scan {} for expired reports", reportDir, e);
+            return;
+        }
+        for (Path file : expired) {
+            deleteQuietly(file);
+        }
+        if (!expired.isEmpty()) {
+            logger.info("Deleted {} report files unused for {}", expired.size(), ttl);
+        }
+    }
+
+    private void build(ReportJob job, User user) {
+        job.start();
+        Path artifact = job.getArtifact();
+        Path temp = artifact.resolveSibling(artifact.getFileName() + "." + job.getId() + TEMP_SUFFIX);
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(artifact.getParent());
+            reportGenerator.generate(user, job.getType(), job.getReportPeriod(), job.getFormat(), temp);
+            Files.move(temp, artifact, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.succeed(Files.size(artifact), false);
+            buildTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            deleteOlderVersions(job);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Report job {} ({} {} of user {}) failed", job.getId(), job.getType(), job.getPeriod(),
+                job.getUserId(), e);
+            deleteQuietly(temp);
+            job.fail("Report could not be generated");
+        } finally {
+            building.remove(artifact, job);
+        }
+    }
+
+    private boolean completeFromStore(ReportJob job) {
+        try {
+            // Touched, so that it outlives this request by app.reports.ttl
+            Files.setLastModifiedTime(job.getArtifact(), FileTime.from(Instant.now()));
+            job.succeed(Files.size(job.getArtifact()), true);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jobs.put(job.getId(), job);
+        cachedCounter.increment();
+        return true;
+    }
+
+    private void deleteOlderVersions(ReportJob job) {
+        String prefix = artifactPrefix(job.getType(), job.getReportPeriod());
+        String suffix = "." + job.getFormat().getExtension();
+        List<Path> older = new ArrayList<>();
+        try (Stream<Path> files = Files.list(job.getArtifact().getParent())) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                    String version = name.substring(prefix.length(), name.length() - suffix.length());
+                    if (version.chars().allMatch(Character::isDigit) && Long.parseLong(version) < job.getLedgerVersion()) {
+                        older.add(file);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not list {}; older reports are left to expire", job.getArtifact().getParent(), e);
+        }
+        older.forEach(ReportService::deleteQuietly);
+    }
+
+    private Path userDir(Long userId) {
+        return reportDir.resolve(String.valueOf(userId));
+    }
+
+    // The period never contains '_', so one period's prefix cannot match another's files
+    private static String artifactPrefix(ReportJob.ReportType type, ReportJob.Period period) {
+        return type.name().toLowerCase(Locale.ROOT) + "_" + period + "_v";
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", path, e);
+        }
+    }
+}
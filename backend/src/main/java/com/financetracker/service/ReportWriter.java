@@ -0,0 +1,33 @@
+package com.financetracker.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Output format of a report: a title, then tables written row by row, so a
+ * report is never held in memory whole. Cells are strings, numbers, dates
+ * or null.
+ */
+interface ReportWriter extends Closeable {
+
+    void title(String title) throws IOException;
+
+    void table(String heading, Column... columns) throws IOException;
+
+    void row(Object... cells) throws IOException;
+
+    /**
+     * Width is in characters, for formats laid out in fixed columns; numeric
+     * columns are right-aligned there.
+     */
+    record Column(String name, int width, boolean numeric) {
+
+        static Column text(String name, int width) {
+            return new Column(name, width, false);
+        }
+
+        static Column number(String name, int width) {
+            return new Column(name, width, true);
+        }
+    }
+}
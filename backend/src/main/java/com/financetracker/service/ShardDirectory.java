@@ -0,0 +1,145 @@
+package com.financetracker.service;
+
+import com.financetracker.config.ConsistentHashRing;
+import com.financetracker.config.ShardContext;
+import com.financetracker.config.ShardDataSources;
+import com.financetracker.config.ShardingProperties;
+import com.financetracker.model.User;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Maps users to the shard that owns their data.
+ *
+ * New users are placed with consistent hashing on their id and the placement
+ * is recorded in the directory database, so adding a shard only changes where
+ * future users land and never moves existing ones. Users without a recorded
+ * placement (registered before sharding was enabled) stay on the directory
+ * database. Without app.sharding every method degrades to the single database.
+ */
+@Service
+public class ShardDirectory {
+
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS user_shards (user_id BIGINT NOT NULL PRIMARY KEY, shard VARCHAR(64) NOT NULL)";
+
+    // Shard-local copy of the user row, so foreign keys to users hold on the shard
+    private static final String COPY_USER_SQL =
+        "INSERT INTO users (id, name, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Cached marker for users that live on the directory database
+    private static final String DIRECTORY = "";
+
+    @Autowired(required = false)
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    private ConsistentHashRing ring;
+    private JdbcTemplate directory;
+    private final Map<String, JdbcTemplate> shards = new LinkedHashMap<>();
+
+    private final Map<Long, String> shardByUserId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (shardDataSources == null) {
+            return;
+        }
+        shardDataSources.getShards().forEach((name, dataSource) -> shards.put(name, new JdbcTemplate(dataSource)));
+        ring = new ConsistentHashRing(shards.keySet(), shardingProperties.getVirtualNodes());
+        directory = new JdbcTemplate(shardDataSources.getDirectory());
+        directory.execute(CREATE_TABLE_SQL);
+    }
+
+    public boolean isEnabled() {
+        return shardDataSources != null;
+    }
+
+    /**
+     * Returns the shard owning the user's data, or null for the directory
+     * database.
+     */
+    public String getShard(Long userId) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String shard = shardByUserId.get(userId);
+        if (shard == null) {
+            List<String> rows = directory.queryForList(
+                "SELECT shard FROM user_shards WHERE user_id = ?", String.class, userId);
+            shard = rows.isEmpty() ? DIRECTORY : rows.get(0);
+            shardByUserId.putIfAbsent(userId, shard);
+        }
+        return DIRECTORY.equals(shard) ? null : shard;
+    }
+
+    /**
+     * Places a newly registered user on a shard. Call after the user has been
+     * saved to the directory database.
+     */
+    public String assign(User user) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String shard = ring.shardFor(user.getId());
+        // Copy first, so a recorded placement always points at an existing user row
+        shards.get(shard).update(COPY_USER_SQL, user.getId(), user.getName(), user.getEmail(), user.getPassword(),
+            Timestamp.valueOf(user.getCreatedAt()), Timestamp.valueOf(user.getUpdatedAt()));
+        directory.update("INSERT INTO user_shards (user_id, shard) VALUES (?, ?)", user.getId(), shard);
+        shardByUserId.put(user.getId(), shard);
+        return shard;
+    }
+
+    /**
+     * Runs the task against every database holding user data (the directory
+     * and each shard) in parallel, with the ShardContext set for each run, and
+     * returns the results in a stable order. Without sharding the task runs
+     * once on the calling thread.
+     */
+    public <T> List<T> fanOut(Function<String, T> task) {
+        if (!isEnabled()) {
+            return Collections.singletonList(task.apply(null));
+        }
+
+        List<String> targets = new ArrayList<>();
+        targets.add(null);
+        targets.addAll(shards.keySet());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>(targets.size());
+            for (String shard : targets) {
+                futures.add(executor.submit(() -> ShardContext.callOn(shard, () -> task.apply(shard))));
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    String name = targets.get(i) != null ? targets.get(i) : "directory";
+                    throw new RuntimeException("Task failed on shard " + name, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for shards", e);
+                }
+            }
+            return results;
+        }
+    }
+}
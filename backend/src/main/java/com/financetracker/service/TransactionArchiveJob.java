@@ -0,0 +1,304 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Moves whole years of transactions older than app.archive.horizon-years
+ * out of the transactions table into TransactionSegment files (see
+ * TransactionArchiveService), on all shards in parallel. Disabled unless
+ * app.archive.cron is set.
+ *
+ * Each (user, year) is one database transaction: lock the year's rows, merge
+ * them with the year's existing segment into a pending file, replace the
+ * year's rollups, bump the generation in transaction_archive_segments and
+ * delete the rows, and bump the user's ledger version so that cached reports
+ * and indexes built from the table are dropped. The pending file is renamed
+ * over the segment after commit; readers use the committed generation's
+ * pending file until then. If the node dies in between, the next run
+ * promotes pending files whose generation committed and deletes the others,
+ * so archived rows are never visible twice and a segment is never merged
+ * from a stale file.
+ * Backdated transactions written into an archived year later are merged in
+ * by the next run.
+ */
+@Component
+public class TransactionArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveJob.class);
+
+    // A pending file this old without a committed generation belongs to a run that failed
+    private static final Duration ABANDONED_AFTER = Duration.ofHours(1);
+
+    private static final String CANDIDATES_SQL =
+        "SELECT DISTINCT user_id, YEAR(transaction_date) FROM transactions WHERE transaction_date < ? "
+        + "ORDER BY 1, 2";
+
+    private static final String GENERATION_SQL =
+        "SELECT generation FROM transaction_archive_segments WHERE user_id = ? AND period_year = ? FOR UPDATE";
+
+    private static final String ROWS_SQL =
+        "SELECT id, description, amount, category, transaction_date, type, notes, duplicate_of_id, "
+        + "recurring_transaction_id, account_id, transfer_peer_id, created_at, updated_at FROM transactions "
+        + "WHERE user_id = ? AND transaction_date >= ? AND transaction_date < ? "
+        + "ORDER BY transaction_date, id FOR UPDATE";
+
+    private static final String COMMITTED_GENERATION_SQL =
+        "SELECT generation FROM transaction_archive_segments WHERE user_id = ? AND period_year = ?";
+
+    private static final String INSERT_SEGMENT_SQL =
+        "INSERT INTO transaction_archive_segments (user_id, period_year, generation, row_count, archived_at) "
+        + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SEGMENT_SQL =
+        "UPDATE transaction_archive_segments SET generation = ?, row_count = ?, archived_at = ? "
+        + "WHERE user_id = ? AND period_year = ?";
+
+    private static final String DELETE_ROLLUPS_SQL =
+        "DELETE FROM transaction_archive_rollups WHERE user_id = ? AND period_year = ?";
+
+    private static final String INSERT_ROLLUP_SQL =
+        "INSERT INTO transaction_archive_rollups (user_id, period_year, period_month, type, category, account_id, "
+        + "total, row_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_ROW_SQL = "DELETE FROM transactions WHERE id = ?";
+
+    private static final RowMapper<Transaction> ROW_MAPPER = (rs, rowNum) -> {
+        Transaction transaction = new Transaction(rs.getString("description"), rs.getBigDecimal("amount"),
+            rs.getString("category"), rs.getDate("transaction_date").toLocalDate(),
+            Transaction.TransactionType.valueOf(rs.getString("type")), rs.getString("notes"), null);
+        transaction.setId(rs.getLong("id"));
+        transaction.setDuplicateOfId(rs.getObject("duplicate_of_id", Long.class));
+        transaction.setRecurringTransactionId(rs.getObject("recurring_transaction_id", Long.class));
+        transaction.setAccountId(rs.getObject("account_id", Long.class));
+        transaction.setTransferPeerId(rs.getObject("transfer_peer_id", Long.class));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        transaction.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        transaction.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        return transaction;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.archive.horizon-years:2}")
+    private int horizonYears;
+
+    public TransactionArchiveJob(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:-}")
+    public void archiveOldTransactions() {
+        LocalDate cutoff = LocalDate.now().minusYears(Math.max(1, horizonYears)).withDayOfYear(1);
+        int archived = shardDirectory.fanOut(shard -> {
+            recoverPendingSegments(shard);
+            return archiveBefore(cutoff);
+        }).stream().mapToInt(Integer::intValue).sum();
+
+        if (archived > 0) {
+            logger.info("Archived {} transactions dated before {}", archived, cutoff);
+        }
+    }
+
+    /**
+     * Archives the current database's transactions dated before the cutoff,
+     * which must be a January 1, and returns how many were moved.
+     */
+    public int archiveBefore(LocalDate cutoff) {
+        if (cutoff.getDayOfYear() != 1) {
+            throw new IllegalArgumentException("Archives hold whole years");
+        }
+        List<long[]> candidates = jdbcTemplate.query(CANDIDATES_SQL,
+            (rs, rowNum) -> new long[] { rs.getLong(1), rs.getInt(2) }, Date.valueOf(cutoff));
+
+        int archived = 0;
+        for (long[] candidate : candidates) {
+            long userId = candidate[0];
+            int year = (int) candidate[1];
+            try {
+                archived += archiveYear(userId, year);
+            } catch (RuntimeException e) {
+                logger.warn("Archiving {} of user {} failed; retried on the next run", year, userId, e);
+            }
+        }
+        return archived;
+    }
+
+    private int archiveYear(long userId, int year) {
+        Path[] pending = new Path[1];
+        try {
+            Integer archived = transactionTemplate.execute(status -> {
+                List<Integer> generations = jdbcTemplate.queryForList(GENERATION_SQL, Integer.class, userId, year);
+                int generation = generations.isEmpty() ? 0 : generations.get(0);
+                List<Transaction> rows = jdbcTemplate.query(ROWS_SQL, ROW_MAPPER, userId,
+                    Date.valueOf(LocalDate.of(year, 1, 1)), Date.valueOf(LocalDate.of(year + 1, 1, 1)));
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+
+                Path segment = archiveService.segmentPath(userId, year);
+                List<Transaction> merged = new ArrayList<>(rows);
+                try {
+                    // An earlier run may have committed without getting to its rename
+                    promote(TransactionArchiveService.pendingPath(segment, generation), segment);
+                    if (Files.exists(segment)) {
+                        merged.addAll(TransactionSegment.open(segment).readAll(null));
+                    }
+                    Files.createDirectories(segment.getParent());
+                    pending[0] = TransactionArchiveService.pendingPath(segment, generation + 1);
+                    TransactionSegment.write(pending[0], year, merged);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                if (generations.isEmpty()) {
+                    jdbcTemplate.update(INSERT_SEGMENT_SQL, userId, year, generation + 1, merged.size(), now);
+                } else {
+                    jdbcTemplate.update(UPDATE_SEGMENT_SQL, generation + 1, merged.size(), now, userId, year);
+                }
+                jdbcTemplate.update(DELETE_ROLLUPS_SQL, userId, year);
+                jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, rollups(userId, year, merged));
+                List<Object[]> ids = new ArrayList<>(rows.size());
+                for (Transaction row : rows) {
+                    ids.add(new Object[] { row.getId() });
+                }
+                jdbcTemplate.batchUpdate(DELETE_ROW_SQL, ids);
+                ledgerService.invalidateFrom(userId, LocalDate.of(year, 1, 1));
+
+                Path promoted = pending[0];
+                AfterCommit.run(() -> {
+                    try {
+                        promote(promoted, segment);
+                    } catch (IOException e) {
+                        logger.warn("Could not promote {}; readers use it until the next run retries", promoted, e);
+                    }
+                });
+                return rows.size();
+            });
+            return archived != null ? archived : 0;
+        } catch (RuntimeException e) {
+            if (pending[0] != null) {
+                deleteQuietly(pending[0]);
+            }
+            throw e;
+        }
+    }
+
+    private static List<Object[]> rollups(long userId, int year, List<Transaction> rows) {
+        Map<RollupKey, BigDecimal> totals = new HashMap<>();
+        Map<RollupKey, Integer> counts = new HashMap<>();
+        for (Transaction row : rows) {
+            RollupKey key = new RollupKey(row.getTransactionDate().getMonthValue(), row.getType().name(),
+                row.getCategory(), row.getAccountId() != null ? row.getAccountId() : 0L);
+            totals.merge(key, row.getAmount(), BigDecimal::add);
+            counts.merge(key, 1, Integer::sum);
+        }
+        List<Object[]> args = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> args.add(new Object[] {
+            userId, year, key.month(), key.type(), key.category(), key.accountId(), total, counts.get(key)
+        }));
+        return args;
+    }
+
+    /**
+     * Settles pending files of the users on this database left behind by
+     * runs that died between commit and rename, or before commit.
+     */
+    private void recoverPendingSegments(String shard) {
+        Path root = archiveService.getArchiveDir();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> pendingFiles;
+        try (Stream<Path> files = Files.find(root, 2, (path, attributes) -> attributes.isRegularFile()
+                && path.getFileName().toString().endsWith(TransactionArchiveService.PENDING_SUFFIX))) {
+            pendingFiles = files.toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot scan the transaction archive", e);
+        }
+
+        for (Path file : pendingFiles) {
+            // {year}.seg.{generation}.pending
+            String[] parts = file.getFileName().toString().split("\\.");
+            long userId = Long.parseLong(file.getParent().getFileName().toString());
+            if (parts.length != 4 || !Objects.equals(shardDirectory.getShard(userId), shard)) {
+                continue;
+            }
+            int year = Integer.parseInt(parts[0]);
+            int generation = Integer.parseInt(parts[2]);
+            List<Integer> committed = jdbcTemplate.queryForList(COMMITTED_GENERATION_SQL, Integer.class, userId, year);
+            try {
+                if (!committed.isEmpty() && committed.get(0) == generation) {
+                    promote(file, archiveService.segmentPath(userId, year));
+                    logger.info("Promoted segment {} of user {} left pending", year, userId);
+                } else if ((!committed.isEmpty() && committed.get(0) > generation)
+                        || Files.getLastModifiedTime(file).toInstant().isBefore(Instant.now().minus(ABANDONED_AFTER))) {
+                    deleteQuietly(file);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not settle pending segment {}", file, e);
+            }
+        }
+    }
+
+    private static void promote(Path pending, Path segment) throws IOException {
+        try {
+            Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException e) {
+            // Promoted already
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", path, e);
+        }
+    }
+
+    private record RollupKey(int month, String type, String category, long accountId) {}
+}
@@ -0,0 +1,237 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the transaction archive: whole years of a user's old
+ * transactions moved out of the transactions table by TransactionArchiveJob
+ * into one TransactionSegment file each, under app.archive.dir/{userId}/.
+ * The directory must be shared by all nodes.
+ *
+ * Archived transactions are read-only. Their monthly totals per type,
+ * category and account are kept in transaction_archive_rollups, which the
+ * SQL aggregations (ledger openings, account reconciliation) union with the
+ * table; totals over whole archived years come from there too, partial years
+ * are summed from the segment's columns. Users without an archive directory
+ * cost no query at all.
+ *
+ * Which years are archived, and which generation of each year's file is
+ * current, comes from transaction_archive_segments, which commits together
+ * with the rollups and the deleted rows. Until the job renames the pending
+ * file of a committed generation over the segment, it is read in its place.
+ */
+@Service
+public class TransactionArchiveService {
+
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    static final String PENDING_SUFFIX = ".pending";
+
+    private static final String CREATE_ROLLUPS_SQL =
+        "CREATE TABLE IF NOT EXISTS transaction_archive_rollups (user_id BIGINT NOT NULL, period_year INT NOT NULL, "
+        + "period_month INT NOT NULL, type VARCHAR(16) NOT NULL, category VARCHAR(255) NOT NULL, "
+        + "account_id BIGINT NOT NULL, total DECIMAL(19, 2) NOT NULL, row_count INT NOT NULL, "
+        + "PRIMARY KEY (user_id, period_year, period_month, type, category, account_id))";
+
+    // The generation names the file a committed archive run wrote; see TransactionArchiveJob
+    private static final String CREATE_SEGMENTS_SQL =
+        "CREATE TABLE IF NOT EXISTS transaction_archive_segments (user_id BIGINT NOT NULL, period_year INT NOT NULL, "
+        + "generation INT NOT NULL, row_count INT NOT NULL, archived_at TIMESTAMP NOT NULL, "
+        + "PRIMARY KEY (user_id, period_year))";
+
+    private static final String ARCHIVED_YEARS_SQL =
+        "SELECT period_year, generation FROM transaction_archive_segments WHERE user_id = ? ORDER BY period_year";
+
+    private static final String CATEGORY_TOTALS_SQL =
+        "SELECT type, category, SUM(total) FROM transaction_archive_rollups "
+        + "WHERE user_id = ? AND period_year BETWEEN ? AND ? GROUP BY type, category";
+
+    private static final String ACCOUNT_TOTALS_SQL =
+        "SELECT account_id, SUM(CASE WHEN type IN ('INCOME', 'TRANSFER_IN') THEN total ELSE -total END) "
+        + "FROM transaction_archive_rollups WHERE user_id = ? AND account_id <> 0 GROUP BY account_id";
+
+    private static final String ACCOUNT_EXISTS_SQL =
+        "SELECT COUNT(*) FROM transaction_archive_rollups WHERE user_id = ? AND account_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Value("${app.archive.dir:data/transaction-archive}")
+    private Path archiveDir;
+
+    @PostConstruct
+    void createTables() {
+        shardDirectory.fanOut(shard -> {
+            jdbcTemplate.execute(CREATE_ROLLUPS_SQL);
+            jdbcTemplate.execute(CREATE_SEGMENTS_SQL);
+            return null;
+        });
+    }
+
+    /**
+     * The user's archived transactions dated between start and end
+     * inclusive, newest first; a null bound is open.
+     */
+    public List<Transaction> getTransactions(User user, LocalDate start, LocalDate end) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (ArchivedYear archived : archivedYears(user.getId())) {
+            if (overlaps(archived.year(), start, end)) {
+                try {
+                    transactions.addAll(openSegment(user.getId(), archived).read(user, start, end));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read archived transactions of " + archived.year(), e);
+                }
+            }
+        }
+        transactions.sort(TransactionSegment.ORDER.reversed());
+        return transactions;
+    }
+
+    /**
+     * Adds the user's archived per type and category totals dated between
+     * start and end inclusive (null bounds are open) to totals.
+     */
+    public void addCategoryTotals(User user, LocalDate start, LocalDate end,
+                                  Map<Transaction.TransactionType, Map<String, BigDecimal>> totals) {
+        // Years covered whole are contiguous and summed from the rollups in one query
+        int firstWhole = Integer.MAX_VALUE;
+        int lastWhole = Integer.MIN_VALUE;
+        for (ArchivedYear archived : archivedYears(user.getId())) {
+            int year = archived.year();
+            if (!overlaps(year, start, end)) {
+                continue;
+            }
+            LocalDate from = LocalDate.of(year, 1, 1);
+            LocalDate to = LocalDate.of(year, 12, 31);
+            if ((start == null || !start.isAfter(from)) && (end == null || !end.isBefore(to))) {
+                firstWhole = Math.min(firstWhole, year);
+                lastWhole = Math.max(lastWhole, year);
+                continue;
+            }
+            try {
+                openSegment(user.getId(), archived).addCategoryTotals(
+                    start != null && start.isAfter(from) ? start : from,
+                    end != null && end.isBefore(to) ? end : to, totals);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read archived transactions of " + year, e);
+            }
+        }
+        if (firstWhole <= lastWhole) {
+            jdbcTemplate.query(CATEGORY_TOTALS_SQL, rs -> {
+                totals.computeIfAbsent(Transaction.TransactionType.valueOf(rs.getString(1)), type -> new HashMap<>())
+                    .merge(rs.getString(2), rs.getBigDecimal(3), BigDecimal::add);
+            }, user.getId(), firstWhole, lastWhole);
+        }
+    }
+
+    /**
+     * What the user's archived transactions add to each account's balance.
+     */
+    public Map<Long, BigDecimal> getAccountTotals(Long userId) {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        if (archivedYears(userId).isEmpty()) {
+            return totals;
+        }
+        jdbcTemplate.query(ACCOUNT_TOTALS_SQL, rs -> {
+            totals.put(rs.getLong(1), rs.getBigDecimal(2));
+        }, userId);
+        return totals;
+    }
+
+    public boolean hasAccountTransactions(Long userId, Long accountId) {
+        Integer count = jdbcTemplate.queryForObject(ACCOUNT_EXISTS_SQL, Integer.class, userId, accountId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * The years whose transactions the user has archived; their rows are
+     * only in the archive, and read-only.
+     */
+    public Set<Integer> getArchivedYears(Long userId) {
+        return archivedYears(userId).stream().map(ArchivedYear::year).collect(Collectors.toSet());
+    }
+
+    /**
+     * Years with a committed segment, ascending.
+     */
+    List<ArchivedYear> archivedYears(Long userId) {
+        if (!Files.isDirectory(userDir(userId))) {
+            return List.of();
+        }
+        return jdbcTemplate.query(ARCHIVED_YEARS_SQL,
+            (rs, rowNum) -> new ArchivedYear(rs.getInt(1), rs.getInt(2)), userId);
+    }
+
+    private TransactionSegment openSegment(Long userId, ArchivedYear archived) throws IOException {
+        return openSegment(archiveDir, userId, archived.year(), archived.generation());
+    }
+
+    /**
+     * Opens a committed generation of a user's archived year under the
+     * archive directory, for readers without this service such as the
+     * reactive read path: its pending file until the job renames it over
+     * the segment, the segment after.
+     */
+    public static TransactionSegment openSegment(Path archiveDir, Long userId, int year, int generation)
+            throws IOException {
+        Path segment = segmentPath(archiveDir, userId, year);
+        try {
+            return TransactionSegment.open(pendingPath(segment, generation));
+        } catch (NoSuchFileException e) {
+            return TransactionSegment.open(segment);
+        }
+    }
+
+    Path userDir(Long userId) {
+        return userDir(archiveDir, userId);
+    }
+
+    Path segmentPath(Long userId, int year) {
+        return segmentPath(archiveDir, userId, year);
+    }
+
+    public static Path userDir(Path archiveDir, Long userId) {
+        return archiveDir.resolve(String.valueOf(userId));
+    }
+
+    private static Path segmentPath(Path archiveDir, Long userId, int year) {
+        return userDir(archiveDir, userId).resolve(year + SEGMENT_SUFFIX);
+    }
+
+    static Path pendingPath(Path segment, int generation) {
+        return segment.resolveSibling(segment.getFileName() + "." + generation + PENDING_SUFFIX);
+    }
+
+    Path getArchiveDir() {
+        return archiveDir;
+    }
+
+    record ArchivedYear(int year, int generation) {}
+
+    private static boolean overlaps(int year, LocalDate start, LocalDate end) {
+        return (start == null || start.getYear() <= year) && (end == null || end.getYear() >= year);
+    }
+}
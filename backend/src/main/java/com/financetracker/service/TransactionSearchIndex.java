@@ -0,0 +1,263 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over one user's transaction descriptions and notes.
+ *
+ * Every indexed version of a transaction gets a new, increasing document
+ * number, so postings are append-only and stored as delta/varint encoded byte
+ * arrays. Updates and deletes tombstone the previous document. Query terms
+ * are matched as prefixes through the sorted term dictionary.
+ */
+public class TransactionSearchIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> docByTransactionId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    // Per-document columns used to filter without loading entities
+    private long[] transactionIds = new long[1024];
+    private int[] epochDays = new int[1024];
+    private byte[] types = new byte[1024];
+    private String[] categories = new String[1024];
+    private int docCount;
+
+    public void add(Long id, String description, String notes, LocalDate date,
+                    Transaction.TransactionType type, String category) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByTransactionId.get(id);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            transactionIds[doc] = id;
+            epochDays[doc] = (int) date.toEpochDay();
+            types[doc] = (byte) type.ordinal();
+            categories[doc] = category;
+            docByTransactionId.put(id, doc);
+
+            String[] terms = tokenize(description + " " + (notes != null ? notes : ""));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new PostingList()).add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByTransactionId.remove(id);
+            if (doc != null) {
+                deleted.set(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of transactions containing every query term as a word
+     * prefix, newest first.
+     */
+    public List<Long> search(String query, LocalDate startDate, LocalDate endDate,
+                             Transaction.TransactionType type, Predicate<String> categoryFilter, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (String term : terms) {
+                BitSet termMatches = new BitSet(docCount);
+                for (PostingList list : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                    list.decodeInto(termMatches);
+                }
+                if (matches == null) {
+                    matches = termMatches;
+                } else {
+                    matches.and(termMatches);
+                }
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+            matches.andNot(deleted);
+
+            int minDay = startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE;
+            int maxDay = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+            // Keep only the newest `limit` hits in a min-heap keyed by (day, doc)
+            long[] heap = new long[Math.max(1, limit)];
+            int heapSize = 0;
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                if (epochDays[doc] < minDay || epochDays[doc] > maxDay) {
+                    continue;
+                }
+                if (type != null && types[doc] != type.ordinal()) {
+                    continue;
+                }
+                if (categoryFilter != null && !categoryFilter.test(categories[doc])) {
+                    continue;
+                }
+                long key = ((long) epochDays[doc] << 32) | doc;
+                if (heapSize < limit) {
+                    heap[heapSize] = key;
+                    siftUp(heap, heapSize++);
+                } else if (key > heap[0]) {
+                    heap[0] = key;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            long[] newest = Arrays.copyOf(heap, heapSize);
+            Arrays.sort(newest);
+            List<Long> ids = new ArrayList<>(heapSize);
+            for (int i = newest.length - 1; i >= 0; i--) {
+                ids.add(transactionIds[(int) newest[i]]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * True when more than half of the documents are stale versions, at which
+     * point rebuilding from the table is cheaper than carrying the garbage.
+     */
+    public boolean needsRebuild() {
+        lock.readLock().lock();
+        try {
+            return docCount > 1024 && deleted.cardinality() * 2 > docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                terms.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        return terms.stream().distinct().toArray(String[]::new);
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) {
+                return;
+            }
+            long tmp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            long tmp = heap[smallest];
+            heap[smallest] = heap[i];
+            heap[i] = tmp;
+            i = smallest;
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > transactionIds.length) {
+            int capacity = Math.max(size, transactionIds.length * 2);
+            transactionIds = Arrays.copyOf(transactionIds, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            types = Arrays.copyOf(types, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+        }
+    }
+
+    /**
+     * Ascending document numbers encoded as varint gaps.
+     */
+    static class PostingList {
+        private byte[] data = new byte[4];
+        private int length;
+        private int last = -1;
+
+        void add(int doc) {
+            if (doc == last) {
+                return;
+            }
+            int gap = doc - last;
+            last = doc;
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + 5, data.length * 2));
+            }
+            while ((gap & ~0x7F) != 0) {
+                data[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            data[length++] = (byte) gap;
+        }
+
+        void decodeInto(BitSet target) {
+            int doc = -1;
+            int pos = 0;
+            while (pos < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                doc += gap;
+                target.set(doc);
+            }
+        }
+    }
+}
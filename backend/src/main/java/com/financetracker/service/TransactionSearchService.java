@@ -0,0 +1,208 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Full-text search over a user's transactions through an in-memory index.
+ *
+ * An index only sees the writes made through this node, so it is tagged
+ * with the ledger version (see LedgerService) it is complete for, as
+ * DuplicateDetectionService does with its filters. A search rebuilds an
+ * index that is behind, such as after a write on another node.
+ *
+ * Only one search per user rebuilds at a time. Concurrent searches are
+ * served the stale index meanwhile, or wait for the rebuild when there is
+ * none yet, so a burst of searches after a remote write costs one table scan.
+ */
+@Service
+public class TransactionSearchService {
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Value("${app.search.max-indexed-users:1000}")
+    private int maxIndexedUsers;
+    
+    private record VersionedIndex(TransactionSearchIndex index, AtomicLong version) {}
+    
+    private record Rebuild(long version, CompletableFuture<VersionedIndex> index) {}
+    
+    // Least recently searched users are dropped first and rebuilt on demand
+    private final Map<Long, VersionedIndex> indexes = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, VersionedIndex> eldest) {
+                return size() > maxIndexedUsers;
+            }
+        });
+    // Bumped by every change, so a build that overlapped one is not published
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+    // The one build in flight per user
+    private final Map<Long, Rebuild> rebuilding = new ConcurrentHashMap<>();
+    
+    public List<Transaction> search(User user, String query, LocalDate startDate, LocalDate endDate,
+                                    Transaction.TransactionType type, String category, int limit) {
+        Predicate<String> categoryFilter = null;
+        if (category != null && !category.isBlank()) {
+            // A parent category also matches transactions in its subcategories
+            CategoryTree categoryTree = categoryService.getCategoryTree(user);
+            categoryFilter = c -> categoryTree.getSelfAndAncestors(c).contains(category);
+        }
+        
+        List<Long> ids = getIndex(user).search(query, startDate, endDate, type, categoryFilter, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        // Rows deleted since they were indexed (e.g. on another node) simply drop out here
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<Transaction> transactions = transactionRepository.findAllById(ids);
+        transactions.sort(Comparator.comparing(t -> rank.get(t.getId())));
+        return transactions;
+    }
+    
+    /**
+     * Applies a written transaction to the user's index, if it is loaded,
+     * once the write commits; otherwise the next search builds the index
+     * from the table. Call after LedgerService.invalidateFrom, in the same
+     * transaction.
+     */
+    public void index(User user, Transaction transaction) {
+        Long userId = user.getId();
+        Long id = transaction.getId();
+        String description = transaction.getDescription();
+        String notes = transaction.getNotes();
+        LocalDate date = transaction.getTransactionDate();
+        Transaction.TransactionType type = transaction.getType();
+        String category = transaction.getCategory();
+        OptionalLong written = ledgerService.getWrittenVersion(userId);
+        AfterCommit.run(() -> {
+            VersionedIndex current = changed(userId);
+            if (current != null) {
+                current.index().add(id, description, notes, date, type, category);
+                advance(current, written);
+            }
+        });
+    }
+    
+    public void remove(User user, Long transactionId) {
+        Long userId = user.getId();
+        OptionalLong written = ledgerService.getWrittenVersion(userId);
+        AfterCommit.run(() -> {
+            VersionedIndex current = changed(userId);
+            if (current != null) {
+                current.index().remove(transactionId);
+                advance(current, written);
+            }
+        });
+    }
+    
+    /**
+     * Drops a user's index after rows were written outside TransactionService.
+     */
+    public void invalidate(Long userId) {
+        synchronized (indexes) {
+            generations.merge(userId, 1L, Long::sum);
+            indexes.remove(userId);
+        }
+    }
+    
+    private VersionedIndex changed(Long userId) {
+        synchronized (indexes) {
+            generations.merge(userId, 1L, Long::sum);
+            return indexes.get(userId);
+        }
+    }
+    
+    // Only if the index was complete just before this write
+    private static void advance(VersionedIndex current, OptionalLong written) {
+        written.ifPresent(version -> current.version().compareAndSet(version - 1, version));
+    }
+    
+    private TransactionSearchIndex getIndex(User user) {
+        Long userId = user.getId();
+        long version = ledgerService.getVersion(userId);
+        VersionedIndex current = indexes.get(userId);
+        if (current != null && current.version().get() >= version && !current.index().needsRebuild()) {
+            return current.index();
+        }
+        
+        Rebuild rebuild = new Rebuild(version, new CompletableFuture<>());
+        Rebuild leader = rebuilding.putIfAbsent(userId, rebuild);
+        if (leader != null) {
+            if (current != null) {
+                // Another search is rebuilding it; until then the stale index answers
+                return current.index();
+            }
+            if (leader.version() >= version) {
+                try {
+                    return leader.index().join().index();
+                } catch (CompletionException e) {
+                    // The leading build failed; try on this thread
+                }
+            }
+            return rebuild(user, version, current).index();
+        }
+        try {
+            VersionedIndex built = rebuild(user, version, current);
+            rebuild.index().complete(built);
+            return built.index();
+        } catch (RuntimeException e) {
+            rebuild.index().completeExceptionally(e);
+            throw e;
+        } finally {
+            rebuilding.remove(userId, rebuild);
+        }
+    }
+    
+    private VersionedIndex rebuild(User user, long version, VersionedIndex current) {
+        // Built outside the lock; a change committed meanwhile may be missing from it
+        long generation = generations.getOrDefault(user.getId(), 0L);
+        VersionedIndex built = buildIndex(user, version);
+        synchronized (indexes) {
+            if (generations.getOrDefault(user.getId(), 0L) == generation
+                    && indexes.get(user.getId()) == current) {
+                indexes.put(user.getId(), built);
+            }
+        }
+        return built;
+    }
+    
+    // Tagged with a version read before the build, so it never claims rows it may have missed
+    private VersionedIndex buildIndex(User user, long version) {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        for (Object[] row : transactionRepository.findSearchFieldsByUser(user)) {
+            index.add((Long) row[0], (String) row[1], (String) row[2], (LocalDate) row[3],
+                (Transaction.TransactionType) row[4], (String) row[5]);
+        }
+        return new VersionedIndex(index, new AtomicLong(version));
+    }
+}
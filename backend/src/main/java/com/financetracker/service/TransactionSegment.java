@@ -0,0 +1,432 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One user's archived transactions of one year, stored column by column.
+ *
+ * Rows are sorted by (transaction_date, id). Each column is deflated on its
+ * own, so a reader inflates only the columns it needs straight from the
+ * memory-mapped file: totals read dates, amounts, types and categories and
+ * never touch the text. Within a column:
+ * - dates are day offsets from January 1, delta-encoded as varints
+ * - amounts are cents and ids are raw values, both zigzag delta varints
+ * - categories, descriptions and notes are indexes into a dictionary of
+ *   their distinct values
+ * - optional ids and timestamps (seconds) are varints of value + 1, 0 for null
+ *
+ * Layout: magic, version, year, row count, column count, then offset,
+ * compressed and raw length per column, then the column blocks.
+ */
+public final class TransactionSegment {
+
+    private static final int MAGIC = 0x46545347; // "FTSG"
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 1 + 2 + 4 + 1;
+    private static final int COLUMN_ENTRY_BYTES = 12;
+
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    static final Comparator<Transaction> ORDER =
+        Comparator.comparing(Transaction::getTransactionDate).thenComparing(Transaction::getId);
+
+    private enum Column {
+        ID, DATE, AMOUNT, TYPE, CATEGORY, DESCRIPTION, NOTES,
+        ACCOUNT, TRANSFER_PEER, DUPLICATE_OF, RECURRING, CREATED_AT, UPDATED_AT
+    }
+
+    private final ByteBuffer buffer;
+    private final int year;
+    private final int rowCount;
+
+    private TransactionSegment(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+            throw new IOException("Not a transaction segment");
+        }
+        this.year = buffer.getShort(5);
+        this.rowCount = buffer.getInt(7);
+        if (buffer.get(11) != Column.values().length) {
+            throw new IOException("Unexpected segment column count");
+        }
+    }
+
+    /**
+     * Maps the file read-only. The mapping stays valid when the file is
+     * replaced afterwards, so readers never see a half-written segment.
+     */
+    public static TransactionSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new TransactionSegment(mapped);
+        }
+    }
+
+    public int getYear() { return year; }
+
+    public int getRowCount() { return rowCount; }
+
+    /**
+     * Writes the rows, which must all fall in the year, sorted by date and id.
+     */
+    public static void write(Path path, int year, List<Transaction> rows) throws IOException {
+        List<Transaction> sorted = new ArrayList<>(rows);
+        sorted.sort(ORDER);
+        LocalDate start = LocalDate.of(year, 1, 1);
+
+        ColumnWriter[] columns = new ColumnWriter[Column.values().length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new ColumnWriter();
+        }
+        Dictionary categories = new Dictionary();
+        Dictionary descriptions = new Dictionary();
+        Dictionary notes = new Dictionary();
+        long previousId = 0;
+        long previousDay = 0;
+        long previousCents = 0;
+        int[] categoryCodes = new int[sorted.size()];
+        int[] descriptionCodes = new int[sorted.size()];
+        int[] noteCodes = new int[sorted.size()];
+
+        for (int row = 0; row < sorted.size(); row++) {
+            Transaction transaction = sorted.get(row);
+            if (transaction.getTransactionDate().getYear() != year) {
+                throw new IllegalArgumentException("Transaction " + transaction.getId() + " is not dated in " + year);
+            }
+            long day = transaction.getTransactionDate().toEpochDay() - start.toEpochDay();
+            long cents = transaction.getAmount().movePointRight(2).longValueExact();
+            columns[Column.ID.ordinal()].zigzag(transaction.getId() - previousId);
+            columns[Column.DATE.ordinal()].varint(day - previousDay);
+            columns[Column.AMOUNT.ordinal()].zigzag(cents - previousCents);
+            columns[Column.TYPE.ordinal()].put(transaction.getType().ordinal());
+            categoryCodes[row] = categories.code(transaction.getCategory());
+            descriptionCodes[row] = descriptions.code(transaction.getDescription());
+            noteCodes[row] = transaction.getNotes() == null ? 0 : notes.code(transaction.getNotes()) + 1;
+            columns[Column.ACCOUNT.ordinal()].optional(transaction.getAccountId());
+            columns[Column.TRANSFER_PEER.ordinal()].optional(transaction.getTransferPeerId());
+            columns[Column.DUPLICATE_OF.ordinal()].optional(transaction.getDuplicateOfId());
+            columns[Column.RECURRING.ordinal()].optional(transaction.getRecurringTransactionId());
+            columns[Column.CREATED_AT.ordinal()].optional(epochSeconds(transaction.getCreatedAt()));
+            columns[Column.UPDATED_AT.ordinal()].optional(epochSeconds(transaction.getUpdatedAt()));
+            previousId = transaction.getId();
+            previousDay = day;
+            previousCents = cents;
+        }
+        categories.writeTo(columns[Column.CATEGORY.ordinal()], categoryCodes);
+        descriptions.writeTo(columns[Column.DESCRIPTION.ordinal()], descriptionCodes);
+        notes.writeTo(columns[Column.NOTES.ordinal()], noteCodes);
+
+        byte[][] compressed = new byte[columns.length][];
+        int offset = HEADER_BYTES + columns.length * COLUMN_ENTRY_BYTES;
+        ByteBuffer header = ByteBuffer.allocate(offset);
+        header.putInt(MAGIC).put(VERSION).putShort((short) year).putInt(sorted.size()).put((byte) columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            compressed[i] = deflate(columns[i].toByteArray());
+            header.putInt(offset).putInt(compressed[i].length).putInt(columns[i].size());
+            offset += compressed[i].length;
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (byte[] block : compressed) {
+                writeFully(channel, ByteBuffer.wrap(block));
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Every row, as detached transactions owned by the user.
+     */
+    public List<Transaction> readAll(User user) throws IOException {
+        return read(user, null, null);
+    }
+
+    /**
+     * The rows dated between start and end inclusive; a null bound is open.
+     */
+    public List<Transaction> read(User user, LocalDate start, LocalDate end) throws IOException {
+        ColumnReader ids = column(Column.ID);
+        ColumnReader dates = column(Column.DATE);
+        ColumnReader amounts = column(Column.AMOUNT);
+        ColumnReader types = column(Column.TYPE);
+        ColumnReader categoryColumn = column(Column.CATEGORY);
+        String[] categories = categoryColumn.dictionary();
+        ColumnReader descriptionColumn = column(Column.DESCRIPTION);
+        String[] descriptions = descriptionColumn.dictionary();
+        ColumnReader noteColumn = column(Column.NOTES);
+        String[] notes = noteColumn.dictionary();
+        ColumnReader accounts = column(Column.ACCOUNT);
+        ColumnReader peers = column(Column.TRANSFER_PEER);
+        ColumnReader duplicates = column(Column.DUPLICATE_OF);
+        ColumnReader recurring = column(Column.RECURRING);
+        ColumnReader created = column(Column.CREATED_AT);
+        ColumnReader updated = column(Column.UPDATED_AT);
+
+        List<Transaction> rows = new ArrayList<>();
+        LocalDate first = LocalDate.of(year, 1, 1);
+        long id = 0;
+        long day = 0;
+        long cents = 0;
+        for (int row = 0; row < rowCount; row++) {
+            id += ids.zigzag();
+            day += dates.varint();
+            cents += amounts.zigzag();
+            Transaction.TransactionType type = TYPES[types.get()];
+            String category = categories[(int) categoryColumn.varint()];
+            String description = descriptions[(int) descriptionColumn.varint()];
+            int noteCode = (int) noteColumn.varint();
+            Long accountId = accounts.optional();
+            Long peerId = peers.optional();
+            Long duplicateOfId = duplicates.optional();
+            Long recurringId = recurring.optional();
+            Long createdAt = created.optional();
+            Long updatedAt = updated.optional();
+
+            LocalDate date = first.plusDays(day);
+            if ((start != null && date.isBefore(start)) || (end != null && date.isAfter(end))) {
+                continue;
+            }
+            Transaction transaction = new Transaction(description, BigDecimal.valueOf(cents, 2), category, date,
+                type, noteCode == 0 ? null : notes[noteCode - 1], user);
+            transaction.setId(id);
+            transaction.setAccountId(accountId);
+            transaction.setTransferPeerId(peerId);
+            transaction.setDuplicateOfId(duplicateOfId);
+            transaction.setRecurringTransactionId(recurringId);
+            transaction.setCreatedAt(dateTime(createdAt));
+            transaction.setUpdatedAt(dateTime(updatedAt));
+            rows.add(transaction);
+        }
+        return rows;
+    }
+
+    /**
+     * Per type and category totals of the rows dated between start and end
+     * inclusive, reading only the date, amount, type and category columns.
+     */
+    public void addCategoryTotals(LocalDate start, LocalDate end,
+                                  Map<Transaction.TransactionType, Map<String, BigDecimal>> totals) throws IOException {
+        ColumnReader dates = column(Column.DATE);
+        ColumnReader amounts = column(Column.AMOUNT);
+        ColumnReader types = column(Column.TYPE);
+        ColumnReader categoryColumn = column(Column.CATEGORY);
+        String[] categories = categoryColumn.dictionary();
+
+        long startDay = start.toEpochDay() - LocalDate.of(year, 1, 1).toEpochDay();
+        long endDay = end.toEpochDay() - LocalDate.of(year, 1, 1).toEpochDay();
+        long[][] cents = new long[TYPES.length][categories.length];
+        long day = 0;
+        long amount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            day += dates.varint();
+            amount += amounts.zigzag();
+            int type = types.get();
+            int category = (int) categoryColumn.varint();
+            if (day > endDay) {
+                break;
+            }
+            if (day >= startDay) {
+                cents[type][category] += amount;
+            }
+        }
+        for (int type = 0; type < TYPES.length; type++) {
+            for (int category = 0; category < categories.length; category++) {
+                if (cents[type][category] != 0) {
+                    totals.computeIfAbsent(TYPES[type], t -> new HashMap<>())
+                        .merge(categories[category], BigDecimal.valueOf(cents[type][category], 2), BigDecimal::add);
+                }
+            }
+        }
+    }
+
+    private ColumnReader column(Column column) throws IOException {
+        int entry = HEADER_BYTES + column.ordinal() * COLUMN_ENTRY_BYTES;
+        int offset = buffer.getInt(entry);
+        int compressedLength = buffer.getInt(entry + 4);
+        int rawLength = buffer.getInt(entry + 8);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressedLength));
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Truncated segment column " + column);
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt segment column " + column, e);
+        } finally {
+            inflater.end();
+        }
+        return new ColumnReader(raw);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ColumnWriter out = new ColumnWriter();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.put(chunk, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private static Long epochSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : null;
+    }
+
+    private static LocalDateTime dateTime(Long epochSeconds) {
+        return epochSeconds != null ? LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC) : null;
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        void writeTo(ColumnWriter out, int[] rowCodes) {
+            out.varint(values.size());
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.varint(bytes.length);
+                out.put(bytes, bytes.length);
+            }
+            for (int code : rowCodes) {
+                out.varint(code);
+            }
+        }
+    }
+
+    private static final class ColumnWriter {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void put(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        void put(byte[] source, int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size * 2, size + length));
+            }
+            System.arraycopy(source, 0, bytes, size, length);
+            size += length;
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                put((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            put((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void optional(Long value) {
+            varint(value == null ? 0 : value + 1);
+        }
+
+        int size() { return size; }
+
+        byte[] toByteArray() { return Arrays.copyOf(bytes, size); }
+    }
+
+    private static final class ColumnReader {
+        private final byte[] bytes;
+        private int position;
+
+        ColumnReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int get() {
+            return bytes[position++] & 0xFF;
+        }
+
+        long varint() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        Long optional() {
+            long value = varint();
+            return value == 0 ? null : value - 1;
+        }
+
+        String[] dictionary() {
+            String[] values = new String[(int) varint()];
+            for (int i = 0; i < values.length; i++) {
+                int length = (int) varint();
+                values[i] = new String(bytes, position, length, StandardCharsets.UTF_8);
+                position += length;
+            }
+            return values;
+        }
+    }
+}
@@ -1,34 +1,105 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.ImportResponse;
 import com.financetracker.model.Transaction;
 import com.financetracker.model.User;
 import com.financetracker.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TransactionService {
     
+    private static final String TRANSFER_CATEGORY = "Transfer";
+    
     @Autowired
     private TransactionRepository transactionRepository;
     
     @Autowired
     private BudgetService budgetService;
     
+    @Autowired
+    private CategorizationService categorizationService;
+    
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+    
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TransactionArchiveService archiveService;
+    
+    /**
+     * The user's transactions, newest first, including archived ones (see
+     * TransactionArchiveService), which are read-only.
+     */
+    @Transactional(readOnly = true)
     public List<Transaction> getAllTransactionsByUser(User user) {
-        return transactionRepository.findByUserOrderByTransactionDateDesc(user);
+        return withArchived(transactionRepository.findByUserOrderByTransactionDateDesc(user),
+            archiveService.getTransactions(user, null, null));
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByUserAndDateRange(User user, LocalDate startDate, LocalDate endDate) {
-        return transactionRepository.findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(user, startDate, endDate);
+        return withArchived(
+            transactionRepository.findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(user, startDate, endDate),
+            archiveService.getTransactions(user, startDate, endDate));
     }
     
+    private static List<Transaction> withArchived(List<Transaction> transactions, List<Transaction> archived) {
+        if (archived.isEmpty()) {
+            return transactions;
+        }
+        // Backdated writes can put newer rows in the table before older archived ones
+        List<Transaction> all = new ArrayList<>(transactions.size() + archived.size());
+        all.addAll(transactions);
+        all.addAll(archived);
+        all.sort(Comparator.comparing(Transaction::getTransactionDate).reversed());
+        return all;
+    }
+    
+    public List<Transaction> searchTransactions(User user, String query, LocalDate startDate, LocalDate endDate,
+                                                Transaction.TransactionType type, String category, int limit) {
+        return transactionSearchService.search(user, query, startDate, endDate, type, category, limit);
+    }
+    
+    @Transactional
     public Transaction createTransaction(Transaction transaction) {
+        rejectTransferType(transaction.getType());
+        // First, so that an unknown account fails before anything is written
+        accountService.adjustBalance(transaction.getUser(), transaction.getAccountId(),
+            AccountService.signedAmount(transaction));
+        categorizationService.categorize(transaction);
+        // Manual entries are never rejected, only marked
+        duplicateDetectionService.findDuplicate(transaction.getUser(), transaction)
+            .ifPresent(duplicate -> transaction.setDuplicateOfId(duplicate.getId()));
         Transaction savedTransaction = transactionRepository.save(transaction);
+        ledgerService.invalidateFrom(transaction.getUser().getId(), transaction.getTransactionDate());
+        duplicateDetectionService.register(transaction.getUser(), List.of(savedTransaction));
+        transactionSearchService.index(transaction.getUser(), savedTransaction);
         
         // Update budget spent amount if it's an expense
         if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
@@ -41,12 +112,129 @@ public class TransactionService {
             );
         }
         
+        liveUpdateService.publishDashboardChanged(transaction.getUser().getId());
         return savedTransaction;
     }
     
+    /**
+     * Saves a batch of imported rows, categorizing those without a category
+     * and applying one budget delta per (category, month) instead of one per row.
+     * Rows matching a transaction that existed before the import, archived
+     * ones included, are handled according to the duplicate policy; MERGE
+     * skips rows whose match is archived, since archived rows are read-only.
+     */
+    @Transactional
+    public ImportResponse importTransactions(User user, List<Transaction> transactions, DuplicatePolicy policy) {
+        List<Transaction> toInsert = new ArrayList<>(transactions.size());
+        List<Transaction> mergedTransactions = new ArrayList<>();
+        int skipped = 0;
+        int flagged = 0;
+        
+        for (Transaction transaction : transactions) {
+            rejectTransferType(transaction.getType());
+        }
+        List<Optional<Transaction>> duplicates = duplicateDetectionService.findDuplicates(user, transactions);
+        Set<Integer> archivedYears = policy == DuplicatePolicy.MERGE
+            ? archiveService.getArchivedYears(user.getId()) : Set.of();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            Optional<Transaction> duplicate = duplicates.get(i);
+            if (duplicate.isEmpty()) {
+                toInsert.add(transaction);
+                continue;
+            }
+            switch (policy) {
+                case SKIP -> skipped++;
+                case FLAG -> {
+                    transaction.setDuplicateOfId(duplicate.get().getId());
+                    toInsert.add(transaction);
+                    flagged++;
+                }
+                case MERGE -> {
+                    Transaction existing = duplicate.get();
+                    // Archived rows are read-only, so there is nothing to merge into
+                    if (archivedYears.contains(existing.getTransactionDate().getYear())
+                            && !transactionRepository.existsById(existing.getId())) {
+                        skipped++;
+                        continue;
+                    }
+                    if ((existing.getNotes() == null || existing.getNotes().isBlank()) && transaction.getNotes() != null) {
+                        existing.setNotes(transaction.getNotes());
+                    }
+                    mergedTransactions.add(existing);
+                }
+            }
+        }
+        
+        // One balance update per account instead of one per row
+        Map<Long, BigDecimal> accountDeltas = new HashMap<>();
+        for (Transaction transaction : toInsert) {
+            if (transaction.getAccountId() != null) {
+                accountDeltas.merge(transaction.getAccountId(), AccountService.signedAmount(transaction), BigDecimal::add);
+            }
+        }
+        accountService.adjustBalances(user, accountDeltas);
+        
+        categorizationService.categorizeAll(user, toInsert);
+        List<Transaction> savedTransactions = new ArrayList<>(transactionRepository.saveAll(toInsert));
+        if (!mergedTransactions.isEmpty()) {
+            transactionRepository.saveAll(mergedTransactions);
+        }
+        savedTransactions.stream().map(Transaction::getTransactionDate).min(LocalDate::compareTo)
+            .ifPresent(earliest -> ledgerService.invalidateFrom(user.getId(), earliest));
+        duplicateDetectionService.register(user, savedTransactions);
+        
+        // Merged and skipped rows are already counted in the budgets
+        Map<BudgetPeriodKey, BigDecimal> budgetDeltas = new HashMap<>();
+        for (Transaction transaction : savedTransactions) {
+            if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+                budgetDeltas.merge(BudgetPeriodKey.of(transaction), transaction.getAmount(), BigDecimal::add);
+            }
+        }
+        for (Map.Entry<BudgetPeriodKey, BigDecimal> delta : budgetDeltas.entrySet()) {
+            BudgetPeriodKey key = delta.getKey();
+            budgetService.updateSpentAmount(user, key.category(), delta.getValue(), key.month(), key.year());
+        }
+        
+        savedTransactions.addAll(mergedTransactions);
+        for (Transaction transaction : savedTransactions) {
+            transactionSearchService.index(user, transaction);
+        }
+        liveUpdateService.publishDashboardChanged(user.getId());
+        return new ImportResponse(savedTransactions.size() - mergedTransactions.size(), skipped, flagged,
+            mergedTransactions.size(), savedTransactions);
+    }
+    
+    /**
+     * Replaces the fields of a transaction. A transfer leg keeps its type,
+     * category and account; its amount, date, description and notes are
+     * copied to the other leg.
+     */
+    @Transactional
     public Transaction updateTransaction(Long id, Transaction updatedTransaction) {
         Transaction existingTransaction = transactionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        LocalDate previousDate = existingTransaction.getTransactionDate();
+        
+        if (existingTransaction.getType().isTransfer()) {
+            if (updatedTransaction.getType() != existingTransaction.getType()) {
+                throw new RuntimeException("The type of a transfer cannot be changed");
+            }
+            return updateTransfer(existingTransaction, updatedTransaction);
+        }
+        rejectTransferType(updatedTransaction.getType());
+        
+        BigDecimal previousSigned = AccountService.signedAmount(existingTransaction);
+        BigDecimal updatedSigned = AccountService.signedAmount(updatedTransaction);
+        if (Objects.equals(existingTransaction.getAccountId(), updatedTransaction.getAccountId())) {
+            accountService.adjustBalance(existingTransaction.getUser(), existingTransaction.getAccountId(),
+                updatedSigned.subtract(previousSigned));
+        } else {
+            Map<Long, BigDecimal> accountDeltas = new HashMap<>();
+            accountDeltas.put(existingTransaction.getAccountId(), previousSigned.negate());
+            accountDeltas.put(updatedTransaction.getAccountId(), updatedSigned);
+            accountService.adjustBalances(existingTransaction.getUser(), accountDeltas);
+        }
         
         // If the transaction type, amount, or category changed, update budget accordingly
         if (existingTransaction.getType() == Transaction.TransactionType.EXPENSE) {
@@ -66,8 +254,14 @@ public class TransactionService {
         existingTransaction.setTransactionDate(updatedTransaction.getTransactionDate());
         existingTransaction.setType(updatedTransaction.getType());
         existingTransaction.setNotes(updatedTransaction.getNotes());
+        existingTransaction.setAccountId(updatedTransaction.getAccountId());
+        categorizationService.categorize(existingTransaction);
         
-        Transaction saved = transactionRepository.save(existingTransaction);
+        Transaction saved = transactionRepository.saveAndFlush(existingTransaction);
+        ledgerService.invalidateFrom(saved.getUser().getId(),
+            previousDate.isBefore(saved.getTransactionDate()) ? previousDate : saved.getTransactionDate());
+        duplicateDetectionService.register(saved.getUser(), List.of(saved));
+        transactionSearchService.index(saved.getUser(), saved);
         
         // Add new amount to budget if it's an expense
         if (saved.getType() == Transaction.TransactionType.EXPENSE) {
@@ -80,13 +274,25 @@ public class TransactionService {
             );
         }
         
+        liveUpdateService.publishDashboardChanged(saved.getUser().getId());
         return saved;
     }
     
+    /**
+     * Deletes the transaction; for a transfer leg, both legs.
+     */
+    @Transactional
     public void deleteTransaction(Long id) {
         Transaction transaction = transactionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found"));
         
+        if (transaction.getType().isTransfer()) {
+            deleteTransfer(transaction);
+            return;
+        }
+        accountService.adjustBalance(transaction.getUser(), transaction.getAccountId(),
+            AccountService.signedAmount(transaction).negate());
+        
         // If it's an expense, subtract from budget spent amount
         if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
             budgetService.updateSpentAmount(
@@ -99,27 +305,172 @@ public class TransactionService {
         }
         
         transactionRepository.deleteById(id);
+        ledgerService.invalidateFrom(transaction.getUser().getId(), transaction.getTransactionDate());
+        duplicateDetectionService.registerDelete(transaction.getUser());
+        transactionSearchService.remove(transaction.getUser(), id);
+        liveUpdateService.publishDashboardChanged(transaction.getUser().getId());
+    }
+    
+    /**
+     * Moves money between two of the user's accounts as a TRANSFER_OUT leg on
+     * the source and a TRANSFER_IN leg on the destination, linked to each
+     * other. Transfers count as neither income nor expense.
+     */
+    @Transactional
+    public List<Transaction> createTransfer(User user, Long fromAccountId, Long toAccountId, BigDecimal amount,
+                                            LocalDate date, String description, String notes) {
+        if (fromAccountId.equals(toAccountId)) {
+            throw new RuntimeException("Transfer accounts must differ");
+        }
+        accountService.adjustBalances(user, Map.of(fromAccountId, amount.negate(), toAccountId, amount));
+        
+        String text = description != null && !description.isBlank() ? description : "Transfer";
+        Transaction out = new Transaction(text, amount, TRANSFER_CATEGORY, date,
+            Transaction.TransactionType.TRANSFER_OUT, notes, user);
+        out.setAccountId(fromAccountId);
+        Transaction in = new Transaction(text, amount, TRANSFER_CATEGORY, date,
+            Transaction.TransactionType.TRANSFER_IN, notes, user);
+        in.setAccountId(toAccountId);
+        List<Transaction> legs = transactionRepository.saveAll(List.of(out, in));
+        out.setTransferPeerId(in.getId());
+        in.setTransferPeerId(out.getId());
+        transactionRepository.saveAll(legs);
+        
+        ledgerService.invalidateFrom(user.getId(), date);
+        duplicateDetectionService.register(user, legs);
+        for (Transaction leg : legs) {
+            transactionSearchService.index(user, leg);
+        }
+        liveUpdateService.publishDashboardChanged(user.getId());
+        return legs;
     }
     
+    private Transaction updateTransfer(Transaction leg, Transaction updatedTransaction) {
+        Transaction peer = transactionRepository.findById(leg.getTransferPeerId())
+            .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        LocalDate previousDate = leg.getTransactionDate();
+        BigDecimal delta = updatedTransaction.getAmount().subtract(leg.getAmount());
+        Map<Long, BigDecimal> accountDeltas = new HashMap<>();
+        for (Transaction t : List.of(leg, peer)) {
+            accountDeltas.merge(t.getAccountId(), t.getType().isInflow() ? delta : delta.negate(), BigDecimal::add);
+        }
+        accountService.adjustBalances(leg.getUser(), accountDeltas);
+        
+        for (Transaction t : List.of(leg, peer)) {
+            t.setDescription(updatedTransaction.getDescription());
+            t.setAmount(updatedTransaction.getAmount());
+            t.setTransactionDate(updatedTransaction.getTransactionDate());
+            t.setNotes(updatedTransaction.getNotes());
+        }
+        List<Transaction> saved = transactionRepository.saveAllAndFlush(List.of(leg, peer));
+        User user = leg.getUser();
+        ledgerService.invalidateFrom(user.getId(),
+            previousDate.isBefore(leg.getTransactionDate()) ? previousDate : leg.getTransactionDate());
+        duplicateDetectionService.register(user, saved);
+        for (Transaction t : saved) {
+            transactionSearchService.index(user, t);
+        }
+        liveUpdateService.publishDashboardChanged(user.getId());
+        return saved.get(0);
+    }
+    
+    private void deleteTransfer(Transaction leg) {
+        User user = leg.getUser();
+        List<Transaction> legs = new ArrayList<>(List.of(leg));
+        transactionRepository.findById(leg.getTransferPeerId()).ifPresent(legs::add);
+        Map<Long, BigDecimal> accountDeltas = new HashMap<>();
+        for (Transaction t : legs) {
+            accountDeltas.merge(t.getAccountId(), AccountService.signedAmount(t).negate(), BigDecimal::add);
+        }
+        accountService.adjustBalances(user, accountDeltas);
+        transactionRepository.deleteAll(legs);
+        ledgerService.invalidateFrom(user.getId(), leg.getTransactionDate());
+        duplicateDetectionService.registerDelete(user);
+        for (Transaction t : legs) {
+            transactionSearchService.remove(user, t.getId());
+        }
+        liveUpdateService.publishDashboardChanged(user.getId());
+    }
+    
+    private static void rejectTransferType(Transaction.TransactionType type) {
+        if (type != null && type.isTransfer()) {
+            throw new RuntimeException("Transfers are recorded through /api/accounts/transfers");
+        }
+    }
+    
+    /**
+     * Per-category totals for each transaction type, as stored on the
+     * transactions (leaf level, before any category rollup).
+     */
+    @Transactional(readOnly = true)
+    public Map<Transaction.TransactionType, Map<String, BigDecimal>> getCategoryTotalsByUser(User user) {
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> totals =
+            toCategoryTotals(transactionRepository.sumAmountByUserGroupByTypeAndCategory(user));
+        archiveService.addCategoryTotals(user, null, null, totals);
+        return totals;
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<Transaction.TransactionType, Map<String, BigDecimal>> getCategoryTotalsByUserAndDateRange(
+            User user, LocalDate startDate, LocalDate endDate) {
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> totals = toCategoryTotals(
+            transactionRepository.sumAmountByUserAndDateBetweenGroupByTypeAndCategory(user, startDate, endDate));
+        archiveService.addCategoryTotals(user, startDate, endDate, totals);
+        return totals;
+    }
+    
+    private Map<Transaction.TransactionType, Map<String, BigDecimal>> toCategoryTotals(List<Object[]> rows) {
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> totals = new EnumMap<>(Transaction.TransactionType.class);
+        for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+            totals.put(type, new HashMap<>());
+        }
+        for (Object[] row : rows) {
+            totals.get((Transaction.TransactionType) row[0]).put((String) row[1], (BigDecimal) row[2]);
+        }
+        return totals;
+    }
+    
+    @Transactional(readOnly = true)
     public BigDecimal getTotalIncomeByUser(User user) {
         BigDecimal income = transactionRepository.sumAmountByUserAndType(user, Transaction.TransactionType.INCOME);
-        return income != null ? income : BigDecimal.ZERO;
+        return withArchivedTotal(income, user, Transaction.TransactionType.INCOME, null, null);
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesByUser(User user) {
         BigDecimal expenses = transactionRepository.sumAmountByUserAndType(user, Transaction.TransactionType.EXPENSE);
-        return expenses != null ? expenses : BigDecimal.ZERO;
+        return withArchivedTotal(expenses, user, Transaction.TransactionType.EXPENSE, null, null);
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getTotalIncomeByUserAndDateRange(User user, LocalDate startDate, LocalDate endDate) {
         BigDecimal income = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
             user, Transaction.TransactionType.INCOME, startDate, endDate);
-        return income != null ? income : BigDecimal.ZERO;
+        return withArchivedTotal(income, user, Transaction.TransactionType.INCOME, startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesByUserAndDateRange(User user, LocalDate startDate, LocalDate endDate) {
         BigDecimal expenses = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
             user, Transaction.TransactionType.EXPENSE, startDate, endDate);
-        return expenses != null ? expenses : BigDecimal.ZERO;
+        return withArchivedTotal(expenses, user, Transaction.TransactionType.EXPENSE, startDate, endDate);
+    }
+    
+    private BigDecimal withArchivedTotal(BigDecimal total, User user, Transaction.TransactionType type,
+                                         LocalDate startDate, LocalDate endDate) {
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> archived = new EnumMap<>(Transaction.TransactionType.class);
+        archiveService.addCategoryTotals(user, startDate, endDate, archived);
+        BigDecimal sum = total != null ? total : BigDecimal.ZERO;
+        for (BigDecimal amount : archived.getOrDefault(type, Map.of()).values()) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+    
+    private record BudgetPeriodKey(String category, Integer month, Integer year) {
+        static BudgetPeriodKey of(Transaction transaction) {
+            LocalDate date = transaction.getTransactionDate();
+            return new BudgetPeriodKey(transaction.getCategory(), date.getMonthValue(), date.getYear());
+        }
     }
 }
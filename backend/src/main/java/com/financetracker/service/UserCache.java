@@ -0,0 +1,49 @@
+package com.financetracker.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-user values that are costly to load, such as a category tree.
+ *
+ * Loads run outside any lock: computeIfAbsent would run the queries under a
+ * map bin lock, pinning the carrier thread when serving on virtual threads.
+ * Instead each invalidation bumps the user's generation, and a load only
+ * publishes its value if the generation it started from is still current,
+ * so an invalidation that overlaps a load never leaves the old value cached.
+ */
+final class UserCache<V> {
+
+    // value is null between an invalidation and the next load
+    private record Entry<V>(long generation, V value) {
+    }
+
+    private final ConcurrentHashMap<Long, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    V get(Long userId, Supplier<V> loader) {
+        Entry<V> entry = entries.get(userId);
+        if (entry != null && entry.value() != null) {
+            return entry.value();
+        }
+        long generation = entry != null ? entry.generation() : 0;
+        V loaded = loader.get();
+        Entry<V> current = entries.compute(userId, (key, existing) -> {
+            long currentGeneration = existing != null ? existing.generation() : 0;
+            if (currentGeneration == generation && (existing == null || existing.value() == null)) {
+                return new Entry<>(generation, loaded);
+            }
+            return existing;
+        });
+        // A newer generation means the caller's load was already under way when it was invalidated
+        return current.generation() == generation && current.value() != null ? current.value() : loaded;
+    }
+
+    V getIfPresent(Long userId) {
+        Entry<V> entry = entries.get(userId);
+        return entry != null ? entry.value() : null;
+    }
+
+    void invalidate(Long userId) {
+        entries.compute(userId, (key, existing) -> new Entry<>(existing != null ? existing.generation() + 1 : 1, null));
+    }
+}
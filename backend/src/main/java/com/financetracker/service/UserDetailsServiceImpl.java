@@ -1,16 +1,22 @@
 package com.financetracker.service;
 
+import com.financetracker.config.JfrEvents;
+import com.financetracker.config.RequestMetrics;
 import com.financetracker.model.User;
 import com.financetracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     UserRepository userRepository;
@@ -18,9 +24,30 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
+        JfrEvents.UserLoadEvent event = new JfrEvents.UserLoadEvent();
+        event.begin();
+        int statementsBefore = RequestMetrics.currentSqlStatements();
+        Optional<User> user = userRepository.findByEmail(email);
+        event.end();
+        if (event.shouldCommit()) {
+            event.userId = user.map(User::getId).orElse(0L);
+            event.rows = user.isPresent() ? 1 : 0;
+            event.sqlStatements = RequestMetrics.currentSqlStatements() - statementsBefore;
+            event.commit();
+        }
         
-        return UserPrincipal.create(user);
+        return UserPrincipal.create(user
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email)));
+    }
+    
+    // Called by DaoAuthenticationProvider with a hash in the current BCrypt strength after a successful login
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findById(((UserPrincipal) userDetails).getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        user.setUpdatedAt(LocalDateTime.now());
+        return UserPrincipal.create(userRepository.save(user));
     }
 }
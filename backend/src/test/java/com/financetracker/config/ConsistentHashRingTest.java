@@ -0,0 +1,91 @@
+package com.financetracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 100_000;
+
+    @Test
+    void rejectsAnEmptyShardList() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void singleShardOwnsEveryKey() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard0"), 1);
+
+        for (long key : new long[] { 0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE }) {
+            assertThat(ring.shardFor(key)).isEqualTo("shard0");
+        }
+    }
+
+    @Test
+    void dependsOnlyOnTheShardNames() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("shard2", "shard0", "shard1"), 128);
+
+        for (long userId = 1; userId <= 10_000; userId++) {
+            assertThat(reordered.shardFor(userId)).isEqualTo(ring.shardFor(userId));
+        }
+        // Extreme keys still land on a point, wrapping past the last one to the first
+        for (long key : new long[] { Long.MIN_VALUE, Long.MAX_VALUE, -1L, 0L }) {
+            assertThat(ring.shardFor(key)).isIn("shard0", "shard1", "shard2");
+        }
+    }
+
+    @Test
+    void spreadsSequentialUserIdsEvenly() {
+        List<String> shards = List.of("shard0", "shard1", "shard2", "shard3");
+        Map<String, Integer> counts = count(new ConsistentHashRing(shards, 128));
+
+        assertThat(counts).containsOnlyKeys(shards);
+        counts.values().forEach(count -> assertThat(count).isBetween(USERS / 4 * 7 / 10, USERS / 4 * 13 / 10));
+    }
+
+    @Test
+    void addingAShardOnlyMovesKeysOntoIt() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard0", "shard1", "shard2", "shard3"), 128);
+
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            String owner = after.shardFor(userId);
+            if (!owner.equals(before.shardFor(userId))) {
+                assertThat(owner).isEqualTo("shard3");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(USERS / 4 * 7 / 10, USERS / 4 * 13 / 10);
+    }
+
+    @Test
+    void removingAShardOnlyMovesItsKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard0", "shard2"), 128);
+
+        for (long userId = 1; userId <= USERS; userId++) {
+            String owner = before.shardFor(userId);
+            if (!owner.equals("shard1")) {
+                assertThat(after.shardFor(userId)).isEqualTo(owner);
+            }
+        }
+    }
+
+    private static Map<String, Integer> count(ConsistentHashRing ring) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.shardFor(userId), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
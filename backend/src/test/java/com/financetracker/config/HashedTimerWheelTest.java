@@ -0,0 +1,126 @@
+package com.financetracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimerWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private final List<String> expired = new ArrayList<>();
+
+    private final HashedTimerWheel<String> wheel =
+        new HashedTimerWheel<>(Duration.ofMillis(10), 8, START, expired::add);
+
+    @Test
+    void expiresAtTheDeadlineTickAndNotBefore() {
+        wheel.schedule("a", START + 30);
+        wheel.schedule("b", START + 35);
+
+        wheel.advance(START + 29);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(START + 30);
+        assertThat(expired).containsExactly("a");
+
+        // Between ticks: due at 35, noticed at the 40 tick
+        wheel.advance(START + 39);
+        assertThat(expired).containsExactly("a");
+        wheel.advance(START + 40);
+        assertThat(expired).containsExactly("a", "b");
+    }
+
+    @Test
+    void keepsLaterRotationsInTheirSlot() {
+        // 8 slots of 10 ms: all three share a slot, one rotation apart
+        wheel.schedule("first", START + 20);
+        wheel.schedule("second", START + 100);
+        wheel.schedule("third", START + 180);
+
+        wheel.advance(START + 20);
+        assertThat(expired).containsExactly("first");
+
+        wheel.advance(START + 99);
+        assertThat(expired).containsExactly("first");
+
+        wheel.advance(START + 100);
+        assertThat(expired).containsExactly("first", "second");
+
+        wheel.advance(START + 180);
+        assertThat(expired).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        wheel.advance(START + 50);
+        wheel.schedule("late", START + 10);
+
+        wheel.advance(START + 55);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(START + 60);
+        assertThat(expired).containsExactly("late");
+    }
+
+    @Test
+    void jumpsOverManyRotationsVisitingEverySlot() {
+        for (int i = 1; i <= 40; i++) {
+            wheel.schedule("item" + i, START + i * 7L);
+        }
+
+        wheel.advance(START + 10_000);
+
+        assertThat(expired).hasSize(40).doesNotHaveDuplicates();
+        wheel.advance(START + 20_000);
+        assertThat(expired).hasSize(40);
+    }
+
+    @Test
+    void goingBackInTimeExpiresNothing() {
+        wheel.schedule("a", START + 20);
+        wheel.advance(START + 50);
+        wheel.schedule("b", START + 70);
+
+        wheel.advance(START + 40);
+
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void neverExpiresEarlyAndAtMostOneTickLate() {
+        SplittableRandom random = new SplittableRandom(11);
+        Map<String, Long> deadlines = new HashMap<>();
+        Map<String, Long> expiredAt = new HashMap<>();
+        long[] now = { START };
+        HashedTimerWheel<String> randomWheel = new HashedTimerWheel<>(Duration.ofMillis(10), 16, START,
+            item -> assertThat(expiredAt.put(item, now[0])).isNull());
+
+        for (int step = 0; step < 2_000; step++) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                String item = "item" + deadlines.size();
+                long deadline = now[0] + random.nextLong(1_000);
+                deadlines.put(item, deadline);
+                randomWheel.schedule(item, deadline);
+            }
+            now[0] += random.nextInt(4) == 0 ? random.nextLong(500) : random.nextLong(15);
+            randomWheel.advance(now[0]);
+
+            for (Map.Entry<String, Long> entry : deadlines.entrySet()) {
+                Long at = expiredAt.get(entry.getKey());
+                if (at != null) {
+                    assertThat(at).as(entry.getKey()).isGreaterThanOrEqualTo(entry.getValue());
+                } else {
+                    assertThat(entry.getValue() + 10).as(entry.getKey()).isGreaterThan(now[0]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Budget;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget-rollover;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=MONTH,YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.recurring.enabled=false",
+        "app.budget-rollover.batch-size=1",
+        "spring.main.banner-mode=off",
+        "logging.level.root=WARN"
+    })
+// Closed afterwards: each context creates the Hibernate regions in the JVM-wide JCache manager
+@DirtiesContext
+class BudgetRolloverJobTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2024, 1);
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void dataDirectories(DynamicPropertyRegistry registry) {
+        registry.add("app.archive.dir", () -> dataDir.resolve("transaction-archive").toString());
+        registry.add("app.reports.dir", () -> dataDir.resolve("reports").toString());
+    }
+
+    @Autowired
+    private BudgetRolloverJob rolloverJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void seedsOnlyTheBudgetsItInserts() {
+        User first = userRepository.save(new User("First", "first@example.com", "secret"));
+        User second = userRepository.save(new User("Second", "second@example.com", "secret"));
+        // December's budgets roll over into January, across the year end
+        budget(first, "Food", "100.00", PERIOD.minusMonths(1), null);
+        budget(first, "Rent", "500.00", PERIOD.minusMonths(1), null);
+        budget(second, "Food", "80.00", PERIOD.minusMonths(1), null);
+        // Kept up to date by BudgetService, so the rollover must leave its spent amount alone
+        budget(first, "Food", "120.00", PERIOD, "42.00");
+        expense(first, "Food", "10.00", PERIOD.atDay(3));
+        expense(first, "Rent", "300.00", PERIOD.atDay(1));
+        expense(second, "Food", "25.00", PERIOD.atEndOfMonth());
+        expense(second, "Food", "99.00", PERIOD.minusMonths(1).atEndOfMonth());
+
+        assertThat(rolloverJob.rollover(PERIOD)).isEqualTo(2);
+        assertThat(rolloverJob.rollover(PERIOD)).isZero();
+
+        Map<String, Budget> january = budgetRepository.findAll().stream()
+            .filter(budget -> budget.getYear() == PERIOD.getYear() && budget.getMonth() == PERIOD.getMonthValue())
+            .collect(Collectors.toMap(budget -> budget.getUser().getId() + "/" + budget.getCategory(), b -> b));
+        assertThat(january).hasSize(3);
+        assertThat(january.get(first.getId() + "/Food").getSpentAmount()).isEqualByComparingTo("42.00");
+        assertThat(january.get(first.getId() + "/Food").getBudgetLimit()).isEqualByComparingTo("120.00");
+        assertThat(january.get(first.getId() + "/Rent").getSpentAmount()).isEqualByComparingTo("300.00");
+        assertThat(january.get(second.getId() + "/Food").getSpentAmount()).isEqualByComparingTo("25.00");
+        assertThat(january.get(second.getId() + "/Food").getBudgetLimit()).isEqualByComparingTo("80.00");
+    }
+
+    private void budget(User user, String category, String limit, YearMonth period, String spent) {
+        Budget budget = new Budget(category, new BigDecimal(limit), period.getMonthValue(), period.getYear(), user);
+        if (spent != null) {
+            budget.setSpentAmount(new BigDecimal(spent));
+        }
+        budgetRepository.save(budget);
+    }
+
+    private void expense(User user, String category, String amount, LocalDate date) {
+        transactionRepository.save(new Transaction(category + " expense", new BigDecimal(amount), category, date,
+            Transaction.TransactionType.EXPENSE, null, user));
+    }
+}
@@ -0,0 +1,193 @@
+package com.financetracker.service;
+
+import com.financetracker.model.CategoryRule;
+import com.financetracker.model.CategoryRule.MatchType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryRuleMatcherTest {
+
+    @Test
+    void keywordMatchesAnywhereIgnoringCase() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(rule(MatchType.KEYWORD, "Coffee", "Food")));
+
+        assertThat(matcher.match("Morning COFFEE run", null)).isEqualTo("Food");
+        assertThat(matcher.match("coffee", null)).isEqualTo("Food");
+        assertThat(matcher.match("coffe", null)).isNull();
+        assertThat(matcher.match("", null)).isNull();
+        assertThat(matcher.match(null, null)).isNull();
+    }
+
+    @Test
+    void prefixOnlyMatchesAtTheStart() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(rule(MatchType.PREFIX, "uber", "Travel")));
+
+        assertThat(matcher.match("UBER *TRIP", null)).isEqualTo("Travel");
+        assertThat(matcher.match("uber", null)).isEqualTo("Travel");
+        assertThat(matcher.match("Paid uber", null)).isNull();
+        assertThat(matcher.match("ube", null)).isNull();
+    }
+
+    @Test
+    void prefixIsNotFoundThroughAFailureLink() {
+        // "xab" reaches the "ab" state through the failure link of "xa", at depth 2 rather than 3
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+            rule(MatchType.PREFIX, "ab", "Prefix"),
+            rule(MatchType.KEYWORD, "xa", "Keyword")));
+
+        assertThat(matcher.match("xab", null)).isEqualTo("Keyword");
+        assertThat(matcher.match("abx", null)).isEqualTo("Prefix");
+    }
+
+    @Test
+    void overlappingKeywordsReportTheHighestPriority() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+            rule(MatchType.KEYWORD, "he", "First"),
+            rule(MatchType.KEYWORD, "she", "Second"),
+            rule(MatchType.KEYWORD, "hers", "Third")));
+
+        // "he" is only found as a suffix of "she"
+        assertThat(matcher.match("ushers", null)).isEqualTo("First");
+        assertThat(CategoryRuleMatcher.compile(List.of(
+            rule(MatchType.KEYWORD, "hers", "Third"),
+            rule(MatchType.KEYWORD, "she", "Second"))).match("ushers", null)).isEqualTo("Third");
+    }
+
+    @Test
+    void nonAsciiCharactersAreMatched() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(rule(MatchType.KEYWORD, "Café", "Food")));
+
+        assertThat(matcher.match("PETIT CAFÉ", null)).isEqualTo("Food");
+        assertThat(matcher.match("petit cafe", null)).isNull();
+    }
+
+    @Test
+    void foldsPatternsTheWayDescriptionsAreFolded() {
+        // String.toLowerCase turns a final Σ into ς and İ into two chars; descriptions are folded one char at a time
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+            rule(MatchType.KEYWORD, "ΟΔΟΣ", "Greek"),
+            rule(MatchType.PREFIX, "İSTANBUL", "Turkish")));
+
+        assertThat(matcher.match("ΟΔΟΣ ΑΘΗΝΑΣ", null)).isEqualTo("Greek");
+        assertThat(matcher.match("οδοσ", null)).isEqualTo("Greek");
+        assertThat(matcher.match("İSTANBUL KART", null)).isEqualTo("Turkish");
+        assertThat(matcher.match("istanbul kart", null)).isEqualTo("Turkish");
+    }
+
+    @Test
+    void amountRangesAreInclusiveAndMayBeOpen() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+            amountRule(new BigDecimal("100"), new BigDecimal("200"), "Mid"),
+            amountRule(null, new BigDecimal("-0.01"), "Negative"),
+            amountRule(new BigDecimal("1000"), null, "Large")));
+
+        assertThat(matcher.match("x", new BigDecimal("100.00"))).isEqualTo("Mid");
+        assertThat(matcher.match("x", new BigDecimal("200"))).isEqualTo("Mid");
+        assertThat(matcher.match("x", new BigDecimal("200.01"))).isNull();
+        assertThat(matcher.match("x", new BigDecimal("-50"))).isEqualTo("Negative");
+        assertThat(matcher.match("x", new BigDecimal("5000"))).isEqualTo("Large");
+        assertThat(matcher.match("x", null)).isNull();
+    }
+
+    @Test
+    void emptyPatternsAndEmptyRuleSetsMatchNothing() {
+        assertThat(CategoryRuleMatcher.empty().match("anything", BigDecimal.ONE)).isNull();
+        assertThat(CategoryRuleMatcher.compile(List.of(rule(MatchType.KEYWORD, "", "Never"))).match("x", null)).isNull();
+    }
+
+    @Test
+    void backtrackingRegexIsSkippedAfterItsTimeout() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+            rule(MatchType.REGEX, "(.*a){20}b", "Regex"),
+            rule(MatchType.KEYWORD, "aaa", "Keyword")));
+        String description = "a".repeat(40) + "!";
+
+        long start = System.nanoTime();
+        assertThat(matcher.match(description, null)).isEqualTo("Keyword");
+        assertThat(matcher.match(description, null)).isEqualTo("Keyword");
+        assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+        assertThat(matcher.match("a".repeat(20) + "b", null)).as("skipped from now on").isEqualTo("Keyword");
+    }
+
+    @Test
+    void agreesWithMatchingEachRuleInTurn() {
+        Random random = new Random(42);
+        String alphabet = "abcAB é";
+        for (int round = 0; round < 300; round++) {
+            List<CategoryRule> rules = new ArrayList<>();
+            int ruleCount = 1 + random.nextInt(12);
+            for (int i = 0; i < ruleCount; i++) {
+                int kind = random.nextInt(10);
+                if (kind < 5) {
+                    rules.add(rule(MatchType.KEYWORD, randomText(random, alphabet, 1 + random.nextInt(4)), "k" + i));
+                } else if (kind < 8) {
+                    rules.add(rule(MatchType.PREFIX, randomText(random, alphabet, 1 + random.nextInt(4)), "p" + i));
+                } else if (kind < 9) {
+                    rules.add(amountRule(BigDecimal.valueOf(random.nextInt(50)), BigDecimal.valueOf(50 + random.nextInt(50)), "a" + i));
+                } else {
+                    rules.add(rule(MatchType.REGEX, "^" + Pattern.quote(randomText(random, "ab", 2)), "r" + i));
+                }
+            }
+            CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(rules);
+            for (int j = 0; j < 50; j++) {
+                String description = randomText(random, alphabet, random.nextInt(12));
+                BigDecimal amount = random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(120)) : null;
+                assertThat(matcher.match(description, amount))
+                    .as("rules %s, description '%s', amount %s", describe(rules), description, amount)
+                    .isEqualTo(reference(rules, description, amount));
+            }
+        }
+    }
+
+    // First matching rule in priority order, checked one by one
+    private static String reference(List<CategoryRule> rules, String description, BigDecimal amount) {
+        String lower = lower(description);
+        for (CategoryRule rule : rules) {
+            boolean matches = switch (rule.getMatchType()) {
+                case KEYWORD -> !rule.getPattern().isEmpty() && lower.contains(lower(rule.getPattern()));
+                case PREFIX -> !rule.getPattern().isEmpty() && lower.startsWith(lower(rule.getPattern()));
+                case AMOUNT_RANGE -> amount != null && amount.compareTo(rule.getMinAmount()) >= 0
+                    && amount.compareTo(rule.getMaxAmount()) <= 0;
+                case REGEX -> Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE).matcher(description).find();
+            };
+            if (matches) {
+                return rule.getCategory();
+            }
+        }
+        return null;
+    }
+
+    private static String lower(String text) {
+        StringBuilder lower = new StringBuilder(text.length());
+        text.chars().forEach(c -> lower.append(Character.toLowerCase((char) c)));
+        return lower.toString();
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    private static String describe(List<CategoryRule> rules) {
+        return rules.stream().map(rule -> rule.getMatchType() + ":" + (rule.getPattern() != null ? rule.getPattern()
+            : rule.getMinAmount() + ".." + rule.getMaxAmount())).toList().toString();
+    }
+
+    private static CategoryRule rule(MatchType matchType, String pattern, String category) {
+        return new CategoryRule(matchType, pattern, null, null, category, 0, null);
+    }
+
+    private static CategoryRule amountRule(BigDecimal min, BigDecimal max, String category) {
+        return new CategoryRule(MatchType.AMOUNT_RANGE, null, min, max, category, 0, null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Budget;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.TransactionRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:category-service;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=MONTH,YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.recurring.enabled=false",
+        "spring.main.banner-mode=off",
+        "logging.level.root=WARN"
+    })
+// Closed afterwards: each context creates the Hibernate regions in the JVM-wide JCache manager
+@DirtiesContext
+class CategoryServiceTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2024, 3);
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void dataDirectories(DynamicPropertyRegistry registry) {
+        registry.add("app.archive.dir", () -> dataDir.resolve("transaction-archive").toString());
+        registry.add("app.reports.dir", () -> dataDir.resolve("reports").toString());
+    }
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void deletingACategoryTakesItsSpendingOutOfItsFormerAncestors() {
+        User user = userRepository.save(new User("Test", "delete-category@example.com", "secret"));
+        Long living = budget(user, "Living");
+        Long food = budget(user, "Food");
+        expense(user, "Groceries", "30.00");
+        expense(user, "Bakery", "5.00");
+        categoryService.createOrUpdateCategory(user, "Food", "Living");
+        categoryService.createOrUpdateCategory(user, "Groceries", "Food");
+        categoryService.createOrUpdateCategory(user, "Bakery", "Groceries");
+        assertThat(spent(food)).isEqualByComparingTo("35.00");
+        assertThat(spent(living)).isEqualByComparingTo("35.00");
+
+        categoryService.deleteCategory(user, categoryRepository.findByUserAndName(user, "Groceries").orElseThrow().getId());
+
+        // Bakery moved up under Food; Groceries' own rows no longer roll up anywhere
+        assertThat(spent(food)).isEqualByComparingTo("5.00");
+        assertThat(spent(living)).isEqualByComparingTo("5.00");
+    }
+
+    private Long budget(User user, String category) {
+        return budgetRepository.save(new Budget(category, new BigDecimal("100.00"), PERIOD.getMonthValue(),
+            PERIOD.getYear(), user)).getId();
+    }
+
+    private void expense(User user, String category, String amount) {
+        transactionRepository.save(new Transaction(category + " expense", new BigDecimal(amount), category,
+            PERIOD.atDay(10), Transaction.TransactionType.EXPENSE, null, user));
+    }
+
+    private BigDecimal spent(Long budgetId) {
+        return budgetRepository.findById(budgetId).orElseThrow().getSpentAmount();
+    }
+}
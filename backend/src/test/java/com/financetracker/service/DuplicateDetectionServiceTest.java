@@ -0,0 +1,115 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionFingerprint;
+import com.financetracker.model.User;
+import com.financetracker.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateDetectionServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 14);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private TransactionArchiveService archiveService;
+
+    @InjectMocks
+    private DuplicateDetectionService duplicateDetectionService;
+
+    private User user;
+    private Transaction purchase;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Test", "test@example.com", "secret");
+        user.setId(1L);
+        purchase = transaction(Transaction.TransactionType.EXPENSE, "AMAZON", "25.00");
+        purchase.setId(10L);
+        purchase.setFingerprint(TransactionFingerprint.of(purchase));
+
+        when(ledgerService.getVersion(1L)).thenReturn(3L);
+        when(transactionRepository.findFingerprintsByUser(user)).thenReturn(List.of(purchase.getFingerprint()));
+    }
+
+    @Test
+    void sameRowReimportedIsADuplicate() {
+        when(transactionRepository.findByUserAndFingerprint(user, purchase.getFingerprint()))
+            .thenReturn(List.of(purchase));
+
+        Transaction reimported = transaction(Transaction.TransactionType.EXPENSE, "Amazon.", "25");
+
+        assertThat(duplicateDetectionService.findDuplicate(user, reimported)).contains(purchase);
+    }
+
+    @Test
+    void sameDayRefundIsNotTheDuplicateOfThePurchase() {
+        when(transactionRepository.findByUserAndFingerprint(user, purchase.getFingerprint()))
+            .thenReturn(List.of(purchase));
+
+        Transaction refund = transaction(Transaction.TransactionType.INCOME, "AMAZON", "25.00");
+
+        assertThat(duplicateDetectionService.findDuplicate(user, refund)).isEmpty();
+    }
+
+    @Test
+    void filterMissSkipsTheLookup() {
+        Transaction other = transaction(Transaction.TransactionType.EXPENSE, "GROCER", "25.00");
+
+        assertThat(duplicateDetectionService.findDuplicate(user, other)).isEmpty();
+        assertThat(other.getFingerprint()).isEqualTo(TransactionFingerprint.of(other));
+    }
+
+    @Test
+    void reimportIntoAnArchivedYearMatchesTheArchivedRow() {
+        Transaction archived = transaction(Transaction.TransactionType.EXPENSE, "TRAIN TICKET", "12.40");
+        archived.setId(5L);
+        when(archiveService.getArchivedYears(1L)).thenReturn(Set.of(2024));
+        when(archiveService.getTransactions(user, DATE, DATE)).thenReturn(List.of(archived));
+
+        Transaction reimported = transaction(Transaction.TransactionType.EXPENSE, "Train ticket", "12.40");
+        Transaction refund = transaction(Transaction.TransactionType.INCOME, "TRAIN TICKET", "12.40");
+
+        assertThat(duplicateDetectionService.findDuplicates(user, List.of(reimported, refund)))
+            .containsExactly(Optional.of(archived), Optional.empty());
+    }
+
+    @Test
+    void liveMatchDoesNotReadTheArchive() {
+        when(transactionRepository.findByUserAndFingerprint(user, purchase.getFingerprint()))
+            .thenReturn(List.of(purchase));
+        when(archiveService.getArchivedYears(1L)).thenReturn(Set.of(2024));
+
+        Transaction reimported = transaction(Transaction.TransactionType.EXPENSE, "AMAZON", "25.00");
+
+        assertThat(duplicateDetectionService.findDuplicate(user, reimported)).contains(purchase);
+        verify(archiveService, never()).getTransactions(any(), any(), any());
+    }
+
+    private Transaction transaction(Transaction.TransactionType type, String description, String amount) {
+        return new Transaction(description, new BigDecimal(amount), "Shopping", DATE, type, null, user);
+    }
+}
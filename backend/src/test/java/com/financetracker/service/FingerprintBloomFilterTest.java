@@ -0,0 +1,150 @@
+package com.financetracker.service;
+
+import com.financetracker.model.TransactionFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintBloomFilterTest {
+
+    @Test
+    void neverForgetsAnEntry() {
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(10_000);
+        SplittableRandom random = new SplittableRandom(1);
+        long[] fingerprints = new long[10_000];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = random.nextLong();
+            filter.put(fingerprints[i]);
+        }
+
+        for (long fingerprint : fingerprints) {
+            assertThat(filter.mightContain(fingerprint)).isTrue();
+        }
+    }
+
+    @Test
+    void handlesExtremeFingerprints() {
+        long[] extremes = { 0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1 };
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(64);
+        for (long fingerprint : extremes) {
+            filter.put(fingerprint);
+        }
+
+        for (long fingerprint : extremes) {
+            assertThat(filter.mightContain(fingerprint)).as("fingerprint %d", fingerprint).isTrue();
+        }
+    }
+
+    @Test
+    void tellsApartFingerprintsOfNeighbouringRows() {
+        // Sign, year end and an empty description all change the fingerprint
+        long purchase = TransactionFingerprint.of(LocalDate.of(2023, 12, 31), new BigDecimal("25.00"), "Shop");
+        long refund = TransactionFingerprint.of(LocalDate.of(2023, 12, 31), new BigDecimal("-25.00"), "Shop");
+        long nextYear = TransactionFingerprint.of(LocalDate.of(2024, 1, 1), new BigDecimal("25.00"), "Shop");
+        long blank = TransactionFingerprint.of(LocalDate.of(2023, 12, 31), new BigDecimal("25.00"), "");
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(64);
+        filter.put(purchase);
+
+        assertThat(filter.mightContain(purchase)).isTrue();
+        assertThat(filter.mightContain(TransactionFingerprint.of(LocalDate.of(2023, 12, 31), new BigDecimal("25"), "SHOP.")))
+            .isTrue();
+        assertThat(filter.mightContain(refund)).isFalse();
+        assertThat(filter.mightContain(nextYear)).isFalse();
+        assertThat(filter.mightContain(blank)).isFalse();
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(0);
+
+        assertThat(filter.mightContain(0L)).isFalse();
+        assertThat(filter.mightContain(-1L)).isFalse();
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void keepsTheFalsePositiveRateNearOnePercentAtCapacity() {
+        int capacity = 20_000;
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(capacity);
+        SplittableRandom random = new SplittableRandom(7);
+        Set<Long> added = new HashSet<>();
+        while (added.size() < capacity) {
+            long fingerprint = random.nextLong();
+            added.add(fingerprint);
+            filter.put(fingerprint);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            long fingerprint = random.nextLong();
+            if (!added.contains(fingerprint) && filter.mightContain(fingerprint)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void saturatesOnlyPastItsCapacity() {
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(100);
+        for (long i = 0; i < 100; i++) {
+            filter.put(i * 0x9e3779b97f4a7c15L);
+        }
+        assertThat(filter.isSaturated()).isFalse();
+
+        filter.put(42L);
+        assertThat(filter.isSaturated()).isTrue();
+    }
+
+    @Test
+    void smallCapacitiesAreRoundedUp() {
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(1);
+        for (long i = 0; i < 64; i++) {
+            filter.put(i);
+        }
+
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void concurrentPutsAreAllVisible() throws Exception {
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(40_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    long[] fingerprints = new long[10_000];
+                    for (int i = 0; i < fingerprints.length; i++) {
+                        fingerprints[i] = random.nextLong();
+                        filter.put(fingerprints[i]);
+                    }
+                    return fingerprints;
+                }));
+            }
+            for (Future<long[]> future : futures) {
+                for (long fingerprint : future.get()) {
+                    assertThat(filter.mightContain(fingerprint)).isTrue();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(filter.isSaturated()).isFalse();
+    }
+}
@@ -0,0 +1,150 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionSearchIndexTest {
+
+    @Test
+    void postingListRoundTripsGapsAtEveryVarintLength() {
+        // Gaps of 1, 127, 128, 16383, 16384, 2^21 and 2^28: every encoded length from one to five bytes
+        int[] docs = { 0, 1, 128, 256, 16_639, 33_023, 33_023 + (1 << 21), 33_023 + (1 << 21) + (1 << 28) };
+        TransactionSearchIndex.PostingList list = new TransactionSearchIndex.PostingList();
+        for (int doc : docs) {
+            list.add(doc);
+        }
+
+        assertThat(decode(list).stream().toArray()).containsExactly(docs);
+    }
+
+    @Test
+    void postingListIgnoresARepeatedDocument() {
+        TransactionSearchIndex.PostingList list = new TransactionSearchIndex.PostingList();
+        list.add(5);
+        list.add(5);
+        list.add(6);
+
+        assertThat(decode(list).stream().toArray()).containsExactly(5, 6);
+        assertThat(decode(new TransactionSearchIndex.PostingList()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void postingListRoundTripsRandomAscendingDocuments() {
+        SplittableRandom random = new SplittableRandom(3);
+        BitSet expected = new BitSet();
+        TransactionSearchIndex.PostingList list = new TransactionSearchIndex.PostingList();
+        int doc = -1;
+        for (int i = 0; i < 5_000; i++) {
+            doc += 1 + (random.nextBoolean() ? random.nextInt(4) : random.nextInt(50_000));
+            expected.set(doc);
+            list.add(doc);
+        }
+
+        assertThat(decode(list)).isEqualTo(expected);
+    }
+
+    @Test
+    void matchesEveryTermAsAWordPrefix() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        add(index, 1L, "Coffee at Starbucks", null, "2024-01-02");
+        add(index, 2L, "Grocery store", "coffee beans", "2024-01-03");
+        add(index, 3L, "Star Market", null, "2024-01-04");
+
+        assertThat(search(index, "coff")).containsExactly(2L, 1L);
+        assertThat(search(index, "COFFEE star")).containsExactly(1L);
+        assertThat(search(index, "star")).containsExactly(3L, 1L);
+        assertThat(search(index, "bucks")).isEmpty();
+        assertThat(search(index, " ,. ")).isEmpty();
+    }
+
+    @Test
+    void updatesAndRemovalsHideTheOldDocument() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        add(index, 1L, "Taxi", null, "2024-01-02");
+        add(index, 1L, "Train", null, "2024-01-02");
+        add(index, 2L, "Taxi home", null, "2024-01-03");
+        index.remove(2L);
+        index.remove(99L);
+
+        assertThat(search(index, "taxi")).isEmpty();
+        assertThat(search(index, "train")).containsExactly(1L);
+    }
+
+    @Test
+    void filtersByDatesAcrossYearBoundaries() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        add(index, 1L, "Rent", null, "1969-12-31");
+        add(index, 2L, "Rent", null, "1970-01-01");
+        add(index, 3L, "Rent", null, "2023-12-31");
+        add(index, 4L, "Rent", null, "2024-01-01");
+        add(index, 5L, "Rent", null, "2024-02-29");
+
+        assertThat(index.search("rent", LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 1), null, null, 10))
+            .containsExactly(4L, 3L);
+        assertThat(index.search("rent", null, LocalDate.of(1970, 1, 1), null, null, 10))
+            .containsExactly(2L, 1L);
+        assertThat(index.search("rent", LocalDate.of(2024, 1, 2), null, null, null, 10))
+            .containsExactly(5L);
+    }
+
+    @Test
+    void filtersByTypeAndCategory() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        index.add(1L, "Amazon", null, LocalDate.of(2024, 1, 1), Transaction.TransactionType.EXPENSE, "Shopping");
+        index.add(2L, "Amazon refund", null, LocalDate.of(2024, 1, 2), Transaction.TransactionType.INCOME, "Shopping");
+        index.add(3L, "Amazon Prime", null, LocalDate.of(2024, 1, 3), Transaction.TransactionType.EXPENSE, null);
+
+        assertThat(index.search("amazon", null, null, Transaction.TransactionType.EXPENSE, null, 10))
+            .containsExactly(3L, 1L);
+        assertThat(index.search("amazon", null, null, null, "Shopping"::equals, 10))
+            .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void keepsOnlyTheNewestHitsUpToTheLimit() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        LocalDate day = LocalDate.of(2023, 12, 25);
+        for (long id = 1; id <= 2_000; id++) {
+            // Ids and dates run in opposite directions, and some days repeat
+            add(index, id, "Payment " + id, null, day.minusDays(id / 2).toString());
+        }
+
+        assertThat(index.search("payment", null, null, null, null, 4)).containsExactly(1L, 3L, 2L, 5L);
+        assertThat(index.search("payment", null, null, null, null, 0)).isEmpty();
+    }
+
+    @Test
+    void needsRebuildOnceMostDocumentsAreStale() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        for (long id = 1; id <= 1_100; id++) {
+            add(index, id, "Row", null, "2024-01-01");
+        }
+        assertThat(index.needsRebuild()).isFalse();
+
+        for (long id = 1; id <= 600; id++) {
+            index.remove(id);
+        }
+        assertThat(index.needsRebuild()).isTrue();
+    }
+
+    private static BitSet decode(TransactionSearchIndex.PostingList list) {
+        BitSet docs = new BitSet();
+        list.decodeInto(docs);
+        return docs;
+    }
+
+    private static void add(TransactionSearchIndex index, Long id, String description, String notes, String date) {
+        index.add(id, description, notes, LocalDate.parse(date), Transaction.TransactionType.EXPENSE, "Misc");
+    }
+
+    private static List<Long> search(TransactionSearchIndex index, String query) {
+        return index.search(query, null, null, null, null, 10);
+    }
+}
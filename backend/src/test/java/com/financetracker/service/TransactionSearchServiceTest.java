@@ -0,0 +1,138 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.User;
+import com.financetracker.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSearchServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @InjectMocks
+    private TransactionSearchService searchService;
+
+    private final User user = new User("Test", "test@example.com", "secret");
+
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private final CountDownLatch buildStarted = new CountDownLatch(1);
+
+    private final CountDownLatch releaseBuild = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchService, "maxIndexedUsers", 10);
+        user.setId(1L);
+        when(transactionRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Transaction> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                Transaction transaction = new Transaction("row " + id, BigDecimal.ONE, "Misc", DATE,
+                    Transaction.TransactionType.EXPENSE, null, user);
+                transaction.setId(id);
+                found.add(transaction);
+            }
+            return found;
+        });
+    }
+
+    @Test
+    void concurrentSearchesShareTheFirstBuild() throws Exception {
+        rows.add(row(1L, "Coffee"));
+        when(ledgerService.getVersion(1L)).thenReturn(1L);
+        blockBuilds();
+
+        Thread leader = search("coffee", new AtomicReference<>());
+        assertThat(buildStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        AtomicReference<List<Transaction>> followerResult = new AtomicReference<>();
+        Thread follower = search("coffee", followerResult);
+        awaitWaiting(follower);
+
+        releaseBuild.countDown();
+        leader.join(5_000);
+        follower.join(5_000);
+
+        assertThat(followerResult.get()).extracting(Transaction::getId).containsExactly(1L);
+        verify(transactionRepository, times(1)).findSearchFieldsByUser(user);
+    }
+
+    @Test
+    void staleIndexAnswersWhileARebuildRuns() throws Exception {
+        rows.add(row(1L, "Coffee"));
+        when(ledgerService.getVersion(1L)).thenReturn(1L);
+        when(transactionRepository.findSearchFieldsByUser(user)).thenAnswer(invocation -> List.copyOf(rows));
+        assertThat(searchService.search(user, "coffee", null, null, null, null, 10)).hasSize(1);
+
+        // Written on another node: the index is behind
+        rows.add(row(2L, "Coffee beans"));
+        when(ledgerService.getVersion(1L)).thenReturn(2L);
+        blockBuilds();
+        Thread leader = search("coffee", new AtomicReference<>());
+        assertThat(buildStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(searchService.search(user, "coffee", null, null, null, null, 10))
+            .extracting(Transaction::getId).containsExactly(1L);
+
+        releaseBuild.countDown();
+        leader.join(5_000);
+        assertThat(searchService.search(user, "coffee", null, null, null, null, 10))
+            .extracting(Transaction::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(transactionRepository, times(2)).findSearchFieldsByUser(user);
+    }
+
+    private void blockBuilds() {
+        when(transactionRepository.findSearchFieldsByUser(user)).thenAnswer(invocation -> {
+            buildStarted.countDown();
+            assertThat(releaseBuild.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.copyOf(rows);
+        });
+    }
+
+    private Thread search(String query, AtomicReference<List<Transaction>> result) {
+        Thread thread = new Thread(() -> result.set(searchService.search(user, query, null, null, null, null, 10)));
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static Object[] row(Long id, String description) {
+        return new Object[] { id, description, null, DATE, Transaction.TransactionType.EXPENSE, "Misc" };
+    }
+}
@@ -0,0 +1,178 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionSegmentTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryColumn() throws IOException {
+        Transaction full = transaction(7L, "2023-03-05", "-12.34", Transaction.TransactionType.EXPENSE, "Food", "Café ☕");
+        full.setNotes("split with Sam");
+        full.setAccountId(3L);
+        full.setTransferPeerId(8L);
+        full.setDuplicateOfId(2L);
+        full.setRecurringTransactionId(0L);
+        full.setCreatedAt(LocalDateTime.of(2023, 3, 5, 10, 15, 30));
+        full.setUpdatedAt(LocalDateTime.of(2023, 3, 6, 8, 0));
+        Transaction bare = transaction(3L, "2023-01-01", "1000000.00", Transaction.TransactionType.INCOME, "Salary", "");
+        bare.setCreatedAt(null);
+        bare.setUpdatedAt(null);
+
+        List<Transaction> read = writeAndRead(2023, List.of(full, bare));
+
+        assertThat(read).hasSize(2);
+        assertSameRow(read.get(0), bare);
+        assertSameRow(read.get(1), full);
+    }
+
+    @Test
+    void keepsNegativeAndAlternatingAmountsExact() throws IOException {
+        String[] amounts = { "-0.01", "99999999.99", "-99999999.99", "0.00", "0.10", "-5.50" };
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            rows.add(transaction(i + 1L, "2022-06-01", amounts[i], Transaction.TransactionType.EXPENSE, "Misc", "x"));
+        }
+
+        List<Transaction> read = writeAndRead(2022, rows);
+
+        assertThat(read).extracting(Transaction::getAmount).extracting(BigDecimal::toPlainString)
+            .containsExactly(amounts);
+    }
+
+    @Test
+    void sortsByDateThenIdAndCoversTheWholeYear() throws IOException {
+        List<Transaction> rows = List.of(
+            transaction(50L, "2024-12-31", "1.00", Transaction.TransactionType.EXPENSE, "A", "last"),
+            transaction(9L, "2024-01-01", "1.00", Transaction.TransactionType.EXPENSE, "A", "first"),
+            // Leap day, and ids that go down between rows
+            transaction(40L, "2024-02-29", "1.00", Transaction.TransactionType.EXPENSE, "A", "leap b"),
+            transaction(2L, "2024-02-29", "1.00", Transaction.TransactionType.EXPENSE, "A", "leap a"));
+
+        List<Transaction> read = writeAndRead(2024, rows);
+
+        assertThat(read).extracting(Transaction::getDescription)
+            .containsExactly("first", "leap a", "leap b", "last");
+        assertThat(read).extracting(Transaction::getTransactionDate).containsExactly(
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 12, 31));
+    }
+
+    @Test
+    void writesAndReadsAnEmptySegment() throws IOException {
+        Path path = dir.resolve("2021.seg");
+        TransactionSegment.write(path, 2021, List.of());
+
+        TransactionSegment segment = TransactionSegment.open(path);
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> totals = new HashMap<>();
+        segment.addCategoryTotals(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31), totals);
+
+        assertThat(segment.getYear()).isEqualTo(2021);
+        assertThat(segment.getRowCount()).isZero();
+        assertThat(segment.readAll(null)).isEmpty();
+        assertThat(totals).isEmpty();
+    }
+
+    @Test
+    void rejectsRowsDatedInAnotherYear() {
+        Transaction nextYear = transaction(1L, "2024-01-01", "1.00", Transaction.TransactionType.EXPENSE, "A", "x");
+
+        assertThatThrownBy(() -> TransactionSegment.write(dir.resolve("2023.seg"), 2023, List.of(nextYear)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readsOnlyTheRequestedDates() throws IOException {
+        List<Transaction> rows = List.of(
+            transaction(1L, "2023-01-31", "1.00", Transaction.TransactionType.EXPENSE, "A", "jan"),
+            transaction(2L, "2023-02-01", "2.00", Transaction.TransactionType.EXPENSE, "A", "feb 1"),
+            transaction(3L, "2023-02-28", "3.00", Transaction.TransactionType.EXPENSE, "A", "feb 28"),
+            transaction(4L, "2023-03-01", "4.00", Transaction.TransactionType.EXPENSE, "A", "mar"));
+        Path path = dir.resolve("2023.seg");
+        TransactionSegment.write(path, 2023, rows);
+
+        List<Transaction> february = TransactionSegment.open(path)
+            .read(null, LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 28));
+
+        assertThat(february).extracting(Transaction::getDescription).containsExactly("feb 1", "feb 28");
+    }
+
+    @Test
+    void sumsCategoryTotalsPerTypeWithinTheRange() throws IOException {
+        List<Transaction> rows = List.of(
+            transaction(1L, "2023-04-01", "10.00", Transaction.TransactionType.EXPENSE, "Food", "a"),
+            transaction(2L, "2023-04-15", "-2.50", Transaction.TransactionType.EXPENSE, "Food", "refund"),
+            transaction(3L, "2023-04-15", "100.00", Transaction.TransactionType.INCOME, "Food", "b"),
+            transaction(4L, "2023-05-01", "7.00", Transaction.TransactionType.EXPENSE, "Rent", "c"),
+            transaction(5L, "2023-03-31", "1.00", Transaction.TransactionType.EXPENSE, "Food", "outside"));
+        Path path = dir.resolve("2023.seg");
+        TransactionSegment.write(path, 2023, rows);
+
+        Map<Transaction.TransactionType, Map<String, BigDecimal>> totals = new HashMap<>();
+        totals.put(Transaction.TransactionType.EXPENSE, new HashMap<>(Map.of("Food", new BigDecimal("1.00"))));
+        TransactionSegment.open(path).addCategoryTotals(LocalDate.of(2023, 4, 1), LocalDate.of(2023, 5, 1), totals);
+
+        assertThat(totals.get(Transaction.TransactionType.EXPENSE))
+            .containsEntry("Food", new BigDecimal("8.50"))
+            .containsEntry("Rent", new BigDecimal("7.00"));
+        assertThat(totals.get(Transaction.TransactionType.INCOME)).containsEntry("Food", new BigDecimal("100.00"));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSegments() throws IOException {
+        Path path = dir.resolve("garbage.seg");
+        Files.write(path, new byte[64]);
+
+        assertThatThrownBy(() -> TransactionSegment.open(path)).isInstanceOf(IOException.class);
+    }
+
+    private List<Transaction> writeAndRead(int year, List<Transaction> rows) throws IOException {
+        Path path = dir.resolve(year + ".seg");
+        TransactionSegment.write(path, year, rows);
+        TransactionSegment segment = TransactionSegment.open(path);
+        assertThat(segment.getYear()).isEqualTo(year);
+        assertThat(segment.getRowCount()).isEqualTo(rows.size());
+        return segment.readAll(null);
+    }
+
+    private static Transaction transaction(Long id, String date, String amount, Transaction.TransactionType type,
+                                           String category, String description) {
+        Transaction transaction = new Transaction(description, new BigDecimal(amount), category, LocalDate.parse(date),
+            type, null, null);
+        transaction.setId(id);
+        return transaction;
+    }
+
+    private static void assertSameRow(Transaction actual, Transaction expected) {
+        assertThat(actual.getId()).isEqualTo(expected.getId());
+        assertThat(actual.getTransactionDate()).isEqualTo(expected.getTransactionDate());
+        assertThat(actual.getAmount()).isEqualByComparingTo(expected.getAmount());
+        assertThat(actual.getType()).isEqualTo(expected.getType());
+        assertThat(actual.getCategory()).isEqualTo(expected.getCategory());
+        assertThat(actual.getDescription()).isEqualTo(expected.getDescription());
+        assertThat(actual.getNotes()).isEqualTo(expected.getNotes());
+        assertThat(actual.getAccountId()).isEqualTo(expected.getAccountId());
+        assertThat(actual.getTransferPeerId()).isEqualTo(expected.getTransferPeerId());
+        assertThat(actual.getDuplicateOfId()).isEqualTo(expected.getDuplicateOfId());
+        assertThat(actual.getRecurringTransactionId()).isEqualTo(expected.getRecurringTransactionId());
+        assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+        assertThat(actual.getUpdatedAt()).isEqualTo(expected.getUpdatedAt());
+    }
+}
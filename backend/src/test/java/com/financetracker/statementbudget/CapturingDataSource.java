@@ -0,0 +1,107 @@
+package com.financetracker.statementbudget;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records every executed statement and every fetched row into the current
+ * StatementCapture. Works below Hibernate, so JdbcTemplate queries count too.
+ */
+class CapturingDataSource extends DelegatingDataSource {
+
+    CapturingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), new ConnectionHandler());
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        handler.target = target;
+        return type.cast(Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private abstract static class Handler<T> implements InvocationHandler {
+
+        T target;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return intercept(method, args, result);
+        }
+
+        abstract Object intercept(Method method, Object[] args, Object result);
+    }
+
+    private static class ConnectionHandler extends Handler<Connection> {
+
+        @Override
+        Object intercept(Method method, Object[] args, Object result) {
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result,
+                    new StatementHandler<>((String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result,
+                    new StatementHandler<>((String) args[0]));
+                case "createStatement" -> proxy(Statement.class, (Statement) result, new StatementHandler<>(null));
+                default -> result;
+            };
+        }
+    }
+
+    private static class StatementHandler<T extends Statement> extends Handler<T> {
+
+        private final String preparedSql;
+
+        StatementHandler(String preparedSql) {
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object intercept(Method method, Object[] args, Object result) {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = preparedSql != null ? preparedSql : (String) args[0];
+                StatementCapture.statement("executeBatch".equals(name) ? "[batch] " + sql : sql);
+            }
+            if (result instanceof ResultSet resultSet && ("executeQuery".equals(name) || "getResultSet".equals(name))) {
+                return proxy(ResultSet.class, resultSet, new ResultSetHandler());
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler extends Handler<ResultSet> {
+
+        @Override
+        Object intercept(Method method, Object[] args, Object result) {
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                StatementCapture.row();
+            }
+            return result;
+        }
+    }
+}
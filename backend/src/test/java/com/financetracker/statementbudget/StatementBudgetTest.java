@@ -0,0 +1,241 @@
+package com.financetracker.statementbudget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.FinanceTrackerApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the SQL cost of every endpoint in the transaction, budget, dashboard
+ * and auth controllers.
+ *
+ * Boots the application on an in-memory H2 database, runs a fixed scenario
+ * against it over HTTP and records per request the executed statements
+ * (Hibernate and JdbcTemplate), fetched rows and loaded entities. The result
+ * is compared with the checked-in budget file: an endpoint that now executes
+ * more statements, fetches more rows or loads more entities fails the test,
+ * printing a diff of its statements. Run with -Dstatement-budgets.update=true
+ * to rewrite the budget file after an intended change.
+ */
+@SpringBootTest(classes = { FinanceTrackerApplication.class, StatementCaptureConfig.class },
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-budget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=MONTH,YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "app.recurring.enabled=false",
+        "spring.main.banner-mode=off",
+        "logging.level.root=WARN",
+        "logging.level.com.financetracker=WARN",
+        "logging.level.org.springframework.security=WARN"
+    })
+class StatementBudgetTest {
+
+    // Relative to the module, where surefire runs the tests
+    private static final Path BUDGET_FILE = Path.of("src/test/resources/statement-budgets.txt");
+
+    private static final ObjectMapper json = new ObjectMapper();
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void dataDirectories(DynamicPropertyRegistry registry) {
+        // Keeps archives and reports of earlier local runs out of the scenario
+        registry.add("app.archive.dir", () -> dataDir.resolve("transaction-archive").toString());
+        registry.add("app.reports.dir", () -> dataDir.resolve("reports").toString());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final Map<String, Measurement> measurements = new LinkedHashMap<>();
+    private String baseUrl;
+    private String token;
+
+    @Test
+    void endpointsStayWithinTheirStatementBudgets() throws Exception {
+        baseUrl = "http://localhost:" + port;
+        runScenario();
+
+        if (Boolean.getBoolean("statement-budgets.update") || !Files.exists(BUDGET_FILE)) {
+            Files.writeString(BUDGET_FILE, format(measurements));
+            System.out.printf("Wrote budgets for %d endpoints to %s%n", measurements.size(), BUDGET_FILE);
+            return;
+        }
+        StringBuilder report = new StringBuilder();
+        boolean withinBudget = compare(parse(Files.readString(BUDGET_FILE)), measurements, report);
+        System.out.print(report);
+        assertThat(withinBudget).as("SQL statement budgets (see %s):%n%s", BUDGET_FILE, report).isTrue();
+    }
+
+    // Steps run in a fixed order on fresh data, so caches and row counts are the same on every run
+    private void runScenario() throws Exception {
+        String credentials = "{\"email\":\"budget@example.com\",\"password\":\"secret123\"}";
+        call("POST /api/auth/signup", "POST", "/api/auth/signup",
+            "{\"name\":\"Budget Check\",\"email\":\"budget@example.com\",\"password\":\"secret123\"}");
+        token = call("POST /api/auth/signin", "POST", "/api/auth/signin", credentials).get("token").asText();
+        call("POST /api/auth/login", "POST", "/api/auth/login", credentials);
+        call("GET /api/auth/me", "GET", "/api/auth/me", null);
+        call("GET /api/auth/test", "GET", "/api/auth/test", null);
+
+        StringBuilder rows = new StringBuilder("[");
+        for (int i = 1; i <= 20; i++) {
+            rows.append(i > 1 ? "," : "").append(transaction("Coffee shop " + i, 3 + i, "Food", "2026-10-" + (10 + i % 10), "EXPENSE"));
+        }
+        call("POST /api/transactions/import", "POST", "/api/transactions/import", rows.append("]").toString());
+        long transactionId = call("POST /api/transactions", "POST", "/api/transactions",
+            transaction("Salary", 2500, "Salary", "2026-10-01", "INCOME")).get("id").asLong();
+        call("GET /api/transactions", "GET", "/api/transactions", null);
+        call("GET /api/transactions/date-range", "GET",
+            "/api/transactions/date-range?startDate=2026-10-01&endDate=2026-10-15", null);
+        call("GET /api/transactions/search", "GET", "/api/transactions/search?q=coffee", null);
+        call("GET /api/transactions/ledger", "GET", "/api/transactions/ledger?limit=20", null);
+
+        String budget = "{\"category\":\"Food\",\"budgetLimit\":400,\"month\":10,\"year\":2026}";
+        long budgetId = call("POST /api/budgets", "POST", "/api/budgets", budget).get("id").asLong();
+        call("GET /api/budgets", "GET", "/api/budgets", null);
+        call("GET /api/budgets/month/{month}/year/{year}", "GET", "/api/budgets/month/10/year/2026", null);
+        call("PUT /api/budgets/{id}", "PUT", "/api/budgets/" + budgetId, budget.replace("400", "450"));
+
+        call("GET /api/dashboard", "GET", "/api/dashboard", null);
+        call("GET /api/dashboard/date-range", "GET",
+            "/api/dashboard/date-range?startDate=2026-10-01&endDate=2026-10-31", null);
+
+        call("PUT /api/transactions/{id}", "PUT", "/api/transactions/" + transactionId,
+            transaction("Salary October", 2600, "Salary", "2026-10-01", "INCOME"));
+        call("DELETE /api/transactions/{id}", "DELETE", "/api/transactions/" + transactionId, null);
+        call("DELETE /api/budgets/{id}", "DELETE", "/api/budgets/" + budgetId, null);
+        call("POST /api/auth/logout", "POST", "/api/auth/logout", null);
+    }
+
+    private static String transaction(String description, int amount, String category, String date, String type) {
+        return String.format("{\"description\":\"%s\",\"amount\":%d,\"category\":\"%s\",\"transactionDate\":\"%s\",\"type\":\"%s\"}",
+            description, amount, category, date, type);
+    }
+
+    private JsonNode call(String endpoint, String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+            .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        StatementCapture capture = StatementCapture.awaitCompleted();
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode() + ": " + response.body());
+        }
+        measurements.put(endpoint, new Measurement(capture.statements, capture.rows, capture.entities));
+        return response.body().isEmpty() ? json.nullNode() : json.readTree(response.body());
+    }
+
+    private static boolean compare(Map<String, Measurement> budgets, Map<String, Measurement> actual,
+                                   StringBuilder report) {
+        boolean withinBudget = true;
+        for (Map.Entry<String, Measurement> entry : actual.entrySet()) {
+            String endpoint = entry.getKey();
+            Measurement measured = entry.getValue();
+            Measurement budget = budgets.get(endpoint);
+            if (budget == null) {
+                report.append(String.format("FAIL %s: no budget recorded (%s)%n", endpoint, measured.summary()));
+                withinBudget = false;
+            } else if (measured.statements().size() > budget.statements().size()
+                    || measured.rows() > budget.rows() || measured.entities() > budget.entities()) {
+                report.append(String.format("FAIL %s: %s, budget %s%n", endpoint, measured.summary(), budget.summary()));
+                printDiff(budget.statements(), measured.statements(), report);
+                withinBudget = false;
+            } else if (!measured.equals(budget)) {
+                report.append(String.format("OK   %s: %s, below budget %s; update the budgets to tighten%n",
+                    endpoint, measured.summary(), budget.summary()));
+            } else {
+                report.append(String.format("OK   %s: %s%n", endpoint, measured.summary()));
+            }
+        }
+        return withinBudget;
+    }
+
+    // Line diff of the statement lists over their longest common subsequence
+    private static void printDiff(List<String> expected, List<String> actual, StringBuilder report) {
+        int[][] common = new int[expected.size() + 1][actual.size() + 1];
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            for (int j = actual.size() - 1; j >= 0; j--) {
+                common[i][j] = expected.get(i).equals(actual.get(j))
+                    ? common[i + 1][j + 1] + 1 : Math.max(common[i + 1][j], common[i][j + 1]);
+            }
+        }
+        int i = 0;
+        int j = 0;
+        while (i < expected.size() || j < actual.size()) {
+            if (i < expected.size() && j < actual.size() && expected.get(i).equals(actual.get(j))) {
+                report.append("       ").append(expected.get(i++)).append('\n');
+                j++;
+            } else if (j < actual.size() && (i == expected.size() || common[i][j + 1] >= common[i + 1][j])) {
+                report.append("     + ").append(actual.get(j++)).append('\n');
+            } else {
+                report.append("     - ").append(expected.get(i++)).append('\n');
+            }
+        }
+    }
+
+    private static String format(Map<String, Measurement> measurements) {
+        StringBuilder out = new StringBuilder(
+            "# SQL budget per endpoint, checked by StatementBudgetTest; regenerate with -Dstatement-budgets.update=true\n");
+        measurements.forEach((endpoint, measurement) -> {
+            out.append("\n## ").append(endpoint).append('\n').append(measurement.summary()).append('\n');
+            measurement.statements().forEach(sql -> out.append(sql).append('\n'));
+        });
+        return out.toString();
+    }
+
+    private static Map<String, Measurement> parse(String content) throws IOException {
+        Map<String, Measurement> budgets = new LinkedHashMap<>();
+        for (String section : content.split("\n## ")) {
+            if (section.startsWith("#")) {
+                continue;
+            }
+            String[] lines = section.strip().split("\n");
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (String pair : lines[1].split(" ")) {
+                String[] keyValue = pair.split("=");
+                counts.put(keyValue[0], Integer.parseInt(keyValue[1]));
+            }
+            List<String> statements = new ArrayList<>(List.of(lines).subList(2, lines.length));
+            if (statements.size() != counts.get("statements")) {
+                throw new IOException("Statement count does not match the listed statements for " + lines[0]);
+            }
+            budgets.put(lines[0], new Measurement(statements, counts.get("rows"), counts.get("entities")));
+        }
+        return budgets;
+    }
+
+    private record Measurement(List<String> statements, int rows, int entities) {
+        String summary() {
+            return "statements=" + statements.size() + " rows=" + rows + " entities=" + entities;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.financetracker.statementbudget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statements, fetched rows and loaded entities of one HTTP request,
+ * recorded on the request thread and handed to the checker once the request
+ * has completed.
+ */
+final class StatementCapture {
+
+    private static final ThreadLocal<StatementCapture> current = new ThreadLocal<>();
+    private static final BlockingQueue<StatementCapture> completed = new LinkedBlockingQueue<>();
+
+    final List<String> statements = new ArrayList<>();
+    int rows;
+    int entities;
+
+    static void start() {
+        current.set(new StatementCapture());
+    }
+
+    static void finish() {
+        StatementCapture capture = current.get();
+        current.remove();
+        if (capture != null) {
+            completed.add(capture);
+        }
+    }
+
+    static StatementCapture awaitCompleted() throws InterruptedException {
+        StatementCapture capture = completed.poll(10, TimeUnit.SECONDS);
+        if (capture == null) {
+            throw new IllegalStateException("Request finished without a statement capture");
+        }
+        return capture;
+    }
+
+    static void statement(String sql) {
+        StatementCapture capture = current.get();
+        if (capture != null) {
+            capture.statements.add(sql.replaceAll("\\s+", " ").trim());
+        }
+    }
+
+    static void row() {
+        StatementCapture capture = current.get();
+        if (capture != null) {
+            capture.rows++;
+        }
+    }
+
+    static void entity() {
+        StatementCapture capture = current.get();
+        if (capture != null) {
+            capture.entities++;
+        }
+    }
+}